@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.benchmarks;
+
+/**
+ * Shared run configuration of the benchmarks. The values can be overridden from the command line, e.g.&nbsp;{@code -f 3 -wi 5 -i 10}.
+ *
+ */
+final class BenchmarkDefaults {
+
+    /** Number of forks. */
+    static final int FORKS = 1;
+
+    /** Number of warmup iterations. */
+    static final int WARMUP_ITERATIONS = 3;
+
+    /** Number of measurement iterations. */
+    static final int MEASUREMENT_ITERATIONS = 5;
+
+    /** Duration of one iteration, in seconds. */
+    static final int ITERATION_SECONDS = 2;
+
+    /**
+     * Prevent instantiation.
+     *
+     */
+    private BenchmarkDefaults() {
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.benchmarks;
+
+import com.tenduke.client.jwt.jdk.JdkJwtParserFactory;
+import com.tenduke.client.openid.IdToken;
+import com.tenduke.client.openid.IdTokenBatchVerifier;
+import com.tenduke.client.openid.IdTokenException;
+import com.tenduke.client.openid.IdTokenParser;
+import com.tenduke.client.openid.IdTokenValidator;
+import com.tenduke.client.openid.IdTokenVerificationResult;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks re-verifying a set of distinct ID-tokens one at a time versus with {@link IdTokenBatchVerifier} in the common pool.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(BenchmarkDefaults.FORKS)
+@Warmup(iterations = BenchmarkDefaults.WARMUP_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkDefaults.MEASUREMENT_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+public class IdTokenBatchBenchmark {
+
+    /** Number of tokens. */
+    @Param({"1000"})
+    private int tokenCount;
+
+    /** The compact ID-tokens. */
+    private List<String> tokens;
+
+    /** The parser. */
+    private IdTokenParser parser;
+
+    /** The validator. */
+    private IdTokenValidator validator;
+
+    /** The batch verifier. */
+    private IdTokenBatchVerifier batchVerifier;
+
+    /**
+     * Generates the key and the tokens.
+     *
+     * @throws GeneralSecurityException -
+     */
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        final KeyPair keyPair = SignedTokens.generateKeyPair("RS256");
+        final Instant now = Instant.now();
+
+        tokens = new ArrayList<>(tokenCount);
+        for (int i = 0; i < tokenCount; i++) {
+            tokens.add(SignedTokens.createIdToken(keyPair, now.minusSeconds(i)));
+        }
+
+        parser = new IdTokenParser(new JdkJwtParserFactory().create(keyPair.getPublic()));
+        validator = new IdTokenValidator(SignedTokens.CLIENT_ID, SignedTokens.ISSUER, Clock.fixed(now, ZoneOffset.UTC));
+        batchVerifier = new IdTokenBatchVerifier(parser, validator);
+    }
+
+    /**
+     * Verifies the tokens one at a time.
+     *
+     * @return number of valid tokens
+     */
+    @Benchmark
+    public int sequential() {
+        int valid = 0;
+
+        for (final String token : tokens) {
+            try {
+                final IdToken idToken = parser.from(token);
+
+                validator.validate(idToken, null, null);
+                valid++;
+            } catch (final IdTokenException e) {
+                // Counted as invalid
+            }
+        }
+
+        return valid;
+    }
+
+    /**
+     * Verifies the tokens with the batch verifier.
+     *
+     * @return number of valid tokens
+     */
+    @Benchmark
+    public int batch() {
+        int valid = 0;
+
+        for (final IdTokenVerificationResult result : batchVerifier.verifyAll(tokens, null)) {
+            valid += (result.isValid() ? 1 : 0);
+        }
+
+        return valid;
+    }
+
+}
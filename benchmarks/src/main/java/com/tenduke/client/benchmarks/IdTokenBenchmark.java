@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.benchmarks;
+
+import com.tenduke.client.jwt.JwtParserFactory;
+import com.tenduke.client.jwt.jdk.JdkJwtParserFactory;
+import com.tenduke.client.jwt.jjwt.JjwtParserFactory;
+import com.tenduke.client.openid.IdToken;
+import com.tenduke.client.openid.IdTokenException;
+import com.tenduke.client.openid.IdTokenParser;
+import com.tenduke.client.openid.IdTokenValidationResult;
+import com.tenduke.client.openid.IdTokenValidator;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link IdTokenParser#from(java.lang.String) } (signature verification and claim mapping) and
+ * {@link IdTokenValidator#validate(com.tenduke.client.openid.IdToken, java.time.Instant, java.lang.String) } with RSA and EC keys, using
+ * the JJWT-based and the JDK-only JWT-backends. Rejecting a token is measured with both the throwing and the result-returning validation.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(BenchmarkDefaults.FORKS)
+@Warmup(iterations = BenchmarkDefaults.WARMUP_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkDefaults.MEASUREMENT_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+public class IdTokenBenchmark {
+
+    /** JWS algorithm of the token. */
+    @Param({"RS256", "ES256"})
+    private String algorithm;
+
+    /** The JWT-backend. */
+    @Param({"jjwt", "jdk"})
+    private String backend;
+
+    /** The compact ID-token. */
+    private String idToken;
+
+    /** Pre-parsed ID-token for the validation benchmark. */
+    private IdToken parsedIdToken;
+
+    /** The parser. */
+    private IdTokenParser parser;
+
+    /** The validator. */
+    private IdTokenValidator validator;
+
+    /**
+     * Generates the key and the token.
+     *
+     * @throws GeneralSecurityException -
+     * @throws IdTokenException -
+     */
+    @Setup
+    public void setup() throws GeneralSecurityException, IdTokenException {
+        final KeyPair keyPair = SignedTokens.generateKeyPair(algorithm);
+        final Instant now = Instant.now();
+        final JwtParserFactory factory = ("jdk".equals(backend) ? new JdkJwtParserFactory() : new JjwtParserFactory());
+
+        idToken = SignedTokens.createIdToken(keyPair, now);
+        parser = new IdTokenParser(factory.create(keyPair.getPublic()));
+        parsedIdToken = parser.from(idToken);
+        validator = new IdTokenValidator(SignedTokens.CLIENT_ID, SignedTokens.ISSUER, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    /**
+     * Parses and verifies the token.
+     *
+     * @return -
+     * @throws IdTokenException -
+     */
+    @Benchmark
+    public IdToken parse() throws IdTokenException {
+        return parser.from(idToken);
+    }
+
+    /**
+     * Validates the claims of already parsed token.
+     *
+     * @return -
+     * @throws IdTokenException -
+     */
+    @Benchmark
+    public IdToken validate() throws IdTokenException {
+        validator.validate(parsedIdToken, null, SignedTokens.NONCE);
+
+        return parsedIdToken;
+    }
+
+    /**
+     * Rejects already parsed token (wrong nonce) with the throwing validation.
+     *
+     * @return -
+     */
+    @Benchmark
+    public IdTokenException rejectThrowing() {
+        try {
+            validator.validate(parsedIdToken, null, "wrong-nonce");
+            throw new IllegalStateException("Token not rejected");
+        } catch (final IdTokenException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Rejects already parsed token (wrong nonce) with the result-returning validation.
+     *
+     * @return -
+     */
+    @Benchmark
+    public IdTokenValidationResult rejectToResult() {
+        return validator.validateToResult(parsedIdToken, null, "wrong-nonce");
+    }
+
+}
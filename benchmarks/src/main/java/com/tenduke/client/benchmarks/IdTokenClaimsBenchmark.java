@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.benchmarks;
+
+import com.tenduke.client.openid.IdToken;
+import com.tenduke.client.openid.IdTokenClaimsMapper;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks mapping verified claims to {@link IdToken} with {@link IdTokenClaimsMapper}, against the mapping previously done by
+ * {@link com.tenduke.client.openid.IdTokenParser}.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(BenchmarkDefaults.FORKS)
+@Warmup(iterations = BenchmarkDefaults.WARMUP_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkDefaults.MEASUREMENT_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+public class IdTokenClaimsBenchmark {
+
+    /** Number of additional (non-standard) claims. */
+    @Param({"0", "3"})
+    private int additionalClaims;
+
+    /** The claims, as returned by the JWT parser. */
+    private Map<String, Object> claims;
+
+    /** The mapper. */
+    private final IdTokenClaimsMapper mapper = new IdTokenClaimsMapper();
+
+    /**
+     * Builds the claims.
+     *
+     */
+    @Setup
+    public void setup() {
+        final long now = Instant.now().getEpochSecond();
+
+        claims = new LinkedHashMap<>();
+        claims.put("iss", SignedTokens.ISSUER);
+        claims.put("sub", "c2c4e8d7-1f3b-4b2a-9c1e-6d5f4a3b2c1d");
+        claims.put("aud", SignedTokens.CLIENT_ID);
+        claims.put("exp", now + TimeUnit.HOURS.toSeconds(1));
+        claims.put("iat", now);
+        claims.put("auth_time", now);
+        claims.put("nonce", SignedTokens.NONCE);
+        claims.put("amr", List.of("pwd"));
+
+        for (int i = 0; i < additionalClaims; i++) {
+            claims.put("claim" + i, "value" + i);
+        }
+    }
+
+    /**
+     * Maps with {@link IdTokenClaimsMapper}.
+     *
+     * @return -
+     */
+    @Benchmark
+    public IdToken mapper() {
+        return mapper.toIdToken(claims);
+    }
+
+    /**
+     * Maps as {@link com.tenduke.client.openid.IdTokenParser} did before {@link IdTokenClaimsMapper}.
+     *
+     * @return -
+     */
+    @Benchmark
+    public IdToken previous() {
+        final IdToken idToken = new IdToken(
+                stringClaim(claims.get("iss")),
+                stringClaim(claims.get("sub")),
+                listOfStrings(claims.get("aud")),
+                toInstant(claims.get("exp")),
+                toInstant(claims.get("iat")),
+                toInstant(claims.get("auth_time")),
+                stringClaim(claims.get("nonce")),
+                stringClaim(claims.get("acr")),
+                listOfStrings(claims.get("amr")),
+                stringClaim(claims.get("azp"))
+        );
+
+        for (final Map.Entry<String, Object> claim : claims.entrySet()) {
+            switch (claim.getKey()) {
+                case "acr":
+                case "amr":
+                case "aud":
+                case "auth_time":
+                case "azp":
+                case "exp":
+                case "iat":
+                case "iss":
+                case "nonce":
+                case "sub":
+                    break;
+                default:
+                    idToken.zetAdditionalProperty(claim.getKey(), claim.getValue());
+                    break;
+            }
+        }
+
+        return idToken;
+    }
+
+    /**
+     * Previous string-claim conversion.
+     *
+     * @param claim -
+     * @return -
+     */
+    private static @Nullable String stringClaim(@Nullable final Object claim) {
+        return (claim == null ? null : claim.toString());
+    }
+
+    /**
+     * Previous list-claim conversion.
+     *
+     * @param value -
+     * @return -
+     */
+    private static List<String> listOfStrings(@Nullable final Object value) {
+        if (value instanceof List) {
+            final List<?> originalList = (List<?>) value;
+            final ArrayList<String> parsedList = new ArrayList<>(originalList.size());
+
+            for (final Object item : originalList) {
+                parsedList.add(item.toString());
+            }
+            return parsedList;
+        }
+        return (value == null ? new ArrayList<>() : new ArrayList<>(List.of(value.toString())));
+    }
+
+    /**
+     * Previous date-claim conversion, boxing through {@link Long}.
+     *
+     * @param object -
+     * @return -
+     */
+    private static @Nullable Instant toInstant(@Nullable final Object object) {
+        if (object instanceof Number) {
+            final Long epochSecond = ((Number) object).longValue();
+
+            return Instant.ofEpochSecond(epochSecond);
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.benchmarks;
+
+import com.tenduke.client.oauth.QueryParser;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link QueryParser#from(java.lang.String) } with a typical authorization response, in both parsing modes.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(BenchmarkDefaults.FORKS)
+@Warmup(iterations = BenchmarkDefaults.WARMUP_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkDefaults.MEASUREMENT_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+public class QueryParserBenchmark {
+
+    /** Query string of an authorization response. */
+    private static final String AUTHORIZATION_RESPONSE = "code=SplxlOBeZQQYbYS6WxSbIA"
+            + "&state=af0ifjsldkj%3A1571234567890"
+            + "&session_state=c2c4e8d7-1f3b-4b2a-9c1e-6d5f4a3b2c1d.a1b2c3"
+            + "&scope=openid%20profile%20email";
+
+    /** Query string of an error response. */
+    private static final String ERROR_RESPONSE = "error=access_denied"
+            + "&error_description=The+resource+owner+or+authorization+server+denied+the+request."
+            + "&state=af0ifjsldkj";
+
+    /** The parsing mode. */
+    @Param({"SPLIT", "SINGLE_PASS"})
+    private QueryParser.Mode mode;
+
+    /** The parser. */
+    private QueryParser parser;
+
+    /**
+     * Creates the parser.
+     *
+     */
+    @Setup
+    public void setup() {
+        parser = new QueryParser(UTF_8, mode);
+    }
+
+    /**
+     * Parses successful authorization response.
+     *
+     * @return -
+     */
+    @Benchmark
+    public Map<String, List<String>> authorizationResponse() {
+        return parser.from(AUTHORIZATION_RESPONSE);
+    }
+
+    /**
+     * Parses error response.
+     *
+     * @return -
+     */
+    @Benchmark
+    public Map<String, List<String>> errorResponse() {
+        return parser.from(ERROR_RESPONSE);
+    }
+
+}
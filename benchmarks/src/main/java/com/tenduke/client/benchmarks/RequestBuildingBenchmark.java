@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.benchmarks;
+
+import com.tenduke.client.json.jackson.JacksonDeserializer;
+import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeConfig;
+import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeRequest;
+import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeTokenRequest;
+import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeTokenRequestFactory;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks building of requests: {@link com.tenduke.client.oauth.OAuthRequest#toUrl() } and the body of refresh token request
+ * ({@link com.tenduke.client.oauth.authorizationcode.AbstractTokenRequestFactory#refresh(java.lang.String, java.lang.String) }).
+ *
+ * <p>
+ * No requests are executed.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(BenchmarkDefaults.FORKS)
+@Warmup(iterations = BenchmarkDefaults.WARMUP_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkDefaults.MEASUREMENT_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+public class RequestBuildingBenchmark {
+
+    /** Authorization request. */
+    private AuthorizationCodeRequest request;
+
+    /** Token request factory. */
+    private AuthorizationCodeTokenRequestFactory tokenRequests;
+
+    /**
+     * Builds the configuration.
+     *
+     */
+    @Setup
+    public void setup() {
+        final AuthorizationCodeConfig config = new AuthorizationCodeConfig(
+                SignedTokens.CLIENT_ID,
+                URI.create(SignedTokens.ISSUER + "/oauth2/authz/"),
+                URI.create("http://localhost:48123/login/callback"),
+                URI.create(SignedTokens.ISSUER + "/oauth2/access/"),
+                "client-secret-with-some/special+characters",
+                true
+        );
+
+        request = new AuthorizationCodeRequest(
+                config,
+                Map.of("prompt", "login", "ui_locales", "fi-FI en"),
+                Set.of("openid", "profile", "email"),
+                "af0ifjsldkj",
+                "dBjftJeZ4CVP-mB92K27uhbUJU1p1r_wW1gFWFOEjXk"
+        );
+
+        tokenRequests = new AuthorizationCodeTokenRequestFactory(config, HttpClient.newHttpClient(), new JacksonDeserializer());
+    }
+
+    /**
+     * Builds the authorization request URL.
+     *
+     * @return -
+     */
+    @Benchmark
+    public URL toUrl() {
+        return request.toUrl();
+    }
+
+    /**
+     * Builds refresh token request.
+     *
+     * @return -
+     */
+    @Benchmark
+    public AuthorizationCodeTokenRequest refresh() {
+        return tokenRequests.refresh("8xLOxBtZp8.with/special+characters", "refresh");
+    }
+
+}
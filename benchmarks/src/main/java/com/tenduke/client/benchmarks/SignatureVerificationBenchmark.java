@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.benchmarks;
+
+import com.tenduke.client.jwt.JwtException;
+import com.tenduke.client.jwt.JwtParser;
+import com.tenduke.client.jwt.SignatureVerifier;
+import com.tenduke.client.jwt.jdk.JdkJwtParserFactory;
+import com.tenduke.client.jwt.jjwt.JjwtParserFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks throughput of JWT signature verification: {@link com.tenduke.client.jwt.jjwt.JjwtParser} and
+ * {@link com.tenduke.client.jwt.jdk.JdkJwtParser} end-to-end, and the bare signature check with a new {@link Signature} per call versus
+ * a pooled {@link SignatureVerifier}.
+ *
+ * <p>
+ * Runs with 4 threads, so that the pooled instances are contended.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(BenchmarkDefaults.FORKS)
+@Warmup(iterations = BenchmarkDefaults.WARMUP_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkDefaults.MEASUREMENT_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+@Threads(SignatureVerificationBenchmark.THREADS)
+public class SignatureVerificationBenchmark {
+
+    /** Number of benchmark threads. */
+    static final int THREADS = 4;
+
+    /** JWS algorithm of the token. */
+    @Param({"RS256", "ES256"})
+    private String algorithm;
+
+    /** The compact token. */
+    private String token;
+
+    /** The signed part of the token. */
+    private byte[] signed;
+
+    /** The signature of the token. */
+    private byte[] signature;
+
+    /** The verification key. */
+    private PublicKey key;
+
+    /** JDK name of the signature algorithm. */
+    private String jdkAlgorithm;
+
+    /** JJWT-based parser. */
+    private JwtParser jjwtParser;
+
+    /** JDK-based parser. */
+    private JwtParser jdkParser;
+
+    /** Pooled verifier. */
+    private SignatureVerifier verifier;
+
+    /**
+     * Generates the key and the token.
+     *
+     * @throws GeneralSecurityException -
+     */
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        final KeyPair keyPair = SignedTokens.generateKeyPair(algorithm);
+        final int payloadEnd;
+
+        token = SignedTokens.createIdToken(keyPair, Instant.now());
+        payloadEnd = token.lastIndexOf('.');
+        signed = token.substring(0, payloadEnd).getBytes(StandardCharsets.US_ASCII);
+        signature = Base64.getUrlDecoder().decode(token.substring(payloadEnd + 1));
+        key = keyPair.getPublic();
+        jdkAlgorithm = ("RS256".equals(algorithm) ? "SHA256withRSA" : "SHA256withECDSAinP1363Format");
+
+        jjwtParser = new JjwtParserFactory().create(key);
+        jdkParser = new JdkJwtParserFactory().create(key);
+        verifier = new SignatureVerifier(jdkAlgorithm, null, key);
+    }
+
+    /**
+     * Parses the token with JJWT.
+     *
+     * @return -
+     * @throws JwtException -
+     */
+    @Benchmark
+    public Map<String, Object> jjwtParse() throws JwtException {
+        return jjwtParser.parse(token);
+    }
+
+    /**
+     * Parses the token with the JDK-based parser, which uses pooled verifiers.
+     *
+     * @return -
+     * @throws JwtException -
+     */
+    @Benchmark
+    public Map<String, Object> jdkParse() throws JwtException {
+        return jdkParser.parse(token);
+    }
+
+    /**
+     * Verifies the signature with new {@link Signature}, looked up and initialized per call.
+     *
+     * @return -
+     * @throws GeneralSecurityException -
+     */
+    @Benchmark
+    public boolean signaturePerCall() throws GeneralSecurityException {
+        final Signature verification = Signature.getInstance(jdkAlgorithm);
+
+        verification.initVerify(key);
+        verification.update(signed);
+
+        return verification.verify(signature);
+    }
+
+    /**
+     * Verifies the signature with pooled {@link Signature}.
+     *
+     * @return -
+     * @throws GeneralSecurityException -
+     */
+    @Benchmark
+    public boolean signaturePooled() throws GeneralSecurityException {
+        return verifier.verify(signed, 0, signed.length, signature);
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.benchmarks;
+
+import io.jsonwebtoken.Jwts;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Generates test keys and signed ID-tokens for the benchmarks.
+ *
+ */
+final class SignedTokens {
+
+    /** Client id used in the tokens. */
+    static final String CLIENT_ID = "benchmark-client";
+
+    /** Issuer used in the tokens. */
+    static final String ISSUER = "https://idp.example.com";
+
+    /** Nonce used in the tokens. */
+    static final String NONCE = "n-0S6_WzA2Mj";
+
+    /** RSA key size. */
+    private static final int RSA_KEY_SIZE = 2048;
+
+    /** Lifetime of the tokens. */
+    private static final long LIFETIME_SECONDS = 3600L;
+
+    /**
+     * Prevent instantiation.
+     *
+     */
+    private SignedTokens() {
+    }
+
+    /**
+     * Generates key pair for given JWS algorithm.
+     *
+     * @param algorithm {@code RS256} or {@code ES256}
+     * @return -
+     * @throws GeneralSecurityException -
+     */
+    static KeyPair generateKeyPair(final String algorithm) throws GeneralSecurityException {
+        switch (algorithm) {
+            case "RS256":
+                final KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+                rsa.initialize(RSA_KEY_SIZE);
+                return rsa.generateKeyPair();
+            case "ES256":
+                final KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+                ec.initialize(new ECGenParameterSpec("secp256r1"));
+                return ec.generateKeyPair();
+            default:
+                throw new IllegalArgumentException("Unsupported algorithm " + algorithm);
+        }
+    }
+
+    /**
+     * Creates signed ID-token with the typical claims.
+     *
+     * @param keyPair -
+     * @param issuedAt -
+     * @return -
+     */
+    static String createIdToken(final KeyPair keyPair, final Instant issuedAt) {
+        return Jwts.builder()
+                .setHeaderParam("kid", "benchmark-key")
+                .claim("iss", ISSUER)
+                .claim("sub", "2b5a1c2e-8d2f-4a8e-b4e5-1f0b4b9d7c11")
+                .claim("aud", List.of(CLIENT_ID))
+                .claim("exp", issuedAt.getEpochSecond() + LIFETIME_SECONDS)
+                .claim("iat", issuedAt.getEpochSecond())
+                .claim("auth_time", issuedAt.getEpochSecond())
+                .claim("nonce", NONCE)
+                .claim("amr", List.of("pwd"))
+                .claim("email", "user@example.com")
+                .claim("name", "Benchmark User")
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.benchmarks;
+
+import com.tenduke.client.json.JsonDeserializationException;
+import com.tenduke.client.json.jackson.JacksonDeserializer;
+import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeResponse;
+import com.tenduke.client.openid.OpenIdTokenEndpointResponse;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link JacksonDeserializer#deserialize(java.lang.String, java.lang.Class) } of token responses.
+ *
+ * <p>
+ * The {@code *FromBody} variants compare decoding the HTTP response body into {@code String} first with deserializing the bytes
+ * directly, as the token requests do.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(BenchmarkDefaults.FORKS)
+@Warmup(iterations = BenchmarkDefaults.WARMUP_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkDefaults.MEASUREMENT_ITERATIONS, time = BenchmarkDefaults.ITERATION_SECONDS)
+public class TokenResponseBenchmark {
+
+    /** The deserializer. */
+    private final JacksonDeserializer deserializer = new JacksonDeserializer();
+
+    /** OAuth token response. */
+    private String oauthResponse;
+
+    /** OpenID Connect token response, with ID-token. */
+    private String openIdResponse;
+
+    /** OpenID Connect token response as HTTP response body. */
+    private byte[] openIdResponseBody;
+
+    /**
+     * Builds the responses.
+     *
+     * @throws GeneralSecurityException -
+     */
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        oauthResponse = "{"
+                + "\"access_token\":\"SlAV32hkKG.eyJzdWIiOiIxMjM0NTY3ODkwIn0.dozjgNryP4J3jVmNHl0w5N_XgL0n3I9PlFUP0THsR8U\","
+                + "\"token_type\":\"Bearer\","
+                + "\"refresh_token\":\"8xLOxBtZp8\","
+                + "\"expires_in\":3600,"
+                + "\"scope\":\"openid profile email\""
+                + "}";
+
+        final String idToken = SignedTokens.createIdToken(SignedTokens.generateKeyPair("RS256"), Instant.now());
+
+        openIdResponse = oauthResponse.substring(0, oauthResponse.length() - 1) + ",\"id_token\":\"" + idToken + "\"}";
+        openIdResponseBody = openIdResponse.getBytes(UTF_8);
+    }
+
+    /**
+     * Deserializes plain OAuth token response.
+     *
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    @Benchmark
+    public AuthorizationCodeResponse oauth() throws JsonDeserializationException {
+        return deserializer.deserialize(oauthResponse, AuthorizationCodeResponse.class);
+    }
+
+    /**
+     * Deserializes OpenID Connect token response, where the ID-token is an additional property.
+     *
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    @Benchmark
+    public AuthorizationCodeResponse openId() throws JsonDeserializationException {
+        return deserializer.deserialize(openIdResponse, AuthorizationCodeResponse.class);
+    }
+
+    /**
+     * Decodes the response body into {@code String} and deserializes it.
+     *
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    @Benchmark
+    public AuthorizationCodeResponse openIdFromBodyAsString() throws JsonDeserializationException {
+        return deserializer.deserialize(new String(openIdResponseBody, UTF_8), AuthorizationCodeResponse.class);
+    }
+
+    /**
+     * Deserializes the response body directly.
+     *
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    @Benchmark
+    public AuthorizationCodeResponse openIdFromBodyAsBytes() throws JsonDeserializationException {
+        return deserializer.deserialize(openIdResponseBody, AuthorizationCodeResponse.class);
+    }
+
+    /**
+     * Deserializes the response body directly, with the ID-token mapped to its own field instead of additional properties.
+     *
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    @Benchmark
+    public OpenIdTokenEndpointResponse openIdFromBodyWithIdTokenField() throws JsonDeserializationException {
+        return deserializer.deserialize(openIdResponseBody, OpenIdTokenEndpointResponse.class);
+    }
+
+}
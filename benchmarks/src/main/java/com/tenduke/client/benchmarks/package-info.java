@@ -0,0 +1,16 @@
+/**
+ * JMH-benchmarks for the hot paths of the client: token response deserialization, ID-token parsing and validation, query parsing and
+ * building of requests.
+ *
+ * <p>
+ * Build and run with machine-readable results:
+ * <pre>
+ * mvn -pl benchmarks -am package -Dno-qa
+ * java -jar benchmarks/target/benchmarks.jar -rf json -rff benchmarks/target/jmh-result.json
+ * </pre>
+ *
+ * <p>
+ * The JSON results can be stored per build and compared over time, e.g.&nbsp;when upgrading jjwt or Jackson.
+ *
+ */
+package com.tenduke.client.benchmarks;
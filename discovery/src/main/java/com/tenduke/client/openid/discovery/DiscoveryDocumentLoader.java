@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid.discovery;
+
+import com.tenduke.client.json.DefaultJsonDeserializer;
+import com.tenduke.client.json.JsonDeserializationException;
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.HttpTransportConfig;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import com.tenduke.client.oauth.exceptions.OAuthNetworkException;
+import com.tenduke.client.oauth.exceptions.OAuthServerException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads and caches the OpenID provider metadata from {@code <issuer>/.well-known/openid-configuration}.
+ *
+ * <p>
+ * The document is fetched on first use and kept in memory. When it expires, it is revalidated with a conditional request
+ * ({@code If-None-Match} / {@code If-Modified-Since}), so an unchanged document is not transferred again. The expiry is taken from
+ * {@code Cache-Control: max-age} of the response, or the configured default time-to-live if the response has none.
+ *
+ * <p>
+ * If revalidation fails, the previously loaded document is used and the load is retried after {@link #DEFAULT_RETRY_DELAY}: An outage of
+ * the discovery endpoint does not break clients that have already been configured.
+ *
+ * <p>
+ * Instances are thread-safe. Reads do not lock and at most one thread at a time loads the document: While one thread revalidates an
+ * expired document, other threads get the previous document without waiting. Only the initial load is waited for, by all threads.
+ */
+public class DiscoveryDocumentLoader {
+
+    /** Path of the discovery document, relative to the issuer. */
+    public static final String WELL_KNOWN_PATH = "/.well-known/openid-configuration";
+
+    /** Default time-to-live of the document, used when the response does not specify one. */
+    public static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+    /** Delay before retrying a failed revalidation, while the previous document is used. */
+    public static final Duration DEFAULT_RETRY_DELAY = Duration.ofMinutes(1);
+
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(DiscoveryDocumentLoader.class);
+
+    /** HTTP-status: OK. */
+    private static final int HTTP_OK = 200;
+
+    /** HTTP-status: Not Modified. */
+    private static final int HTTP_NOT_MODIFIED = 304;
+
+    /** The {@code max-age} directive of {@code Cache-Control}. */
+    private static final String MAX_AGE = "max-age=";
+
+    /** HTTP-client. */
+    private final HttpClient httpClient;
+
+    /** Expected issuer. */
+    private final String issuer;
+
+    /** URI of the discovery document. */
+    private final URI uri;
+
+    /** JSON-deserializer for unmarshalling the document. */
+    private final JsonDeserializer json;
+
+    /** Request timeout. */
+    private final Duration requestTimeout;
+
+    /** Default time-to-live of the document. */
+    private final Duration defaultTtl;
+
+    /** Clock for current timestamp. */
+    private final Clock clock;
+
+    /** The loaded document, {@code null} if not loaded yet. */
+    private volatile @Nullable CachedDocument cached;
+
+    /** The load in progress, {@code null} if none. */
+    private final AtomicReference<CompletableFuture<CachedDocument>> inFlight = new AtomicReference<>();
+
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient -
+     * @param issuer issuer identifier, e.g.&nbsp;{@code https://example.com}
+     */
+    public DiscoveryDocumentLoader(final HttpClient httpClient, final String issuer) {
+        this(
+                httpClient,
+                issuer,
+                DefaultJsonDeserializer.INSTANCE.get(),
+                HttpTransportConfig.DEFAULT_REQUEST_TIMEOUT,
+                DEFAULT_TTL,
+                Clock.systemUTC()
+        );
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient -
+     * @param issuer issuer identifier, e.g.&nbsp;{@code https://example.com}
+     * @param json -
+     * @param requestTimeout timeout of the HTTP-request, until the response headers have been received
+     * @param defaultTtl time-to-live of the document, when the response does not specify one
+     * @param clock -
+     */
+    public DiscoveryDocumentLoader(
+            final HttpClient httpClient,
+            final String issuer,
+            final JsonDeserializer json,
+            final Duration requestTimeout,
+            final Duration defaultTtl,
+            final Clock clock
+    ) {
+        this.httpClient = httpClient;
+        this.issuer = issuer;
+        this.uri = discoveryUri(issuer);
+        this.json = json;
+        this.requestTimeout = requestTimeout;
+        this.defaultTtl = defaultTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the URI of the discovery document of given issuer.
+     *
+     * @param issuer -
+     * @return -
+     */
+    public static URI discoveryUri(final String issuer) {
+        final String base = (issuer.endsWith("/") ? issuer.substring(0, issuer.length() - 1) : issuer);
+
+        return URI.create(base + WELL_KNOWN_PATH);
+    }
+
+    /**
+     * Returns the provider metadata, loading or revalidating it if needed.
+     *
+     * @return -
+     * @throws InterruptedException -
+     * @throws OAuthException if the document cannot be loaded and there is no previously loaded document
+     */
+    public ProviderMetadata load() throws InterruptedException, OAuthException {
+        @Nullable final CachedDocument current = cached;
+
+        if (current != null && clock.instant().isBefore(current.expiresAt)) {
+            return current.metadata;
+        }
+
+        final CompletableFuture<CachedDocument> load = new CompletableFuture<>();
+        @Nullable final CompletableFuture<CachedDocument> existing = inFlight.compareAndExchange(null, load);
+
+        if (existing != null) {
+            return (current != null ? current.metadata : join(existing).metadata);
+        }
+
+        try {
+            final CachedDocument loaded = revalidate();
+
+            load.complete(loaded);
+
+            return loaded.metadata;
+        } catch (final InterruptedException | OAuthException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    /**
+     * Forces the document to be revalidated on next {@link #load() }.
+     *
+     */
+    public void invalidate() {
+        @Nullable final CachedDocument current = cached;
+
+        if (current != null) {
+            cached = current.withExpiry(Instant.MIN);
+        }
+    }
+
+    /**
+     * Loads or revalidates the document, unless another thread has just done so. Called by one thread at a time.
+     *
+     * @return the document
+     * @throws InterruptedException -
+     * @throws OAuthException if the document cannot be loaded and there is no previously loaded document
+     */
+    private CachedDocument revalidate() throws InterruptedException, OAuthException {
+        @Nullable final CachedDocument latest = cached;
+
+        if (latest != null && clock.instant().isBefore(latest.expiresAt)) {
+            return latest;
+        }
+
+        try {
+            final CachedDocument loaded = fetch(latest);
+
+            cached = loaded;
+
+            return loaded;
+        } catch (final OAuthException e) {
+            if (latest == null) {
+                throw e;
+            }
+
+            LOG.warn("[issuer={}] Revalidating discovery document failed, using the previous document: {}", issuer, e.getMessage());
+
+            final CachedDocument retained = latest.withExpiry(clock.instant().plus(DEFAULT_RETRY_DELAY));
+
+            cached = retained;
+
+            return retained;
+        }
+    }
+
+    /**
+     * Waits for the load of another thread.
+     *
+     * @param load -
+     * @return the document
+     * @throws InterruptedException -
+     * @throws OAuthException if the load failed
+     */
+    private static CachedDocument join(final CompletableFuture<CachedDocument> load) throws InterruptedException, OAuthException {
+        try {
+            return load.get();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof OAuthException) {
+                throw (OAuthException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new OAuthException("Loading discovery document failed", cause);
+        }
+    }
+
+    /**
+     * Fetches the document, conditionally if there is a previous document.
+     *
+     * @param previous -
+     * @return -
+     * @throws InterruptedException -
+     * @throws OAuthException -
+     */
+    private CachedDocument fetch(@Nullable final CachedDocument previous) throws InterruptedException, OAuthException {
+        final HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET();
+
+        if (previous != null && previous.etag != null) {
+            request.header("If-None-Match", previous.etag);
+        }
+        if (previous != null && previous.lastModified != null) {
+            request.header("If-Modified-Since", previous.lastModified);
+        }
+
+        LOG.info("[issuer={}] Loading discovery document...", issuer);
+
+        final HttpResponse<byte[]> response;
+
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (final IOException e) {
+            LOG.info("[issuer={}] ... ERROR: Failed with {}: {}", issuer, e.getClass().getSimpleName(), e.getMessage());
+
+            throw new OAuthNetworkException("Discovery request failed", e);
+        }
+
+        final int statusCode = response.statusCode();
+        final Instant expiresAt = clock.instant().plus(timeToLive(response));
+
+        if (statusCode == HTTP_NOT_MODIFIED && previous != null) {
+            LOG.info("[issuer={}] ... SUCCESS: Discovery document not modified", issuer);
+
+            return previous.withExpiry(expiresAt);
+        }
+        if (statusCode != HTTP_OK) {
+            LOG.error("[issuer={}][status={}] ... ERROR: Discovery request failed", issuer, statusCode);
+
+            throw new OAuthServerException("Discovery request failed with HTTP-status " + statusCode);
+        }
+
+        final ProviderMetadata metadata;
+
+        try {
+            metadata = json.deserialize(response.body(), ProviderMetadata.class);
+        } catch (final JsonDeserializationException e) {
+            LOG.error("[issuer={}] ... ERROR: Discovery document is not valid Json: {}", issuer, e.getMessage());
+
+            throw new OAuthServerException("Discovery document is not valid Json", e);
+        }
+
+        // OpenID Connect Discovery 1.0, section 4.3: The issuer of the document must match the issuer used for the lookup
+        if (!issuer.equals(metadata.getIssuer())) {
+            LOG.error("[issuer={}] ... ERROR: Discovery document has issuer \"{}\"", issuer, metadata.getIssuer());
+
+            throw new OAuthServerException(
+                    "Discovery document issuer does not match, expected " + issuer + ", got " + metadata.getIssuer()
+            );
+        }
+
+        LOG.info("[issuer={}] ... SUCCESS: Discovery document loaded", issuer);
+
+        return new CachedDocument(
+                metadata,
+                header(response, "ETag"),
+                header(response, "Last-Modified"),
+                expiresAt
+        );
+    }
+
+    /**
+     * Determines the time-to-live of the response from {@code Cache-Control}.
+     *
+     * @param response -
+     * @return -
+     */
+    private Duration timeToLive(final HttpResponse<?> response) {
+        @Nullable final String cacheControl = header(response, "Cache-Control");
+
+        if (cacheControl == null) {
+            return defaultTtl;
+        }
+
+        for (final String part : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            final String directive = part.trim();
+
+            if ("no-cache".equals(directive) || "no-store".equals(directive)) {
+                return Duration.ZERO;
+            }
+            if (directive.startsWith(MAX_AGE)) {
+                try {
+                    return Duration.ofSeconds(Math.max(0, Long.parseLong(directive.substring(MAX_AGE.length()))));
+                } catch (final NumberFormatException e) {
+                    return defaultTtl;
+                }
+            }
+        }
+
+        return defaultTtl;
+    }
+
+    /**
+     * Returns value of response header.
+     *
+     * @param response -
+     * @param name -
+     * @return the value, {@code null} if not present
+     */
+    private static @Nullable String header(final HttpResponse<?> response, final String name) {
+        final Optional<String> value = response.headers().firstValue(name);
+
+        return value.orElse(null);
+    }
+
+    /**
+     * The loaded document with its validators and expiry.
+     *
+     */
+    private static final class CachedDocument {
+
+        /** The metadata. */
+        private final ProviderMetadata metadata;
+
+        /** Entity tag of the response, {@code null} if none. */
+        private final @Nullable String etag;
+
+        /** Last-Modified of the response, {@code null} if none. */
+        private final @Nullable String lastModified;
+
+        /** Time when the document must be revalidated. */
+        private final Instant expiresAt;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param metadata -
+         * @param etag -
+         * @param lastModified -
+         * @param expiresAt -
+         */
+        CachedDocument(
+                final ProviderMetadata metadata,
+                @Nullable final String etag,
+                @Nullable final String lastModified,
+                final Instant expiresAt
+        ) {
+            this.metadata = metadata;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Returns copy of this document with new expiry.
+         *
+         * @param newExpiresAt -
+         * @return -
+         */
+        CachedDocument withExpiry(final Instant newExpiresAt) {
+            return new CachedDocument(metadata, etag, lastModified, newExpiresAt);
+        }
+
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid.discovery;
+
+import com.tenduke.client.json.DefaultJsonDeserializer;
+import com.tenduke.client.jwt.DefaultJwtParserFactory;
+import com.tenduke.client.jwt.jwks.HttpJwksFetcher;
+import com.tenduke.client.jwt.jwks.JwksKeyResolver;
+import com.tenduke.client.oauth.HttpTransportConfig;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import com.tenduke.client.openid.IdTokenParser;
+import com.tenduke.client.openid.IdTokenValidator;
+import com.tenduke.client.openid.OpenIdAuthorizationCodeClient;
+import com.tenduke.client.openid.OpenIdAuthorizationCodeConfig;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import javax.annotation.Nullable;
+
+/**
+ * Configures OpenID Connect clients from the provider metadata of an issuer.
+ *
+ * <p>
+ * The endpoints are read from the discovery document and the ID-token signatures are verified with the keys of the JSON Web Key Set
+ * of the issuer, so no endpoints or keys need to be configured. All clients created by one instance share the HTTP-client and the
+ * ID-token parser, i.e.&nbsp;the connections and the cached key set. The allowed clock skew between this host and the issuer, if any, is
+ * applied both when parsing and when validating the ID-tokens.
+ *
+ * <p>
+ * Usage:
+ * <pre>
+ * final OpenIdDiscovery discovery = new OpenIdDiscovery(HttpTransportConfig.DEFAULT.newHttpClient(), "https://example.com");
+ * final OpenIdAuthorizationCodeClient client = discovery.client("client-id", URI.create("http://localhost/callback"), null, true);
+ * </pre>
+ *
+ * <p>
+ * Instances are thread-safe.
+ */
+public class OpenIdDiscovery {
+
+    /** HTTP-client. */
+    private final HttpClient httpClient;
+
+    /** Loader of the discovery document. */
+    private final DiscoveryDocumentLoader loader;
+
+    /** Allowed clock skew. */
+    private final Duration allowedClockSkew;
+
+    /** The ID-token parser, {@code null} until first needed. */
+    private volatile @Nullable IdTokenParser idTokenParser;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient -
+     * @param issuer issuer identifier, e.g.&nbsp;{@code https://example.com}
+     */
+    public OpenIdDiscovery(final HttpClient httpClient, final String issuer) {
+        this(httpClient, new DiscoveryDocumentLoader(httpClient, issuer));
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient HTTP-client for the JWKS and token requests
+     * @param loader -
+     */
+    public OpenIdDiscovery(final HttpClient httpClient, final DiscoveryDocumentLoader loader) {
+        this(httpClient, loader, Duration.ZERO);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient HTTP-client for the JWKS and token requests
+     * @param loader -
+     * @param allowedClockSkew allowed clock skew of the created ID-token parser and clients
+     */
+    public OpenIdDiscovery(final HttpClient httpClient, final DiscoveryDocumentLoader loader, final Duration allowedClockSkew) {
+        if (allowedClockSkew.isNegative()) {
+            throw new IllegalArgumentException("Allowed clock skew must not be negative, got " + allowedClockSkew);
+        }
+
+        this.httpClient = httpClient;
+        this.loader = loader;
+        this.allowedClockSkew = allowedClockSkew;
+    }
+
+    /**
+     * Returns the provider metadata.
+     *
+     * @return -
+     * @throws InterruptedException -
+     * @throws OAuthException if the discovery document cannot be loaded
+     */
+    public ProviderMetadata metadata() throws InterruptedException, OAuthException {
+        return loader.load();
+    }
+
+    /**
+     * Builds Authorization Code flow configuration from the provider metadata. The configuration has no signature verification key,
+     * use {@link #idTokenParser() } for parsing the ID-tokens.
+     *
+     * @param clientId -
+     * @param redirectUri -
+     * @param clientSecret -
+     * @param usePKCE -
+     * @return -
+     * @throws InterruptedException -
+     * @throws OAuthException if the discovery document cannot be loaded
+     */
+    public OpenIdAuthorizationCodeConfig authorizationCodeConfig(
+            final String clientId,
+            final URI redirectUri,
+            @Nullable final String clientSecret,
+            final boolean usePKCE
+    ) throws InterruptedException, OAuthException {
+        final ProviderMetadata metadata = loader.load();
+
+        return new OpenIdAuthorizationCodeConfig(
+                clientId,
+                URI.create(metadata.getAuthorizationEndpoint()),
+                redirectUri,
+                URI.create(metadata.getTokenEndpoint()),
+                clientSecret,
+                metadata.getIssuer(),
+                usePKCE
+        );
+    }
+
+    /**
+     * Returns the ID-token parser, which verifies the signatures with the keys from the JSON Web Key Set of the issuer.
+     *
+     * <p>
+     * The parser is created once and shared: The key set is fetched on first use and cached by the parser.
+     *
+     * @return -
+     * @throws InterruptedException -
+     * @throws OAuthException if the discovery document cannot be loaded
+     */
+    public IdTokenParser idTokenParser() throws InterruptedException, OAuthException {
+        @Nullable IdTokenParser parser = idTokenParser;
+
+        if (parser == null) {
+            final URI jwksUri = URI.create(loader.load().getJwksUri());
+
+            synchronized (this) {
+                parser = idTokenParser;
+
+                if (parser == null) {
+                    parser = new IdTokenParser(
+                            DefaultJwtParserFactory.INSTANCE.createWithKeyResolver(
+                                    new JwksKeyResolver(new HttpJwksFetcher(httpClient, jwksUri)),
+                                    allowedClockSkew
+                            )
+                    );
+                    idTokenParser = parser;
+                }
+            }
+        }
+
+        return parser;
+    }
+
+    /**
+     * Builds Authorization Code flow client from the provider metadata.
+     *
+     * @param clientId -
+     * @param redirectUri -
+     * @param clientSecret -
+     * @param usePKCE -
+     * @return -
+     * @throws InterruptedException -
+     * @throws OAuthException if the discovery document cannot be loaded
+     */
+    public OpenIdAuthorizationCodeClient client(
+            final String clientId,
+            final URI redirectUri,
+            @Nullable final String clientSecret,
+            final boolean usePKCE
+    ) throws InterruptedException, OAuthException {
+        final OpenIdAuthorizationCodeConfig config = authorizationCodeConfig(clientId, redirectUri, clientSecret, usePKCE);
+
+        return new OpenIdAuthorizationCodeClient(
+                config,
+                httpClient,
+                idTokenParser(),
+                new IdTokenValidator(config.getClientId(), config.getIssuer(), Clock.systemUTC(), allowedClockSkew),
+                DefaultJsonDeserializer.INSTANCE.get(),
+                HttpTransportConfig.DEFAULT_REQUEST_TIMEOUT
+        );
+    }
+
+}
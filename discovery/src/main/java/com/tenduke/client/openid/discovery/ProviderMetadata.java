@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid.discovery;
+
+import com.tenduke.client.json.DynamicBean;
+import java.io.Serializable;
+import javax.annotation.Nullable;
+
+/**
+ * OpenID provider metadata, as returned from {@code /.well-known/openid-configuration} (OpenID Connect Discovery 1.0, section 3).
+ *
+ * <p>
+ * Only the metadata used by this library is mapped to fields, the rest is available as additional properties.
+ *
+ */
+public class ProviderMetadata extends DynamicBean implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // NOTE: Do not change names of these fields. They are mapped from JSON.
+
+    /** Issuer identifier. */
+    private final String issuer;
+
+    /** Authorization endpoint. */
+    private final String authorizationEndpoint;
+
+    /** Token endpoint. */
+    private final String tokenEndpoint;
+
+    /** JSON Web Key Set URI. */
+    private final String jwksUri;
+
+    /** UserInfo endpoint. Optional. */
+    private final @Nullable String userinfoEndpoint;
+
+    /** Device authorization endpoint (RFC 8628). Optional. */
+    private final @Nullable String deviceAuthorizationEndpoint;
+
+    /** Token introspection endpoint (RFC 7662). Optional. */
+    private final @Nullable String introspectionEndpoint;
+
+    /** Token revocation endpoint (RFC 7009). Optional. */
+    private final @Nullable String revocationEndpoint;
+
+    /**
+     * No-arg constructor. Some JSON-serializers need this.
+     *
+     */
+    protected ProviderMetadata() {
+        this(null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param issuer -
+     * @param authorizationEndpoint -
+     * @param tokenEndpoint -
+     * @param jwksUri -
+     * @param userinfoEndpoint -
+     * @param deviceAuthorizationEndpoint -
+     * @param introspectionEndpoint -
+     * @param revocationEndpoint -
+     */
+    public ProviderMetadata(
+            final String issuer,
+            final String authorizationEndpoint,
+            final String tokenEndpoint,
+            final String jwksUri,
+            @Nullable final String userinfoEndpoint,
+            @Nullable final String deviceAuthorizationEndpoint,
+            @Nullable final String introspectionEndpoint,
+            @Nullable final String revocationEndpoint
+    ) {
+        this.issuer = issuer;
+        this.authorizationEndpoint = authorizationEndpoint;
+        this.tokenEndpoint = tokenEndpoint;
+        this.jwksUri = jwksUri;
+        this.userinfoEndpoint = userinfoEndpoint;
+        this.deviceAuthorizationEndpoint = deviceAuthorizationEndpoint;
+        this.introspectionEndpoint = introspectionEndpoint;
+        this.revocationEndpoint = revocationEndpoint;
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    // CSOFF: JavadocMethod
+
+    public String getIssuer() {
+        return issuer;
+    }
+
+    public String getAuthorizationEndpoint() {
+        return authorizationEndpoint;
+    }
+
+    public String getTokenEndpoint() {
+        return tokenEndpoint;
+    }
+
+    public String getJwksUri() {
+        return jwksUri;
+    }
+
+    public @Nullable String getUserinfoEndpoint() {
+        return userinfoEndpoint;
+    }
+
+    public @Nullable String getDeviceAuthorizationEndpoint() {
+        return deviceAuthorizationEndpoint;
+    }
+
+    public @Nullable String getIntrospectionEndpoint() {
+        return introspectionEndpoint;
+    }
+
+    public @Nullable String getRevocationEndpoint() {
+        return revocationEndpoint;
+    }
+
+    // CSON: JavadocMethod
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="toString()">
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public String toString() {
+        return "ProviderMetadata{"
+                + "issuer=" + issuer
+                + ", authorizationEndpoint=" + authorizationEndpoint
+                + ", tokenEndpoint=" + tokenEndpoint
+                + ", jwksUri=" + jwksUri
+                + '}';
+    }
+
+    // </editor-fold>
+
+}
@@ -0,0 +1,4 @@
+/**
+ * OpenID Connect Discovery: Loads the OpenID provider metadata and configures the OpenID Connect client from it.
+ */
+package com.tenduke.client.openid.discovery;
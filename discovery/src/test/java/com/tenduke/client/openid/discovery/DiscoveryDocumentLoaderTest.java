@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid.discovery;
+
+import com.tenduke.client.json.DefaultJsonDeserializer;
+import com.tenduke.client.oauth.exceptions.OAuthNetworkException;
+import com.tenduke.client.oauth.exceptions.OAuthServerException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DiscoveryDocumentLoaderTest {
+
+    private static final Instant NOW = Instant.parse("2019-11-01T12:00:00Z");
+
+    private static final String ISSUER = "https://example.com";
+
+    private static final String DOCUMENT = "{"
+            + "\"issuer\": \"https://example.com\", "
+            + "\"authorization_endpoint\": \"https://example.com/authorize\", "
+            + "\"token_endpoint\": \"https://example.com/token\", "
+            + "\"jwks_uri\": \"https://example.com/.well-known/jwks.json\", "
+            + "\"userinfo_endpoint\": \"https://example.com/userinfo\", "
+            + "\"response_types_supported\": [\"code\"]"
+            + "}";
+
+    private MutableClock clock;
+    private HttpClient http;
+    private DiscoveryDocumentLoader loader;
+
+    @Before
+    public void beforeTest() {
+        clock = new MutableClock(NOW);
+        http = mock(HttpClient.class);
+        loader = new DiscoveryDocumentLoader(
+                http,
+                ISSUER,
+                DefaultJsonDeserializer.INSTANCE,
+                Duration.ofSeconds(5),
+                Duration.ofHours(1),
+                clock
+        );
+    }
+
+    @Test
+    public void shouldBuildDiscoveryUri() {
+        assertThat(DiscoveryDocumentLoader.discoveryUri("https://example.com"))
+                .isEqualTo(URI.create("https://example.com/.well-known/openid-configuration"));
+        assertThat(DiscoveryDocumentLoader.discoveryUri("https://example.com/tenant/"))
+                .isEqualTo(URI.create("https://example.com/tenant/.well-known/openid-configuration"));
+    }
+
+    @Test
+    public void shouldLoadDocument() throws Exception {
+        when(http.send(any(), any())).thenAnswer(invocation -> response(200, DOCUMENT, Map.of()));
+
+        final ProviderMetadata metadata = loader.load();
+
+        assertThat(metadata.getIssuer()).isEqualTo(ISSUER);
+        assertThat(metadata.getAuthorizationEndpoint()).isEqualTo("https://example.com/authorize");
+        assertThat(metadata.getTokenEndpoint()).isEqualTo("https://example.com/token");
+        assertThat(metadata.getJwksUri()).isEqualTo("https://example.com/.well-known/jwks.json");
+        assertThat(metadata.getUserinfoEndpoint()).isEqualTo("https://example.com/userinfo");
+        assertThat(metadata.getRevocationEndpoint()).isNull();
+
+        final HttpRequest request = captureRequests(1).get(0);
+
+        assertThat(request.method()).isEqualTo("GET");
+        assertThat(request.uri()).isEqualTo(URI.create("https://example.com/.well-known/openid-configuration"));
+    }
+
+    @Test
+    public void shouldServeCachedDocumentWithoutRequest() throws Exception {
+        when(http.send(any(), any())).thenAnswer(invocation -> response(200, DOCUMENT, Map.of()));
+
+        final ProviderMetadata first = loader.load();
+
+        clock.now = NOW.plus(Duration.ofMinutes(59));
+
+        assertThat(loader.load()).isSameAs(first);
+        verify(http, times(1)).send(any(), any());
+    }
+
+    @Test
+    public void shouldRevalidateExpiredDocumentConditionally() throws Exception {
+        when(http.send(any(), any()))
+                .thenAnswer(invocation -> response(200, DOCUMENT, Map.of("ETag", "\"v1\"", "Cache-Control", "public, max-age=60")))
+                .thenAnswer(invocation -> response(304, "", Map.of("Cache-Control", "max-age=60")));
+
+        final ProviderMetadata first = loader.load();
+
+        clock.now = NOW.plusSeconds(61);
+
+        assertThat(loader.load()).isSameAs(first);
+
+        final List<HttpRequest> requests = captureRequests(2);
+
+        assertThat(requests.get(0).headers().firstValue("If-None-Match")).isEmpty();
+        assertThat(requests.get(1).headers().firstValue("If-None-Match")).hasValue("\"v1\"");
+
+        clock.now = NOW.plusSeconds(120);
+
+        assertThat(loader.load()).isSameAs(first);
+        verify(http, times(2)).send(any(), any());
+    }
+
+    @Test
+    public void shouldRevalidateOnEveryLoadWithNoCache() throws Exception {
+        when(http.send(any(), any())).thenAnswer(invocation -> response(200, DOCUMENT, Map.of("Cache-Control", "no-cache")));
+
+        loader.load();
+        loader.load();
+
+        verify(http, times(2)).send(any(), any());
+    }
+
+    @Test
+    public void shouldRevalidateAfterInvalidate() throws Exception {
+        when(http.send(any(), any())).thenAnswer(invocation -> response(200, DOCUMENT, Map.of()));
+
+        loader.load();
+        loader.invalidate();
+        loader.load();
+
+        verify(http, times(2)).send(any(), any());
+    }
+
+    @Test
+    public void shouldRejectDocumentOfOtherIssuer() throws Exception {
+        final String document = DOCUMENT.replace("\"issuer\": \"https://example.com\"", "\"issuer\": \"https://evil.com\"");
+
+        when(http.send(any(), any())).thenAnswer(invocation -> response(200, document, Map.of()));
+
+        assertThatExceptionOfType(OAuthServerException.class)
+                .isThrownBy(() -> loader.load())
+                .withMessageContaining("issuer does not match");
+    }
+
+    @Test
+    public void shouldFailOnInvalidJson() throws Exception {
+        when(http.send(any(), any())).thenAnswer(invocation -> response(200, "not json", Map.of()));
+
+        assertThatExceptionOfType(OAuthServerException.class)
+                .isThrownBy(() -> loader.load())
+                .withMessage("Discovery document is not valid Json");
+    }
+
+    @Test
+    public void shouldFailOnErrorStatusWithoutPreviousDocument() throws Exception {
+        when(http.send(any(), any())).thenAnswer(invocation -> response(503, "", Map.of()));
+
+        assertThatExceptionOfType(OAuthServerException.class)
+                .isThrownBy(() -> loader.load())
+                .withMessage("Discovery request failed with HTTP-status 503");
+    }
+
+    @Test
+    public void shouldFailOnNetworkErrorWithoutPreviousDocument() throws Exception {
+        when(http.send(any(), any())).thenThrow(new IOException("simulated exception"));
+
+        assertThatExceptionOfType(OAuthNetworkException.class)
+                .isThrownBy(() -> loader.load());
+    }
+
+    @Test
+    public void shouldServeStaleDocumentWhenRevalidationFails() throws Exception {
+        when(http.send(any(), any()))
+                .thenAnswer(invocation -> response(200, DOCUMENT, Map.of("Cache-Control", "max-age=60")))
+                .thenThrow(new IOException("simulated exception"))
+                .thenAnswer(invocation -> response(200, DOCUMENT, Map.of("Cache-Control", "max-age=60")));
+
+        final ProviderMetadata first = loader.load();
+
+        clock.now = NOW.plusSeconds(61);
+
+        assertThat(loader.load()).isSameAs(first);
+
+        clock.now = NOW.plusSeconds(61 + 59);
+
+        assertThat(loader.load()).isSameAs(first);
+        verify(http, times(2)).send(any(), any());
+
+        clock.now = NOW.plusSeconds(61 + 60);
+
+        assertThat(loader.load()).isNotSameAs(first);
+        verify(http, times(3)).send(any(), any());
+    }
+
+    @Test
+    public void shouldServePreviousDocumentWhileAnotherThreadRevalidates() throws Exception {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        when(http.send(any(), any()))
+                .thenAnswer(invocation -> response(200, DOCUMENT, Map.of("Cache-Control", "max-age=60")))
+                .thenAnswer(invocation -> {
+                    sending.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return response(200, DOCUMENT, Map.of("Cache-Control", "max-age=60"));
+                });
+
+        final ProviderMetadata first = loader.load();
+
+        clock.now = NOW.plusSeconds(61);
+
+        final CompletableFuture<ProviderMetadata> revalidated = CompletableFuture.supplyAsync(() -> {
+            try {
+                return loader.load();
+            } catch (final Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(loader.load()).isSameAs(first);
+
+        release.countDown();
+
+        assertThat(revalidated.get(5, TimeUnit.SECONDS)).isNotSameAs(first);
+        verify(http, times(2)).send(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<HttpRequest> captureRequests(final int count) throws Exception {
+        final ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+
+        verify(http, times(count)).send(captor.capture(), any(HttpResponse.BodyHandler.class));
+
+        return captor.getAllValues();
+    }
+
+    private static HttpResponse<byte[]> response(final int statusCode, final String body, final Map<String, String> headers) {
+        @SuppressWarnings("unchecked")
+        final HttpResponse<byte[]> response = mock(HttpResponse.class);
+        final Map<String, List<String>> values = new HashMap<>();
+
+        headers.forEach((name, value) -> values.put(name, List.of(value)));
+
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.body()).thenReturn(body.getBytes(UTF_8));
+        when(response.headers()).thenReturn(HttpHeaders.of(values, (name, value) -> true));
+
+        return response;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+    }
+
+}
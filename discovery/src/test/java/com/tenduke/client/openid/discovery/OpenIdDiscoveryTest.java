@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid.discovery;
+
+import com.tenduke.client.oauth.HttpTransportConfig;
+import com.tenduke.client.openid.IdToken;
+import com.tenduke.client.openid.IdTokenException;
+import com.tenduke.client.openid.IdTokenParser;
+import com.tenduke.client.openid.IdTokenValidationResult;
+import com.tenduke.client.openid.IdTokenValidator;
+import com.tenduke.client.openid.OpenIdAuthorizationCodeClient;
+import com.tenduke.client.openid.OpenIdAuthorizationCodeConfig;
+import static com.tenduke.client.testutils.HttpClientTestUtil.stubHttp;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OpenIdDiscoveryTest {
+
+    private static final URI REDIRECT_URI = URI.create("http://localhost/callback");
+
+    private final ProviderMetadata metadata = new ProviderMetadata(
+            "https://example.com",
+            "https://example.com/authorize",
+            "https://example.com/token",
+            "https://example.com/.well-known/jwks.json",
+            null,
+            null,
+            null,
+            null
+    );
+
+    private HttpClient http;
+    private DiscoveryDocumentLoader loader;
+    private OpenIdDiscovery discovery;
+
+    @Before
+    public void beforeTest() throws Exception {
+        http = mock(HttpClient.class);
+        loader = mock(DiscoveryDocumentLoader.class);
+        discovery = new OpenIdDiscovery(http, loader);
+
+        when(loader.load()).thenReturn(metadata);
+    }
+
+    @Test
+    public void shouldReturnMetadata() throws Exception {
+        assertThat(discovery.metadata()).isSameAs(metadata);
+    }
+
+    @Test
+    public void shouldBuildConfigFromMetadata() throws Exception {
+        final OpenIdAuthorizationCodeConfig config = discovery.authorizationCodeConfig("client", REDIRECT_URI, "s3cret", true);
+
+        assertThat(config.getClientId()).isEqualTo("client");
+        assertThat(config.getAuthorizationEndpoint()).isEqualTo(URI.create("https://example.com/authorize"));
+        assertThat(config.getTokenEndpoint()).isEqualTo(URI.create("https://example.com/token"));
+        assertThat(config.getRedirectUri()).isEqualTo(REDIRECT_URI);
+        assertThat(config.getClientSecret()).isEqualTo("s3cret");
+        assertThat(config.getIssuer()).isEqualTo("https://example.com");
+        assertThat(config.isUsePKCE()).isTrue();
+        assertThat(config.getSignatureVerificationKey()).isNull();
+    }
+
+    @Test
+    public void shouldShareIdTokenParser() throws Exception {
+        final IdTokenParser parser = discovery.idTokenParser();
+
+        assertThat(discovery.idTokenParser()).isSameAs(parser);
+        verify(loader, times(1)).load();
+    }
+
+    @Test
+    public void shouldNotFetchKeysBeforeFirstToken() throws Exception {
+        discovery.idTokenParser();
+
+        verify(http, never()).send(any(), any());
+    }
+
+    @Test
+    public void shouldAllowClockSkewWhenParsingAndValidating() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final KeyPair keys = generator.generateKeyPair();
+        final RSAPublicKey publicKey = (RSAPublicKey) keys.getPublic();
+        stubHttp(http, "GET", "https://example.com/.well-known/jwks.json", 200, "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"k1\","
+                + "\"n\":\"" + base64Url(publicKey.getModulus()) + "\",\"e\":\"" + base64Url(publicKey.getPublicExponent()) + "\"}]}");
+
+        // Expired 30 seconds ago:
+        final long now = Instant.now().getEpochSecond();
+        final String token = sign(keys, "{\"iss\":\"https://example.com\",\"sub\":\"user\",\"aud\":\"client\","
+                + "\"exp\":" + (now - 30) + ",\"iat\":" + (now - 3600) + "}");
+
+        final Duration skew = Duration.ofMinutes(1);
+        final IdToken idToken = new OpenIdDiscovery(http, loader, skew).idTokenParser().from(token);
+        final IdTokenValidationResult result = new IdTokenValidator("client", "https://example.com", Clock.systemUTC(), skew)
+                .validateToResult(idToken, null, null);
+
+        assertThat(idToken.getSub()).isEqualTo("user");
+        assertThat(result.isValid()).isTrue();
+        assertThatExceptionOfType(IdTokenException.class).isThrownBy(() -> discovery.idTokenParser().from(token));
+    }
+
+    @Test
+    public void shouldBuildClient() throws Exception {
+        final OpenIdAuthorizationCodeClient client = discovery.client("client", REDIRECT_URI, null, true);
+
+        assertThat(client).isNotNull();
+        verify(http, never()).send(any(), any());
+    }
+
+    @Test
+    public void shouldRejectKeylessConfigInClientConstructors() throws Exception {
+        final OpenIdAuthorizationCodeConfig config = discovery.authorizationCodeConfig("client", REDIRECT_URI, null, true);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new OpenIdAuthorizationCodeClient(config))
+                .withMessageContaining("OpenIdDiscovery.client(...)");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new OpenIdAuthorizationCodeClient(config, HttpTransportConfig.DEFAULT))
+                .withMessageContaining("OpenIdDiscovery.idTokenParser()");
+    }
+
+    private static String sign(final KeyPair keys, final String payload) throws GeneralSecurityException {
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        final String signed = encoder.encodeToString("{\"alg\":\"RS256\",\"kid\":\"k1\"}".getBytes(UTF_8))
+                + "." + encoder.encodeToString(payload.getBytes(UTF_8));
+        final Signature signature = Signature.getInstance("SHA256withRSA");
+
+        signature.initSign(keys.getPrivate());
+        signature.update(signed.getBytes(UTF_8));
+
+        return signed + "." + encoder.encodeToString(signature.sign());
+    }
+
+    private static String base64Url(final BigInteger value) {
+        final byte[] bytes = value.toByteArray();
+        final int offset = (bytes.length > 1 && bytes[0] == 0 ? 1 : 0);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOfRange(bytes, offset, bytes.length));
+    }
+
+}
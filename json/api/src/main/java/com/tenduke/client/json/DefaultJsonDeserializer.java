@@ -7,6 +7,8 @@
  */
 package com.tenduke.client.json;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import org.slf4j.LoggerFactory;
@@ -60,6 +62,58 @@ public enum DefaultJsonDeserializer implements JsonDeserializer {
         return deserializer.deserialize(string, klass);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param <T> -
+     * @param bytes -
+     * @param klass -
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    @Override
+    public <T> T deserialize(final byte[] bytes, final Class<T> klass) throws JsonDeserializationException {
+        return deserializer.deserialize(bytes, klass);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param <T> -
+     * @param buffer -
+     * @param klass -
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    @Override
+    public <T> T deserialize(final ByteBuffer buffer, final Class<T> klass) throws JsonDeserializationException {
+        return deserializer.deserialize(buffer, klass);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param <T> -
+     * @param stream -
+     * @param klass -
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    @Override
+    public <T> T deserialize(final InputStream stream, final Class<T> klass) throws JsonDeserializationException {
+        return deserializer.deserialize(stream, klass);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param klasses -
+     */
+    @Override
+    public void prepare(final Class<?>... klasses) {
+        deserializer.prepare(klasses);
+    }
+
     /**
      * Returns the default Json-deserializer.
      *
@@ -7,8 +7,14 @@
  */
 package com.tenduke.client.json;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
 import javax.annotation.Nullable;
 
 /**
@@ -16,19 +22,46 @@ import javax.annotation.Nullable;
  *
  * <p>
  * This is often used as JSON-deserialization target, where the JSON can contain additional properties.
+ *
+ * <p>
+ * Typically there are no or only a few additional properties, so the storage is allocated lazily: Up to
+ * {@value #COMPACT_CAPACITY} properties are kept in a flat key-value array, more properties are moved to a {@link LinkedHashMap}.
+ * In both cases the properties keep their insertion order.
  */
 public class DynamicBean {
 
-    /** The additional properties. */
-    private final LinkedHashMap<String, Object> additionalProperties = new LinkedHashMap<>();
+    /** Maximum number of properties kept in the compact array. */
+    static final int COMPACT_CAPACITY = 4;
+
+    /** Additional properties as alternating keys and values, while there are at most {@link #COMPACT_CAPACITY} of them. */
+    private @Nullable Object[] compact;
+
+    /** Number of properties in {@link #compact}. */
+    private int compactSize;
+
+    /** The additional properties, once there are more than {@link #COMPACT_CAPACITY} of them. */
+    private @Nullable LinkedHashMap<String, Object> additionalProperties;
+
+    /** Map-view of {@link #compact}, created on first use. */
+    private @Nullable CompactView view;
 
     /**
      * Returns the additional properties.
      *
+     * <p>
+     * The returned map is a live, modifiable view of the properties.
+     *
      * @return -
      */
     public Map<String, Object> getAdditionalProperties() {
-        return additionalProperties;
+        if (additionalProperties != null) {
+            return additionalProperties;
+        }
+        if (view == null) {
+            view = new CompactView();
+        }
+
+        return view;
     }
 
     /**
@@ -38,7 +71,13 @@ public class DynamicBean {
      * @return -
      */
     public @Nullable Object gimmeAdditionalProperty(final String name) {
-        return additionalProperties.get(name);
+        if (additionalProperties != null) {
+            return additionalProperties.get(name);
+        }
+
+        final int index = indexOf(name);
+
+        return (index < 0 ? null : valueAt(index));
     }
 
     /**
@@ -51,7 +90,26 @@ public class DynamicBean {
             final String name,
             final Object value
     ) {
-        additionalProperties.put(name, value);
+        if (additionalProperties != null) {
+            additionalProperties.put(name, value);
+            return;
+        }
+
+        final int index = indexOf(name);
+
+        if (index >= 0) {
+            compact[2 * index + 1] = value;
+        } else if (compactSize < COMPACT_CAPACITY) {
+            if (compact == null) {
+                compact = new Object[2 * COMPACT_CAPACITY];
+            }
+
+            compact[2 * compactSize] = name;
+            compact[2 * compactSize + 1] = value;
+            compactSize++;
+        } else {
+            promote(compactSize + 1).put(name, value);
+        }
     }
 
 
@@ -61,7 +119,248 @@ public class DynamicBean {
      * @param properties -
      */
     public void zetAdditionalProperties(final Map<String, Object> properties) {
+        if (additionalProperties == null && compactSize + properties.size() > COMPACT_CAPACITY) {
+            promote(compactSize + properties.size());
+        }
+
         properties.forEach((key, value) -> zetAdditionalProperty(key, value));
     }
 
+    /**
+     * Moves the properties from the compact array to a map.
+     *
+     * @param expectedSize -
+     * @return the map
+     */
+    private LinkedHashMap<String, Object> promote(final int expectedSize) {
+        final LinkedHashMap<String, Object> map = new LinkedHashMap<>(Math.max(2 * expectedSize, 2 * COMPACT_CAPACITY));
+
+        for (int i = 0; i < compactSize; i++) {
+            map.put(keyAt(i), valueAt(i));
+        }
+
+        additionalProperties = map;
+        compact = null;
+        compactSize = 0;
+
+        return map;
+    }
+
+    /**
+     * Finds the index of given property in the compact array.
+     *
+     * @param name -
+     * @return the index, or {@code -1} if not found
+     */
+    private int indexOf(final Object name) {
+        for (int i = 0; i < compactSize; i++) {
+            if (Objects.equals(compact[2 * i], name)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns name of the property at given index of the compact array.
+     *
+     * @param index -
+     * @return -
+     */
+    private String keyAt(final int index) {
+        return (String) compact[2 * index];
+    }
+
+    /**
+     * Returns value of the property at given index of the compact array.
+     *
+     * @param index -
+     * @return -
+     */
+    private Object valueAt(final int index) {
+        return compact[2 * index + 1];
+    }
+
+    /**
+     * Removes the property at given index of the compact array.
+     *
+     * @param index -
+     */
+    private void removeAt(final int index) {
+        System.arraycopy(compact, 2 * index + 2, compact, 2 * index, 2 * (compactSize - index - 1));
+
+        compactSize--;
+        compact[2 * compactSize] = null;
+        compact[2 * compactSize + 1] = null;
+    }
+
+    /**
+     * Map-view of the properties while they are in the compact array. The view follows the bean, also after the properties have been
+     * moved to the map.
+     *
+     */
+    private final class CompactView extends AbstractMap<String, Object> {
+
+        /** The entry set. */
+        private final Set<Entry<String, Object>> entries = new AbstractSet<>() {
+            @Override
+            public int size() {
+                return CompactView.this.size();
+            }
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return (additionalProperties != null ? additionalProperties.entrySet().iterator() : new CompactIterator());
+            }
+        };
+
+        @Override
+        public int size() {
+            return (additionalProperties != null ? additionalProperties.size() : compactSize);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return (additionalProperties != null ? additionalProperties.containsKey(key) : indexOf(key) >= 0);
+        }
+
+        @Override
+        public @Nullable Object get(final Object key) {
+            return (key == null || key instanceof String ? gimmeAdditionalProperty((String) key) : null);
+        }
+
+        @Override
+        public @Nullable Object put(final String key, final Object value) {
+            @Nullable final Object previous = gimmeAdditionalProperty(key);
+
+            zetAdditionalProperty(key, value);
+
+            return previous;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return entries;
+        }
+
+    }
+
+    /**
+     * Iterates the properties in the compact array.
+     *
+     */
+    private final class CompactIterator implements Iterator<Map.Entry<String, Object>> {
+
+        /** Index of the next property. */
+        private int next;
+
+        /** Can the last returned property be removed? */
+        private boolean removable;
+
+        @Override
+        public boolean hasNext() {
+            return next < compactSize;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            removable = true;
+            next++;
+
+            return new CompactEntry(keyAt(next - 1), valueAt(next - 1));
+        }
+
+        @Override
+        public void remove() {
+            if (!removable) {
+                throw new IllegalStateException();
+            }
+
+            removable = false;
+            next--;
+            removeAt(next);
+        }
+
+    }
+
+    /**
+     * Entry of the compact array. Setting the value writes it through to the bean, unless the property has been removed.
+     *
+     */
+    private final class CompactEntry implements Map.Entry<String, Object> {
+
+        /** Name of the property. */
+        private final String key;
+
+        /** Value of the property. */
+        private Object value;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param key -
+         * @param value -
+         */
+        CompactEntry(final String key, final Object value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public Object setValue(final Object newValue) {
+            final Object previous = value;
+
+            value = newValue;
+
+            if (additionalProperties != null) {
+                additionalProperties.replace(key, newValue);
+            } else {
+                final int index = indexOf(key);
+
+                if (index >= 0) {
+                    compact[2 * index + 1] = newValue;
+                }
+            }
+
+            return previous;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof Map.Entry)) {
+                return false;
+            }
+
+            final Map.Entry<?, ?> that = (Map.Entry<?, ?>) other;
+
+            return Objects.equals(key, that.getKey()) && Objects.equals(value, that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+
+    }
+
 }
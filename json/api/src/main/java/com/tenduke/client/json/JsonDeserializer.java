@@ -7,9 +7,22 @@
  */
 package com.tenduke.client.json;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * A generic JSON-deserializer.
  *
+ * <p>
+ * The binary variants expect the JSON to be encoded in UTF-8 (RFC 8259). Their default implementations decode the input to
+ * {@code String} and call {@link #deserialize(java.lang.String, java.lang.Class) }; implementations should override them to parse the
+ * bytes directly.
+ *
+ * <p>
+ * Users that know the deserialized types in advance can call {@link #prepare(java.lang.Class...) }, so that the implementation can
+ * do the per-type initialization before the first actual call.
  *
  */
 public interface JsonDeserializer {
@@ -25,4 +38,65 @@ public interface JsonDeserializer {
      */
     <T> T deserialize(String string, Class<T> klass) throws JsonDeserializationException;
 
+    /**
+     * Deserialize UTF-8 encoded bytes to an object of class {@code klass}.
+     *
+     * @param <T> type of the object to deserialize
+     * @param bytes -
+     * @param klass -
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    default <T> T deserialize(final byte[] bytes, final Class<T> klass) throws JsonDeserializationException {
+        return deserialize(new String(bytes, UTF_8), klass);
+    }
+
+    /**
+     * Deserialize UTF-8 encoded bytes between position and limit of the buffer to an object of class {@code klass}.
+     *
+     * <p>
+     * The position of the buffer is not changed.
+     *
+     * @param <T> type of the object to deserialize
+     * @param buffer -
+     * @param klass -
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    default <T> T deserialize(final ByteBuffer buffer, final Class<T> klass) throws JsonDeserializationException {
+        return deserialize(UTF_8.decode(buffer.duplicate()).toString(), klass);
+    }
+
+    /**
+     * Deserialize UTF-8 encoded stream to an object of class {@code klass}.
+     *
+     * <p>
+     * The stream is read to the end, but not closed.
+     *
+     * @param <T> type of the object to deserialize
+     * @param stream -
+     * @param klass -
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    default <T> T deserialize(final InputStream stream, final Class<T> klass) throws JsonDeserializationException {
+        try {
+            return deserialize(stream.readAllBytes(), klass);
+        } catch (final IOException e) {
+            throw new JsonDeserializationException("Error reading JSON stream", e);
+        }
+    }
+
+    /**
+     * Hints that objects of given classes are going to be deserialized.
+     *
+     * <p>
+     * Implementations may use this to do the per-type initialization (e.g.&nbsp;build the deserializers) up front, so that the first
+     * actual call is not slower than the following ones. The default implementation does nothing.
+     *
+     * @param klasses -
+     */
+    default void prepare(final Class<?>... klasses) {
+    }
+
 }
@@ -7,6 +7,9 @@
  */
 package com.tenduke.client.json;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.Test;
 
@@ -17,6 +20,22 @@ public class DefaultJsonDeserializerTest {
         assertThat(DefaultJsonDeserializer.INSTANCE.deserialize("hello, world!", String.class)).isEqualTo("hello, world!");
     }
 
+    @Test
+    public void shouldDelegateBinaryVariants() throws JsonDeserializationException {
+        final byte[] json = "\"hello\"".getBytes(UTF_8);
+
+        assertThat(DefaultJsonDeserializer.INSTANCE.deserialize(json, String.class)).isEqualTo("hello, world!");
+        assertThat(DefaultJsonDeserializer.INSTANCE.deserialize(ByteBuffer.wrap(json), String.class)).isEqualTo("hello, world!");
+        assertThat(DefaultJsonDeserializer.INSTANCE.deserialize(new ByteArrayInputStream(json), String.class)).isEqualTo("hello, world!");
+    }
+
+    @Test
+    public void shouldDelegatePrepare() {
+        DefaultJsonDeserializer.INSTANCE.prepare(Integer.class, Long.class);
+
+        assertThat(FakeDeserializer.PREPARED).contains(Integer.class, Long.class);
+    }
+
     @Test
     public void getShouldReturnTheDefaultDeserializer() {
         assertThat(DefaultJsonDeserializer.INSTANCE.get()).isInstanceOf(FakeDeserializer.class);
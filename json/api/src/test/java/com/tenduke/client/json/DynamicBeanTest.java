@@ -7,8 +7,13 @@
  */
 package com.tenduke.client.json;
 
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.entry;
 import org.junit.Before;
 import org.junit.Test;
@@ -43,4 +48,126 @@ public class DynamicBeanTest {
         assertThat(bean.gimmeAdditionalProperty("sesam")).isEqualTo("open");
     }
 
+    @Test
+    public void shouldHaveNoPropertiesInitially() {
+        assertThat(bean.getAdditionalProperties()).isEmpty();
+        assertThat(bean.gimmeAdditionalProperty("hello")).isNull();
+    }
+
+    @Test
+    public void shouldReplaceExistingProperty() {
+        bean.zetAdditionalProperty("hello", "world");
+        bean.zetAdditionalProperty("hello", "there");
+
+        assertThat(bean.getAdditionalProperties()).containsOnly(entry("hello", "there"));
+    }
+
+    @Test
+    public void shouldKeepInsertionOrderWhenGrowingBeyondCompactCapacity() {
+        for (int i = 0; i <= DynamicBean.COMPACT_CAPACITY + 1; i++) {
+            bean.zetAdditionalProperty("p" + i, i);
+
+            assertThat(bean.gimmeAdditionalProperty("p" + i)).isEqualTo(i);
+        }
+
+        assertThat(bean.getAdditionalProperties().keySet()).containsExactly("p0", "p1", "p2", "p3", "p4", "p5");
+        assertThat(bean.gimmeAdditionalProperty("p2")).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldAddManyPropertiesAtOnce() {
+        final Map<String, Object> properties = new LinkedHashMap<>();
+
+        for (int i = 0; i < 10; i++) {
+            properties.put("p" + i, i);
+        }
+
+        bean.zetAdditionalProperty("first", "value");
+        bean.zetAdditionalProperties(properties);
+
+        assertThat(bean.getAdditionalProperties()).hasSize(11).containsEntry("first", "value").containsEntry("p9", 9);
+    }
+
+    @Test
+    public void viewShouldBeLiveAndModifiable() {
+        final Map<String, Object> view = bean.getAdditionalProperties();
+
+        assertThat(view.put("hello", "world")).isNull();
+        assertThat(view.put("hello", "there")).isEqualTo("world");
+        assertThat(view.containsKey("hello")).isTrue();
+        assertThat(view.get("hello")).isEqualTo("there");
+        assertThat(view.get(42)).isNull();
+        assertThat(bean.gimmeAdditionalProperty("hello")).isEqualTo("there");
+
+        for (int i = 0; i < DynamicBean.COMPACT_CAPACITY; i++) {
+            bean.zetAdditionalProperty("p" + i, i);
+        }
+
+        assertThat(view).hasSize(DynamicBean.COMPACT_CAPACITY + 1).containsEntry("p3", 3);
+        assertThat(view.containsKey("p0")).isTrue();
+    }
+
+    @Test
+    public void shouldRemoveThroughViewIterator() {
+        bean.zetAdditionalProperties(Map.of("a", 1, "b", 2, "c", 3));
+
+        final Iterator<Map.Entry<String, Object>> iterator = bean.getAdditionalProperties().entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey().equals("b")) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(bean.getAdditionalProperties()).containsOnly(entry("a", 1), entry("c", 3));
+        assertThat(bean.gimmeAdditionalProperty("b")).isNull();
+
+        bean.getAdditionalProperties().remove("a");
+
+        assertThat(bean.getAdditionalProperties()).containsOnly(entry("c", 3));
+    }
+
+    @Test
+    public void shouldSetValueThroughViewEntries() {
+        bean.zetAdditionalProperties(Map.of("a", 1, "b", 2));
+
+        for (final Map.Entry<String, Object> property : bean.getAdditionalProperties().entrySet()) {
+            assertThat(property.setValue(((Integer) property.getValue()) * 10)).isIn(1, 2);
+        }
+
+        assertThat(bean.getAdditionalProperties()).containsOnly(entry("a", 10), entry("b", 20));
+        assertThat(bean.getAdditionalProperties().entrySet()).contains(new AbstractMap.SimpleEntry<>("a", 10));
+    }
+
+    @Test
+    public void shouldAllowNullPropertyName() {
+        bean.zetAdditionalProperty("a", 1);
+        bean.zetAdditionalProperty(null, "null-name");
+
+        assertThat(bean.gimmeAdditionalProperty(null)).isEqualTo("null-name");
+        assertThat(bean.getAdditionalProperties()).containsKey(null);
+        assertThat(bean.getAdditionalProperties().get(null)).isEqualTo("null-name");
+        assertThat(bean.getAdditionalProperties()).containsExactly(entry("a", 1), entry(null, "null-name"));
+
+        for (int i = 0; i < DynamicBean.COMPACT_CAPACITY; i++) {
+            bean.zetAdditionalProperty("key-" + i, i);
+        }
+
+        assertThat(bean.gimmeAdditionalProperty(null)).isEqualTo("null-name");
+    }
+
+    @Test
+    public void shouldReturnSameView() {
+        assertThat(bean.getAdditionalProperties()).isSameAs(bean.getAdditionalProperties());
+        assertThat(bean.getAdditionalProperties().entrySet()).isSameAs(bean.getAdditionalProperties().entrySet());
+    }
+
+    @Test
+    public void viewIteratorShouldFollowTheContract() {
+        final Iterator<Map.Entry<String, Object>> iterator = bean.getAdditionalProperties().entrySet().iterator();
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> iterator.remove());
+        assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> iterator.next());
+    }
+
 }
@@ -7,8 +7,13 @@
  */
 package com.tenduke.client.json;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public class FakeDeserializer implements JsonDeserializer {
 
+    static final List<Class<?>> PREPARED = new CopyOnWriteArrayList<>();
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T deserialize(String string, Class<T> klass) throws JsonDeserializationException {
@@ -19,4 +24,9 @@ public class FakeDeserializer implements JsonDeserializer {
         return null;
     }
 
+    @Override
+    public void prepare(Class<?>... klasses) {
+        PREPARED.addAll(List.of(klasses));
+    }
+
 }
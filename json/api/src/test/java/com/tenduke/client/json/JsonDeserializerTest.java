@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.Test;
+
+public class JsonDeserializerTest {
+
+    private final JsonDeserializer echo = new JsonDeserializer() {
+        @Override
+        public <T> T deserialize(final String string, final Class<T> klass) {
+            return klass.cast(string);
+        }
+    };
+
+    @Test
+    public void defaultByteArrayVariantShouldDecodeUtf8() throws JsonDeserializationException {
+        assertThat(echo.deserialize("{\"name\":\"Öljy\"}".getBytes(UTF_8), String.class)).isEqualTo("{\"name\":\"Öljy\"}");
+    }
+
+    @Test
+    public void defaultByteBufferVariantShouldDecodeRemainingBytesWithoutMovingPosition() throws JsonDeserializationException {
+        final ByteBuffer buffer = ByteBuffer.wrap("xx{\"a\":1}yy".getBytes(UTF_8), 2, 7);
+
+        assertThat(echo.deserialize(buffer, String.class)).isEqualTo("{\"a\":1}");
+        assertThat(buffer.position()).isEqualTo(2);
+    }
+
+    @Test
+    public void defaultStreamVariantShouldReadTheStream() throws JsonDeserializationException {
+        assertThat(echo.deserialize(new ByteArrayInputStream("{\"a\":1}".getBytes(UTF_8)), String.class)).isEqualTo("{\"a\":1}");
+    }
+
+    @Test
+    public void defaultStreamVariantShouldWrapReadErrors() {
+        final InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("simulated");
+            }
+        };
+
+        assertThatExceptionOfType(JsonDeserializationException.class)
+                .isThrownBy(() -> echo.deserialize(failing, String.class))
+                .withCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void defaultPrepareShouldDoNothing() throws JsonDeserializationException {
+        echo.prepare(String.class);
+
+        assertThat(echo.deserialize("{}", String.class)).isEqualTo("{}");
+    }
+
+}
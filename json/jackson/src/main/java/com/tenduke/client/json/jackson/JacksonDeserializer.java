@@ -7,22 +7,36 @@
  */
 package com.tenduke.client.json.jackson;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.tenduke.client.json.JsonDeserializationException;
 import com.tenduke.client.json.JsonDeserializer;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Jackson-implementation of {@link JsonDeserializer}.
  *
+ * <p>
+ * An {@link ObjectReader} is built once per target class and reused, so the deserializer for the class is not looked up on every
+ * call. Use {@link #prepare(java.lang.Class...) } to build the readers up front. The readers capture the configuration of the mapper
+ * when they are built, so the mapper must not be re-configured after passing it to this class.
+ *
  */
 public class JacksonDeserializer implements JsonDeserializer {
 
     /** Mapper for normal cases. */
     private final ObjectMapper mapper;
 
+    /** Readers per target class. */
+    private final ConcurrentHashMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
     /**
      * Constructs new instance.
      *
@@ -68,10 +82,108 @@ public class JacksonDeserializer implements JsonDeserializer {
     public <T> T deserialize(final String string, final Class<T> klass) throws JsonDeserializationException {
 
         try {
-            return mapper.readValue(string, klass);
+            return readerFor(klass).readValue(string);
         } catch (final IOException e) {
             throw new JsonDeserializationException("Error deserializing String value", e);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The bytes are parsed directly, without decoding to {@code String} first.
+     *
+     * @param <T> -
+     * @param bytes -
+     * @param klass -
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    @Override
+    public <T> T deserialize(final byte[] bytes, final Class<T> klass) throws JsonDeserializationException {
+
+        try {
+            return readerFor(klass).readValue(bytes);
+        } catch (final IOException e) {
+            throw new JsonDeserializationException("Error deserializing byte[] value", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Heap buffers are parsed directly from the backing array, other buffers are streamed.
+     *
+     * @param <T> -
+     * @param buffer -
+     * @param klass -
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    @Override
+    public <T> T deserialize(final ByteBuffer buffer, final Class<T> klass) throws JsonDeserializationException {
+
+        try {
+            if (buffer.hasArray()) {
+                return readerFor(klass).readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+
+            return readerFor(klass).readValue(new ByteBufferBackedInputStream(buffer.duplicate()));
+        } catch (final IOException e) {
+            throw new JsonDeserializationException("Error deserializing ByteBuffer value", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The stream is not closed, closing it remains the responsibility of the caller.
+     *
+     * @param <T> -
+     * @param stream -
+     * @param klass -
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    @Override
+    public <T> T deserialize(final InputStream stream, final Class<T> klass) throws JsonDeserializationException {
+
+        try {
+            return readerFor(klass).readValue(stream);
+        } catch (final IOException e) {
+            throw new JsonDeserializationException("Error deserializing InputStream value", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Builds the readers (and the deserializers) for given classes.
+     *
+     * @param klasses -
+     */
+    @Override
+    public void prepare(final Class<?>... klasses) {
+        for (final Class<?> klass : klasses) {
+            readerFor(klass);
+        }
+    }
+
+    /**
+     * Returns the reader for given class, building it on first call.
+     *
+     * <p>
+     * The readers do not close the input, see {@link JsonParser.Feature#AUTO_CLOSE_SOURCE}.
+     *
+     * @param klass -
+     * @return -
+     */
+    protected ObjectReader readerFor(final Class<?> klass) {
+        return readers.computeIfAbsent(klass, (ignored) -> mapper.readerFor(klass).without(JsonParser.Feature.AUTO_CLOSE_SOURCE));
+    }
+
 }
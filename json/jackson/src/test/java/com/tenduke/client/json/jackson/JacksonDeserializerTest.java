@@ -10,8 +10,13 @@ package com.tenduke.client.json.jackson;
 import com.tenduke.client.json.DynamicBean;
 import com.tenduke.client.json.JsonDeserializationException;
 import com.tenduke.client.json.JsonDeserializer;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.assertj.core.api.Assertions;
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.Test;
@@ -38,6 +43,72 @@ public class JacksonDeserializerTest {
         }).withCauseInstanceOf(IOException.class);
     }
 
+    @Test
+    public void shouldReuseReaderPerClass() throws JsonDeserializationException {
+        final JacksonDeserializer deserializer = new JacksonDeserializer();
+
+        deserializer.prepare(StaticTestBean.class);
+
+        assertThat(deserializer.readerFor(StaticTestBean.class)).isSameAs(deserializer.readerFor(StaticTestBean.class));
+        assertThat(deserializer.readerFor(String.class)).isNotSameAs(deserializer.readerFor(StaticTestBean.class));
+        assertThat(deserializer.deserialize("{\"string_value\": \"hello\"}", StaticTestBean.class).getStringValue()).isEqualTo("hello");
+    }
+
+    @Test
+    public void shouldDeserializeBytes() throws JsonDeserializationException {
+        final byte[] json = "{\"string_value\": \"hyvää päivää\"}".getBytes(UTF_8);
+
+        assertThat(new JacksonDeserializer().deserialize(json, StaticTestBean.class).getStringValue()).isEqualTo("hyvää päivää");
+    }
+
+    @Test
+    public void shouldDeserializeRemainingBytesOfHeapAndDirectBuffers() throws JsonDeserializationException {
+        final byte[] json = "xx{\"string_value\": \"hello\"}".getBytes(UTF_8);
+        final ByteBuffer heap = ByteBuffer.wrap(json).position(2);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(json.length).put(json).flip().position(2);
+
+        assertThat(new JacksonDeserializer().deserialize(heap, StaticTestBean.class).getStringValue()).isEqualTo("hello");
+        assertThat(new JacksonDeserializer().deserialize(direct, StaticTestBean.class).getStringValue()).isEqualTo("hello");
+        assertThat(direct.position()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldDeserializeStream() throws JsonDeserializationException {
+        final ByteArrayInputStream json = new ByteArrayInputStream("{\"string_value\": \"hello\"}".getBytes(UTF_8));
+
+        assertThat(new JacksonDeserializer().deserialize(json, StaticTestBean.class).getStringValue()).isEqualTo("hello");
+    }
+
+    @Test
+    public void shouldNotCloseStream() throws JsonDeserializationException {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final InputStream json = new ByteArrayInputStream("{\"string_value\": \"hello\"}".getBytes(UTF_8)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        new JacksonDeserializer().deserialize(json, StaticTestBean.class);
+
+        assertThat(closed).isFalse();
+    }
+
+    @Test
+    public void binaryVariantsShouldWrapExceptionsToJsonSerializationException() {
+        final byte[] invalid = "{\"a: \"b\"}".getBytes(UTF_8);
+
+        Assertions.assertThatExceptionOfType(JsonDeserializationException.class)
+                .isThrownBy(() -> new JacksonDeserializer().deserialize(invalid, StaticTestBean.class))
+                .withCauseInstanceOf(IOException.class);
+        Assertions.assertThatExceptionOfType(JsonDeserializationException.class)
+                .isThrownBy(() -> new JacksonDeserializer().deserialize(ByteBuffer.wrap(invalid), StaticTestBean.class))
+                .withCauseInstanceOf(IOException.class);
+        Assertions.assertThatExceptionOfType(JsonDeserializationException.class)
+                .isThrownBy(() -> new JacksonDeserializer().deserialize(new ByteArrayInputStream(invalid), StaticTestBean.class))
+                .withCauseInstanceOf(IOException.class);
+    }
+
     @Test
     public void defaultObjectMapperShouldHandleAdditionalPropertiesOnDynamicBeans() throws IOException {
         assertThat(JacksonDeserializer.createDefaultObjectMapper()
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link JwtParserFactory}, which caches the created parsers per key.
+ *
+ * <p>
+ * Building a parser (and initializing the key) is done once per key, so calling {@link #create(java.security.Key) } e.g.&nbsp;per request
+ * is cheap. Keys are identified by their algorithm and SHA-256 fingerprint of their encoded form, so equal keys loaded separately share
+ * the parser. Keys without encoded form are identified by object identity. Key instances already seen are looked up by identity first,
+ * so the common case of reusing the same key instance does not compute the fingerprint.
+ *
+ * <p>
+ * When the cache is full, it is cleared before caching a new parser, so that keys seen after the cache filled up get cached too.
+ *
+ * <p>
+ * The parsers created by the delegate factory must be thread-safe, as the cached instances are shared between threads.
+ *
+ * <p>
+ * Instances are thread-safe.
+ */
+public class CachingJwtParserFactory implements JwtParserFactory {
+
+    /** Default maximum number of cached parsers. */
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    /** The cached parsers, by {@link #cacheKeyOf(java.security.Key) }. */
+    private final ConcurrentHashMap<Object, JwtParser> parsers = new ConcurrentHashMap<>();
+
+    /** The cached parsers, by key instance. */
+    private final ConcurrentHashMap<IdentityKey, JwtParser> parsersByIdentity = new ConcurrentHashMap<>();
+
+    /** The factory to create the actual parsers. */
+    private final JwtParserFactory delegate;
+
+    /** Maximum number of cached parsers. */
+    private final int maxSize;
+
+    /**
+     * Constructs new instance with default maximum size.
+     *
+     * @param delegate -
+     */
+    public CachingJwtParserFactory(final JwtParserFactory delegate) {
+        this(delegate, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param delegate -
+     * @param maxSize maximum number of cached parsers. When the cache is full, it is cleared before caching a new parser.
+     */
+    public CachingJwtParserFactory(final JwtParserFactory delegate, final int maxSize) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param validationKey -
+     * @return -
+     */
+    @Override
+    public JwtParser create(@Nullable final Key validationKey) {
+        if (validationKey == null) {
+            return delegate.create(null);
+        }
+
+        final IdentityKey identity = new IdentityKey(validationKey);
+        @Nullable final JwtParser known = parsersByIdentity.get(identity);
+
+        if (known != null) {
+            return known;
+        }
+
+        final Object cacheKey = cacheKeyOf(validationKey);
+        @Nullable JwtParser parser = parsers.get(cacheKey);
+
+        if (parser == null) {
+            clearIfFull(parsers);
+            parser = parsers.computeIfAbsent(cacheKey, (ignored) -> delegate.create(validationKey));
+        }
+
+        clearIfFull(parsersByIdentity);
+        parsersByIdentity.put(identity, parser);
+
+        return parser;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Parsers with key resolvers are not cached: The resolver is expected to cache the keys.
+     *
+     * @param keyResolver -
+     * @return -
+     */
+    @Override
+    public JwtParser createWithKeyResolver(final JwtKeyResolver keyResolver) {
+        return delegate.createWithKeyResolver(keyResolver);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Only the parsers with no clock skew are cached, others are created by the delegate factory on each call.
+     *
+     * @param validationKey -
+     * @param allowedClockSkew -
+     * @return -
+     */
+    @Override
+    public JwtParser create(@Nullable final Key validationKey, final Duration allowedClockSkew) {
+        return (allowedClockSkew.isZero() ? create(validationKey) : delegate.create(validationKey, allowedClockSkew));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param keyResolver -
+     * @param allowedClockSkew -
+     * @return -
+     */
+    @Override
+    public JwtParser createWithKeyResolver(final JwtKeyResolver keyResolver, final Duration allowedClockSkew) {
+        return delegate.createWithKeyResolver(keyResolver, allowedClockSkew);
+    }
+
+    /**
+     * Returns number of cached parsers.
+     *
+     * @return -
+     */
+    public int size() {
+        return parsers.size();
+    }
+
+    /**
+     * Removes all cached parsers.
+     *
+     */
+    public void clear() {
+        parsers.clear();
+        parsersByIdentity.clear();
+    }
+
+    /**
+     * Builds the cache key for given key.
+     *
+     * @param key -
+     * @return -
+     */
+    protected Object cacheKeyOf(final Key key) {
+        @Nullable final byte[] encoded = key.getEncoded();
+
+        if (encoded == null) {
+            return new IdentityKey(key);
+        }
+
+        return new KeyFingerprint(key.getAlgorithm(), key.getFormat(), MessageDigestPool.sha256().digest(encoded));
+    }
+
+    /**
+     * Clears given cache if it is full.
+     *
+     * <p>
+     * Clearing is cheaper than tracking usage for LRU-eviction on every lookup, and the cache is expected to fill up only if the keys
+     * are rotated or there are more active keys than the maximum size.
+     *
+     * @param cache -
+     */
+    private void clearIfFull(final Map<?, JwtParser> cache) {
+        if (cache.size() >= maxSize) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Identifies key by its algorithm, format and fingerprint.
+     *
+     */
+    private static final class KeyFingerprint {
+
+        /** Key algorithm. */
+        private final String algorithm;
+
+        /** SHA-256 of the encoded key. */
+        private final byte[] fingerprint;
+
+        /** Format of the encoded key. */
+        private final String format;
+
+        /** Pre-computed hash code. */
+        private final int hash;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param algorithm -
+         * @param format -
+         * @param fingerprint -
+         */
+        KeyFingerprint(final String algorithm, final String format, final byte[] fingerprint) {
+            this.algorithm = algorithm;
+            this.format = format;
+            this.fingerprint = fingerprint;
+            this.hash = Objects.hash(algorithm, format, Arrays.hashCode(fingerprint));
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof KeyFingerprint)) {
+                return false;
+            }
+
+            final KeyFingerprint that = (KeyFingerprint) other;
+
+            return Objects.equals(algorithm, that.algorithm)
+                    && Objects.equals(format, that.format)
+                    && Arrays.equals(fingerprint, that.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    /**
+     * Identifies key by object identity.
+     *
+     */
+    private static final class IdentityKey {
+
+        /** The key. */
+        private final Key key;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param key -
+         */
+        IdentityKey(final Key key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return (other instanceof IdentityKey && ((IdentityKey) other).key == key);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(key);
+        }
+
+    }
+
+}
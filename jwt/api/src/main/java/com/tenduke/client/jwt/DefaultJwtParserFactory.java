@@ -8,8 +8,9 @@
 package com.tenduke.client.jwt;
 
 import java.security.Key;
-import java.util.Optional;
+import java.time.Duration;
 import java.util.ServiceLoader;
+import javax.annotation.Nullable;
 
 /**
  * A singleton to access default {@link JwtParserFactory}.
@@ -18,6 +19,15 @@ import java.util.ServiceLoader;
  * The default factory is initialized using {@link ServiceLoader}. Implementation of the {@code JwtParserFactory} is loaded from
  * classpath. In Maven terms, declare a dependency to an artifact containing the implementation of the service (with proper
  * {@code META-INF/services} definition).
+ *
+ * <p>
+ * If there are multiple implementations in classpath, the first one found is used, unless system property
+ * {@value #FACTORY_PROPERTY} specifies the fully qualified class name of the factory to use, e.g.
+ * {@code -Dcom.tenduke.client.jwt.factory=com.tenduke.client.jwt.jdk.JdkJwtParserFactory}.
+ *
+ * <p>
+ * The created parsers are cached per key (see {@link CachingJwtParserFactory}), so calling {@link #create(java.security.Key) } repeatedly
+ * with the same key returns the same, shared parser instance.
  */
 public enum DefaultJwtParserFactory implements JwtParserFactory {
     /**
@@ -25,6 +35,9 @@ public enum DefaultJwtParserFactory implements JwtParserFactory {
      */
     INSTANCE;
 
+    /** Name of system property, which selects the factory implementation. */
+    public static final String FACTORY_PROPERTY = "com.tenduke.client.jwt.factory";
+
     /**
      * The actual factory implementation.
      */
@@ -36,14 +49,35 @@ public enum DefaultJwtParserFactory implements JwtParserFactory {
      * @throws IllegalStateException -
      */
     DefaultJwtParserFactory() throws IllegalStateException {
-        final ServiceLoader<JwtParserFactory> jwtParserFactories = ServiceLoader.load(JwtParserFactory.class);
-        final Optional<JwtParserFactory> configuredFactory = jwtParserFactories.findFirst();
+        this.factory = new CachingJwtParserFactory(
+                select(ServiceLoader.load(JwtParserFactory.class), System.getProperty(FACTORY_PROPERTY))
+        );
+    }
+
+    /**
+     * Selects the factory implementation.
+     *
+     * @param factories available factories
+     * @param className fully qualified class name of the factory to select, {@code null} to select the first one
+     * @return -
+     * @throws IllegalStateException if no (matching) factory is available
+     */
+    static JwtParserFactory select(
+            final Iterable<? extends JwtParserFactory> factories,
+            @Nullable final String className
+    ) throws IllegalStateException {
+        for (final JwtParserFactory candidate : factories) {
+            if (className == null || className.equals(candidate.getClass().getName())) {
+                return candidate;
+            }
+        }
 
-        this.factory = configuredFactory.orElseThrow(() -> new IllegalStateException(
+        throw new IllegalStateException(
                 "No implementation of "
                 + JwtParserFactory.class.getCanonicalName()
+                + (className == null ? "" : " with class name " + className)
                 + " found in classpath by ServiceLoader."
-        ));
+        );
     }
 
     /**
@@ -57,4 +91,39 @@ public enum DefaultJwtParserFactory implements JwtParserFactory {
         return factory.create(validationKey);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param keyResolver -
+     * @return -
+     */
+    @Override
+    public JwtParser createWithKeyResolver(final JwtKeyResolver keyResolver) {
+        return factory.createWithKeyResolver(keyResolver);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param validationKey -
+     * @param allowedClockSkew -
+     * @return -
+     */
+    @Override
+    public JwtParser create(final Key validationKey, final Duration allowedClockSkew) {
+        return factory.create(validationKey, allowedClockSkew);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param keyResolver -
+     * @param allowedClockSkew -
+     * @return -
+     */
+    @Override
+    public JwtParser createWithKeyResolver(final JwtKeyResolver keyResolver, final Duration allowedClockSkew) {
+        return factory.createWithKeyResolver(keyResolver, allowedClockSkew);
+    }
+
 }
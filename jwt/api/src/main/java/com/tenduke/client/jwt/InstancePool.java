@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * Bounded pool of idle, reusable instances.
+ *
+ * <p>
+ * The pool does not create instances, callers create a new instance if {@link #acquire() } returns {@code null}. Instances released
+ * when the pool is full are dropped. Unlike thread-locals, pooled instances are shared by all threads and are not retained per thread,
+ * so the pool works the same with thread pools and short-lived (or virtual) threads.
+ *
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @param <T> type of the pooled instances
+ */
+final class InstancePool<T> {
+
+    /** The idle instances. */
+    private final ConcurrentLinkedQueue<T> idle = new ConcurrentLinkedQueue<>();
+
+    /** Number of idle instances. {@link ConcurrentLinkedQueue#size() } is not constant-time, so the count is tracked separately. */
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /** Maximum number of idle instances. */
+    private final int maxIdle;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param maxIdle maximum number of idle instances
+     */
+    InstancePool(final int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Takes an idle instance from the pool.
+     *
+     * @return the instance, {@code null} if the pool is empty
+     */
+    @Nullable T acquire() {
+        @Nullable final T instance = idle.poll();
+
+        if (instance != null) {
+            idleCount.decrementAndGet();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns an instance to the pool. The instance must be in reusable state.
+     *
+     * @param instance -
+     */
+    void release(final T instance) {
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(instance);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns number of idle instances.
+     *
+     * @return -
+     */
+    int idleCount() {
+        return idleCount.get();
+    }
+
+}
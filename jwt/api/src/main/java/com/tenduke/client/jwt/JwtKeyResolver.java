@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt;
+
+import java.security.Key;
+import javax.annotation.Nullable;
+
+/**
+ * Resolves the signature verification key of a JWT from the JWT header.
+ *
+ * <p>
+ * This allows verifying JWTs signed with multiple or rotating keys, e.g.&nbsp;keys published as JSON Web Key Set.
+ *
+ */
+public interface JwtKeyResolver {
+
+    /**
+     * Resolves the verification key.
+     *
+     * @param keyId key id ({@code kid} header of the JWT), {@code null} if the JWT does not specify key id
+     * @param algorithm signature algorithm ({@code alg} header of the JWT)
+     * @return the key
+     * @throws JwtException if the key cannot be resolved
+     */
+    Key resolve(@Nullable String keyId, String algorithm) throws JwtException;
+
+}
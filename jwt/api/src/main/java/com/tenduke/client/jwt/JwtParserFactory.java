@@ -8,10 +8,15 @@
 package com.tenduke.client.jwt;
 
 import java.security.Key;
+import java.time.Duration;
 
 /**
  * Factory for creating {@link JwtParser} with given validation {@link Key}.
  *
+ * <p>
+ * The created parsers reject expired tokens and tokens, which are not valid yet. By default no clock skew is allowed in these checks,
+ * the methods taking {@code allowedClockSkew} create parsers which allow for given skew.
+ *
  */
 public interface JwtParserFactory {
 
@@ -22,4 +27,63 @@ public interface JwtParserFactory {
      * @return -
      */
     JwtParser create(Key validationKey);
+
+    /**
+     * Creates parser, which resolves the validation key per token with given resolver.
+     *
+     * <p>
+     * This default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param keyResolver -
+     * @return -
+     * @throws UnsupportedOperationException if the implementation does not support key resolvers
+     */
+    default JwtParser createWithKeyResolver(JwtKeyResolver keyResolver) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException(getClass().getCanonicalName() + " does not support key resolvers");
+    }
+
+    /**
+     * Creates the parser, which allows for given clock skew when checking {@code exp} and {@code nbf}.
+     *
+     * <p>
+     * This default implementation delegates to {@link #create(java.security.Key) } if the skew is zero, and throws
+     * {@link UnsupportedOperationException} otherwise.
+     *
+     * @param validationKey -
+     * @param allowedClockSkew -
+     * @return -
+     * @throws UnsupportedOperationException if the implementation does not support clock skew
+     */
+    default JwtParser create(Key validationKey, Duration allowedClockSkew) throws UnsupportedOperationException {
+        if (!allowedClockSkew.isZero()) {
+            throw new UnsupportedOperationException(getClass().getCanonicalName() + " does not support clock skew");
+        }
+
+        return create(validationKey);
+    }
+
+    /**
+     * Creates parser, which resolves the validation key per token with given resolver and allows for given clock skew when checking
+     * {@code exp} and {@code nbf}.
+     *
+     * <p>
+     * This default implementation delegates to {@link #createWithKeyResolver(com.tenduke.client.jwt.JwtKeyResolver) } if the skew is
+     * zero, and throws {@link UnsupportedOperationException} otherwise.
+     *
+     * @param keyResolver -
+     * @param allowedClockSkew -
+     * @return -
+     * @throws UnsupportedOperationException if the implementation does not support key resolvers or clock skew
+     */
+    default JwtParser createWithKeyResolver(
+            JwtKeyResolver keyResolver,
+            Duration allowedClockSkew
+    ) throws UnsupportedOperationException {
+        if (!allowedClockSkew.isZero()) {
+            throw new UnsupportedOperationException(getClass().getCanonicalName() + " does not support clock skew");
+        }
+
+        return createWithKeyResolver(keyResolver);
+    }
+
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import javax.annotation.Nullable;
+
+/**
+ * Computes digests with one algorithm, reusing {@link MessageDigest} instances instead of looking up the security providers with
+ * {@link MessageDigest#getInstance(java.lang.String) } on every call.
+ *
+ * <p>
+ * Instances are thread-safe.
+ */
+public class MessageDigestPool {
+
+    /** Shared SHA-256 pool. */
+    private static final MessageDigestPool SHA_256 = newSha256();
+
+    /** The algorithm. */
+    private final String algorithm;
+
+    /** Idle digests. */
+    private final InstancePool<MessageDigest> digests;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param algorithm the digest algorithm, e.g.&nbsp;{@code SHA-256}
+     * @param maxIdle maximum number of idle {@link MessageDigest} instances kept for reuse
+     * @throws NoSuchAlgorithmException if the algorithm is not supported
+     */
+    public MessageDigestPool(final String algorithm, final int maxIdle) throws NoSuchAlgorithmException {
+        this.algorithm = algorithm;
+        this.digests = new InstancePool<>(maxIdle);
+
+        digests.release(MessageDigest.getInstance(algorithm));
+    }
+
+    /**
+     * Returns the shared SHA-256 pool.
+     *
+     * @return -
+     */
+    public static MessageDigestPool sha256() {
+        return SHA_256;
+    }
+
+    /**
+     * Computes the digest.
+     *
+     * @param data -
+     * @return -
+     */
+    public byte[] digest(final byte[] data) {
+        @Nullable MessageDigest digest = digests.acquire();
+
+        if (digest == null) {
+            try {
+                digest = MessageDigest.getInstance(algorithm);
+            } catch (final NoSuchAlgorithmException e) {
+                // Did not fail in the constructor, so should not fail now
+                throw new IllegalStateException(algorithm + " not supported", e);
+            }
+        }
+
+        // digest() resets the instance, so it can be reused as such
+        final byte[] result = digest.digest(data);
+
+        digests.release(digest);
+
+        return result;
+    }
+
+    /**
+     * Creates the shared SHA-256 pool.
+     *
+     * @return -
+     */
+    private static MessageDigestPool newSha256() {
+        try {
+            return new MessageDigestPool("SHA-256", SignatureVerifier.DEFAULT_MAX_IDLE);
+        } catch (final NoSuchAlgorithmException e) {
+            // Every JDK is required to support SHA-256
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt;
+
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.spec.AlgorithmParameterSpec;
+import javax.annotation.Nullable;
+
+/**
+ * Verifies signatures with one algorithm and key, reusing {@link Signature} instances.
+ *
+ * <p>
+ * {@link Signature#getInstance(java.lang.String) } looks up the security providers and
+ * {@link Signature#initVerify(java.security.PublicKey) } prepares the key, both of which are costly compared to verifying a short JWT.
+ * This class does both once per {@link Signature} instance and keeps the initialized instances in a bounded pool: After
+ * {@link Signature#verify(byte[]) } the instance is reset to the state after initialization, so it can be reused for the same key as such.
+ *
+ * <p>
+ * Create one instance per key and algorithm and share it, e.g.&nbsp;hold it in the parser of that key.
+ *
+ * <p>
+ * Instances are thread-safe.
+ */
+public class SignatureVerifier {
+
+    /** Default maximum number of idle {@link Signature} instances. */
+    public static final int DEFAULT_MAX_IDLE = 16;
+
+    /** JDK name of the signature algorithm. */
+    private final String algorithm;
+
+    /** Parameters of the signature algorithm, {@code null} if none. */
+    private final @Nullable AlgorithmParameterSpec parameters;
+
+    /** The verification key. */
+    private final PublicKey key;
+
+    /** Initialized, idle signatures. */
+    private final InstancePool<Signature> signatures;
+
+    /**
+     * Constructs new instance with default pool size.
+     *
+     * @param algorithm JDK name of the signature algorithm, e.g.&nbsp;{@code SHA256withRSA}
+     * @param parameters parameters of the signature algorithm, {@code null} if none
+     * @param key the verification key
+     * @throws GeneralSecurityException if the algorithm is not supported, or the key or the parameters are not valid for the algorithm
+     */
+    public SignatureVerifier(
+            final String algorithm,
+            @Nullable final AlgorithmParameterSpec parameters,
+            final PublicKey key
+    ) throws GeneralSecurityException {
+        this(algorithm, parameters, key, DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param algorithm JDK name of the signature algorithm, e.g.&nbsp;{@code SHA256withRSA}
+     * @param parameters parameters of the signature algorithm, {@code null} if none
+     * @param key the verification key
+     * @param maxIdle maximum number of idle {@link Signature} instances kept for reuse
+     * @throws GeneralSecurityException if the algorithm is not supported, or the key or the parameters are not valid for the algorithm
+     */
+    public SignatureVerifier(
+            final String algorithm,
+            @Nullable final AlgorithmParameterSpec parameters,
+            final PublicKey key,
+            final int maxIdle
+    ) throws GeneralSecurityException {
+        this.algorithm = algorithm;
+        this.parameters = parameters;
+        this.key = key;
+        this.signatures = new InstancePool<>(maxIdle);
+
+        // Fails fast on unsupported algorithm or invalid key, and primes the pool:
+        signatures.release(newSignature());
+    }
+
+    /**
+     * Verifies the signature.
+     *
+     * @param data the signed data
+     * @param offset offset of the signed data in {@code data}
+     * @param length length of the signed data
+     * @param signature the signature
+     * @return {@code true} if the signature is valid
+     * @throws SignatureException if the signature cannot be processed, e.g.&nbsp;it is malformed
+     */
+    public boolean verify(
+            final byte[] data,
+            final int offset,
+            final int length,
+            final byte[] signature
+    ) throws SignatureException {
+        final Signature verifier = acquire();
+
+        verifier.update(data, offset, length);
+
+        // If verify() throws, the state of the instance is unknown and it is not returned to the pool
+        final boolean valid = verifier.verify(signature);
+
+        signatures.release(verifier);
+
+        return valid;
+    }
+
+    /**
+     * Returns the key.
+     *
+     * @return -
+     */
+    public PublicKey getKey() {
+        return key;
+    }
+
+    /**
+     * Takes initialized signature from the pool, or creates new one.
+     *
+     * @return -
+     */
+    private Signature acquire() {
+        @Nullable final Signature pooled = signatures.acquire();
+
+        if (pooled != null) {
+            return pooled;
+        }
+
+        try {
+            return newSignature();
+        } catch (final GeneralSecurityException e) {
+            // Did not fail in the constructor, so should not fail now
+            throw new IllegalStateException("Creating signature " + algorithm + " failed", e);
+        }
+    }
+
+    /**
+     * Creates signature, initialized for verification.
+     *
+     * @return -
+     * @throws GeneralSecurityException -
+     */
+    private Signature newSignature() throws GeneralSecurityException {
+        final Signature signature = Signature.getInstance(algorithm);
+
+        if (parameters != null) {
+            signature.setParameter(parameters);
+        }
+
+        signature.initVerify(key);
+
+        return signature;
+    }
+
+    /**
+     * Returns number of idle signatures, for tests.
+     *
+     * @return -
+     */
+    int idleCount() {
+        return signatures.idleCount();
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt;
+
+import java.security.Key;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.crypto.spec.SecretKeySpec;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachingJwtParserFactoryTest {
+
+    private CountingFactory delegate;
+    private CachingJwtParserFactory factory;
+
+    @Before
+    public void beforeTest() {
+        delegate = new CountingFactory();
+        factory = new CachingJwtParserFactory(delegate, 2);
+    }
+
+    @Test
+    public void shouldReturnSameParserForSameKey() throws Exception {
+        final PublicKey key = KeyPairGenerator.getInstance("RSA").generateKeyPair().getPublic();
+
+        final JwtParser first = factory.create(key);
+
+        assertThat(factory.create(key)).isSameAs(first);
+        assertThat(delegate.created).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReturnSameParserForEqualKeyInstances() {
+        final Key first = new SecretKeySpec("secret".getBytes(UTF_8), "HmacSHA256");
+        final Key second = new SecretKeySpec("secret".getBytes(UTF_8), "HmacSHA256");
+
+        assertThat(factory.create(second)).isSameAs(factory.create(first));
+        assertThat(delegate.created).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldCreateSeparateParsersForDifferentKeys() {
+        final Key first = new SecretKeySpec("secret".getBytes(UTF_8), "HmacSHA256");
+        final Key second = new SecretKeySpec("other".getBytes(UTF_8), "HmacSHA256");
+
+        assertThat(factory.create(second)).isNotSameAs(factory.create(first));
+        assertThat(factory.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldClearWhenFull() {
+        final List<JwtParser> parsers = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            parsers.add(factory.create(new SecretKeySpec(("secret-" + i).getBytes(UTF_8), "HmacSHA256")));
+        }
+
+        assertThat(factory.size()).isEqualTo(1);
+        assertThat(factory.create(new SecretKeySpec("secret-2".getBytes(UTF_8), "HmacSHA256"))).isSameAs(parsers.get(2));
+        assertThat(factory.create(new SecretKeySpec("secret-0".getBytes(UTF_8), "HmacSHA256"))).isNotSameAs(parsers.get(0));
+
+        factory.clear();
+
+        assertThat(factory.size()).isZero();
+    }
+
+    @Test
+    public void shouldNotFingerprintKnownKeyInstance() {
+        final CountingKey key = new CountingKey();
+
+        final JwtParser first = factory.create(key);
+
+        assertThat(factory.create(key)).isSameAs(first);
+        assertThat(key.encoded).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldUseIdentityForKeysWithoutEncodedForm() {
+        final Key first = new UnencodableKey();
+        final Key second = new UnencodableKey();
+
+        assertThat(factory.create(first)).isSameAs(factory.create(first));
+        assertThat(factory.create(second)).isNotSameAs(factory.create(first));
+    }
+
+    @Test
+    public void shouldNotCacheNullKey() {
+        factory.create(null);
+        factory.create(null);
+
+        assertThat(delegate.created).isEqualTo(2);
+        assertThat(factory.size()).isZero();
+    }
+
+    @Test
+    public void shouldDelegateKeyResolverParsersWithoutCaching() {
+        final JwtKeyResolver resolver = (keyId, algorithm) -> null;
+
+        assertThat(factory.createWithKeyResolver(resolver)).isNotSameAs(factory.createWithKeyResolver(resolver));
+        assertThat(delegate.created).isEqualTo(2);
+        assertThat(factory.size()).isZero();
+    }
+
+    @Test
+    public void shouldCacheParsersWithoutClockSkew() {
+        final Key key = new SecretKeySpec("secret".getBytes(UTF_8), "HmacSHA256");
+
+        assertThat(factory.create(key, Duration.ZERO)).isSameAs(factory.create(key));
+        assertThat(delegate.created).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldDelegateParsersWithClockSkew() {
+        final Key key = new SecretKeySpec("secret".getBytes(UTF_8), "HmacSHA256");
+
+        // CountingFactory relies on the default implementation, which supports no skew:
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> factory.create(key, Duration.ofSeconds(30)));
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> factory.createWithKeyResolver((keyId, algorithm) -> key, Duration.ofSeconds(30)));
+        assertThat(factory.size()).isZero();
+    }
+
+    private static class CountingFactory implements JwtParserFactory {
+
+        private int created;
+
+        @Override
+        public JwtParser create(final Key validationKey) {
+            created++;
+            return new FakeJwtParser();
+        }
+
+        @Override
+        public JwtParser createWithKeyResolver(final JwtKeyResolver keyResolver) {
+            created++;
+            return new FakeJwtParser();
+        }
+
+    }
+
+    private static class CountingKey implements Key {
+
+        private static final long serialVersionUID = 1L;
+
+        private int encoded;
+
+        @Override
+        public String getAlgorithm() {
+            return "HmacSHA256";
+        }
+
+        @Override
+        public String getFormat() {
+            return "RAW";
+        }
+
+        @Override
+        public byte[] getEncoded() {
+            encoded++;
+            return "secret".getBytes(UTF_8);
+        }
+
+    }
+
+    private static class UnencodableKey implements Key {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String getAlgorithm() {
+            return "RSA";
+        }
+
+        @Override
+        public String getFormat() {
+            return null;
+        }
+
+        @Override
+        public byte[] getEncoded() {
+            return null;
+        }
+
+    }
+
+}
@@ -7,7 +7,9 @@
  */
 package com.tenduke.client.jwt;
 
+import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import org.junit.Test;
 
 public class DefaultJwtParserFactoryTest {
@@ -17,4 +19,29 @@ public class DefaultJwtParserFactoryTest {
         assertThat(DefaultJwtParserFactory.INSTANCE.create(null)).isInstanceOf(FakeJwtParser.class);
     }
 
+    @Test
+    public void selectShouldReturnFirstFactoryIfNoClassNameGiven() {
+        final JwtParserFactory first = new FakeJwtParserFactory();
+
+        assertThat(DefaultJwtParserFactory.select(List.of(first, new CachingJwtParserFactory(first)), null)).isSameAs(first);
+    }
+
+    @Test
+    public void selectShouldReturnFactoryWithGivenClassName() {
+        final JwtParserFactory first = new FakeJwtParserFactory();
+        final JwtParserFactory second = new CachingJwtParserFactory(first);
+
+        assertThat(DefaultJwtParserFactory.select(List.of(first, second), CachingJwtParserFactory.class.getName())).isSameAs(second);
+    }
+
+    @Test
+    public void selectShouldThrowIfNoMatchingFactory() {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> DefaultJwtParserFactory.select(List.of(), null))
+                .withMessageContaining("No implementation");
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> DefaultJwtParserFactory.select(List.of(new FakeJwtParserFactory()), "com.example.Missing"))
+                .withMessageContaining("com.example.Missing");
+    }
+
 }
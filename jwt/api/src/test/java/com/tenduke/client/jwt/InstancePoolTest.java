@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class InstancePoolTest {
+
+    @Test
+    public void shouldReturnNullWhenEmpty() {
+        assertThat(new InstancePool<String>(2).acquire()).isNull();
+    }
+
+    @Test
+    public void shouldReuseReleasedInstances() {
+        final InstancePool<Object> pool = new InstancePool<>(2);
+        final Object instance = new Object();
+
+        pool.release(instance);
+
+        assertThat(pool.idleCount()).isEqualTo(1);
+        assertThat(pool.acquire()).isSameAs(instance);
+        assertThat(pool.idleCount()).isEqualTo(0);
+        assertThat(pool.acquire()).isNull();
+    }
+
+    @Test
+    public void shouldDropInstancesWhenFull() {
+        final InstancePool<String> pool = new InstancePool<>(2);
+
+        pool.release("a");
+        pool.release("b");
+        pool.release("c");
+
+        assertThat(pool.idleCount()).isEqualTo(2);
+        assertThat(pool.acquire()).isEqualTo("a");
+        assertThat(pool.acquire()).isEqualTo("b");
+        assertThat(pool.acquire()).isNull();
+    }
+
+}
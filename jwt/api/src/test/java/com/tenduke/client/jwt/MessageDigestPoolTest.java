@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.Test;
+
+public class MessageDigestPoolTest {
+
+    @Test
+    public void shouldComputeSameDigestAsMessageDigest() throws NoSuchAlgorithmException {
+        final byte[] data = "data".getBytes(StandardCharsets.UTF_8);
+        final byte[] expected = MessageDigest.getInstance("SHA-256").digest(data);
+
+        // Repeatedly, to verify that the reused instance is reset
+        for (int i = 0; i < 3; i++) {
+            assertThat(MessageDigestPool.sha256().digest(data)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void shouldSupportOtherAlgorithms() throws NoSuchAlgorithmException {
+        final byte[] data = "data".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(new MessageDigestPool("SHA-512", 1).digest(data)).isEqualTo(MessageDigest.getInstance("SHA-512").digest(data));
+    }
+
+    @Test
+    public void shouldFailFastOnUnsupportedAlgorithm() {
+        assertThatExceptionOfType(NoSuchAlgorithmException.class).isThrownBy(() -> new MessageDigestPool("NoSuchAlgorithm", 1));
+    }
+
+}
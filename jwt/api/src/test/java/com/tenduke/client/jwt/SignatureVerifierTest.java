@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SignatureVerifierTest {
+
+    private static final byte[] DATA = "header.payload".getBytes(StandardCharsets.US_ASCII);
+
+    private static KeyPair rsaKeys;
+    private static KeyPair ecKeys;
+
+    @BeforeClass
+    public static void setupKeys() throws GeneralSecurityException {
+        final KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        rsaKeys = rsa.generateKeyPair();
+
+        final KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+        ec.initialize(new ECGenParameterSpec("secp256r1"));
+        ecKeys = ec.generateKeyPair();
+    }
+
+    @Test
+    public void shouldVerifyValidSignatureRepeatedly() throws GeneralSecurityException {
+        final SignatureVerifier verifier = new SignatureVerifier("SHA256withRSA", null, rsaKeys.getPublic());
+        final byte[] signature = sign("SHA256withRSA", rsaKeys.getPrivate(), DATA);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(verifier.verify(DATA, 0, DATA.length, signature)).isTrue();
+        }
+
+        assertThat(verifier.idleCount()).isEqualTo(1);
+        assertThat(verifier.getKey()).isSameAs(rsaKeys.getPublic());
+    }
+
+    @Test
+    public void shouldVerifyPartOfData() throws GeneralSecurityException {
+        final SignatureVerifier verifier = new SignatureVerifier("SHA256withRSA", null, rsaKeys.getPublic());
+        final byte[] signature = sign("SHA256withRSA", rsaKeys.getPrivate(), "header".getBytes(StandardCharsets.US_ASCII));
+
+        assertThat(verifier.verify(DATA, 0, "header".length(), signature)).isTrue();
+        assertThat(verifier.verify(DATA, 0, DATA.length, signature)).isFalse();
+    }
+
+    @Test
+    public void shouldRejectInvalidSignatureAndStayUsable() throws GeneralSecurityException {
+        final SignatureVerifier verifier = new SignatureVerifier("SHA256withRSA", null, rsaKeys.getPublic());
+        final byte[] signature = sign("SHA256withRSA", rsaKeys.getPrivate(), DATA);
+        final byte[] tampered = signature.clone();
+
+        tampered[0] ^= 1;
+
+        assertThat(verifier.verify(DATA, 0, DATA.length, tampered)).isFalse();
+        assertThat(verifier.verify(DATA, 0, DATA.length, signature)).isTrue();
+    }
+
+    @Test
+    public void shouldNotReuseSignatureAfterException() throws GeneralSecurityException {
+        final SignatureVerifier verifier = new SignatureVerifier("SHA256withRSA", null, rsaKeys.getPublic());
+        final byte[] signature = sign("SHA256withRSA", rsaKeys.getPrivate(), DATA);
+
+        assertThatExceptionOfType(SignatureException.class).isThrownBy(() -> verifier.verify(DATA, 0, DATA.length, new byte[3]));
+        assertThat(verifier.idleCount()).isEqualTo(0);
+
+        assertThat(verifier.verify(DATA, 0, DATA.length, signature)).isTrue();
+        assertThat(verifier.idleCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldFailFastOnUnsupportedAlgorithm() {
+        assertThatExceptionOfType(NoSuchAlgorithmException.class)
+                .isThrownBy(() -> new SignatureVerifier("NoSuchAlgorithm", null, rsaKeys.getPublic()));
+    }
+
+    @Test
+    public void shouldFailFastOnWrongKeyType() {
+        assertThatExceptionOfType(InvalidKeyException.class)
+                .isThrownBy(() -> new SignatureVerifier("SHA256withRSA", null, ecKeys.getPublic()));
+    }
+
+    @Test
+    public void shouldBeSafeToShareBetweenThreads() throws Exception {
+        final SignatureVerifier verifier = new SignatureVerifier("SHA256withRSA", null, rsaKeys.getPublic(), 2);
+        final byte[] signature = sign("SHA256withRSA", rsaKeys.getPrivate(), DATA);
+        final byte[] tampered = signature.clone();
+
+        tampered[1] ^= 1;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            final List<Callable<Boolean>> tasks = new ArrayList<>();
+
+            for (int i = 0; i < 200; i++) {
+                final byte[] candidate = (i % 2 == 0 ? signature : tampered);
+
+                tasks.add(() -> verifier.verify(DATA, 0, DATA.length, candidate));
+            }
+
+            final List<Future<Boolean>> results = executor.invokeAll(tasks);
+
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get()).isEqualTo(i % 2 == 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(verifier.idleCount()).isBetween(1, 2);
+    }
+
+    private static byte[] sign(final String algorithm, final PrivateKey key, final byte[] data) throws GeneralSecurityException {
+        final Signature signature = Signature.getInstance(algorithm);
+
+        signature.initSign(key);
+        signature.update(data);
+
+        return signature.sign();
+    }
+
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jdk;
+
+import com.tenduke.client.jwt.JwtException;
+import com.tenduke.client.jwt.JwtKeyResolver;
+import com.tenduke.client.jwt.JwtParser;
+import com.tenduke.client.jwt.SignatureVerifier;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PublicKey;
+import java.security.SignatureException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * {@link JwtParser}, which verifies signed JWTs (JWS in compact serialization) with plain {@link java.security.Signature}.
+ *
+ * <p>
+ * Supported signature algorithms are {@code RS256}, {@code RS384}, {@code RS512}, {@code PS256}, {@code PS384}, {@code PS512},
+ * {@code ES256}, {@code ES384} and {@code ES512}. Other algorithms, including {@code none}, are rejected. RSA-keys must be at least
+ * 2048 bits long. Tokens with critical header parameters ({@code crit}) are rejected, as no extensions are supported.
+ *
+ * <p>
+ * After the signature has been verified, {@code exp} and {@code nbf} claims are validated, if present, allowing for the configured
+ * clock skew (none by default). The claims are decoded as described in {@link JsonClaimsDecoder}.
+ *
+ * <p>
+ * The signatures are verified with {@link SignatureVerifier}s, which are created once per key and algorithm and kept for the lifetime of
+ * the parser, up to {@value #MAX_CACHED_VERIFIERS} of them. Thus create the parser once and share it.
+ *
+ * <p>
+ * Instances are thread-safe.
+ */
+public class JdkJwtParser implements JwtParser {
+
+    /** Maximum number of cached {@link SignatureVerifier}s. */
+    public static final int MAX_CACHED_VERIFIERS = 64;
+
+    /** Milliseconds per second. */
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    /** Resolves the verification key. */
+    private final JwtKeyResolver keyResolver;
+
+    /** Clock, used for validating {@code exp} and {@code nbf}. */
+    private final Clock clock;
+
+    /** Allowed clock skew in milliseconds, used for validating {@code exp} and {@code nbf}. */
+    private final long allowedClockSkewMillis;
+
+    /** The verifiers, per algorithm and key. */
+    private final ConcurrentHashMap<VerifierKey, SignatureVerifier> verifiers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs new instance, which verifies the tokens with given key.
+     *
+     * @param validationKey -
+     */
+    public JdkJwtParser(@Nullable final Key validationKey) {
+        this(validationKey, Duration.ZERO);
+    }
+
+    /**
+     * Constructs new instance, which verifies the tokens with given key.
+     *
+     * @param validationKey -
+     * @param allowedClockSkew allowed clock skew: Tokens are accepted this long after {@code exp} and before {@code nbf}
+     */
+    public JdkJwtParser(@Nullable final Key validationKey, final Duration allowedClockSkew) {
+        this((keyId, algorithm) -> {
+            if (validationKey == null) {
+                throw new JwtException("No validation key");
+            }
+
+            return validationKey;
+        }, Clock.systemUTC(), allowedClockSkew);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param keyResolver resolves the verification key per token
+     * @param clock -
+     */
+    public JdkJwtParser(final JwtKeyResolver keyResolver, final Clock clock) {
+        this(keyResolver, clock, Duration.ZERO);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param keyResolver resolves the verification key per token
+     * @param clock -
+     * @param allowedClockSkew allowed clock skew: Tokens are accepted this long after {@code exp} and before {@code nbf}
+     */
+    public JdkJwtParser(final JwtKeyResolver keyResolver, final Clock clock, final Duration allowedClockSkew) {
+        if (allowedClockSkew.isNegative()) {
+            throw new IllegalArgumentException("Allowed clock skew must not be negative, got " + allowedClockSkew);
+        }
+
+        this.keyResolver = keyResolver;
+        this.clock = clock;
+        this.allowedClockSkewMillis = allowedClockSkew.toMillis();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public Map<String, Object> parse(final String token) throws JwtException {
+        final int headerEnd = token.indexOf('.');
+        final int payloadEnd = token.indexOf('.', headerEnd + 1);
+
+        if (headerEnd < 0 || payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            throw new JwtException("Malformed JWT: Expected header, payload and signature");
+        }
+
+        final Map<String, Object> header = JsonClaimsDecoder.decode(decodeToString(token, 0, headerEnd));
+        @Nullable final Object alg = header.get("alg");
+        @Nullable final Object kid = header.get("kid");
+        @Nullable final JwsAlgorithm algorithm = JwsAlgorithm.of(alg instanceof String ? (String) alg : null);
+
+        if (algorithm == null) {
+            throw new JwtException("Unsupported JWT: Signature algorithm " + alg + " not supported");
+        }
+        if (header.containsKey("crit")) {
+            // No extensions are understood, thus a token with critical extensions must be rejected (RFC 7515, section 4.1.11):
+            throw new JwtException("Unsupported JWT: Critical header parameters " + header.get("crit") + " not supported");
+        }
+
+        final Key key = keyResolver.resolve(kid instanceof String ? (String) kid : null, algorithm.name());
+
+        if (key == null || !algorithm.accepts(key)) {
+            throw new JwtException("JWT signature validation failed: Key not valid for algorithm " + algorithm);
+        }
+
+        verifySignature(token, payloadEnd, algorithm, (PublicKey) key);
+
+        final Map<String, Object> claims = JsonClaimsDecoder.decode(decodeToString(token, headerEnd + 1, payloadEnd));
+
+        validateTimes(claims);
+
+        return claims;
+    }
+
+    /**
+     * Verifies the signature.
+     *
+     * @param token -
+     * @param payloadEnd index of the dot after the payload
+     * @param algorithm -
+     * @param key -
+     * @throws JwtException if the signature is not valid
+     */
+    private void verifySignature(
+            final String token,
+            final int payloadEnd,
+            final JwsAlgorithm algorithm,
+            final PublicKey key
+    ) throws JwtException {
+        final byte[] signature = decode(token, payloadEnd + 1, token.length());
+        final byte[] signed = token.getBytes(StandardCharsets.US_ASCII);
+        final boolean valid;
+
+        try {
+            valid = verifierFor(algorithm, key).verify(signed, 0, payloadEnd, signature);
+        } catch (final SignatureException e) {
+            throw new JwtException("JWT signature validation failed", e);
+        }
+
+        if (!valid) {
+            throw new JwtException("JWT signature validation failed");
+        }
+    }
+
+    /**
+     * Returns cached verifier for the algorithm and key, or creates new one.
+     *
+     * @param algorithm -
+     * @param key -
+     * @return -
+     * @throws JwtException if the key cannot be used with the algorithm
+     */
+    private SignatureVerifier verifierFor(final JwsAlgorithm algorithm, final PublicKey key) throws JwtException {
+        final VerifierKey cacheKey = new VerifierKey(algorithm, key);
+        @Nullable final SignatureVerifier cached = verifiers.get(cacheKey);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final SignatureVerifier verifier;
+
+        try {
+            verifier = algorithm.verifier(key);
+        } catch (final GeneralSecurityException e) {
+            throw new JwtException("JWT signature validation failed", e);
+        }
+
+        if (verifiers.size() < MAX_CACHED_VERIFIERS) {
+            @Nullable final SignatureVerifier existing = verifiers.putIfAbsent(cacheKey, verifier);
+
+            return (existing != null ? existing : verifier);
+        }
+
+        return verifier;
+    }
+
+    /**
+     * Validates {@code exp} and {@code nbf}, allowing for the clock skew.
+     *
+     * @param claims -
+     * @throws JwtException if the token has expired or is not valid yet
+     */
+    private void validateTimes(final Map<String, Object> claims) throws JwtException {
+        @Nullable final Object exp = claims.get("exp");
+        @Nullable final Object nbf = claims.get("nbf");
+
+        if (exp == null && nbf == null) {
+            return;
+        }
+
+        final long now = clock.millis();
+
+        if (exp != null && now > epochMillis(exp, "exp") + allowedClockSkewMillis) {
+            throw new JwtException("Token has expired");
+        }
+        if (nbf != null && now + allowedClockSkewMillis < epochMillis(nbf, "nbf")) {
+            throw new JwtException("Token not valid yet");
+        }
+    }
+
+    /**
+     * Converts "epoch-seconds" claim to epoch milliseconds.
+     *
+     * @param claim -
+     * @param name name of the claim
+     * @return -
+     * @throws JwtException if the claim is not a number
+     */
+    private static long epochMillis(final Object claim, final String name) throws JwtException {
+        if (!(claim instanceof Number)) {
+            throw new JwtException("Malformed JWT: Claim " + name + " is not a number");
+        }
+
+        return (long) (((Number) claim).doubleValue() * MILLIS_PER_SECOND);
+    }
+
+    /**
+     * Decodes base64url-encoded part of the token.
+     *
+     * @param token -
+     * @param start -
+     * @param end -
+     * @return -
+     * @throws JwtException if the part is not valid base64url
+     */
+    private static byte[] decode(final String token, final int start, final int end) throws JwtException {
+        try {
+            return Base64.getUrlDecoder().decode(token.substring(start, end));
+        } catch (final IllegalArgumentException e) {
+            throw new JwtException("Malformed JWT", e);
+        }
+    }
+
+    /**
+     * Decodes base64url-encoded part of the token to UTF-8 string.
+     *
+     * @param token -
+     * @param start -
+     * @param end -
+     * @return -
+     * @throws JwtException if the part is not valid base64url
+     */
+    private static String decodeToString(final String token, final int start, final int end) throws JwtException {
+        return new String(decode(token, start, end), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Identifies a verifier by algorithm and key.
+     *
+     */
+    private static final class VerifierKey {
+
+        /** The algorithm. */
+        private final JwsAlgorithm algorithm;
+
+        /** The key. */
+        private final PublicKey key;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param algorithm -
+         * @param key -
+         */
+        VerifierKey(final JwsAlgorithm algorithm, final PublicKey key) {
+            this.algorithm = algorithm;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof VerifierKey)) {
+                return false;
+            }
+
+            final VerifierKey that = (VerifierKey) other;
+
+            return algorithm == that.algorithm && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(algorithm, key);
+        }
+
+    }
+
+}
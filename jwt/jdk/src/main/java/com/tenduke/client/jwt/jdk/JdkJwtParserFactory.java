@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jdk;
+
+import com.tenduke.client.jwt.JwtKeyResolver;
+import com.tenduke.client.jwt.JwtParserFactory;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * {@link JwtParserFactory}, which creates {@link JdkJwtParser}s.
+ *
+ * <p>
+ * The parsers need nothing but the JDK, so this factory is a lightweight alternative to the JJWT-based factory. Each parser caches the
+ * signature verifiers of the keys it has seen (see {@link JdkJwtParser}), thus reuse the created parsers instead of creating one per
+ * token.
+ */
+public class JdkJwtParserFactory implements JwtParserFactory {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JdkJwtParser create(final Key validationKey) {
+        return new JdkJwtParser(validationKey);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JdkJwtParser createWithKeyResolver(final JwtKeyResolver keyResolver) {
+        return new JdkJwtParser(keyResolver, Clock.systemUTC());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JdkJwtParser create(final Key validationKey, final Duration allowedClockSkew) {
+        return new JdkJwtParser(validationKey, allowedClockSkew);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JdkJwtParser createWithKeyResolver(final JwtKeyResolver keyResolver, final Duration allowedClockSkew) {
+        return new JdkJwtParser(keyResolver, Clock.systemUTC(), allowedClockSkew);
+    }
+
+}
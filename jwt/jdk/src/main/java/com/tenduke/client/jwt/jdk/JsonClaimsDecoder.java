@@ -0,0 +1,445 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jdk;
+
+import com.tenduke.client.jwt.JwtException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Minimal JSON-decoder for JWT headers and claims.
+ *
+ * <p>
+ * Decodes a JSON-object into a {@link Map}, keeping the order of the properties. Values are decoded as:
+ * <ul>
+ * <li>objects as {@link Map}</li>
+ * <li>arrays as {@link List}</li>
+ * <li>strings as {@link String}</li>
+ * <li>integral numbers as {@link Integer}, {@link Long} or {@link BigInteger}, the smallest one that fits</li>
+ * <li>other numbers as {@link Double}</li>
+ * <li>{@code true} and {@code false} as {@link Boolean}</li>
+ * <li>{@code null} as {@code null}</li>
+ * </ul>
+ *
+ * <p>
+ * This matches how Jackson decodes into {@code Map}, so the claims are the same regardless of the JWT-backend.
+ *
+ * <p>
+ * Instances are not thread-safe, create one per document.
+ */
+final class JsonClaimsDecoder {
+
+    /** Maximum nesting depth of objects and arrays. */
+    private static final int MAX_DEPTH = 64;
+
+    /** Radix of {@code \\u}-escapes. */
+    private static final int HEX_RADIX = 16;
+
+    /** Number of digits in {@code \\u}-escapes. */
+    private static final int HEX_DIGITS = 4;
+
+    /** Maximum number of digits in an integral number, which always fits to a {@code long}. */
+    private static final int SAFE_LONG_DIGITS = 18;
+
+    /** The JSON being decoded. */
+    private final String json;
+
+    /** Current position. */
+    private int position;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param json -
+     */
+    private JsonClaimsDecoder(final String json) {
+        this.json = json;
+    }
+
+    /**
+     * Decodes JSON-object.
+     *
+     * @param json -
+     * @return -
+     * @throws JwtException if the JSON is malformed, or not an object
+     */
+    static Map<String, Object> decode(final String json) throws JwtException {
+        final JsonClaimsDecoder decoder = new JsonClaimsDecoder(json);
+
+        decoder.skipWhitespace();
+        decoder.expect('{');
+
+        final Map<String, Object> result = decoder.readObject(1);
+
+        decoder.skipWhitespace();
+        if (decoder.position != json.length()) {
+            throw decoder.malformed("Unexpected content after the object");
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads a value.
+     *
+     * @param depth nesting depth of the value
+     * @return -
+     * @throws JwtException -
+     */
+    private @Nullable Object readValue(final int depth) throws JwtException {
+        skipWhitespace();
+
+        if (position >= json.length()) {
+            throw malformed("Unexpected end of JSON");
+        }
+
+        final char c = json.charAt(position++);
+
+        switch (c) {
+            case '{':
+                return readObject(depth + 1);
+            case '[':
+                return readArray(depth + 1);
+            case '"':
+                return readString();
+            case 't':
+                return readLiteral("rue", Boolean.TRUE);
+            case 'f':
+                return readLiteral("alse", Boolean.FALSE);
+            case 'n':
+                return readLiteral("ull", null);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    position--;
+                    return readNumber();
+                }
+
+                throw malformed("Unexpected character '" + c + "'");
+        }
+    }
+
+    /**
+     * Reads an object, the opening brace has been read already.
+     *
+     * @param depth nesting depth of the object
+     * @return -
+     * @throws JwtException -
+     */
+    private Map<String, Object> readObject(final int depth) throws JwtException {
+        checkDepth(depth);
+
+        final Map<String, Object> result = new LinkedHashMap<>();
+
+        skipWhitespace();
+        if (tryConsume('}')) {
+            return result;
+        }
+
+        do {
+            skipWhitespace();
+            expect('"');
+
+            final String name = readString();
+
+            skipWhitespace();
+            expect(':');
+            result.put(name, readValue(depth));
+            skipWhitespace();
+        } while (tryConsume(','));
+
+        expect('}');
+
+        return result;
+    }
+
+    /**
+     * Reads an array, the opening bracket has been read already.
+     *
+     * @param depth nesting depth of the array
+     * @return -
+     * @throws JwtException -
+     */
+    private List<Object> readArray(final int depth) throws JwtException {
+        checkDepth(depth);
+
+        final List<Object> result = new ArrayList<>();
+
+        skipWhitespace();
+        if (tryConsume(']')) {
+            return result;
+        }
+
+        do {
+            result.add(readValue(depth));
+            skipWhitespace();
+        } while (tryConsume(','));
+
+        expect(']');
+
+        return result;
+    }
+
+    /**
+     * Reads a string, the opening quote has been read already.
+     *
+     * @return -
+     * @throws JwtException -
+     */
+    private String readString() throws JwtException {
+        final int start = position;
+
+        // Fast path: No escapes
+        while (position < json.length()) {
+            final char c = json.charAt(position);
+
+            if (c == '"') {
+                return json.substring(start, position++);
+            }
+            if (c == '\\') {
+                break;
+            }
+            if (c < ' ') {
+                throw malformed("Control character in string");
+            }
+
+            position++;
+        }
+
+        final StringBuilder builder = new StringBuilder(position - start + HEX_RADIX).append(json, start, position);
+
+        while (position < json.length()) {
+            final char c = json.charAt(position++);
+
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c < ' ') {
+                throw malformed("Control character in string");
+            }
+
+            builder.append(c == '\\' ? readEscaped() : c);
+        }
+
+        throw malformed("Unterminated string");
+    }
+
+    /**
+     * Reads an escaped character, the backslash has been read already.
+     *
+     * @return -
+     * @throws JwtException -
+     */
+    private char readEscaped() throws JwtException {
+        if (position >= json.length()) {
+            throw malformed("Unterminated string");
+        }
+
+        final char c = json.charAt(position++);
+
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                if (position + HEX_DIGITS > json.length()) {
+                    throw malformed("Truncated unicode escape");
+                }
+
+                int code = 0;
+
+                for (int i = 0; i < HEX_DIGITS; i++) {
+                    final int digit = Character.digit(json.charAt(position++), HEX_RADIX);
+
+                    if (digit < 0) {
+                        throw malformed("Invalid unicode escape");
+                    }
+
+                    code = code * HEX_RADIX + digit;
+                }
+
+                return (char) code;
+            default:
+                throw malformed("Invalid escape '\\" + c + "'");
+        }
+    }
+
+    /**
+     * Reads a number.
+     *
+     * @return -
+     * @throws JwtException -
+     */
+    private Number readNumber() throws JwtException {
+        final int start = position;
+        boolean integral = true;
+
+        tryConsume('-');
+
+        final int digitsStart = position;
+
+        skipDigits();
+        if (position == digitsStart) {
+            throw malformed("Invalid number");
+        }
+        if (json.charAt(digitsStart) == '0' && position - digitsStart > 1) {
+            throw malformed("Leading zeros in number");
+        }
+
+        final int digits = position - digitsStart;
+
+        if (tryConsume('.')) {
+            integral = false;
+            requireDigits();
+        }
+        if (tryConsume('e') || tryConsume('E')) {
+            integral = false;
+            if (!tryConsume('+')) {
+                tryConsume('-');
+            }
+            requireDigits();
+        }
+
+        final String number = json.substring(start, position);
+
+        if (!integral) {
+            return Double.valueOf(number);
+        }
+        if (digits > SAFE_LONG_DIGITS) {
+            final BigInteger value = new BigInteger(number);
+
+            return (value.bitLength() < Long.SIZE ? (Number) value.longValue() : value);
+        }
+
+        final long value = Long.parseLong(number);
+
+        return (value == (int) value ? (Number) (int) value : (Number) value);
+    }
+
+    /**
+     * Reads literal {@code true}, {@code false} or {@code null}, the first character has been read already.
+     *
+     * @param rest rest of the literal
+     * @param value value of the literal
+     * @return the value
+     * @throws JwtException -
+     */
+    private @Nullable Object readLiteral(final String rest, @Nullable final Object value) throws JwtException {
+        if (!json.startsWith(rest, position)) {
+            throw malformed("Invalid literal");
+        }
+
+        position += rest.length();
+
+        return value;
+    }
+
+    /**
+     * Skips digits.
+     *
+     */
+    private void skipDigits() {
+        while (position < json.length() && json.charAt(position) >= '0' && json.charAt(position) <= '9') {
+            position++;
+        }
+    }
+
+    /**
+     * Skips digits, requiring at least one.
+     *
+     * @throws JwtException -
+     */
+    private void requireDigits() throws JwtException {
+        final int start = position;
+
+        skipDigits();
+        if (position == start) {
+            throw malformed("Invalid number");
+        }
+    }
+
+    /**
+     * Skips whitespace.
+     *
+     */
+    private void skipWhitespace() {
+        while (position < json.length()) {
+            final char c = json.charAt(position);
+
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return;
+            }
+
+            position++;
+        }
+    }
+
+    /**
+     * Consumes given character, if it is the next one.
+     *
+     * @param c -
+     * @return {@code true} if consumed
+     */
+    private boolean tryConsume(final char c) {
+        if (position < json.length() && json.charAt(position) == c) {
+            position++;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Consumes given character.
+     *
+     * @param c -
+     * @throws JwtException if the next character is not the expected one
+     */
+    private void expect(final char c) throws JwtException {
+        if (!tryConsume(c)) {
+            throw malformed("Expected '" + c + "'");
+        }
+    }
+
+    /**
+     * Checks the nesting depth.
+     *
+     * @param depth -
+     * @throws JwtException if too deep
+     */
+    private void checkDepth(final int depth) throws JwtException {
+        if (depth > MAX_DEPTH) {
+            throw malformed("Too deeply nested");
+        }
+    }
+
+    /**
+     * Creates exception for malformed JSON.
+     *
+     * @param reason -
+     * @return -
+     */
+    private JwtException malformed(final String reason) {
+        return new JwtException("Malformed JWT: " + reason + " at position " + position);
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jdk;
+
+import com.tenduke.client.jwt.SignatureVerifier;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.RSAKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import javax.annotation.Nullable;
+
+/**
+ * Supported JWS signature algorithms ({@code alg} header), mapped to JDK {@link java.security.Signature} algorithms.
+ *
+ */
+enum JwsAlgorithm {
+
+    /** RSASSA-PKCS1-v1_5 using SHA-256. */
+    RS256("SHA256withRSA", null, KeyType.RSA),
+
+    /** RSASSA-PKCS1-v1_5 using SHA-384. */
+    RS384("SHA384withRSA", null, KeyType.RSA),
+
+    /** RSASSA-PKCS1-v1_5 using SHA-512. */
+    RS512("SHA512withRSA", null, KeyType.RSA),
+
+    /** RSASSA-PSS using SHA-256 and MGF1 with SHA-256. */
+    PS256("RSASSA-PSS", new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1), KeyType.RSA),
+
+    /** RSASSA-PSS using SHA-384 and MGF1 with SHA-384. */
+    PS384("RSASSA-PSS", new PSSParameterSpec("SHA-384", "MGF1", MGF1ParameterSpec.SHA384, 48, 1), KeyType.RSA),
+
+    /** RSASSA-PSS using SHA-512 and MGF1 with SHA-512. */
+    PS512("RSASSA-PSS", new PSSParameterSpec("SHA-512", "MGF1", MGF1ParameterSpec.SHA512, 64, 1), KeyType.RSA),
+
+    /** ECDSA using P-256 and SHA-256. JWS signature is the raw {@code R || S}, hence the P1363-format. */
+    ES256("SHA256withECDSAinP1363Format", null, KeyType.EC_P256),
+
+    /** ECDSA using P-384 and SHA-384. */
+    ES384("SHA384withECDSAinP1363Format", null, KeyType.EC_P384),
+
+    /** ECDSA using P-521 and SHA-512. */
+    ES512("SHA512withECDSAinP1363Format", null, KeyType.EC_P521);
+
+    /** Name of the JDK signature algorithm. */
+    private final String jdkName;
+
+    /** Parameters of the JDK signature algorithm, {@code null} if none. */
+    private final @Nullable AlgorithmParameterSpec parameters;
+
+    /** Required type of the verification key. */
+    private final KeyType keyType;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param jdkName -
+     * @param parameters -
+     * @param keyType -
+     */
+    JwsAlgorithm(final String jdkName, @Nullable final AlgorithmParameterSpec parameters, final KeyType keyType) {
+        this.jdkName = jdkName;
+        this.parameters = parameters;
+        this.keyType = keyType;
+    }
+
+    /**
+     * Finds algorithm by its JWS-name.
+     *
+     * @param name -
+     * @return the algorithm, {@code null} if not supported
+     */
+    static @Nullable JwsAlgorithm of(@Nullable final String name) {
+        if (name == null) {
+            return null;
+        }
+
+        for (final JwsAlgorithm algorithm : values()) {
+            if (algorithm.name().equals(name)) {
+                return algorithm;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks if the key can be used with this algorithm.
+     *
+     * @param key -
+     * @return -
+     */
+    boolean accepts(final Key key) {
+        return (key instanceof PublicKey) && keyType.accepts(key);
+    }
+
+    /**
+     * Creates verifier for given key.
+     *
+     * @param key the verification key, see {@link #accepts(java.security.Key) }
+     * @return -
+     * @throws GeneralSecurityException if the key cannot be used with this algorithm
+     */
+    SignatureVerifier verifier(final PublicKey key) throws GeneralSecurityException {
+        return new SignatureVerifier(jdkName, parameters, key);
+    }
+
+    /**
+     * Types of verification keys.
+     *
+     */
+    private enum KeyType {
+
+        /** RSA-key. */
+        RSA(0),
+
+        /** EC-key on P-256. */
+        EC_P256(256),
+
+        /** EC-key on P-384. */
+        EC_P384(384),
+
+        /** EC-key on P-521. */
+        EC_P521(521);
+
+        /** Minimum length of RSA-key modulus in bits, as required by RFC 7518, section 3.3. */
+        private static final int MIN_RSA_KEY_BITS = 2048;
+
+        /** Bit length of the order of the curve, {@code 0} for RSA. */
+        private final int curveOrderBits;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param curveOrderBits -
+         */
+        KeyType(final int curveOrderBits) {
+            this.curveOrderBits = curveOrderBits;
+        }
+
+        /**
+         * Checks if the key is of this type. RSA-keys shorter than {@value #MIN_RSA_KEY_BITS} bits are not accepted.
+         *
+         * @param key -
+         * @return -
+         */
+        boolean accepts(final Key key) {
+            if (curveOrderBits == 0) {
+                return (key instanceof RSAKey) && ((RSAKey) key).getModulus().bitLength() >= MIN_RSA_KEY_BITS;
+            }
+
+            return (key instanceof ECKey) && ((ECKey) key).getParams().getOrder().bitLength() == curveOrderBits;
+        }
+
+    }
+
+}
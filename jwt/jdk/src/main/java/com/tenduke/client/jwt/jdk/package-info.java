@@ -0,0 +1,10 @@
+/**
+ * Implementation of {@link com.tenduke.client.jwt.JwtParser} and {@link com.tenduke.client.jwt.JwtParserFactory}, which uses only the
+ * JDK ({@link java.security.Signature}) for verifying the tokens.
+ *
+ * <p>
+ * The parser factory is registered as service for {@link com.tenduke.client.jwt.JwtParserFactory}. If there are other implementations
+ * in classpath, see {@link com.tenduke.client.jwt.DefaultJwtParserFactory} for selecting this one.
+ *
+ */
+package com.tenduke.client.jwt.jdk;
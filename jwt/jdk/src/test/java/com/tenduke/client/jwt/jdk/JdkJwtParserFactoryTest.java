@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jdk;
+
+import com.tenduke.client.jwt.DefaultJwtParserFactory;
+import com.tenduke.client.jwt.JwtException;
+import com.tenduke.client.jwt.JwtParserFactory;
+import java.util.ServiceLoader;
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class JdkJwtParserFactoryTest extends BaseJdkTst {
+
+    @Test
+    public void shouldCreateParserForKey() throws JwtException {
+        assertThat(new JdkJwtParserFactory().create(fixtureKey).parse(VALID_TOKEN)).containsOnly(
+                entry("sub", "a"),
+                entry("iat", 42)
+        );
+    }
+
+    @Test
+    public void shouldCreateParserWithKeyResolver() throws JwtException {
+        assertThat(new JdkJwtParserFactory().createWithKeyResolver((keyId, algorithm) -> fixtureKey).parse(VALID_TOKEN)).containsOnly(
+                entry("sub", "a"),
+                entry("iat", 42)
+        );
+    }
+
+    @Test
+    public void shouldBeRegisteredAsService() {
+        assertThat(ServiceLoader.load(JwtParserFactory.class).findFirst()).containsInstanceOf(JdkJwtParserFactory.class);
+    }
+
+    @Test
+    public void shouldBeUsedByDefaultFactory() throws JwtException {
+        assertThat(DefaultJwtParserFactory.INSTANCE.create(fixtureKey).parse(VALID_TOKEN)).containsEntry("sub", "a");
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jdk;
+
+import com.tenduke.client.jwt.JwtException;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.Test;
+
+public class JdkJwtParserTest extends BaseJdkTst {
+
+    private static final Clock AT_1000 = Clock.fixed(Instant.ofEpochSecond(1000), ZoneOffset.UTC);
+
+    @Test
+    public void shouldParseValidToken() throws JwtException {
+        assertThat(new JdkJwtParser(fixtureKey).parse(VALID_TOKEN)).containsOnly(
+                entry("sub", "a"),
+                entry("iat", 42)
+        );
+    }
+
+    @Test
+    public void shouldVerifyRs256() throws Exception {
+        final String token = rs256("{\"sub\":\"user\",\"aud\":[\"a\",\"b\"]}");
+
+        assertThat(new JdkJwtParser(rsaKeys.getPublic()).parse(token)).containsOnly(
+                entry("sub", "user"),
+                entry("aud", List.of("a", "b"))
+        );
+    }
+
+    @Test
+    public void shouldVerifyPs256() throws Exception {
+        final String token = sign(
+                "{\"alg\":\"PS256\"}",
+                "{\"sub\":\"user\"}",
+                "RSASSA-PSS",
+                new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1),
+                rsaKeys.getPrivate()
+        );
+
+        assertThat(new JdkJwtParser(rsaKeys.getPublic()).parse(token)).containsOnly(entry("sub", "user"));
+    }
+
+    @Test
+    public void shouldVerifyEs256() throws Exception {
+        final String token = sign("{\"alg\":\"ES256\"}", "{\"sub\":\"user\"}", "SHA256withECDSAinP1363Format", null, ecKeys.getPrivate());
+
+        assertThat(new JdkJwtParser(ecKeys.getPublic()).parse(token)).containsOnly(entry("sub", "user"));
+    }
+
+    @Test
+    public void shouldBeSafeToShareBetweenThreads() throws Exception {
+        final JdkJwtParser parser = new JdkJwtParser(fixtureKey);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            final List<Callable<Map<String, Object>>> tasks = new ArrayList<>();
+
+            for (int i = 0; i < 200; i++) {
+                tasks.add(() -> parser.parse(VALID_TOKEN));
+            }
+
+            for (final Future<Map<String, Object>> result : executor.invokeAll(tasks)) {
+                assertThat(result.get()).containsOnly(
+                        entry("sub", "a"),
+                        entry("iat", 42)
+                );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldPassKeyIdAndAlgorithmToResolver() throws Exception {
+        final String token = sign("{\"alg\":\"RS256\",\"kid\":\"key-1\"}", "{}", "SHA256withRSA", null, rsaKeys.getPrivate());
+        final List<String> resolved = new ArrayList<>();
+
+        final JdkJwtParser parser = new JdkJwtParser((keyId, algorithm) -> {
+            resolved.add(keyId);
+            resolved.add(algorithm);
+            return rsaKeys.getPublic();
+        }, AT_1000);
+
+        assertThat(parser.parse(token)).isEmpty();
+        assertThat(resolved).containsExactly("key-1", "RS256");
+    }
+
+    @Test
+    public void shouldPropagateResolverException() throws Exception {
+        final JwtException failure = new JwtException("No such key");
+        final JdkJwtParser parser = new JdkJwtParser((keyId, algorithm) -> {
+            throw failure;
+        }, AT_1000);
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> parser.parse(rs256("{}"))).isSameAs(failure);
+    }
+
+    @Test
+    public void shouldThrowIfNoKey() {
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> new JdkJwtParser(null).parse(VALID_TOKEN))
+                .withMessage("No validation key");
+    }
+
+    @Test
+    public void shouldRejectTamperedPayload() throws Exception {
+        final String token = rs256("{\"sub\":\"user\"}");
+        final String[] parts = token.split("\\.");
+        final String tampered = parts[0] + "." + encode("{\"sub\":\"admin\"}") + "." + parts[2];
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> new JdkJwtParser(rsaKeys.getPublic()).parse(tampered))
+                .withMessage("JWT signature validation failed");
+    }
+
+    @Test
+    public void shouldRejectWrongKey() {
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> new JdkJwtParser(rsaKeys.getPublic()).parse(VALID_TOKEN))
+                .withMessage("JWT signature validation failed");
+    }
+
+    @Test
+    public void shouldRejectKeyOfWrongType() {
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> new JdkJwtParser(ecKeys.getPublic()).parse(VALID_TOKEN))
+                .withMessageStartingWith("JWT signature validation failed: Key not valid");
+    }
+
+    @Test
+    public void shouldRejectUnsupportedAlgorithms() {
+        for (final String header : List.of("{\"alg\":\"none\"}", "{\"alg\":\"HS256\"}", "{}")) {
+            final String token = encode(header) + "." + encode("{}") + ".";
+
+            assertThatExceptionOfType(JwtException.class).isThrownBy(() -> new JdkJwtParser(rsaKeys.getPublic()).parse(token))
+                    .withMessageStartingWith("Unsupported JWT");
+        }
+    }
+
+    @Test
+    public void shouldRejectCriticalHeaderParameters() throws Exception {
+        final String token = sign("{\"alg\":\"RS256\",\"crit\":[\"exp\"]}", "{}", "SHA256withRSA", null, rsaKeys.getPrivate());
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> new JdkJwtParser(rsaKeys.getPublic()).parse(token))
+                .withMessageStartingWith("Unsupported JWT: Critical header parameters");
+    }
+
+    @Test
+    public void shouldRejectShortRsaKey() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(1024);
+        final KeyPair shortKeys = generator.generateKeyPair();
+        final String token = sign("{\"alg\":\"RS256\"}", "{}", "SHA256withRSA", null, shortKeys.getPrivate());
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> new JdkJwtParser(shortKeys.getPublic()).parse(token))
+                .withMessageStartingWith("JWT signature validation failed: Key not valid");
+    }
+
+    @Test
+    public void shouldRejectMalformedTokens() {
+        final JdkJwtParser parser = new JdkJwtParser(fixtureKey);
+
+        for (final String token : List.of("", "a.b", "a.b.c.d", "!!!.e30.", encode("{\"alg\":") + ".e30.")) {
+            assertThatExceptionOfType(JwtException.class).isThrownBy(() -> parser.parse(token))
+                    .withMessageStartingWith("Malformed JWT");
+        }
+    }
+
+    @Test
+    public void shouldRejectExpiredToken() throws Exception {
+        final JdkJwtParser parser = new JdkJwtParser((keyId, algorithm) -> rsaKeys.getPublic(), AT_1000);
+
+        assertThat(parser.parse(rs256("{\"exp\":1000}"))).containsOnly(entry("exp", 1000));
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> parser.parse(rs256("{\"exp\":999}")))
+                .withMessage("Token has expired");
+    }
+
+    @Test
+    public void shouldRejectTokenNotValidYet() throws Exception {
+        final JdkJwtParser parser = new JdkJwtParser((keyId, algorithm) -> rsaKeys.getPublic(), AT_1000);
+
+        assertThat(parser.parse(rs256("{\"nbf\":1000}"))).containsOnly(entry("nbf", 1000));
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> parser.parse(rs256("{\"nbf\":1001}")))
+                .withMessage("Token not valid yet");
+    }
+
+    @Test
+    public void shouldAllowClockSkew() throws Exception {
+        final JdkJwtParser parser = new JdkJwtParser((keyId, algorithm) -> rsaKeys.getPublic(), AT_1000, Duration.ofSeconds(10));
+
+        assertThat(parser.parse(rs256("{\"exp\":990}"))).containsOnly(entry("exp", 990));
+        assertThat(parser.parse(rs256("{\"nbf\":1010}"))).containsOnly(entry("nbf", 1010));
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> parser.parse(rs256("{\"exp\":989}")))
+                .withMessage("Token has expired");
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> parser.parse(rs256("{\"nbf\":1011}")))
+                .withMessage("Token not valid yet");
+    }
+
+    @Test
+    public void shouldRejectNegativeClockSkew() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new JdkJwtParser((keyId, algorithm) -> rsaKeys.getPublic(), AT_1000, Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    public void shouldRejectNonNumericExp() throws GeneralSecurityException {
+        final String token = rs256("{\"exp\":\"tomorrow\"}");
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> new JdkJwtParser(rsaKeys.getPublic()).parse(token))
+                .withMessageStartingWith("Malformed JWT");
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jdk;
+
+import com.tenduke.client.jwt.JwtException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.Test;
+
+public class JsonClaimsDecoderTest {
+
+    @Test
+    public void shouldDecodeEmptyObject() throws JwtException {
+        assertThat(JsonClaimsDecoder.decode(" { } ")).isEmpty();
+    }
+
+    @Test
+    public void shouldDecodeValuesInOrder() throws JwtException {
+        final Map<String, Object> result = JsonClaimsDecoder.decode(
+                "{\"s\":\"x\",\"t\":true,\"f\":false,\"n\":null,\"a\":[1,\"b\",[]],\"o\":{\"k\":{}}}"
+        );
+
+        assertThat(result).containsOnlyKeys("s", "t", "f", "n", "a", "o");
+        assertThat(result).contains(
+                entry("s", "x"),
+                entry("t", true),
+                entry("f", false),
+                entry("a", Arrays.asList(1, "b", List.of())),
+                entry("o", Map.of("k", Map.of()))
+        );
+        assertThat(result.get("n")).isNull();
+    }
+
+    @Test
+    public void shouldDecodeNumbersLikeJackson() throws JwtException {
+        final Map<String, Object> result = JsonClaimsDecoder.decode(
+                "{\"i\":-42,\"l\":1700000000000,\"b\":123456789012345678901234567890,\"ml\":-9223372036854775808,"
+                + "\"d\":1.5,\"e\":1e3,\"z\":0}"
+        );
+
+        assertThat(result).containsExactly(
+                entry("i", -42),
+                entry("l", 1700000000000L),
+                entry("b", new BigInteger("123456789012345678901234567890")),
+                entry("ml", Long.MIN_VALUE),
+                entry("d", 1.5d),
+                entry("e", 1000d),
+                entry("z", 0)
+        );
+    }
+
+    @Test
+    public void shouldDecodeEscapes() throws JwtException {
+        assertThat(JsonClaimsDecoder.decode("{\"s\":\"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\\u00e4\\u20AC\"}"))
+                .containsExactly(entry("s", "a\"b\\c/d\b\f\n\r\t\u00e4\u20ac"));
+    }
+
+    @Test
+    public void shouldDecodeNonAsciiAsSuch() throws JwtException {
+        assertThat(JsonClaimsDecoder.decode("{\"n\u00e4me\":\"v\u00e4lue\"}")).containsExactly(entry("n\u00e4me", "v\u00e4lue"));
+    }
+
+    @Test
+    public void shouldRejectMalformedJson() {
+        for (final String json : List.of(
+                "", "[]", "\"s\"", "{", "{\"a\"}", "{\"a\":}", "{\"a\":1,}", "{\"a\":1} x", "{a:1}",
+                "{\"a\":tru}", "{\"a\":01}", "{\"a\":1.}", "{\"a\":-}", "{\"a\":1e}", "{\"a\":\"x}",
+                "{\"a\":\"\\x\"}", "{\"a\":\"\\u12\"}", "{\"a\":\"\\u12g4\"}", "{\"a\":\"\n\"}", "{\"a\":[1 2]}"
+        )) {
+            assertThatExceptionOfType(JwtException.class).as(json).isThrownBy(() -> JsonClaimsDecoder.decode(json))
+                    .withMessageStartingWith("Malformed JWT");
+        }
+    }
+
+    @Test
+    public void shouldRejectTooDeepNesting() {
+        final String json = "{\"a\":" + String.join("", Collections.nCopies(100, "[")) + String.join("", Collections.nCopies(100, "]")) + "}";
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> JsonClaimsDecoder.decode(json))
+                .withMessageContaining("Too deeply nested");
+    }
+
+}
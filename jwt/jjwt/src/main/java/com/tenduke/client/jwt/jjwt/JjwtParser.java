@@ -20,6 +20,10 @@ import java.util.Map;
 /**
  * JJWT-based implementation of {@link JwtParser}.
  *
+ * <p>
+ * Instances are thread-safe and can be shared between threads, provided that the wrapped {@link io.jsonwebtoken.JwtParser} is not
+ * re-configured after construction. The wrapped parser holds the signing key, so the key is initialized once per instance and not per
+ * parsed token.
  */
 public class JjwtParser implements JwtParser {
 
@@ -58,6 +62,8 @@ public class JjwtParser implements JwtParser {
             throw new JwtException("Malformed JWT", e);
         } catch (final SignatureException e) {
             throw new JwtException("JWT signature validation failed", e);
+        } catch (final KeyResolverAdapter.KeyResolutionException e) {
+            throw e.getJwtException();
         } catch (final io.jsonwebtoken.JwtException e) {
             throw new JwtException("JWT-exception", e);
         } catch (final IllegalArgumentException e) {
@@ -7,14 +7,21 @@
  */
 package com.tenduke.client.jwt.jjwt;
 
+import com.tenduke.client.jwt.JwtKeyResolver;
 import com.tenduke.client.jwt.JwtParserFactory;
 import io.jsonwebtoken.Jwts;
 import java.security.Key;
+import java.time.Duration;
 
 /**
  * Jjwt-based implementation of {@link JwtParserFactory}.
  *
+ * <p>
+ * Each call builds a new parser. Callers should create the parser once per key and share it, or use
+ * {@link com.tenduke.client.jwt.DefaultJwtParserFactory}, which caches the parsers per key.
  *
+ * <p>
+ * JJWT allows for clock skew in whole seconds, thus the allowed clock skew is truncated to seconds.
  */
 public class JjwtParserFactory implements JwtParserFactory {
 
@@ -26,4 +33,32 @@ public class JjwtParserFactory implements JwtParserFactory {
         return new JjwtParser(Jwts.parser().setSigningKey(validationKey));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JjwtParser createWithKeyResolver(final JwtKeyResolver keyResolver) {
+        return new JjwtParser(Jwts.parser().setSigningKeyResolver(new KeyResolverAdapter(keyResolver)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JjwtParser create(final Key validationKey, final Duration allowedClockSkew) {
+        return new JjwtParser(Jwts.parser().setSigningKey(validationKey).setAllowedClockSkewSeconds(allowedClockSkew.getSeconds()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JjwtParser createWithKeyResolver(final JwtKeyResolver keyResolver, final Duration allowedClockSkew) {
+        return new JjwtParser(
+                Jwts.parser()
+                        .setSigningKeyResolver(new KeyResolverAdapter(keyResolver))
+                        .setAllowedClockSkewSeconds(allowedClockSkew.getSeconds())
+        );
+    }
+
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jjwt;
+
+import com.tenduke.client.jwt.JwtException;
+import com.tenduke.client.jwt.JwtKeyResolver;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import java.security.Key;
+
+/**
+ * Adapts {@link JwtKeyResolver} to JJWT {@link io.jsonwebtoken.SigningKeyResolver}.
+ *
+ */
+class KeyResolverAdapter extends SigningKeyResolverAdapter {
+
+    /** The adapted resolver. */
+    private final JwtKeyResolver resolver;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param resolver -
+     */
+    KeyResolverAdapter(final JwtKeyResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Key resolveSigningKey(final JwsHeader header, final Claims claims) {
+        return resolve(header);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Key resolveSigningKey(final JwsHeader header, final String plaintext) {
+        return resolve(header);
+    }
+
+    /**
+     * Resolves the key with the adapted resolver.
+     *
+     * @param header -
+     * @return -
+     * @throws KeyResolutionException if the key cannot be resolved
+     */
+    @SuppressWarnings("rawtypes")
+    private Key resolve(final JwsHeader header) throws KeyResolutionException {
+        try {
+            return resolver.resolve(header.getKeyId(), header.getAlgorithm());
+        } catch (final JwtException e) {
+            throw new KeyResolutionException(e);
+        }
+    }
+
+    /**
+     * Carries the {@link JwtException} of the resolver through JJWT, see {@link JjwtParser#parse(java.lang.String) }.
+     *
+     */
+    static class KeyResolutionException extends io.jsonwebtoken.JwtException {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param cause -
+         */
+        KeyResolutionException(final JwtException cause) {
+            super(cause.getMessage(), cause);
+        }
+
+        /**
+         * Returns the original exception.
+         *
+         * @return -
+         */
+        JwtException getJwtException() {
+            return (JwtException) getCause();
+        }
+
+    }
+
+}
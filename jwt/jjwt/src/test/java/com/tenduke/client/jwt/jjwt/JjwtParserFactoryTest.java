@@ -8,8 +8,17 @@
 package com.tenduke.client.jwt.jjwt;
 
 import com.tenduke.client.jwt.JwtException;
+import com.tenduke.client.jwt.JwtKeyResolver;
+import io.jsonwebtoken.Jwts;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import static java.util.Map.entry;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import org.junit.Test;
 
 public class JjwtParserFactoryTest extends BaseJjwtTst {
@@ -24,4 +33,58 @@ public class JjwtParserFactoryTest extends BaseJjwtTst {
         );
     }
 
+    @Test
+    public void shouldResolveKeyFromTokenHeader() throws Exception {
+        final KeyPair keyPair = generateRsaKeyPair();
+        final String token = Jwts.builder().setHeaderParam("kid", "key-1").setSubject("a").signWith(keyPair.getPrivate()).compact();
+        final List<String> resolved = new ArrayList<>();
+
+        final JjwtParser parser = new JjwtParserFactory().createWithKeyResolver((keyId, algorithm) -> {
+            resolved.add(keyId + "/" + algorithm);
+            return keyPair.getPublic();
+        });
+
+        assertThat(parser.parse(token)).containsOnly(entry("sub", "a"));
+        assertThat(resolved).containsExactly("key-1/RS256");
+    }
+
+    @Test
+    public void shouldThrowTheExceptionOfTheResolver() throws Exception {
+        final KeyPair keyPair = generateRsaKeyPair();
+        final String token = Jwts.builder().setHeaderParam("kid", "key-1").setSubject("a").signWith(keyPair.getPrivate()).compact();
+        final JwtException failure = new JwtException("simulated");
+        final JwtKeyResolver resolver = (keyId, algorithm) -> {
+            throw failure;
+        };
+
+        final JjwtParser parser = new JjwtParserFactory().createWithKeyResolver(resolver);
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> parser.parse(token)).isSameAs(failure);
+    }
+
+    @Test
+    public void shouldAllowClockSkew() throws Exception {
+        final KeyPair keyPair = generateRsaKeyPair();
+        final Date now = new Date();
+        final String expiredRecently = Jwts.builder().setSubject("a").setExpiration(new Date(now.getTime() - 10_000L))
+                .signWith(keyPair.getPrivate()).compact();
+        final String expiredLongAgo = Jwts.builder().setSubject("a").setExpiration(new Date(now.getTime() - 120_000L))
+                .signWith(keyPair.getPrivate()).compact();
+
+        final JjwtParser parser = new JjwtParserFactory().create(keyPair.getPublic(), Duration.ofMinutes(1));
+
+        assertThat(parser.parse(expiredRecently)).containsEntry("sub", "a");
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> parser.parse(expiredLongAgo)).withMessage("Token has expired");
+        assertThatExceptionOfType(JwtException.class)
+                .isThrownBy(() -> new JjwtParserFactory().create(keyPair.getPublic()).parse(expiredRecently))
+                .withMessage("Token has expired");
+    }
+
+    private static KeyPair generateRsaKeyPair() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+
+        return generator.generateKeyPair();
+    }
+
 }
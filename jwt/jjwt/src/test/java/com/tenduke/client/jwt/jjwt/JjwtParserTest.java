@@ -14,7 +14,14 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import static java.util.Map.entry;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
@@ -41,6 +48,28 @@ public class JjwtParserTest extends BaseJjwtTst {
         );
     }
 
+    @Test
+    public void shouldBeSafeToShareBetweenThreads() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            final List<Callable<Map<String, Object>>> tasks = new ArrayList<>();
+
+            for (int i = 0; i < 200; i++) {
+                tasks.add(() -> parser.parse(VALID_TOKEN));
+            }
+
+            for (final Future<Map<String, Object>> result : executor.invokeAll(tasks)) {
+                assertThat(result.get()).containsOnly(
+                        entry("sub", "a"),
+                        entry("iat", 42)
+                );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void shouldWrapExpiredJwtExceptionToJwtException() {
         wrappedParser.requireExpiration(Date.from(Instant.now()));
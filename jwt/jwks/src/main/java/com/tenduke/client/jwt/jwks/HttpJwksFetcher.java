@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jwks;
+
+import com.tenduke.client.jwt.JwtException;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fetches the JSON Web Key Set over HTTP.
+ *
+ */
+public class HttpJwksFetcher implements JwksFetcher {
+
+    /** Default request timeout. */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(HttpJwksFetcher.class);
+
+    /** The HTTP client. */
+    private final HttpClient httpClient;
+
+    /** Request timeout. */
+    private final Duration timeout;
+
+    /** The JWKS URI. */
+    private final URI uri;
+
+    /**
+     * Constructs new instance with default timeout.
+     *
+     * @param httpClient -
+     * @param uri the JWKS URI, e.g.&nbsp;{@code https://example.com/.well-known/jwks.json}
+     */
+    public HttpJwksFetcher(final HttpClient httpClient, final URI uri) {
+        this(httpClient, uri, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient -
+     * @param uri the JWKS URI, e.g.&nbsp;{@code https://example.com/.well-known/jwks.json}
+     * @param timeout request timeout
+     */
+    public HttpJwksFetcher(final HttpClient httpClient, final URI uri, final Duration timeout) {
+        this.httpClient = httpClient;
+        this.uri = uri;
+        this.timeout = timeout;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return -
+     * @throws JwtException -
+     */
+    @Override
+    public String fetch() throws JwtException {
+        final HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        LOG.debug("Fetching JWKS from {}", uri);
+
+        final HttpResponse<String> response;
+
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (final IOException e) {
+            throw new JwtException("Fetching JWKS from " + uri + " failed", e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JwtException("Fetching JWKS from " + uri + " interrupted", e);
+        }
+
+        if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+            throw new JwtException("Fetching JWKS from " + uri + " failed with status " + response.statusCode());
+        }
+
+        return response.body();
+    }
+
+}
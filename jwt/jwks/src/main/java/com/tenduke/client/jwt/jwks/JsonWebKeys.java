@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jwks;
+
+import com.tenduke.client.jwt.JwtException;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Converts JSON Web Keys (RFC 7517) to Java public keys.
+ *
+ * <p>
+ * Supported key types are {@code RSA} and {@code EC} (curves {@code P-256}, {@code P-384} and {@code P-521}).
+ *
+ */
+public final class JsonWebKeys {
+
+    /**
+     * Prevent instantiation.
+     *
+     */
+    private JsonWebKeys() {
+    }
+
+    /**
+     * Converts JSON Web Key to public key.
+     *
+     * @param jwk the JSON Web Key as map, as deserialized from JSON
+     * @return -
+     * @throws JwtException if the key is invalid or of unsupported type
+     */
+    public static PublicKey toPublicKey(final Map<String, Object> jwk) throws JwtException {
+        final String keyType = requireString(jwk, "kty");
+
+        try {
+            switch (keyType) {
+                case "RSA":
+                    return toRsaPublicKey(jwk);
+                case "EC":
+                    return toEcPublicKey(jwk);
+                default:
+                    throw new JwtException("Unsupported key type: " + keyType);
+            }
+        } catch (final GeneralSecurityException | IllegalArgumentException e) {
+            throw new JwtException("Invalid JSON Web Key", e);
+        }
+    }
+
+    /**
+     * Converts RSA JSON Web Key.
+     *
+     * @param jwk -
+     * @return -
+     * @throws GeneralSecurityException -
+     * @throws JwtException -
+     */
+    private static PublicKey toRsaPublicKey(final Map<String, Object> jwk) throws GeneralSecurityException, JwtException {
+        final BigInteger modulus = toBigInteger(requireString(jwk, "n"));
+        final BigInteger exponent = toBigInteger(requireString(jwk, "e"));
+
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+    }
+
+    /**
+     * Converts EC JSON Web Key.
+     *
+     * @param jwk -
+     * @return -
+     * @throws GeneralSecurityException -
+     * @throws JwtException -
+     */
+    private static PublicKey toEcPublicKey(final Map<String, Object> jwk) throws GeneralSecurityException, JwtException {
+        final AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec(toCurveName(requireString(jwk, "crv"))));
+
+        final ECPoint point = new ECPoint(toBigInteger(requireString(jwk, "x")), toBigInteger(requireString(jwk, "y")));
+
+        return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+    }
+
+    /**
+     * Maps JWK curve name to the standard curve name.
+     *
+     * @param curve -
+     * @return -
+     * @throws JwtException if the curve is not supported
+     */
+    private static String toCurveName(final String curve) throws JwtException {
+        switch (curve) {
+            case "P-256":
+                return "secp256r1";
+            case "P-384":
+                return "secp384r1";
+            case "P-521":
+                return "secp521r1";
+            default:
+                throw new JwtException("Unsupported curve: " + curve);
+        }
+    }
+
+    /**
+     * Decodes base64url-encoded unsigned big-endian integer.
+     *
+     * @param value -
+     * @return -
+     */
+    private static BigInteger toBigInteger(final String value) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+    }
+
+    /**
+     * Gets a required string member of the key.
+     *
+     * @param jwk -
+     * @param name -
+     * @return -
+     * @throws JwtException if the member is missing or not a string
+     */
+    private static String requireString(final Map<String, Object> jwk, final String name) throws JwtException {
+        @Nullable final Object value = jwk.get(name);
+
+        if (!(value instanceof String)) {
+            throw new JwtException("JSON Web Key member \"" + name + "\" missing or invalid");
+        }
+
+        return (String) value;
+    }
+
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jwks;
+
+import com.tenduke.client.jwt.JwtException;
+
+/**
+ * Fetches the JSON Web Key Set document.
+ *
+ */
+@FunctionalInterface
+public interface JwksFetcher {
+
+    /**
+     * Fetches the JSON Web Key Set.
+     *
+     * @return the JWKS document as JSON
+     * @throws JwtException if fetching fails
+     */
+    String fetch() throws JwtException;
+
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jwks;
+
+import com.tenduke.client.json.DefaultJsonDeserializer;
+import com.tenduke.client.json.JsonDeserializationException;
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.jwt.JwtException;
+import com.tenduke.client.jwt.JwtKeyResolver;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link JwtKeyResolver}, which resolves the keys from JSON Web Key Set by the {@code kid} header.
+ *
+ * <p>
+ * The key set is fetched on first use and kept in memory. The keys are looked up from memory, the key set is re-fetched only when:
+ * <ul>
+ * <li>the key set is older than the configured time-to-live, or</li>
+ * <li>a token refers to an unknown key id, e.g.&nbsp;after the server has rotated the keys.</li>
+ * </ul>
+ *
+ * <p>
+ * Re-fetches are rate-limited: The key set is fetched at most once per configured minimum interval, so tokens with bogus key ids cannot
+ * make the resolver hammer the JWKS endpoint. If a re-fetch fails, the previously fetched keys are used until the next allowed fetch.
+ *
+ * <p>
+ * Only one thread fetches at a time. While the key set is being re-fetched after time-to-live, other threads keep using the previously
+ * fetched keys without waiting. Threads, which cannot proceed without the result (no keys fetched yet, or unknown key id), wait for the
+ * fetch in progress instead of starting another one.
+ *
+ * <p>
+ * If the token has no {@code kid} header, the key set must contain exactly one key.
+ *
+ * <p>
+ * Usage:
+ * <pre>
+ * final JwksFetcher fetcher = new HttpJwksFetcher(httpClient, URI.create("https://example.com/.well-known/jwks.json"));
+ * final JwtKeyResolver keys = new JwksKeyResolver(fetcher);
+ * final JwtParser parser = DefaultJwtParserFactory.INSTANCE.createWithKeyResolver(keys);
+ * </pre>
+ *
+ * <p>
+ * Instances are thread-safe.
+ */
+public class JwksKeyResolver implements JwtKeyResolver {
+
+    /** Default time-to-live of the fetched key set. */
+    public static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+    /** Default minimum interval between fetches. */
+    public static final Duration DEFAULT_MIN_REFETCH_INTERVAL = Duration.ofMinutes(1);
+
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(JwksKeyResolver.class);
+
+    /** Clock. */
+    private final Clock clock;
+
+    /** Deserializer for the key set. */
+    private final JsonDeserializer deserializer;
+
+    /** Fetches the key set. */
+    private final JwksFetcher fetcher;
+
+    /** Minimum interval between fetches. */
+    private final Duration minRefetchInterval;
+
+    /** Time-to-live of the fetched key set. */
+    private final Duration ttl;
+
+    /** Currently known keys, {@code null} until first successful fetch. */
+    private @Nullable volatile KeySet keys;
+
+    /** Fetch in progress, {@code null} if none. */
+    private final AtomicReference<CompletableFuture<KeySet>> inFlight = new AtomicReference<>();
+
+    /** Time of last fetch attempt. Written only by the thread executing the fetch in progress. */
+    private @Nullable volatile Instant lastFetchAttempt;
+
+    /**
+     * Constructs new instance with default deserializer, time-to-live and minimum re-fetch interval.
+     *
+     * @param fetcher -
+     */
+    public JwksKeyResolver(final JwksFetcher fetcher) {
+        this(fetcher, DefaultJsonDeserializer.INSTANCE, DEFAULT_TTL, DEFAULT_MIN_REFETCH_INTERVAL, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param fetcher fetches the key set
+     * @param deserializer deserializer for the key set
+     * @param ttl time-to-live of the fetched key set
+     * @param minRefetchInterval minimum interval between fetches
+     * @param clock -
+     */
+    public JwksKeyResolver(
+            final JwksFetcher fetcher,
+            final JsonDeserializer deserializer,
+            final Duration ttl,
+            final Duration minRefetchInterval,
+            final Clock clock
+    ) {
+        this.fetcher = fetcher;
+        this.deserializer = deserializer;
+        this.ttl = ttl;
+        this.minRefetchInterval = minRefetchInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param keyId -
+     * @param algorithm -
+     * @return -
+     * @throws JwtException -
+     */
+    @Override
+    public Key resolve(@Nullable final String keyId, final String algorithm) throws JwtException {
+        final Instant now = clock.instant();
+
+        @Nullable KeySet current = keys;
+
+        if (current == null || current.isExpired(now)) {
+            current = refetch(current, now, current == null);
+        }
+
+        @Nullable Key key = current.find(keyId);
+
+        if (key == null) {
+            LOG.debug("Key not found, re-fetching JWKS [kid={}]", keyId);
+
+            current = refetch(current, now, true);
+            key = current.find(keyId);
+        }
+
+        if (key == null) {
+            throw new JwtException("No key found for kid " + keyId);
+        }
+
+        if (!isCompatible(key, algorithm)) {
+            throw new JwtException("Key " + keyId + " of type " + key.getAlgorithm() + " cannot be used with algorithm " + algorithm);
+        }
+
+        return key;
+    }
+
+    /**
+     * Re-fetches the key set, unless another thread has already done it or is doing it.
+     *
+     * @param seen the key set seen by the caller
+     * @param now -
+     * @param await {@code true} to wait for a fetch in progress, {@code false} to use the previously fetched keys while one is in progress
+     * @return the current key set
+     * @throws JwtException if no keys are available
+     */
+    private KeySet refetch(@Nullable final KeySet seen, final Instant now, final boolean await) throws JwtException {
+        @Nullable final KeySet current = keys;
+
+        if (current != null && current != seen) {
+            return current;
+        }
+
+        final CompletableFuture<KeySet> fetch = new CompletableFuture<>();
+        @Nullable final CompletableFuture<KeySet> existing = inFlight.compareAndExchange(null, fetch);
+
+        if (existing != null) {
+            return (current != null && !await ? current : join(existing));
+        }
+
+        try {
+            final KeySet result = fetchIfAllowed(seen, now);
+
+            fetch.complete(result);
+
+            return result;
+        } catch (final Throwable e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    /**
+     * Fetches the key set, unless another thread has already done it or the previous fetch was too recent. Called only by the thread
+     * executing the fetch in progress.
+     *
+     * @param seen the key set seen by the caller
+     * @param now -
+     * @return the current key set
+     * @throws JwtException if no keys are available
+     */
+    private KeySet fetchIfAllowed(@Nullable final KeySet seen, final Instant now) throws JwtException {
+        @Nullable final KeySet current = keys;
+
+        if (current != null && current != seen) {
+            return current;
+        }
+
+        @Nullable final Instant previousAttempt = lastFetchAttempt;
+
+        if (previousAttempt != null && now.isBefore(previousAttempt.plus(minRefetchInterval))) {
+            if (current == null) {
+                throw new JwtException("JWKS not available, previous fetch failed");
+            }
+
+            return current;
+        }
+
+        lastFetchAttempt = now;
+
+        try {
+            final KeySet fetched = parse(fetcher.fetch(), now.plus(ttl));
+            keys = fetched;
+
+            LOG.debug("Fetched JWKS [keys={}]", fetched.size());
+
+            return fetched;
+        } catch (final JwtException e) {
+            if (current == null) {
+                throw e;
+            }
+
+            LOG.warn("Re-fetching JWKS failed, using previously fetched keys: {}", e.getMessage());
+
+            return current;
+        }
+    }
+
+    /**
+     * Waits for the fetch in progress.
+     *
+     * @param fetch -
+     * @return the fetched key set
+     * @throws JwtException if the fetch failed
+     */
+    private static KeySet join(final CompletableFuture<KeySet> fetch) throws JwtException {
+        try {
+            return fetch.join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof JwtException) {
+                throw (JwtException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new JwtException("Fetching JWKS failed", cause);
+        }
+    }
+
+    /**
+     * Parses the key set.
+     *
+     * <p>
+     * Keys with unsupported type and keys not intended for signatures are ignored.
+     *
+     * @param json -
+     * @param expiresAt -
+     * @return -
+     * @throws JwtException if the document is not a valid key set
+     */
+    @SuppressWarnings("unchecked")
+    private KeySet parse(final String json, final Instant expiresAt) throws JwtException {
+        final Map<String, Object> document;
+
+        try {
+            document = deserializer.deserialize(json, Map.class);
+        } catch (final JsonDeserializationException e) {
+            throw new JwtException("Invalid JWKS", e);
+        }
+
+        @Nullable final Object jwks = (document == null ? null : document.get("keys"));
+
+        if (!(jwks instanceof List)) {
+            throw new JwtException("Invalid JWKS: \"keys\" missing");
+        }
+
+        final KeySet keySet = new KeySet(expiresAt);
+
+        for (final Object jwk : (List<Object>) jwks) {
+            if (!(jwk instanceof Map)) {
+                continue;
+            }
+
+            final Map<String, Object> members = (Map<String, Object>) jwk;
+            @Nullable final Object use = members.get("use");
+
+            if (use != null && !"sig".equals(use)) {
+                continue;
+            }
+
+            try {
+                keySet.add(members.get("kid"), JsonWebKeys.toPublicKey(members));
+            } catch (final JwtException e) {
+                LOG.debug("Ignoring JWK [kid={}]: {}", members.get("kid"), e.getMessage());
+            }
+        }
+
+        return keySet;
+    }
+
+    /**
+     * Checks that the key can be used with the algorithm.
+     *
+     * @param key -
+     * @param algorithm -
+     * @return -
+     */
+    private static boolean isCompatible(final Key key, final String algorithm) {
+        switch (key.getAlgorithm()) {
+            case "RSA":
+                return algorithm.startsWith("RS") || algorithm.startsWith("PS");
+            case "EC":
+                return algorithm.startsWith("ES");
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * An immutable snapshot of fetched keys.
+     *
+     */
+    private static final class KeySet {
+
+        /** All keys. */
+        private final List<Key> all = new ArrayList<>();
+
+        /** Keys with key id, by key id. */
+        private final Map<String, Key> byId = new HashMap<>();
+
+        /** When this expires. */
+        private final Instant expiresAt;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param expiresAt -
+         */
+        KeySet(final Instant expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Adds a key. Called only while constructing the key set.
+         *
+         * @param keyId -
+         * @param key -
+         */
+        void add(@Nullable final Object keyId, final Key key) {
+            all.add(key);
+
+            if (keyId instanceof String) {
+                byId.put((String) keyId, key);
+            }
+        }
+
+        /**
+         * Finds a key.
+         *
+         * @param keyId the key id, if {@code null} the only key is returned
+         * @return the key, {@code null} if not found
+         */
+        @Nullable Key find(@Nullable final String keyId) {
+            if (keyId == null) {
+                return (all.size() == 1 ? all.get(0) : null);
+            }
+
+            return byId.get(keyId);
+        }
+
+        /**
+         * Checks if this has expired.
+         *
+         * @param now -
+         * @return -
+         */
+        boolean isExpired(final Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+
+        /**
+         * Returns number of keys.
+         *
+         * @return -
+         */
+        int size() {
+            return all.size();
+        }
+
+    }
+
+}
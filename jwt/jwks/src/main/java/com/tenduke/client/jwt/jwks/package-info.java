@@ -0,0 +1,10 @@
+/**
+ * Resolving JWT signature verification keys from JSON Web Key Set (JWKS, RFC 7517).
+ *
+ * <p>
+ * {@link com.tenduke.client.jwt.jwks.JwksKeyResolver} is a {@link com.tenduke.client.jwt.JwtKeyResolver}, which resolves the keys by
+ * the {@code kid} header of the JWT. Use it with {@link com.tenduke.client.jwt.JwtParserFactory#createWithKeyResolver(
+ * com.tenduke.client.jwt.JwtKeyResolver) }.
+ *
+ */
+package com.tenduke.client.jwt.jwks;
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jwks;
+
+import com.tenduke.client.jwt.JwtException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import static com.tenduke.client.testutils.HttpClientTestUtil.stubHttp;
+import static com.tenduke.client.testutils.HttpClientTestUtil.stubHttpToThrowIOException;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+
+public class HttpJwksFetcherTest {
+
+    private static final String JWKS_URI = "https://example.com/.well-known/jwks.json";
+
+    private HttpClient http;
+    private HttpJwksFetcher fetcher;
+
+    @Before
+    public void beforeTest() {
+        http = mock(HttpClient.class);
+        fetcher = new HttpJwksFetcher(http, URI.create(JWKS_URI));
+    }
+
+    @Test
+    public void shouldReturnTheDocument() throws Exception {
+        stubHttp(http, "GET", JWKS_URI, 200, "{\"keys\":[]}");
+
+        assertThat(fetcher.fetch()).isEqualTo("{\"keys\":[]}");
+    }
+
+    @Test
+    public void shouldFailOnErrorStatus() throws Exception {
+        stubHttp(http, "GET", JWKS_URI, 503, "unavailable");
+
+        assertThatExceptionOfType(JwtException.class)
+                .isThrownBy(() -> fetcher.fetch())
+                .withMessage("Fetching JWKS from " + JWKS_URI + " failed with status 503");
+    }
+
+    @Test
+    public void shouldWrapNetworkErrors() throws Exception {
+        stubHttpToThrowIOException(http, "GET", JWKS_URI);
+
+        assertThatExceptionOfType(JwtException.class)
+                .isThrownBy(() -> fetcher.fetch())
+                .withCauseInstanceOf(IOException.class);
+    }
+
+}
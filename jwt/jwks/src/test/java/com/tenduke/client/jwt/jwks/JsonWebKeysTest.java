@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jwks;
+
+import com.tenduke.client.jwt.JwtException;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Map;
+import static com.tenduke.client.jwt.jwks.JwksTestUtil.base64Url;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.Test;
+
+public class JsonWebKeysTest {
+
+    @Test
+    public void shouldConvertRsaKey() throws Exception {
+        final RSAPublicKey key = JwksTestUtil.generateRsaKey();
+
+        final PublicKey converted = JsonWebKeys.toPublicKey(Map.of(
+                "kty", "RSA",
+                "n", base64Url(key.getModulus()),
+                "e", base64Url(key.getPublicExponent())
+        ));
+
+        assertThat(converted).isEqualTo(key);
+    }
+
+    @Test
+    public void shouldConvertEcKey() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        final ECPublicKey key = (ECPublicKey) generator.generateKeyPair().getPublic();
+
+        final PublicKey converted = JsonWebKeys.toPublicKey(Map.of(
+                "kty", "EC",
+                "crv", "P-256",
+                "x", base64Url(key.getW().getAffineX()),
+                "y", base64Url(key.getW().getAffineY())
+        ));
+
+        assertThat(converted).isEqualTo(key);
+    }
+
+    @Test
+    public void shouldRejectUnsupportedKeyTypeAndCurve() {
+        assertThatExceptionOfType(JwtException.class)
+                .isThrownBy(() -> JsonWebKeys.toPublicKey(Map.of("kty", "oct", "k", "c2VjcmV0")))
+                .withMessage("Unsupported key type: oct");
+        assertThatExceptionOfType(JwtException.class)
+                .isThrownBy(() -> JsonWebKeys.toPublicKey(Map.of("kty", "EC", "crv", "P-192", "x", "AA", "y", "AA")))
+                .withMessage("Unsupported curve: P-192");
+    }
+
+    @Test
+    public void shouldRejectMissingOrInvalidMembers() {
+        assertThatExceptionOfType(JwtException.class)
+                .isThrownBy(() -> JsonWebKeys.toPublicKey(Map.of("kty", "RSA", "n", "AQAB")))
+                .withMessage("JSON Web Key member \"e\" missing or invalid");
+        assertThatExceptionOfType(JwtException.class)
+                .isThrownBy(() -> JsonWebKeys.toPublicKey(Map.of("kty", "RSA", "n", "not base64!", "e", "AQAB")))
+                .withMessage("Invalid JSON Web Key");
+    }
+
+}
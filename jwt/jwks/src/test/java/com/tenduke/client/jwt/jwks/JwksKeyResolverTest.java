@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.jwt.jwks;
+
+import com.tenduke.client.json.DefaultJsonDeserializer;
+import com.tenduke.client.jwt.JwtException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static com.tenduke.client.jwt.jwks.JwksTestUtil.generateRsaKey;
+import static com.tenduke.client.jwt.jwks.JwksTestUtil.toJwk;
+import static com.tenduke.client.jwt.jwks.JwksTestUtil.toJwks;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JwksKeyResolverTest {
+
+    private RSAPublicKey key1;
+    private RSAPublicKey key2;
+    private StubFetcher fetcher;
+    private MutableClock clock;
+    private JwksKeyResolver resolver;
+
+    @Before
+    public void beforeTest() throws Exception {
+        key1 = generateRsaKey();
+        key2 = generateRsaKey();
+        fetcher = new StubFetcher();
+        clock = new MutableClock();
+        resolver = new JwksKeyResolver(
+                fetcher,
+                DefaultJsonDeserializer.INSTANCE,
+                Duration.ofHours(1),
+                Duration.ofMinutes(1),
+                clock
+        );
+    }
+
+    @Test
+    public void shouldResolveByKeyIdFromMemory() throws JwtException {
+        fetcher.respond(toJwks(toJwk("k1", key1), toJwk("k2", key2)));
+
+        assertThat(resolver.resolve("k1", "RS256")).isEqualTo(key1);
+        assertThat(resolver.resolve("k2", "RS256")).isEqualTo(key2);
+        assertThat(resolver.resolve("k1", "PS256")).isEqualTo(key1);
+        assertThat(fetcher.fetches).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRefetchOnUnknownKeyId() throws JwtException {
+        fetcher.respond(toJwks(toJwk("k1", key1)));
+        fetcher.respond(toJwks(toJwk("k1", key1), toJwk("k2", key2)));
+
+        assertThat(resolver.resolve("k1", "RS256")).isEqualTo(key1);
+
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThat(resolver.resolve("k2", "RS256")).isEqualTo(key2);
+        assertThat(fetcher.fetches).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRateLimitRefetchesOnUnknownKeyIds() throws JwtException {
+        fetcher.respond(toJwks(toJwk("k1", key1)));
+        fetcher.respond(toJwks(toJwk("k1", key1)));
+
+        resolver.resolve("k1", "RS256");
+
+        assertThatExceptionOfType(JwtException.class)
+                .isThrownBy(() -> resolver.resolve("bogus-1", "RS256"))
+                .withMessage("No key found for kid bogus-1");
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> resolver.resolve("bogus-2", "RS256"));
+        assertThat(fetcher.fetches).isEqualTo(1);
+
+        clock.advance(Duration.ofMinutes(1));
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> resolver.resolve("bogus-3", "RS256"));
+        assertThat(fetcher.fetches).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRefetchAfterTtl() throws JwtException {
+        fetcher.respond(toJwks(toJwk("k1", key1)));
+        fetcher.respond(toJwks(toJwk("k1", key2)));
+
+        assertThat(resolver.resolve("k1", "RS256")).isEqualTo(key1);
+
+        clock.advance(Duration.ofHours(1));
+
+        assertThat(resolver.resolve("k1", "RS256")).isEqualTo(key2);
+        assertThat(fetcher.fetches).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldUsePreviousKeysIfRefetchFails() throws JwtException {
+        fetcher.respond(toJwks(toJwk("k1", key1)));
+        fetcher.fail(new JwtException("simulated"));
+
+        resolver.resolve("k1", "RS256");
+
+        clock.advance(Duration.ofHours(2));
+
+        assertThat(resolver.resolve("k1", "RS256")).isEqualTo(key1);
+        assertThat(resolver.resolve("k1", "RS256")).isEqualTo(key1);
+        assertThat(fetcher.fetches).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldFailAndRateLimitIfFirstFetchFails() throws JwtException {
+        final JwtException failure = new JwtException("simulated");
+        fetcher.fail(failure);
+        fetcher.respond(toJwks(toJwk("k1", key1)));
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> resolver.resolve("k1", "RS256")).isSameAs(failure);
+        assertThatExceptionOfType(JwtException.class)
+                .isThrownBy(() -> resolver.resolve("k1", "RS256"))
+                .withMessage("JWKS not available, previous fetch failed");
+
+        clock.advance(Duration.ofMinutes(1));
+
+        assertThat(resolver.resolve("k1", "RS256")).isEqualTo(key1);
+        assertThat(fetcher.fetches).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldUsePreviousKeysWhileAnotherThreadRefetches() throws Exception {
+        final CountDownLatch fetching = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        fetcher.respond(toJwks(toJwk("k1", key1)));
+        fetcher.respond(() -> {
+            fetching.countDown();
+            release.await();
+
+            return toJwks(toJwk("k1", key2), toJwk("k2", key2));
+        });
+
+        resolver.resolve("k1", "RS256");
+
+        clock.advance(Duration.ofHours(1));
+
+        final CompletableFuture<Object> refetching = CompletableFuture.supplyAsync(() -> resolveUnchecked("k1"));
+
+        assertThat(fetching.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // Served from the expired key set without waiting for the fetch in progress:
+        assertThat(resolver.resolve("k1", "RS256")).isEqualTo(key1);
+
+        // Unknown key id waits for the fetch in progress instead of starting another one:
+        final CompletableFuture<Object> waiting = CompletableFuture.supplyAsync(() -> resolveUnchecked("k2"));
+
+        release.countDown();
+
+        assertThat(refetching.get(1, TimeUnit.SECONDS)).isEqualTo(key2);
+        assertThat(waiting.get(1, TimeUnit.SECONDS)).isEqualTo(key2);
+        assertThat(fetcher.fetches).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldResolveOnlyKeyWithoutKeyId() throws JwtException {
+        fetcher.respond(toJwks(toJwk("k1", key1)));
+
+        assertThat(resolver.resolve(null, "RS256")).isEqualTo(key1);
+    }
+
+    @Test
+    public void shouldNotGuessKeyWithoutKeyIdIfMultipleKeys() throws JwtException {
+        fetcher.respond(toJwks(toJwk("k1", key1), toJwk("k2", key2)));
+
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> resolver.resolve(null, "RS256"));
+    }
+
+    @Test
+    public void shouldRejectKeyForIncompatibleAlgorithm() throws JwtException {
+        fetcher.respond(toJwks(toJwk("k1", key1)));
+
+        assertThatExceptionOfType(JwtException.class)
+                .isThrownBy(() -> resolver.resolve("k1", "HS256"))
+                .withMessage("Key k1 of type RSA cannot be used with algorithm HS256");
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> resolver.resolve("k1", "ES256"));
+    }
+
+    @Test
+    public void shouldIgnoreUnsupportedAndEncryptionKeys() throws JwtException {
+        fetcher.respond(toJwks(
+                "{\"kty\":\"oct\",\"kid\":\"secret\",\"k\":\"c2VjcmV0\"}",
+                toJwk("enc", key2).replace("\"sig\"", "\"enc\""),
+                toJwk("k1", key1)
+        ));
+
+        assertThat(resolver.resolve(null, "RS256")).isEqualTo(key1);
+        assertThatExceptionOfType(JwtException.class).isThrownBy(() -> resolver.resolve("enc", "RS256"));
+    }
+
+    @Test
+    public void shouldFailOnInvalidDocument() {
+        fetcher.respond("{\"no-keys\":true}");
+
+        assertThatExceptionOfType(JwtException.class)
+                .isThrownBy(() -> resolver.resolve("k1", "RS256"))
+                .withMessage("Invalid JWKS: \"keys\" missing");
+    }
+
+    private Object resolveUnchecked(final String keyId) {
+        try {
+            return resolver.resolve(keyId, "RS256");
+        } catch (final JwtException e) {
+            return e;
+        }
+    }
+
+    private interface Response {
+
+        String get() throws InterruptedException;
+
+    }
+
+    private static class StubFetcher implements JwksFetcher {
+
+        private final Deque<Object> responses = new ArrayDeque<>();
+        private volatile int fetches;
+
+        void respond(final String jwks) {
+            responses.add(jwks);
+        }
+
+        void respond(final Response response) {
+            responses.add(response);
+        }
+
+        void fail(final JwtException failure) {
+            responses.add(failure);
+        }
+
+        @Override
+        public String fetch() throws JwtException {
+            fetches++;
+
+            final Object response = responses.remove();
+
+            if (response instanceof JwtException) {
+                throw (JwtException) response;
+            }
+            if (response instanceof Response) {
+                try {
+                    return ((Response) response).get();
+                } catch (final InterruptedException e) {
+                    throw new JwtException(e);
+                }
+            }
+
+            return (String) response;
+        }
+
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2019-10-01T12:00:00Z");
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+    }
+
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth;
+
+import com.tenduke.client.json.JsonDeserializationException;
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.exceptions.OAuthErrorException;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import com.tenduke.client.oauth.exceptions.OAuthNetworkException;
+import com.tenduke.client.oauth.exceptions.OAuthServerException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Abstract request to an OAuth endpoint, which takes form-encoded parameters and responds with JSON, e.g.&nbsp;the token endpoint.
+ *
+ * <p>
+ * Error responses are handled as specified for the token endpoint in RFC 6749, section 5.2: JSON with {@code error},
+ * {@code error_description} and {@code error_uri}.
+ *
+ * @param <RS> type of the response returned.
+ */
+public abstract class AbstractEndpointRequest<RS> implements Callable<RS> {
+
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractEndpointRequest.class);
+
+    /** Low-end (inclusive) of HTTP-status codes regarded as "successful". */
+    private static final int HTTP_OK_RANGE_LO = 200;
+
+    /** High-end (exclusive) of HTTP-status codes regarded as "successful". */
+    private static final int HTTP_OK_RANGE_HI = 300;
+
+    /** Character set for request body encoding. */
+    private final Charset charset = UTF_8;
+
+    /** Endpoint. */
+    private final URI endpoint;
+
+    /** HTTP-client. */
+    private final HttpClient httpClient;
+
+    /** JSON-deserializer for unmarshalling the response. */
+    private final JsonDeserializer json;
+
+    /** Name of the request in messages, e.g.&nbsp;"Token". */
+    private final String name;
+
+    /** Request body. */
+    private final String request;
+
+    /** Request timeout. */
+    private final Duration requestTimeout;
+
+    /** OAuth-state or other identifier of the request. Used for logging. */
+    private final String state;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param name name of the request in messages, e.g.&nbsp;"Token"
+     * @param httpClient -
+     * @param json -
+     * @param request form-encoded request body
+     * @param state OAuth-state or other identifier of the request, used for logging
+     * @param endpoint -
+     * @param requestTimeout timeout of the HTTP-request, until the response headers have been received
+     */
+    protected AbstractEndpointRequest(
+            final String name,
+            final HttpClient httpClient,
+            final JsonDeserializer json,
+            final String request,
+            final String state,
+            final URI endpoint,
+            final Duration requestTimeout
+    ) {
+        this.name = name;
+        this.httpClient = httpClient;
+        this.json = json;
+        this.request = request;
+        this.state = state;
+        this.endpoint = endpoint;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /** {@inheritDoc}
+     *
+     * @return -
+     * @throws InterruptedException -
+     * @throws OAuthException -
+     */
+    @Override
+    public RS call() throws InterruptedException, OAuthException {
+        //
+        final HttpRequest httpRequest = buildHttpRequest();
+
+        final HttpResponse<byte[]> response;
+
+        logExecution("[state={}] Executing {} request...");
+
+        try {
+            response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (final IOException e) {
+            throw toNetworkException(e);
+        }
+
+        return processResponse(response);
+    }
+
+    /**
+     * Executes the request asynchronously, without blocking the calling thread.
+     *
+     * <p>
+     * The request is executed with {@link HttpClient#sendAsync(java.net.http.HttpRequest, java.net.http.HttpResponse.BodyHandler) },
+     * so no thread is blocked while waiting for the response. The response is processed on the executor of the HTTP-client.
+     *
+     * <p>
+     * On failure, the returned future completes exceptionally with the same {@link OAuthException} that {@link #call() } would throw.
+     *
+     * @return future, which completes with the response
+     */
+    public CompletableFuture<RS> callAsync() {
+        //
+        final HttpRequest httpRequest = buildHttpRequest();
+        final CompletableFuture<RS> result = new CompletableFuture<>();
+
+        logExecution("[state={}] Executing asynchronous {} request...");
+
+        httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            if (error != null) {
+                result.completeExceptionally(toNetworkException(Futures.unwrap(error)));
+                return;
+            }
+
+            try {
+                result.complete(processResponse(response));
+            } catch (final OAuthException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Builds the HTTP-request for the endpoint.
+     *
+     * @return -
+     */
+    protected HttpRequest buildHttpRequest() {
+        return HttpRequest.newBuilder()
+                .uri(endpoint)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(request, charset))
+                .build();
+    }
+
+    /**
+     * Processes the HTTP-response from the endpoint.
+     *
+     * <p>
+     * The response body is kept as bytes and de-serialized directly, without decoding it to {@code String} first.
+     *
+     * @param response -
+     * @return the response
+     * @throws OAuthException if the server responded with error or the response is not valid
+     */
+    protected RS processResponse(final HttpResponse<byte[]> response) throws OAuthException {
+        final int statusCode = response.statusCode();
+
+        LOG.debug("[state={}][status={}] ... got HTTP-response ...", state, statusCode);
+
+        final byte[] body = response.body();
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("[state={}] response body: {}", state, new String(body, UTF_8));
+        }
+
+        if (isSuccessfulResponse(statusCode)) {
+
+            try {
+                final RS result = deserializeResponse(body);
+
+                LOG.info("[state={}] ... SUCCESS: {} response received", state, name);
+
+                return result;
+            } catch (final JsonDeserializationException e) {
+                LOG.error("[state={}] ... ERROR: {} response is not valid Json: {}", state, name, e.getMessage());
+
+                throw new OAuthServerException(name + " response is not valid Json", e);
+            }
+        } else {
+
+            try {
+                final OAuthErrorResponse error = deserialize(body, OAuthErrorResponse.class);
+
+                if (isExpectedError(error)) {
+                    LOG.debug("[state={}] ... Error code: \"{}\"", state, error.getError());
+                } else {
+                    LOG.error("[state={}] ... ERROR: Error code: \"{}\"", state, error.getError());
+                }
+
+                throw new OAuthErrorException(name + " request failed with error", error);
+            } catch (final JsonDeserializationException e) {
+                LOG.error("[state={}] ... ERROR: Server reported error and response body is not valid JSON", state);
+
+                throw new OAuthServerException("Error response is not valid Json", e);
+            }
+        }
+    }
+
+    /**
+     * Checks if the error response is expected in the normal course of the request, e.g.&nbsp;{@code authorization_pending} when
+     * polling. Expected errors are logged at DEBUG-level instead of ERROR-level. They are still reported to the caller as
+     * {@link OAuthErrorException}.
+     *
+     * @param error -
+     * @return {@code false} by default
+     */
+    protected boolean isExpectedError(final OAuthErrorResponse error) {
+        return false;
+    }
+
+    /**
+     * Checks if the request is executed repeatedly, e.g.&nbsp;when polling. Executions of repeated requests are logged at DEBUG-level
+     * instead of INFO-level.
+     *
+     * @return {@code false} by default
+     */
+    protected boolean isRepeated() {
+        return false;
+    }
+
+    /**
+     * Logs the execution of the request.
+     *
+     * @param format message format with placeholders for the state and the name of the request
+     */
+    private void logExecution(final String format) {
+        if (isRepeated()) {
+            LOG.debug(format, state, name);
+        } else {
+            LOG.info(format, state, name);
+        }
+    }
+
+    /**
+     * Wraps failure of the HTTP-client to {@link OAuthNetworkException}.
+     *
+     * @param e -
+     * @return -
+     */
+    private OAuthNetworkException toNetworkException(final Throwable e) {
+        LOG.info("[state={}] ... ERROR: Failed with {}: {}", state, e.getClass().getSimpleName(), e.getMessage());
+
+        return new OAuthNetworkException(name + " request failed", e);
+    }
+
+    /**
+     * De-serializes JSON to Java object.
+     *
+     * @param <T> -
+     * @param value -
+     * @param type -
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    protected <T> T deserialize(final String value, final Class<T> type) throws JsonDeserializationException {
+        return json.deserialize(value, type);
+    }
+
+    /**
+     * De-serializes UTF-8 encoded JSON to Java object.
+     *
+     * @param <T> -
+     * @param value -
+     * @param type -
+     * @return -
+     * @throws JsonDeserializationException -
+     */
+    protected <T> T deserialize(final byte[] value, final Class<T> type) throws JsonDeserializationException {
+        return json.deserialize(value, type);
+    }
+
+    /**
+     * De-serializes the successful response from the raw HTTP response body.
+     *
+     * @param body HTTP response body, UTF-8 encoded JSON
+     * @return -
+     * @throws JsonDeserializationException -
+     * @throws OAuthException if the response is not valid
+     */
+    protected abstract RS deserializeResponse(byte[] body) throws JsonDeserializationException, OAuthException;
+
+    /**
+     * Checks if the HTTP statuscode indicates success.
+     *
+     * @param httpStatusCode -
+     * @return -
+     */
+    protected boolean isSuccessfulResponse(final int httpStatusCode) {
+        return (httpStatusCode >= HTTP_OK_RANGE_LO && httpStatusCode < HTTP_OK_RANGE_HI);
+    }
+
+}
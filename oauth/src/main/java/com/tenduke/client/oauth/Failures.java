@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth;
+
+import com.tenduke.client.oauth.exceptions.OAuthErrorException;
+import com.tenduke.client.oauth.exceptions.OAuthNetworkException;
+import com.tenduke.client.oauth.exceptions.OAuthServerException;
+
+/**
+ * Classification of request failures, shared by the clients of this library.
+ *
+ */
+public final class Failures {
+
+    /**
+     * Prevents construction.
+     *
+     */
+    private Failures() {
+    }
+
+    /**
+     * Checks if the failure is temporary, i.e.&nbsp;worth retrying: Network errors, server errors and the OAuth errors
+     * {@code temporarily_unavailable} and {@code server_error} are temporary, other failures are not.
+     *
+     * @param error -
+     * @return -
+     */
+    public static boolean isRetryable(final Throwable error) {
+        if (error instanceof OAuthNetworkException || error instanceof OAuthServerException) {
+            return true;
+        }
+        if (error instanceof OAuthErrorException) {
+            final String code = ((OAuthErrorException) error).getError().getError();
+
+            return "temporarily_unavailable".equals(code) || "server_error".equals(code);
+        }
+
+        return false;
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth;
+
+import java.net.URLEncoder;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import javax.annotation.Nullable;
+
+/**
+ * Helpers for building {@code application/x-www-form-urlencoded} request bodies, shared by the clients of this library.
+ *
+ */
+public final class FormParameters {
+
+    /**
+     * Prevents construction.
+     *
+     */
+    private FormParameters() {
+    }
+
+    /**
+     * Appends form-parameter to the request body, if the value is not {@code null}. The name and value are URL-encoded as UTF-8.
+     *
+     * @param builder the request body
+     * @param parameterName -
+     * @param parameterValue -
+     * @return {@code builder}
+     */
+    public static StringBuilder append(
+            final StringBuilder builder,
+            final String parameterName,
+            @Nullable final String parameterValue
+    ) {
+        if (parameterValue != null) {
+            if (builder.length() > 0) {
+                builder.append('&');
+            }
+            builder.append(encode(parameterName)).append('=').append(encode(parameterValue));
+        }
+
+        return builder;
+    }
+
+    /**
+     * URL-encodes given string as UTF-8.
+     *
+     * @param string -
+     * @return -
+     */
+    public static String encode(final String string) {
+        return URLEncoder.encode(string, UTF_8);
+    }
+
+}
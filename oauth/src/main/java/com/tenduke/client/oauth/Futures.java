@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helpers for {@link java.util.concurrent.CompletableFuture}s, shared by the clients of this library.
+ *
+ */
+public final class Futures {
+
+    /**
+     * Prevents construction.
+     *
+     */
+    private Futures() {
+    }
+
+    /**
+     * Unwraps the actual cause from {@link CompletionException}.
+     *
+     * <p>
+     * Dependent stages of a {@link java.util.concurrent.CompletableFuture} see the failure of the source stage wrapped to
+     * {@link CompletionException}, this returns the original failure.
+     *
+     * @param error -
+     * @return the cause of given {@link CompletionException}, otherwise {@code error} itself
+     */
+    public static Throwable unwrap(final Throwable error) {
+        return (error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+    }
+
+}
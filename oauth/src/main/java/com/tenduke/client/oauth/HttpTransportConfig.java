@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth;
+
+import java.lang.reflect.InvocationTargetException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import javax.annotation.Nullable;
+
+/**
+ * HTTP-transport configuration: HTTP-version, timeouts and the executor of the HTTP-client.
+ *
+ * <p>
+ * {@link #newHttpClient() } builds a {@link HttpClient} with this configuration. The HTTP-client holds the connection pool, so build
+ * it once and share it between the clients. The request timeout is not a property of the HTTP-client, it is passed to the requests by the
+ * OAuth-clients.
+ *
+ * <p>
+ * Connection pooling and keep-alive of {@link HttpClient} are configured JVM-wide with system properties, which must be set before the
+ * first HTTP-client is created, e.g.&nbsp;{@code -Djdk.httpclient.keepalive.timeout=<seconds>} (idle time before a pooled connection is
+ * closed, default 1200) and {@code -Djdk.httpclient.connectionPoolSize=<count>} (maximum number of pooled HTTP/1.1 connections, default
+ * unlimited). With HTTP/2 (the default here), requests to one host are multiplexed over a single connection.
+ *
+ * <p>
+ * Instances are immutable.
+ */
+public class HttpTransportConfig {
+
+    /** Default connect timeout. */
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    /** Default request timeout. */
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofMinutes(2);
+
+    /**
+     * The default configuration: HTTP/2 (falls back to HTTP/1.1 if the server does not support it), default timeouts and virtual threads
+     * if available (Java 21+), otherwise the default executor of the HTTP-client.
+     */
+    public static final HttpTransportConfig DEFAULT = new HttpTransportConfig(
+            HttpClient.Version.HTTP_2,
+            DEFAULT_CONNECT_TIMEOUT,
+            DEFAULT_REQUEST_TIMEOUT,
+            virtualThreadExecutor().orElse(null)
+    );
+
+    /** Preferred HTTP-version. */
+    private final HttpClient.Version version;
+
+    /** Timeout for connecting. */
+    private final Duration connectTimeout;
+
+    /** Timeout for a request, until the response headers have been received. */
+    private final Duration requestTimeout;
+
+    /** Executor of the HTTP-client, {@code null} to use the default. */
+    private final @Nullable Executor executor;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param version preferred HTTP-version
+     * @param connectTimeout timeout for connecting
+     * @param requestTimeout timeout for a request, until the response headers have been received
+     * @param executor executor of the HTTP-client, used for asynchronous requests and processing the responses. {@code null} to use
+     *      the default executor of the HTTP-client (a dedicated thread pool per HTTP-client).
+     */
+    public HttpTransportConfig(
+            final HttpClient.Version version,
+            final Duration connectTimeout,
+            final Duration requestTimeout,
+            @Nullable final Executor executor
+    ) {
+        if (connectTimeout.isNegative() || connectTimeout.isZero()) {
+            throw new IllegalArgumentException("Connect timeout must be positive, got " + connectTimeout);
+        }
+        if (requestTimeout.isNegative() || requestTimeout.isZero()) {
+            throw new IllegalArgumentException("Request timeout must be positive, got " + requestTimeout);
+        }
+
+        this.version = version;
+        this.connectTimeout = connectTimeout;
+        this.requestTimeout = requestTimeout;
+        this.executor = executor;
+    }
+
+    /**
+     * Builds new HTTP-client with this configuration. Redirects are followed.
+     *
+     * @return -
+     */
+    public HttpClient newHttpClient() {
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.ALWAYS);
+
+        if (executor != null) {
+            builder.executor(executor);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns an executor, which runs each task in a new virtual thread, if the runtime supports virtual threads (Java 21+).
+     *
+     * @return the executor, empty if virtual threads are not supported
+     */
+    public static Optional<Executor> virtualThreadExecutor() {
+        try {
+            return Optional.of((Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+        } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return Optional.empty();
+        }
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    // CSOFF: JavadocMethod
+
+    public HttpClient.Version getVersion() {
+        return version;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public Optional<Executor> getExecutor() {
+        return Optional.ofNullable(executor);
+    }
+
+    // CSON: JavadocMethod
+    // </editor-fold>
+
+}
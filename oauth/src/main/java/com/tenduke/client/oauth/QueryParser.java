@@ -22,20 +22,60 @@ import javax.annotation.Nullable;
  * This implementation expects the query string to be URL-encoded.
  *
  * <p>
+ * The parser has two modes, see {@link Mode}. The default is {@link Mode#SINGLE_PASS}.
+ *
+ * <p>
  * NOTE: This class may move to another artifact in the future.
  */
 public class QueryParser {
 
+    /**
+     * Parsing modes.
+     *
+     */
+    public enum Mode {
+
+        /**
+         * Splits the query string to pairs and the pairs to key and value with {@link String#split(java.lang.String) }, and decodes
+         * every key and value. Text after a second {@code =} in a pair is dropped.
+         */
+        SPLIT,
+
+        /**
+         * Scans the query string once, decoding only keys and values, which contain escapes ({@code %} or {@code +}). The value is
+         * everything after the first {@code =}, so e.g.&nbsp;base64-padding is kept. Empty pairs ({@code a&&b}) are skipped.
+         */
+        SINGLE_PASS
+
+    }
+
+    /** Default load factor of {@link HashMap}. */
+    private static final float LOAD_FACTOR = 0.75f;
+
     /** Encoding of the query string. */
     private final Charset charset;
 
+    /** The parsing mode. */
+    private final Mode mode;
+
     /**
-     * Constructs new instance.
+     * Constructs new instance in {@link Mode#SINGLE_PASS} -mode.
      *
      * @param charset -
      */
     public QueryParser(final Charset charset) {
+        this(charset, Mode.SINGLE_PASS);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param charset -
+     * @param mode -
+     */
+    public QueryParser(final Charset charset, final Mode mode) {
         this.charset = charset;
+        this.mode = mode;
     }
 
     /**
@@ -44,10 +84,23 @@ public class QueryParser {
      * <p>
      * NOTE: The query string should be provided without the leading separator (e.g. question mark).
      *
+     * <p>
+     * Keys without value ({@code a} or {@code a=}) are included, with empty list of values.
+     *
      * @param queryString -
      * @return -
      */
     public Map<String, List<String>> from(final String queryString) {
+        return (mode == Mode.SPLIT ? splitFrom(queryString) : singlePassFrom(queryString));
+    }
+
+    /**
+     * Parses the query string in {@link Mode#SPLIT} -mode.
+     *
+     * @param queryString -
+     * @return -
+     */
+    private Map<String, List<String>> splitFrom(final String queryString) {
         final HashMap<String, List<String>> result = new HashMap<>();
         final String[] pairs = queryString.split("&");
 
@@ -67,6 +120,97 @@ public class QueryParser {
         return result;
     }
 
+    /**
+     * Parses the query string in {@link Mode#SINGLE_PASS} -mode.
+     *
+     * @param queryString -
+     * @return -
+     */
+    private Map<String, List<String>> singlePassFrom(final String queryString) {
+        final int length = queryString.length();
+        final HashMap<String, List<String>> result = new HashMap<>(capacityFor(countPairs(queryString)));
+        int start = 0;
+
+        while (start <= length) {
+            int end = queryString.indexOf('&', start);
+
+            if (end < 0) {
+                end = length;
+            }
+
+            if (end > start) {
+                final int separator = indexOf(queryString, '=', start, end);
+                final boolean hasValue = (separator >= 0);
+                final String key = decodeIfEscaped(queryString.substring(start, hasValue ? separator : end));
+                final List<String> values = result.computeIfAbsent(key, (ignored) -> new ArrayList<>(1));
+
+                if (hasValue && separator + 1 < end) {
+                    values.add(decodeIfEscaped(queryString.substring(separator + 1, end)));
+                }
+            }
+
+            start = end + 1;
+        }
+
+        return result;
+    }
+
+    /**
+     * Finds a character within {@code [start, end)} of the string. Unlike {@link String#indexOf(int, int) }, this does not scan past
+     * the end of the current pair.
+     *
+     * @param string -
+     * @param character -
+     * @param start -
+     * @param end -
+     * @return index of the character, or {@code -1} if not found
+     */
+    private static int indexOf(final String string, final char character, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (string.charAt(i) == character) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * URL-decodes value, if it contains escapes.
+     *
+     * @param value -
+     * @return -
+     */
+    private String decodeIfEscaped(final String value) {
+        return (value.indexOf('%') < 0 && value.indexOf('+') < 0 ? value : decode(value));
+    }
+
+    /**
+     * Counts the pairs in the query string.
+     *
+     * @param queryString -
+     * @return -
+     */
+    private static int countPairs(final String queryString) {
+        int count = 1;
+
+        for (int i = queryString.indexOf('&'); i >= 0; i = queryString.indexOf('&', i + 1)) {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Computes initial capacity of a hash map, which can hold given number of entries without resizing.
+     *
+     * @param entries -
+     * @return -
+     */
+    private static int capacityFor(final int entries) {
+        return (int) Math.ceil(entries / LOAD_FACTOR);
+    }
+
     /** URL-decodes value.
      *
      * @param value -
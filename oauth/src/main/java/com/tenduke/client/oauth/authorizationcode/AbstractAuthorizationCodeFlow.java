@@ -15,6 +15,8 @@ import com.tenduke.client.oauth.exceptions.OAuthServerException;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -100,6 +102,22 @@ public abstract class AbstractAuthorizationCodeFlow<
         throw new OAuthServerException("Redirect-uri does not contain required parameter \"code\":" + uri);
     }
 
+    /**
+     * Processes the URI like {@link #process(java.lang.String) }, but on given executor, so that the calling thread is not blocked while
+     * the authorization code is exchanged to token.
+     *
+     * <p>
+     * On failure, the returned future completes exceptionally with the same {@link OAuthException} that
+     * {@link #process(java.lang.String) } would throw.
+     *
+     * @param uri -
+     * @param executor executor, which runs the processing, e.g.&nbsp;a virtual-thread executor with Java 21+
+     * @return future, which completes with the response, or with {@code null} if the URI is not the redirect URI
+     */
+    public CompletableFuture<RS> processAsync(final String uri, final Executor executor) {
+        return BlockingCalls.callAsync(() -> process(uri), executor);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -9,55 +9,40 @@ package com.tenduke.client.oauth.authorizationcode;
 
 import com.tenduke.client.json.JsonDeserializationException;
 import com.tenduke.client.json.JsonDeserializer;
-import com.tenduke.client.oauth.OAuthErrorResponse;
-import com.tenduke.client.oauth.exceptions.OAuthErrorException;
+import com.tenduke.client.oauth.AbstractEndpointRequest;
+import com.tenduke.client.oauth.HttpTransportConfig;
+import com.tenduke.client.oauth.OAuthResponse;
 import com.tenduke.client.oauth.exceptions.OAuthException;
-import com.tenduke.client.oauth.exceptions.OAuthNetworkException;
-import com.tenduke.client.oauth.exceptions.OAuthServerException;
-import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.Charset;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import java.time.Duration;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * Abstract token request.
  *
  * @param <RS> type of the token response returned.
  */
-public abstract class AbstractTokenRequest<RS extends AuthorizationCodeResponse> implements TokenRequest<RS> {
+public abstract class AbstractTokenRequest<RS extends OAuthResponse> extends AbstractEndpointRequest<RS> implements TokenRequest<RS> {
 
-    /** Logger. */
-    private static final Logger LOG = LoggerFactory.getLogger(AbstractTokenRequest.class);
-
-    /** Low-end (inclusive) of HTTP-status codes regarded as "successful". */
-    private static final int HTTP_OK_RANGE_LO = 200;
-
-    /** High-end (exclusive) of HTTP-status codes regarded as "successful". */
-    private static final int HTTP_OK_RANGE_HI = 300;
-
-    /** Character set for request body encoding. */
-    private final Charset charset = UTF_8;
-
-    /** HTTP-client. */
-    private final HttpClient httpClient;
-
-    /** JSON-deserializer for unmarshalling the token. */
-    private final JsonDeserializer json;
-
-    /** Token-request body. */
-    private final String request;
-
-    /** OAuth-state. Used for logging. */
-    private final String state;
-
-    /** Token endpoint. */
-    private final URI tokenEndpoint;
+    /**
+     * Constructs new instance with {@link HttpTransportConfig#DEFAULT_REQUEST_TIMEOUT default request timeout}.
+     *
+     * @param httpClient -
+     * @param json -
+     * @param request -
+     * @param state -
+     * @param tokenEndpoint -
+     */
+    public AbstractTokenRequest(
+            final HttpClient httpClient,
+            final JsonDeserializer json,
+            final String request,
+            final String state,
+            final URI tokenEndpoint
+    ) {
+        this(httpClient, json, request, state, tokenEndpoint, HttpTransportConfig.DEFAULT_REQUEST_TIMEOUT);
+    }
 
     /**
      * Constructs new instance.
@@ -67,96 +52,44 @@ public abstract class AbstractTokenRequest<RS extends AuthorizationCodeResponse>
      * @param request -
      * @param state -
      * @param tokenEndpoint -
+     * @param requestTimeout timeout of the HTTP-request, until the response headers have been received
      */
     public AbstractTokenRequest(
             final HttpClient httpClient,
             final JsonDeserializer json,
             final String request,
             final String state,
-            final URI tokenEndpoint
+            final URI tokenEndpoint,
+            final Duration requestTimeout
     ) {
-        this.httpClient = httpClient;
-        this.json = json;
-        this.request = request;
-        this.state = state;
-        this.tokenEndpoint = tokenEndpoint;
+        super("Token", httpClient, json, request, state, tokenEndpoint, requestTimeout);
     }
 
-    /** {@inheritDoc}
+    /**
+     * {@inheritDoc}
      *
-     * @return -
-     * @throws InterruptedException -
-     * @throws OAuthException -
+     * <p>
+     * This implementation calls {@link #deserializeTokenResponse(byte[]) }.
      */
     @Override
-    public RS call() throws InterruptedException, OAuthException {
-        //
-        final HttpRequest tokenRequest = HttpRequest.newBuilder()
-                .uri(tokenEndpoint)
-                .timeout(Duration.ofMinutes(2))
-                .header("Content-Type", "application/x-www-form-urlencoded")
-                .POST(HttpRequest.BodyPublishers.ofString(request, charset))
-                .build();
-
-        final HttpResponse<String> response;
-
-        LOG.info("[state={}] Executing token request...", state);
-
-        try {
-            response = httpClient.send(tokenRequest, HttpResponse.BodyHandlers.ofString());
-        } catch (final IOException e) {
-            LOG.info("[state={}] ... ERROR: Failed with {}: {}", state, e.getClass().getSimpleName(), e.getMessage());
-            throw new OAuthNetworkException("Token request failed", e);
-        }
-
-        final int statusCode = response.statusCode();
-
-        LOG.debug("[state={}][status={}] ... got HTTP-response ...", state, statusCode);
-
-        final String body = response.body();
-
-        LOG.debug("[state={}] response body: {}", state, body);
-
-        if (isSuccessfulResponse(statusCode)) {
-
-            try {
-                final RS token = deserializeTokenResponse(body);
-
-                LOG.info("[state={}] ... SUCCESS: Token received", state);
-
-                return token;
-            } catch (final JsonDeserializationException e) {
-                LOG.error("[state={}] ... ERROR: Token is not valid Json: {}", state, e.getMessage());
-
-                throw new OAuthServerException("Token response is not valid Json", e);
-            }
-        } else {
-
-            try {
-                final OAuthErrorResponse error = deserialize(body, OAuthErrorResponse.class);
-
-                LOG.error("[state={}] ... ERROR: Error code: \"{}\"", state, error.getError());
-
-                throw new OAuthErrorException("Token request failed with error", error);
-            } catch (final JsonDeserializationException e) {
-                LOG.error("[state={}] ... ERROR: Server reported error and response body is not valid JSON", state);
-
-                throw new OAuthServerException("Error response is not valid Json", e);
-            }
-        }
+    protected RS deserializeResponse(final byte[] body) throws JsonDeserializationException, OAuthException {
+        return deserializeTokenResponse(body);
     }
 
     /**
-     * De-serializes JSON to Java object.
+     * De-serializes the token response from the raw HTTP response body.
+     *
+     * <p>
+     * This default implementation decodes the body and calls {@link #deserializeTokenResponse(java.lang.String) }. Implementations
+     * should override this to de-serialize the bytes directly.
      *
-     * @param <T> -
-     * @param value -
-     * @param type -
+     * @param body HTTP response body, UTF-8 encoded JSON
      * @return -
      * @throws JsonDeserializationException -
+     * @throws OAuthException if the response is invalid json
      */
-    protected <T> T deserialize(final String value, final Class<T> type) throws JsonDeserializationException {
-        return json.deserialize(value, type);
+    protected RS deserializeTokenResponse(final byte[] body) throws JsonDeserializationException, OAuthException {
+        return deserializeTokenResponse(new String(body, UTF_8));
     }
 
     /**
@@ -169,14 +102,4 @@ public abstract class AbstractTokenRequest<RS extends AuthorizationCodeResponse>
      */
     protected abstract RS deserializeTokenResponse(String body) throws JsonDeserializationException, OAuthException;
 
-    /**
-     * Checks if the HTTP statuscode indicates success.
-     *
-     * @param httpStatusCode -
-     * @return -
-     */
-    protected boolean isSuccessfulResponse(final int httpStatusCode) {
-        return (httpStatusCode >= HTTP_OK_RANGE_LO && httpStatusCode < HTTP_OK_RANGE_HI);
-    }
-
 }
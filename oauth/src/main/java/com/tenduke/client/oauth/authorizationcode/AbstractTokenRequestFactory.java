@@ -7,10 +7,8 @@
  */
 package com.tenduke.client.oauth.authorizationcode;
 
+import com.tenduke.client.oauth.FormParameters;
 import java.net.URI;
-import java.net.URLEncoder;
-import java.nio.charset.Charset;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import javax.annotation.Nullable;
 
 /**
@@ -28,9 +26,6 @@ public abstract class AbstractTokenRequestFactory<
         TR extends TokenRequest<RS>
 > {
 
-    /** Character-set in which the request body is encoded. */
-    private final Charset encoding = UTF_8;
-
     /** Config. */
     private final AuthorizationCodeConfig config;
 
@@ -153,22 +148,17 @@ public abstract class AbstractTokenRequestFactory<
             final String parameterName,
             @Nullable final String parameterValue
     ) {
-        if (parameterValue != null) {
-            if (builder.length() > 0) {
-                builder.append('&');
-            }
-            builder.append(encode(parameterName)).append('=').append(encode(parameterValue));
-        }
+        FormParameters.append(builder, parameterName, parameterValue);
     }
 
     /**
-     * URL-encodes given string.
+     * URL-encodes given string as UTF-8.
      *
      * @param string -
      * @return -
      */
     protected String encode(final String string) {
-        return URLEncoder.encode(string, encoding);
+        return FormParameters.encode(string);
     }
 
     // <editor-fold defaultstate="collapsed" desc="Getters">
@@ -9,11 +9,15 @@ package com.tenduke.client.oauth.authorizationcode;
 
 import com.tenduke.client.json.DefaultJsonDeserializer;
 import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.HttpTransportConfig;
 import com.tenduke.client.oauth.OAuthClient;
 import com.tenduke.client.oauth.exceptions.OAuthException;
 import java.net.http.HttpClient;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Client for initiating Authorization Code flow.
@@ -21,7 +25,13 @@ import java.util.Random;
  */
 public class AuthorizationCodeClient implements OAuthClient {
 
-    /** The default HTTP-client, used if no other HTTP-client provided. */
+    /**
+     * The default HTTP-client, used if no other HTTP-client provided. Shared by all clients constructed without HTTP-client.
+     *
+     * <p>
+     * This is a plain {@link HttpClient} with the JDK defaults. To use a tuned transport instead, construct the clients with
+     * {@link HttpTransportConfig}, e.g.&nbsp;{@link HttpTransportConfig#DEFAULT}.
+     */
     public static final HttpClient DEFAULT_HTTP_CLIENT = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.ALWAYS).build();
 
     /** Configuration. */
@@ -46,6 +56,25 @@ public class AuthorizationCodeClient implements OAuthClient {
         );
     }
 
+    /**
+     * Constructs new instance with new HTTP-client, built with given transport configuration.
+     *
+     * <p>
+     * The HTTP-client holds the connections: Construct the client once and share it.
+     *
+     * @param config -
+     * @param transport -
+     */
+    public AuthorizationCodeClient(final AuthorizationCodeConfig config, final HttpTransportConfig transport) {
+        this(
+                config,
+                transport.newHttpClient(),
+                DefaultJsonDeserializer.INSTANCE.get(),
+                new SecureRandom(),
+                transport.getRequestTimeout()
+        );
+    }
+
     /**
      * Constructs new instance.
      *
@@ -80,10 +109,32 @@ public class AuthorizationCodeClient implements OAuthClient {
             final HttpClient httpClient,
             final JsonDeserializer jsonDeserializer,
             final Random random
+    ) {
+        this(config, httpClient, jsonDeserializer, random, HttpTransportConfig.DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * <p>
+     * This constructor allows configuring the used components.
+     *
+     * @param config -
+     * @param httpClient -
+     * @param jsonDeserializer -
+     * @param random -
+     * @param requestTimeout timeout of the token requests
+     */
+    public AuthorizationCodeClient(
+            final AuthorizationCodeConfig config,
+            final HttpClient httpClient,
+            final JsonDeserializer jsonDeserializer,
+            final Random random,
+            final Duration requestTimeout
     ) {
         this.config = config;
         this.random = random;
-        this.tokenRequestFactory = new AuthorizationCodeTokenRequestFactory(config, httpClient, jsonDeserializer);
+        this.tokenRequestFactory = new AuthorizationCodeTokenRequestFactory(config, httpClient, jsonDeserializer, requestTimeout);
     }
 
     /**
@@ -111,4 +162,31 @@ public class AuthorizationCodeClient implements OAuthClient {
         return tokenRequestFactory.refresh(refreshToken, "refresh-" + System.currentTimeMillis()).call();
     }
 
+    /**
+     * Refreshes the access token with refresh token asynchronously.
+     *
+     * <p>
+     * The returned future completes exceptionally with {@link OAuthException} if the refresh fails.
+     *
+     * @param refreshToken -
+     * @return future, which completes with the refreshed token
+     */
+    public CompletableFuture<AuthorizationCodeResponse> refreshAsync(final String refreshToken) {
+        return tokenRequestFactory.refresh(refreshToken, "refresh-" + System.currentTimeMillis()).callAsync();
+    }
+
+    /**
+     * Refreshes the access token with refresh token, executing the blocking request on given executor.
+     *
+     * <p>
+     * The returned future completes exceptionally with {@link OAuthException} if the refresh fails.
+     *
+     * @param refreshToken -
+     * @param executor executor, which runs the request, e.g.&nbsp;a virtual-thread executor with Java 21+
+     * @return future, which completes with the refreshed token
+     */
+    public CompletableFuture<AuthorizationCodeResponse> refreshAsync(final String refreshToken, final Executor executor) {
+        return tokenRequestFactory.refresh(refreshToken, "refresh-" + System.currentTimeMillis()).callAsync(executor);
+    }
+
 }
@@ -12,6 +12,7 @@ import com.tenduke.client.json.JsonDeserializer;
 import com.tenduke.client.oauth.exceptions.OAuthException;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.time.Duration;
 
 /**
  * Token request for Authorization Code flow.
@@ -38,6 +39,27 @@ public class AuthorizationCodeTokenRequest extends AbstractTokenRequest<Authoriz
         super(httpClient, json, request, state, tokenEndpoint);
     }
 
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient -
+     * @param json -
+     * @param request -
+     * @param state -
+     * @param tokenEndpoint -
+     * @param requestTimeout -
+     */
+    public AuthorizationCodeTokenRequest(
+            final HttpClient httpClient,
+            final JsonDeserializer json,
+            final String request,
+            final String state,
+            final URI tokenEndpoint,
+            final Duration requestTimeout
+    ) {
+        super(httpClient, json, request, state, tokenEndpoint, requestTimeout);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -47,4 +69,13 @@ public class AuthorizationCodeTokenRequest extends AbstractTokenRequest<Authoriz
         return super.deserialize(body, AuthorizationCodeResponse.class);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    protected AuthorizationCodeResponse deserializeTokenResponse(final byte[] body) throws JsonDeserializationException, OAuthException {
+        return super.deserialize(body, AuthorizationCodeResponse.class);
+    }
+
 }
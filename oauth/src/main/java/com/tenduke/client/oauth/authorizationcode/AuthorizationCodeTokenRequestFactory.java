@@ -8,8 +8,11 @@
 package com.tenduke.client.oauth.authorizationcode;
 
 import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.HttpTransportConfig;
+import com.tenduke.client.oauth.OAuthErrorResponse;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.time.Duration;
 
 /**
  * Factory for creating {@link AuthorizationCodeTokenRequest}s.
@@ -28,9 +31,15 @@ public class AuthorizationCodeTokenRequestFactory extends AbstractTokenRequestFa
     /** JSON-deserializer. */
     private final JsonDeserializer jsonDeserializer;
 
+    /** Timeout of the token requests. */
+    private final Duration requestTimeout;
+
     /**
      * Constructs new instance.
      *
+     * <p>
+     * The JSON-deserializer is prepared for the token responses, so that the first token request does not pay for the initialization.
+     *
      * @param config -
      * @param httpClient -
      * @param jsonDeserializer -
@@ -39,10 +48,33 @@ public class AuthorizationCodeTokenRequestFactory extends AbstractTokenRequestFa
             final AuthorizationCodeConfig config,
             final HttpClient httpClient,
             final JsonDeserializer jsonDeserializer
+    ) {
+        this(config, httpClient, jsonDeserializer, HttpTransportConfig.DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * <p>
+     * The JSON-deserializer is prepared for the token responses, so that the first token request does not pay for the initialization.
+     *
+     * @param config -
+     * @param httpClient -
+     * @param jsonDeserializer -
+     * @param requestTimeout timeout of the token requests
+     */
+    public AuthorizationCodeTokenRequestFactory(
+            final AuthorizationCodeConfig config,
+            final HttpClient httpClient,
+            final JsonDeserializer jsonDeserializer,
+            final Duration requestTimeout
     ) {
         super(config);
         this.httpClient = httpClient;
         this.jsonDeserializer = jsonDeserializer;
+        this.requestTimeout = requestTimeout;
+
+        jsonDeserializer.prepare(AuthorizationCodeResponse.class, OAuthErrorResponse.class);
     }
 
     /**
@@ -64,7 +96,8 @@ public class AuthorizationCodeTokenRequestFactory extends AbstractTokenRequestFa
                 jsonDeserializer,
                 requestBody,
                 state,
-                tokenEndpoint
+                tokenEndpoint,
+                requestTimeout
         );
     }
 
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.authorizationcode;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs blocking calls on an executor.
+ *
+ */
+final class BlockingCalls {
+
+    /**
+     * Prevents construction.
+     *
+     */
+    private BlockingCalls() {
+    }
+
+    /**
+     * Runs the call on given executor.
+     *
+     * <p>
+     * Unlike {@link CompletableFuture#supplyAsync(java.util.function.Supplier, java.util.concurrent.Executor) }, the returned future
+     * completes exceptionally with the exception thrown by the call itself, not wrapped to
+     * {@link java.util.concurrent.CompletionException}. If the executor rejects the call, the future completes exceptionally with
+     * {@link RejectedExecutionException}.
+     *
+     * @param <T> type of the result
+     * @param call -
+     * @param executor -
+     * @return future, which completes with the result of the call
+     */
+    static <T> CompletableFuture<T> callAsync(final Callable<T> call, final Executor executor) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(call.call());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    result.completeExceptionally(e);
+                } catch (final Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.authorizationcode;
+
+import com.tenduke.client.oauth.Futures;
+import com.tenduke.client.oauth.OAuthResponse;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces concurrent refreshes of the same refresh token into a single token request.
+ *
+ * <p>
+ * When multiple threads refresh with the same refresh token at the same time, only the first one executes the token request. All
+ * concurrent callers receive the same response (or the same failure). Once the refresh completes, the next call starts a new refresh.
+ * The key need not be a refresh token: Any string identifying the token works, e.g.&nbsp;the scopes of a client credentials token.
+ *
+ * <p>
+ * Usage:
+ * <pre>
+ * final RefreshCoordinator&lt;AuthorizationCodeResponse&gt; refresher = new RefreshCoordinator&lt;&gt;(client::refreshAsync);
+ *
+ * final AuthorizationCodeResponse token = refresher.refresh(refreshToken);
+ * </pre>
+ *
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @param <RS> type of the token response
+ */
+public class RefreshCoordinator<RS extends OAuthResponse> {
+
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(RefreshCoordinator.class);
+
+    /** Refreshes in progress, keyed by the refresh token. */
+    private final ConcurrentHashMap<String, CompletableFuture<RS>> inFlight = new ConcurrentHashMap<>();
+
+    /** Executes the actual refresh, e.g.&nbsp;{@link AuthorizationCodeClient#refreshAsync(java.lang.String) }. */
+    private final Function<String, CompletableFuture<RS>> refresher;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param refresher executes the actual refresh
+     */
+    public RefreshCoordinator(final Function<String, CompletableFuture<RS>> refresher) {
+        this.refresher = refresher;
+    }
+
+    /**
+     * Refreshes the access token, joining a refresh already in progress with the same refresh token.
+     *
+     * <p>
+     * The returned future completes exceptionally with {@link OAuthException} if the refresh fails.
+     *
+     * @param refreshToken -
+     * @return future, which completes with the refreshed token
+     */
+    public CompletableFuture<RS> refreshAsync(final String refreshToken) {
+        final CompletableFuture<RS> refresh = new CompletableFuture<>();
+        final CompletableFuture<RS> existing = inFlight.putIfAbsent(refreshToken, refresh);
+
+        if (existing != null) {
+            LOG.debug("Joining refresh already in progress");
+
+            // Callers get a copy so that one caller cannot complete or cancel the refresh of the others:
+            return existing.copy();
+        }
+
+        try {
+            refresher.apply(refreshToken).whenComplete((response, error) -> {
+                inFlight.remove(refreshToken, refresh);
+
+                if (error != null) {
+                    refresh.completeExceptionally(Futures.unwrap(error));
+                } else {
+                    refresh.complete(response);
+                }
+            });
+        } catch (final RuntimeException e) {
+            inFlight.remove(refreshToken, refresh);
+            refresh.completeExceptionally(e);
+        }
+
+        return refresh.copy();
+    }
+
+    /**
+     * Refreshes the access token, joining a refresh already in progress with the same refresh token.
+     *
+     * @param refreshToken -
+     * @return -
+     * @throws InterruptedException -
+     * @throws OAuthException -
+     */
+    public RS refresh(final String refreshToken) throws InterruptedException, OAuthException {
+        try {
+            return refreshAsync(refreshToken).get();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof OAuthException) {
+                throw (OAuthException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new OAuthException("Token refresh failed", cause);
+        }
+    }
+
+    /**
+     * Checks if a refresh with given refresh token is in progress.
+     *
+     * @param refreshToken -
+     * @return -
+     */
+    public boolean isRefreshing(final String refreshToken) {
+        return inFlight.containsKey(refreshToken);
+    }
+
+    /**
+     * Returns number of refreshes currently in progress.
+     *
+     * @return -
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+}
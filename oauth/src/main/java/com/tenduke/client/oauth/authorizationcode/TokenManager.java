@@ -0,0 +1,485 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.authorizationcode;
+
+import com.tenduke.client.oauth.Failures;
+import com.tenduke.client.oauth.Futures;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the current access token and refreshes it in the background before it expires.
+ *
+ * <p>
+ * The refresh is scheduled at configurable fraction of {@code expires_in} of the current token. The delay is randomized with jitter
+ * (the refresh happens <em>earlier</em>, never later), so that a fleet of clients started at the same time does not refresh at the same
+ * time. If the refresh fails, it is retried while the current token is kept, with the retry delay doubling after each consecutive
+ * failure up to a maximum.
+ *
+ * <p>
+ * Refreshes rejected permanently by the server, e.g.&nbsp;with {@code invalid_grant} for a revoked refresh token, are not retried: The
+ * failure is available from {@link #getFailure() }, and once the current token has expired, {@link #getToken() } throws. A successful
+ * {@link #refreshNow() } clears the failure.
+ *
+ * <p>
+ * Scheduled refreshes and {@link #refreshNow() } go through a {@link RefreshCoordinator}, so that concurrent refreshes share one token
+ * request, and there is at most one scheduled refresh at a time.
+ *
+ * <p>
+ * Reading the token ({@link #getToken() }, {@link #getAccessToken() }) is a plain volatile read and never waits for network.
+ *
+ * <p>
+ * Usage:
+ * <pre>
+ * final TokenManager&lt;AuthorizationCodeResponse&gt; tokens = new TokenManager&lt;&gt;(client::refreshAsync, token, scheduler).start();
+ *
+ * final String accessToken = tokens.getAccessToken();
+ * </pre>
+ *
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @param <RS> type of the token response
+ */
+public class TokenManager<RS extends AuthorizationCodeResponse> implements AutoCloseable {
+
+    /** Default fraction of token lifetime after which the token is refreshed. */
+    public static final double DEFAULT_REFRESH_FRACTION = 0.8;
+
+    /** Default jitter, as fraction of the refresh delay. */
+    public static final double DEFAULT_JITTER = 0.1;
+
+    /** Default delay before retrying a failed refresh. */
+    public static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(10);
+
+    /** Default maximum delay before retrying a failed refresh. */
+    public static final Duration DEFAULT_MAX_RETRY_DELAY = Duration.ofMinutes(5);
+
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(TokenManager.class);
+
+    /** Milliseconds in second. */
+    private static final long MILLIS_IN_SECOND = 1000L;
+
+    /** Jitter, as fraction of the refresh delay. */
+    private final double jitter;
+
+    /** Random number generator for the jitter. */
+    private final Random random;
+
+    /** Fraction of token lifetime after which the token is refreshed. */
+    private final double refreshFraction;
+
+    /** Executes the actual refresh, e.g.&nbsp;{@link AuthorizationCodeClient#refreshAsync(java.lang.String) }. */
+    private final Function<String, CompletableFuture<RS>> refresher;
+
+    /** Coalesces concurrent refreshes. */
+    private final RefreshCoordinator<RS> coordinator;
+
+    /** Number of consecutive failed refreshes. */
+    private final AtomicInteger failures = new AtomicInteger();
+
+    /** Delay before retrying a failed refresh. */
+    private final Duration retryDelay;
+
+    /** Maximum delay before retrying a failed refresh. */
+    private final Duration maxRetryDelay;
+
+    /** Scheduler for the refreshes. */
+    private final ScheduledExecutorService scheduler;
+
+    /** Clock. */
+    private final Clock clock;
+
+    /** Has this been closed? */
+    private volatile boolean closed;
+
+    /** Currently scheduled refresh. Guarded by {@code this}. */
+    private @Nullable ScheduledFuture<?> scheduledRefresh;
+
+    /** Current refresh token. Token responses are not required to contain new refresh token, so this is tracked separately. */
+    private @Nullable volatile String refreshToken;
+
+    /** The current token. */
+    private volatile RS token;
+
+    /** When the current token expires, epoch milliseconds. */
+    private volatile long expiresAt;
+
+    /** Failure of the refresh, which is not retried, {@code null} if none. */
+    private volatile @Nullable Throwable failure;
+
+    /**
+     * Constructs new instance with default refresh fraction, jitter and retry delay.
+     *
+     * @param refresher executes the actual refresh
+     * @param initialToken the initial token, e.g.&nbsp;result of an authorization code flow
+     * @param scheduler scheduler for the refreshes
+     */
+    public TokenManager(
+            final Function<String, CompletableFuture<RS>> refresher,
+            final RS initialToken,
+            final ScheduledExecutorService scheduler
+    ) {
+        this(refresher, initialToken, scheduler, DEFAULT_REFRESH_FRACTION, DEFAULT_JITTER, DEFAULT_RETRY_DELAY, new SecureRandom());
+    }
+
+    /**
+     * Constructs new instance with default maximum retry delay.
+     *
+     * @param refresher executes the actual refresh
+     * @param initialToken the initial token, e.g.&nbsp;result of an authorization code flow
+     * @param scheduler scheduler for the refreshes
+     * @param refreshFraction fraction of token lifetime after which the token is refreshed, {@code 0 < refreshFraction <= 1}
+     * @param jitter maximum randomization of the refresh delay, as fraction of the delay, {@code 0 <= jitter < 1}
+     * @param retryDelay delay before retrying a failed refresh
+     * @param random random number generator for the jitter
+     * @throws IllegalArgumentException if the fractions are out of range
+     */
+    public TokenManager(
+            final Function<String, CompletableFuture<RS>> refresher,
+            final RS initialToken,
+            final ScheduledExecutorService scheduler,
+            final double refreshFraction,
+            final double jitter,
+            final Duration retryDelay,
+            final Random random
+    ) throws IllegalArgumentException {
+        this(refresher, initialToken, scheduler, refreshFraction, jitter, retryDelay, DEFAULT_MAX_RETRY_DELAY, random);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param refresher executes the actual refresh
+     * @param initialToken the initial token, e.g.&nbsp;result of an authorization code flow
+     * @param scheduler scheduler for the refreshes
+     * @param refreshFraction fraction of token lifetime after which the token is refreshed, {@code 0 < refreshFraction <= 1}
+     * @param jitter maximum randomization of the refresh delay, as fraction of the delay, {@code 0 <= jitter < 1}
+     * @param retryDelay delay before retrying a failed refresh, doubled after each consecutive failure
+     * @param maxRetryDelay maximum delay before retrying a failed refresh
+     * @param random random number generator for the jitter
+     * @throws IllegalArgumentException if the fractions are out of range, or the retry delays are negative
+     */
+    public TokenManager(
+            final Function<String, CompletableFuture<RS>> refresher,
+            final RS initialToken,
+            final ScheduledExecutorService scheduler,
+            final double refreshFraction,
+            final double jitter,
+            final Duration retryDelay,
+            final Duration maxRetryDelay,
+            final Random random
+    ) throws IllegalArgumentException {
+        this(refresher, initialToken, scheduler, refreshFraction, jitter, retryDelay, maxRetryDelay, random, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param refresher executes the actual refresh
+     * @param initialToken the initial token, e.g.&nbsp;result of an authorization code flow
+     * @param scheduler scheduler for the refreshes
+     * @param refreshFraction fraction of token lifetime after which the token is refreshed, {@code 0 < refreshFraction <= 1}
+     * @param jitter maximum randomization of the refresh delay, as fraction of the delay, {@code 0 <= jitter < 1}
+     * @param retryDelay delay before retrying a failed refresh, doubled after each consecutive failure
+     * @param maxRetryDelay maximum delay before retrying a failed refresh
+     * @param random random number generator for the jitter
+     * @param clock clock for tracking the expiration of the tokens
+     * @throws IllegalArgumentException if the fractions are out of range, or the retry delays are negative
+     */
+    public TokenManager(
+            final Function<String, CompletableFuture<RS>> refresher,
+            final RS initialToken,
+            final ScheduledExecutorService scheduler,
+            final double refreshFraction,
+            final double jitter,
+            final Duration retryDelay,
+            final Duration maxRetryDelay,
+            final Random random,
+            final Clock clock
+    ) throws IllegalArgumentException {
+        if (refreshFraction <= 0 || refreshFraction > 1) {
+            throw new IllegalArgumentException("Refresh fraction must be > 0 and <= 1, was " + refreshFraction);
+        }
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("Jitter must be >= 0 and < 1, was " + jitter);
+        }
+        if (retryDelay.isNegative() || maxRetryDelay.isNegative()) {
+            throw new IllegalArgumentException("Retry delays must not be negative");
+        }
+
+        this.refresher = refresher;
+        this.coordinator = new RefreshCoordinator<>(this::executeRefresh);
+        this.token = initialToken;
+        this.refreshToken = initialToken.getRefreshToken();
+        this.scheduler = scheduler;
+        this.refreshFraction = refreshFraction;
+        this.jitter = jitter;
+        this.retryDelay = retryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+        this.random = random;
+        this.clock = clock;
+        this.expiresAt = expiresAt(initialToken);
+    }
+
+    /**
+     * Starts the background refresh.
+     *
+     * @return this
+     */
+    public TokenManager<RS> start() {
+        scheduleRefresh(token);
+
+        return this;
+    }
+
+    /**
+     * Returns the current token.
+     *
+     * @return -
+     * @throws IllegalStateException if the token has expired and refreshing it has failed permanently, see {@link #getFailure() }
+     */
+    public RS getToken() throws IllegalStateException {
+        final RS current = token;
+        @Nullable final Throwable currentFailure = failure;
+
+        if (currentFailure != null && clock.millis() >= expiresAt) {
+            throw new IllegalStateException("Token has expired and refreshing it failed: " + currentFailure.getMessage(), currentFailure);
+        }
+
+        return current;
+    }
+
+    /**
+     * Returns the current access token.
+     *
+     * @return -
+     * @throws IllegalStateException if the token has expired and refreshing it has failed permanently, see {@link #getFailure() }
+     */
+    public String getAccessToken() throws IllegalStateException {
+        return getToken().getAccessToken();
+    }
+
+    /**
+     * Returns the failure of the refresh, which is not retried, e.g.&nbsp;the server rejecting the refresh token.
+     *
+     * @return the failure, {@code null} if none
+     */
+    public @Nullable Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Refreshes the token immediately, e.g.&nbsp;when the server has rejected the current access token.
+     *
+     * <p>
+     * The returned future completes exceptionally with {@link com.tenduke.client.oauth.exceptions.OAuthException} if the refresh fails.
+     * If a refresh is already in progress, this joins it. The refresh replaces the scheduled refresh: On success, the next refresh is
+     * scheduled for the new token, on failure, a retry is scheduled.
+     *
+     * @return future, which completes with the refreshed token
+     * @throws IllegalStateException if there is no refresh token
+     */
+    public CompletableFuture<RS> refreshNow() throws IllegalStateException {
+        @Nullable final String currentRefreshToken = refreshToken;
+
+        if (currentRefreshToken == null) {
+            throw new IllegalStateException("No refresh token available");
+        }
+
+        return coordinator.refreshAsync(currentRefreshToken);
+    }
+
+    /**
+     * Stops the background refresh.
+     *
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+    }
+
+    /**
+     * Replaces the current token with the refreshed one and schedules the next refresh.
+     *
+     * @param refreshed -
+     */
+    protected void update(final RS refreshed) {
+        expiresAt = expiresAt(refreshed);
+        token = refreshed;
+        failure = null;
+
+        if (refreshed.getRefreshToken() != null) {
+            refreshToken = refreshed.getRefreshToken();
+        }
+
+        LOG.debug("Token refreshed, expires in {} seconds", refreshed.getExpiresIn());
+
+        scheduleRefresh(refreshed);
+    }
+
+    /**
+     * Computes delay before retrying a failed refresh.
+     *
+     * @param consecutiveFailures number of consecutive failed refreshes, {@code >= 1}
+     * @return delay in milliseconds
+     */
+    protected long computeRetryDelay(final int consecutiveFailures) {
+        final long max = maxRetryDelay.toMillis();
+        long delay = retryDelay.toMillis();
+
+        for (int i = 1; i < consecutiveFailures && delay > 0 && delay < max; i++) {
+            delay *= 2;
+        }
+
+        return Math.min(delay, max);
+    }
+
+    /**
+     * Computes delay until the token should be refreshed.
+     *
+     * @param expiresInSeconds lifetime of the token in seconds
+     * @return delay in milliseconds
+     */
+    protected long computeRefreshDelay(final long expiresInSeconds) {
+        final double delay = expiresInSeconds * MILLIS_IN_SECOND * refreshFraction;
+
+        return (long) (delay * (1.0 - jitter * random.nextDouble()));
+    }
+
+    /**
+     * Schedules refresh of given token.
+     *
+     * @param current -
+     */
+    private void scheduleRefresh(final RS current) {
+        if (current.getExpiresIn() <= 0) {
+            LOG.debug("Token lifetime is unknown, not scheduling refresh");
+            return;
+        }
+        if (refreshToken == null) {
+            LOG.debug("No refresh token, not scheduling refresh");
+            return;
+        }
+
+        schedule(computeRefreshDelay(current.getExpiresIn()));
+    }
+
+    /**
+     * Executes the actual refresh and schedules the next one. Called by the {@link #coordinator} only, so runs once per refresh,
+     * regardless of the number of joined callers.
+     *
+     * @param currentRefreshToken -
+     * @return future, which completes with the refreshed token
+     */
+    private CompletableFuture<RS> executeRefresh(final String currentRefreshToken) {
+        CompletableFuture<RS> refresh;
+
+        try {
+            refresh = refresher.apply(currentRefreshToken);
+        } catch (final RuntimeException e) {
+            refresh = CompletableFuture.failedFuture(e);
+        }
+
+        return refresh.whenComplete((refreshed, error) -> {
+            if (error != null) {
+                retryOrFail(Futures.unwrap(error));
+            } else {
+                failures.set(0);
+                update(refreshed);
+            }
+        });
+    }
+
+    /**
+     * Executes the scheduled refresh. Failures, including ones thrown before the refresh starts, are retried.
+     *
+     */
+    private void runScheduledRefresh() {
+        try {
+            refreshNow();
+        } catch (final RuntimeException e) {
+            scheduleRetry(e);
+        }
+    }
+
+    /**
+     * Schedules retry of a failed refresh, unless the server has rejected the refresh permanently.
+     *
+     * @param error -
+     */
+    private void retryOrFail(final Throwable error) {
+        if (error instanceof OAuthException && !Failures.isRetryable(error)) {
+            LOG.error("Token refresh failed, not retrying: {}", error.getMessage());
+
+            failure = error;
+
+            return;
+        }
+
+        scheduleRetry(error);
+    }
+
+    /**
+     * Schedules retry of a failed refresh.
+     *
+     * @param error -
+     */
+    private void scheduleRetry(final Throwable error) {
+        final long delay = computeRetryDelay(failures.incrementAndGet());
+
+        LOG.warn("Token refresh failed, retrying in {} ms: {}", delay, error.getMessage());
+
+        schedule(delay);
+    }
+
+    /**
+     * Computes when given token expires.
+     *
+     * @param response -
+     * @return epoch milliseconds, {@link Long#MAX_VALUE} if the lifetime is unknown
+     */
+    private long expiresAt(final RS response) {
+        return (response.getExpiresIn() > 0 ? clock.millis() + response.getExpiresIn() * MILLIS_IN_SECOND : Long.MAX_VALUE);
+    }
+
+    /**
+     * Schedules refresh after given delay, replacing the currently scheduled refresh.
+     *
+     * @param delayMillis -
+     */
+    private synchronized void schedule(final long delayMillis) {
+        if (closed) {
+            return;
+        }
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+
+        scheduledRefresh = scheduler.schedule(this::runScheduledRefresh, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+}
@@ -7,15 +7,19 @@
  */
 package com.tenduke.client.oauth.authorizationcode;
 
+import com.tenduke.client.oauth.OAuthResponse;
 import com.tenduke.client.oauth.exceptions.OAuthException;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A token request for acquiring or refreshing access token.
  *
  * @param <RS> type of the response
  */
-public interface TokenRequest<RS extends AuthorizationCodeResponse> extends Callable<RS> {
+public interface TokenRequest<RS extends OAuthResponse> extends Callable<RS> {
 
     /**
      * {@inheritDoc}
@@ -24,4 +28,33 @@ public interface TokenRequest<RS extends AuthorizationCodeResponse> extends Call
     @Override
     RS call() throws InterruptedException, OAuthException;
 
+    /**
+     * Executes the request asynchronously, without blocking the calling thread.
+     *
+     * <p>
+     * On failure, the returned future completes exceptionally with the same {@link OAuthException} that {@link #call() } would throw.
+     * The default implementation runs the blocking {@link #call() } on {@link ForkJoinPool#commonPool() }, implementations should
+     * override this with a non-blocking one.
+     *
+     * @return future, which completes with the response
+     */
+    default CompletableFuture<RS> callAsync() {
+        return callAsync(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Executes the blocking {@link #call() } on given executor.
+     *
+     * <p>
+     * Use this to run the request on threads of your choosing, e.g.&nbsp;on virtual threads with Java 21+, see
+     * {@link com.tenduke.client.oauth.HttpTransportConfig#virtualThreadExecutor() }. On failure, the returned future completes
+     * exceptionally with the same {@link OAuthException} that {@link #call() } would throw.
+     *
+     * @param executor executor, which runs the call
+     * @return future, which completes with the response
+     */
+    default CompletableFuture<RS> callAsync(final Executor executor) {
+        return BlockingCalls.callAsync(this, executor);
+    }
+
 }
@@ -0,0 +1,477 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.clientcredentials;
+
+import com.tenduke.client.json.DefaultJsonDeserializer;
+import com.tenduke.client.json.JsonDeserializer;
+import static com.tenduke.client.oauth.FormParameters.append;
+import com.tenduke.client.oauth.Futures;
+import com.tenduke.client.oauth.HttpTransportConfig;
+import com.tenduke.client.oauth.OAuthErrorResponse;
+import static com.tenduke.client.oauth.authorizationcode.AuthorizationCodeClient.DEFAULT_HTTP_CLIENT;
+import com.tenduke.client.oauth.authorizationcode.RefreshCoordinator;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Client for OAuth 2 Client Credentials grant, which caches the tokens.
+ *
+ * <p>
+ * One token is cached per scope-set and shared by all threads. The token is refreshed early, after a configurable fraction of its
+ * lifetime: The first caller after that triggers the refresh in the background and gets the cached, still valid token, as do all other
+ * callers until the refresh completes. Thus, in steady state, callers never wait for the token endpoint. Callers wait only when there
+ * is no valid token, e.g.&nbsp;on the first call; concurrent callers then share a single token request.
+ *
+ * <p>
+ * After a failed token request, no new request for the same scopes is made until the configurable failure backoff has passed: Callers
+ * without a valid cached token get the failure of the previous request, and background refreshes are not started. This keeps an
+ * unavailable or rejecting token endpoint from being hit on every call.
+ *
+ * <p>
+ * If the server rejects a cached token before it expires, call {@link #invalidate(java.util.Set) } to drop it.
+ *
+ * <p>
+ * Usage:
+ * <pre>
+ * final ClientCredentialsClient client = new ClientCredentialsClient(config);
+ *
+ * final String accessToken = client.getToken(Set.of("licensing")).getAccessToken();
+ * </pre>
+ *
+ * <p>
+ * Instances are thread-safe. Create one client per client id and share it.
+ */
+public class ClientCredentialsClient {
+
+    /** Default fraction of token lifetime after which the token is refreshed. */
+    public static final double DEFAULT_REFRESH_FRACTION = 0.8;
+
+    /** Default time after a failed token request, during which no new request is made. */
+    public static final Duration DEFAULT_FAILURE_BACKOFF = Duration.ofSeconds(5);
+
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(ClientCredentialsClient.class);
+
+    /** Milliseconds in second. */
+    private static final long MILLIS_IN_SECOND = 1000L;
+
+    /** Clock, used for token expiration. */
+    private final Clock clock;
+
+    /** Configuration. */
+    private final ClientCredentialsConfig config;
+
+    /** HTTP-client. */
+    private final HttpClient httpClient;
+
+    /** JSON-deserializer. */
+    private final JsonDeserializer jsonDeserializer;
+
+    /** Fraction of token lifetime after which the token is refreshed. */
+    private final double refreshFraction;
+
+    /** Timeout of the token requests. */
+    private final Duration requestTimeout;
+
+    /** Time after a failed token request, during which no new request is made, in milliseconds. */
+    private final long failureBackoffMillis;
+
+    /** The cached tokens, per scope-set. */
+    private final ConcurrentHashMap<Set<String>, TokenSlot> tokens = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs new instance with default components.
+     *
+     * @param config -
+     */
+    public ClientCredentialsClient(final ClientCredentialsConfig config) {
+        this(
+                config,
+                DEFAULT_HTTP_CLIENT,
+                DefaultJsonDeserializer.INSTANCE.get(),
+                HttpTransportConfig.DEFAULT_REQUEST_TIMEOUT,
+                DEFAULT_REFRESH_FRACTION,
+                Clock.systemUTC()
+        );
+    }
+
+    /**
+     * Constructs new instance with new HTTP-client, built with given transport configuration.
+     *
+     * @param config -
+     * @param transport -
+     */
+    public ClientCredentialsClient(final ClientCredentialsConfig config, final HttpTransportConfig transport) {
+        this(
+                config,
+                transport.newHttpClient(),
+                DefaultJsonDeserializer.INSTANCE.get(),
+                transport.getRequestTimeout(),
+                DEFAULT_REFRESH_FRACTION,
+                Clock.systemUTC()
+        );
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * <p>
+     * This constructor allows configuring the used components.
+     *
+     * @param config -
+     * @param httpClient -
+     * @param jsonDeserializer -
+     * @param requestTimeout timeout of the token requests
+     * @param refreshFraction fraction of token lifetime after which the token is refreshed, {@code 0 < refreshFraction <= 1}
+     * @param clock -
+     * @throws IllegalArgumentException if the refresh fraction is out of range
+     */
+    public ClientCredentialsClient(
+            final ClientCredentialsConfig config,
+            final HttpClient httpClient,
+            final JsonDeserializer jsonDeserializer,
+            final Duration requestTimeout,
+            final double refreshFraction,
+            final Clock clock
+    ) throws IllegalArgumentException {
+        this(config, httpClient, jsonDeserializer, requestTimeout, refreshFraction, DEFAULT_FAILURE_BACKOFF, clock);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * <p>
+     * This constructor allows configuring the used components.
+     *
+     * @param config -
+     * @param httpClient -
+     * @param jsonDeserializer -
+     * @param requestTimeout timeout of the token requests
+     * @param refreshFraction fraction of token lifetime after which the token is refreshed, {@code 0 < refreshFraction <= 1}
+     * @param failureBackoff time after a failed token request, during which no new request is made. Zero disables the backoff.
+     * @param clock -
+     * @throws IllegalArgumentException if the refresh fraction is out of range or the backoff is negative
+     */
+    public ClientCredentialsClient(
+            final ClientCredentialsConfig config,
+            final HttpClient httpClient,
+            final JsonDeserializer jsonDeserializer,
+            final Duration requestTimeout,
+            final double refreshFraction,
+            final Duration failureBackoff,
+            final Clock clock
+    ) throws IllegalArgumentException {
+        if (refreshFraction <= 0 || refreshFraction > 1) {
+            throw new IllegalArgumentException("Refresh fraction must be > 0 and <= 1, was " + refreshFraction);
+        }
+        if (failureBackoff.isNegative()) {
+            throw new IllegalArgumentException("Failure backoff must not be negative, was " + failureBackoff);
+        }
+
+        this.config = config;
+        this.httpClient = httpClient;
+        this.jsonDeserializer = jsonDeserializer;
+        this.requestTimeout = requestTimeout;
+        this.refreshFraction = refreshFraction;
+        this.failureBackoffMillis = failureBackoff.toMillis();
+        this.clock = clock;
+
+        jsonDeserializer.prepare(ClientCredentialsResponse.class, OAuthErrorResponse.class);
+    }
+
+    /**
+     * Returns token for given scopes, from the cache if possible.
+     *
+     * @param scopes the requested scopes, empty for the default scope of the client
+     * @return -
+     * @throws InterruptedException -
+     * @throws OAuthException if there is no valid cached token and the token request fails, or the previous request failed less than
+     *      the failure backoff ago
+     */
+    public ClientCredentialsResponse getToken(final Set<String> scopes) throws InterruptedException, OAuthException {
+        final TokenSlot slot = slot(scopes);
+        @Nullable final ClientCredentialsResponse cached = slot.cached();
+
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            return slot.obtain().get();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof OAuthException) {
+                throw (OAuthException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new OAuthException("Token request failed", cause);
+        }
+    }
+
+    /**
+     * Returns token for given scopes, from the cache if possible.
+     *
+     * <p>
+     * If there is a valid cached token, the returned future is already completed. The future completes exceptionally with
+     * {@link OAuthException} if the token request fails, or the previous request failed less than the failure backoff ago.
+     *
+     * @param scopes the requested scopes, empty for the default scope of the client
+     * @return -
+     */
+    public CompletableFuture<ClientCredentialsResponse> getTokenAsync(final Set<String> scopes) {
+        final TokenSlot slot = slot(scopes);
+        @Nullable final ClientCredentialsResponse cached = slot.cached();
+
+        return (cached != null ? CompletableFuture.completedFuture(cached) : slot.obtain());
+    }
+
+    /**
+     * Drops the cached token for given scopes, e.g.&nbsp;when the server has rejected it. The next call requests new token.
+     *
+     * @param scopes -
+     */
+    public void invalidate(final Set<String> scopes) {
+        @Nullable final TokenSlot slot = tokens.get(scopes);
+
+        if (slot != null) {
+            slot.current = null;
+        }
+    }
+
+    /**
+     * Creates new token request for given scopes. The request bypasses the cache.
+     *
+     * @param scopes the requested scopes, empty for the default scope of the client
+     * @return -
+     */
+    public ClientCredentialsTokenRequest request(final Set<String> scopes) {
+        return new ClientCredentialsTokenRequest(
+                httpClient,
+                jsonDeserializer,
+                buildRequestBody(scopes),
+                describe(scopes),
+                config.getTokenEndpoint(),
+                requestTimeout
+        );
+    }
+
+    /**
+     * Returns the cache slot for given scopes.
+     *
+     * @param scopes -
+     * @return -
+     */
+    private TokenSlot slot(final Set<String> scopes) {
+        @Nullable final TokenSlot slot = tokens.get(scopes);
+
+        return (slot != null ? slot : tokens.computeIfAbsent(Set.copyOf(scopes), TokenSlot::new));
+    }
+
+    /**
+     * Builds the token request body.
+     *
+     * @param scopes -
+     * @return -
+     */
+    private String buildRequestBody(final Set<String> scopes) {
+        final StringBuilder body = new StringBuilder();
+
+        append(body, "grant_type", "client_credentials");
+
+        if (!scopes.isEmpty()) {
+            append(body, "scope", keyOf(scopes));
+        }
+
+        append(body, "client_id", config.getClientId());
+        append(body, "client_secret", config.getClientSecret());
+
+        return body.toString();
+    }
+
+    /**
+     * Returns given scopes in the form of the {@code scope} parameter.
+     *
+     * @param scopes -
+     * @return -
+     */
+    private static String keyOf(final Set<String> scopes) {
+        return String.join(" ", new TreeSet<>(scopes));
+    }
+
+    /**
+     * Describes the request for logging.
+     *
+     * @param scopes -
+     * @return -
+     */
+    private static String describe(final Set<String> scopes) {
+        return "client-credentials" + new TreeSet<>(scopes);
+    }
+
+    /**
+     * The cached token of one scope-set and the refresh in progress.
+     *
+     */
+    private final class TokenSlot {
+
+        /** The scopes. */
+        private final Set<String> scopes;
+
+        /** Key of the scopes, see {@link ClientCredentialsClient#keyOf(java.util.Set) }. */
+        private final String key;
+
+        /** Coalesces concurrent token requests. */
+        private final RefreshCoordinator<ClientCredentialsResponse> refresher = new RefreshCoordinator<>(ignored -> requestToken());
+
+        /** The cached token, {@code null} if none. */
+        private volatile @Nullable CachedToken current;
+
+        /** Failure of the previous token request, {@code null} if it succeeded. */
+        private volatile @Nullable Throwable lastFailure;
+
+        /** Time before which no new token request is made after a failure, epoch milliseconds. */
+        private volatile long retryAt;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param scopes -
+         */
+        TokenSlot(final Set<String> scopes) {
+            this.scopes = scopes;
+            this.key = keyOf(scopes);
+        }
+
+        /**
+         * Returns the cached token if still valid. Starts background refresh if the token is due for refresh.
+         *
+         * @return the token, {@code null} if there is no valid token
+         */
+        @Nullable ClientCredentialsResponse cached() {
+            @Nullable final CachedToken cached = current;
+
+            if (cached == null) {
+                return null;
+            }
+
+            final long now = clock.millis();
+
+            if (now >= cached.expiresAt) {
+                return null;
+            }
+            if (now >= cached.refreshAt && now >= retryAt && !refresher.isRefreshing(key)) {
+                LOG.debug("[state={}] Refreshing token in background", describe(scopes));
+
+                refresh();
+            }
+
+            return cached.token;
+        }
+
+        /**
+         * Requests new token for a caller without valid cached token, joining a request already in progress. Within the failure backoff
+         * the failure of the previous request is returned instead.
+         *
+         * @return future, which completes with the new token
+         */
+        CompletableFuture<ClientCredentialsResponse> obtain() {
+            @Nullable final Throwable failure = lastFailure;
+
+            if (failure != null && clock.millis() < retryAt) {
+                return CompletableFuture.failedFuture(failure);
+            }
+
+            return refresh();
+        }
+
+        /**
+         * Requests new token, joining a request already in progress.
+         *
+         * @return future, which completes with the new token
+         */
+        CompletableFuture<ClientCredentialsResponse> refresh() {
+            return refresher.refreshAsync(key);
+        }
+
+        /**
+         * Executes the token request and caches the token. Called by {@link #refresher} only.
+         *
+         * @return future, which completes with the new token
+         */
+        CompletableFuture<ClientCredentialsResponse> requestToken() {
+            final long requestedAt = clock.millis();
+
+            return request(scopes).callAsync().whenComplete((response, error) -> {
+                if (error != null) {
+                    LOG.warn("[state={}] Token request failed: {}", describe(scopes), error.getMessage());
+
+                    retryAt = clock.millis() + failureBackoffMillis;
+                    lastFailure = Futures.unwrap(error);
+                } else {
+                    current = new CachedToken(response, requestedAt, refreshFraction);
+                    lastFailure = null;
+                }
+            });
+        }
+
+    }
+
+    /**
+     * A cached token with its refresh and expiration times.
+     *
+     */
+    private static final class CachedToken {
+
+        /** The token. */
+        private final ClientCredentialsResponse token;
+
+        /** Time after which the token should be refreshed, epoch milliseconds. */
+        private final long refreshAt;
+
+        /** Time after which the token must not be used, epoch milliseconds. */
+        private final long expiresAt;
+
+        /**
+         * Constructs new instance. The lifetime of the token is counted from the time of the request, erring on the safe side.
+         *
+         * @param token -
+         * @param requestedAt time of the token request, epoch milliseconds
+         * @param refreshFraction -
+         */
+        CachedToken(final ClientCredentialsResponse token, final long requestedAt, final double refreshFraction) {
+            final long lifetime = token.getExpiresIn() * MILLIS_IN_SECOND;
+
+            this.token = token;
+
+            if (lifetime > 0) {
+                this.refreshAt = requestedAt + (long) (lifetime * refreshFraction);
+                this.expiresAt = requestedAt + lifetime;
+            } else {
+                // Lifetime unknown: Keep until invalidated
+                this.refreshAt = Long.MAX_VALUE;
+                this.expiresAt = Long.MAX_VALUE;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.clientcredentials;
+
+import java.net.URI;
+
+/**
+ * Configuration for Client Credentials grant.
+ *
+ * <p>
+ * Instances are immutable.
+ *
+ */
+public class ClientCredentialsConfig {
+
+    /** Client id. */
+    private final String clientId;
+
+    /** Client secret. */
+    private final String clientSecret;
+
+    /** Token endpoint. */
+    private final URI tokenEndpoint;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param clientId -
+     * @param clientSecret -
+     * @param tokenEndpoint -
+     */
+    public ClientCredentialsConfig(
+            final String clientId,
+            final String clientSecret,
+            final URI tokenEndpoint
+    ) {
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.tokenEndpoint = tokenEndpoint;
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    // CSOFF: JavadocMethod
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getClientSecret() {
+        return clientSecret;
+    }
+
+    public URI getTokenEndpoint() {
+        return tokenEndpoint;
+    }
+
+    // CSON: JavadocMethod
+    // </editor-fold>
+
+}
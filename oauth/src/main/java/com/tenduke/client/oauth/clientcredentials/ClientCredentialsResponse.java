@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.clientcredentials;
+
+import com.tenduke.client.oauth.OAuthResponse;
+
+/**
+ * Success-response for Client Credentials grant.
+ *
+ * <p>
+ * The response does not contain refresh token: A new token is requested with the client credentials instead.
+ *
+ */
+public class ClientCredentialsResponse extends OAuthResponse {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * No-arg constructor. Some JSON-serializers need this.
+     *
+     */
+    protected ClientCredentialsResponse() {
+        this(null, -1, null);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param accessToken -
+     * @param expiresIn -
+     * @param tokenType -
+     */
+    public ClientCredentialsResponse(
+            final String accessToken,
+            final long expiresIn,
+            final String tokenType
+    ) {
+        super(accessToken, expiresIn, tokenType);
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="toString()">
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public String toString() {
+        return "ClientCredentialsResponse{"
+                + "accessToken=" + getAccessToken()
+                + ", expiresIn=" + getExpiresIn()
+                + ", tokenType=" + getTokenType()
+                + '}';
+    }
+
+    // </editor-fold>
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.clientcredentials;
+
+import com.tenduke.client.json.JsonDeserializationException;
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.authorizationcode.AbstractTokenRequest;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Token request for Client Credentials grant.
+ *
+ */
+public class ClientCredentialsTokenRequest extends AbstractTokenRequest<ClientCredentialsResponse> {
+
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient -
+     * @param json -
+     * @param request -
+     * @param state identifies the request in logs
+     * @param tokenEndpoint -
+     * @param requestTimeout -
+     */
+    public ClientCredentialsTokenRequest(
+            final HttpClient httpClient,
+            final JsonDeserializer json,
+            final String request,
+            final String state,
+            final URI tokenEndpoint,
+            final Duration requestTimeout
+    ) {
+        super(httpClient, json, request, state, tokenEndpoint, requestTimeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    protected ClientCredentialsResponse deserializeTokenResponse(final String body) throws JsonDeserializationException, OAuthException {
+        return super.deserialize(body, ClientCredentialsResponse.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    protected ClientCredentialsResponse deserializeTokenResponse(final byte[] body) throws JsonDeserializationException, OAuthException {
+        return super.deserialize(body, ClientCredentialsResponse.class);
+    }
+
+}
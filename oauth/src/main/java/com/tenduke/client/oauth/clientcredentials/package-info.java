@@ -0,0 +1,4 @@
+/**
+ * Implementation of OAuth 2 Client Credentials grant, for machine-to-machine access tokens.
+ */
+package com.tenduke.client.oauth.clientcredentials;
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.device;
+
+import com.tenduke.client.json.DefaultJsonDeserializer;
+import com.tenduke.client.json.JsonDeserializer;
+import static com.tenduke.client.oauth.FormParameters.append;
+import com.tenduke.client.oauth.HttpTransportConfig;
+import com.tenduke.client.oauth.OAuthErrorResponse;
+import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeResponse;
+import static com.tenduke.client.oauth.authorizationcode.AuthorizationCodeClient.DEFAULT_HTTP_CLIENT;
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Client for OAuth 2 Device Authorization Grant (RFC 8628).
+ *
+ * <p>
+ * The polling for the token runs on a shared {@link ScheduledExecutorService} and the asynchronous requests of the HTTP-client, so a
+ * scheduler with one or a few threads can poll for any number of pending device logins. The polling interval from the authorization
+ * response is honored, {@code slow_down} increases it by {@link #SLOW_DOWN_INCREMENT}, and network errors back off exponentially.
+ *
+ * <p>
+ * Usage:
+ * <pre>
+ * final DeviceAuthorizationClient client = new DeviceAuthorizationClient(config, scheduler);
+ * final DeviceAuthorizationResponse authorization = client.authorize(Set.of("profile")).call();
+ *
+ * System.out.println("Go to " + authorization.getVerificationUri() + " and enter " + authorization.getUserCode());
+ *
+ * final AuthorizationCodeResponse token = client.pollToken(authorization).get();
+ * </pre>
+ *
+ * <p>
+ * Instances are thread-safe.
+ */
+public class DeviceAuthorizationClient {
+
+    /** Polling interval, if the authorization response does not specify one (RFC 8628, section 3.2). */
+    public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(5);
+
+    /** Increment of the polling interval on {@code slow_down} (RFC 8628, section 3.5). */
+    public static final Duration SLOW_DOWN_INCREMENT = Duration.ofSeconds(5);
+
+    /** Grant type of the token requests. */
+    private static final String GRANT_TYPE = "urn:ietf:params:oauth:grant-type:device_code";
+
+    /** Milliseconds in second. */
+    private static final long MILLIS_IN_SECOND = 1000L;
+
+    /** Clock, used for the expiration of the device code. */
+    private final Clock clock;
+
+    /** Configuration. */
+    private final DeviceAuthorizationConfig config;
+
+    /** HTTP-client. */
+    private final HttpClient httpClient;
+
+    /** JSON-deserializer. */
+    private final JsonDeserializer jsonDeserializer;
+
+    /** Timeout of the requests. */
+    private final Duration requestTimeout;
+
+    /** Scheduler for the polls. */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs new instance with default components.
+     *
+     * @param config -
+     * @param scheduler scheduler for the polls, typically shared
+     */
+    public DeviceAuthorizationClient(final DeviceAuthorizationConfig config, final ScheduledExecutorService scheduler) {
+        this(
+                config,
+                DEFAULT_HTTP_CLIENT,
+                DefaultJsonDeserializer.INSTANCE.get(),
+                HttpTransportConfig.DEFAULT_REQUEST_TIMEOUT,
+                scheduler,
+                Clock.systemUTC()
+        );
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * <p>
+     * This constructor allows configuring the used components.
+     *
+     * @param config -
+     * @param httpClient -
+     * @param jsonDeserializer -
+     * @param requestTimeout timeout of the requests
+     * @param scheduler scheduler for the polls, typically shared
+     * @param clock -
+     */
+    public DeviceAuthorizationClient(
+            final DeviceAuthorizationConfig config,
+            final HttpClient httpClient,
+            final JsonDeserializer jsonDeserializer,
+            final Duration requestTimeout,
+            final ScheduledExecutorService scheduler,
+            final Clock clock
+    ) {
+        this.config = config;
+        this.httpClient = httpClient;
+        this.jsonDeserializer = jsonDeserializer;
+        this.requestTimeout = requestTimeout;
+        this.scheduler = scheduler;
+        this.clock = clock;
+
+        jsonDeserializer.prepare(DeviceAuthorizationResponse.class, AuthorizationCodeResponse.class, OAuthErrorResponse.class);
+    }
+
+    /**
+     * Creates new device authorization request.
+     *
+     * @param scopes the requested scopes, empty for the default scope of the client
+     * @return -
+     */
+    public DeviceAuthorizationRequest authorize(final Set<String> scopes) {
+        final StringBuilder body = new StringBuilder();
+
+        append(body, "client_id", config.getClientId());
+        append(body, "client_secret", config.getClientSecret());
+
+        if (!scopes.isEmpty()) {
+            append(body, "scope", String.join(" ", new TreeSet<>(scopes)));
+        }
+
+        return new DeviceAuthorizationRequest(
+                httpClient,
+                jsonDeserializer,
+                body.toString(),
+                "device-authorization",
+                config.getDeviceAuthorizationEndpoint(),
+                requestTimeout
+        );
+    }
+
+    /**
+     * Creates new token request for given device code. This executes a single poll.
+     *
+     * @param deviceCode -
+     * @return -
+     */
+    public DeviceTokenRequest tokenRequest(final String deviceCode) {
+        final StringBuilder body = new StringBuilder();
+
+        append(body, "grant_type", GRANT_TYPE);
+        append(body, "device_code", deviceCode);
+        append(body, "client_id", config.getClientId());
+        append(body, "client_secret", config.getClientSecret());
+
+        return new DeviceTokenRequest(
+                httpClient,
+                jsonDeserializer,
+                body.toString(),
+                "device-token",
+                config.getTokenEndpoint(),
+                requestTimeout
+        );
+    }
+
+    /**
+     * Polls for the token until the user has authorized the device, denied the authorization, or the device code expires.
+     *
+     * <p>
+     * The returned future completes exceptionally with {@link com.tenduke.client.oauth.exceptions.OAuthErrorException} if the server
+     * responds with error other than {@code authorization_pending} or {@code slow_down} (e.g.&nbsp;{@code access_denied}), and with
+     * {@link com.tenduke.client.oauth.exceptions.OAuthException} if the device code expires. Cancelling the future stops the polling.
+     *
+     * @param authorization response of the device authorization request
+     * @return future, which completes with the token
+     */
+    public CompletableFuture<AuthorizationCodeResponse> pollToken(final DeviceAuthorizationResponse authorization) {
+        final long interval = (authorization.getInterval() > 0
+                ? authorization.getInterval() * MILLIS_IN_SECOND
+                : DEFAULT_INTERVAL.toMillis());
+        final long deadline = (authorization.getExpiresIn() > 0
+                ? clock.millis() + authorization.getExpiresIn() * MILLIS_IN_SECOND
+                : Long.MAX_VALUE);
+
+        return new DeviceTokenPoll(
+                tokenRequest(authorization.getDeviceCode()),
+                scheduler,
+                clock,
+                deadline,
+                interval,
+                SLOW_DOWN_INCREMENT.toMillis()
+        ).start();
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.device;
+
+import java.net.URI;
+import javax.annotation.Nullable;
+
+/**
+ * Configuration for Device Authorization Grant.
+ *
+ * <p>
+ * Instances are immutable.
+ *
+ */
+public class DeviceAuthorizationConfig {
+
+    /** Client id. */
+    private final String clientId;
+
+    /** Client secret, {@code null} for public clients. */
+    private final @Nullable String clientSecret;
+
+    /** Device authorization endpoint. */
+    private final URI deviceAuthorizationEndpoint;
+
+    /** Token endpoint. */
+    private final URI tokenEndpoint;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param clientId -
+     * @param clientSecret client secret, {@code null} for public clients
+     * @param deviceAuthorizationEndpoint -
+     * @param tokenEndpoint -
+     */
+    public DeviceAuthorizationConfig(
+            final String clientId,
+            @Nullable final String clientSecret,
+            final URI deviceAuthorizationEndpoint,
+            final URI tokenEndpoint
+    ) {
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.deviceAuthorizationEndpoint = deviceAuthorizationEndpoint;
+        this.tokenEndpoint = tokenEndpoint;
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    // CSOFF: JavadocMethod
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public @Nullable String getClientSecret() {
+        return clientSecret;
+    }
+
+    public URI getDeviceAuthorizationEndpoint() {
+        return deviceAuthorizationEndpoint;
+    }
+
+    public URI getTokenEndpoint() {
+        return tokenEndpoint;
+    }
+
+    // CSON: JavadocMethod
+    // </editor-fold>
+
+}
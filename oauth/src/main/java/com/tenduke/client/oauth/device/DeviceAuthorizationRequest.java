@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.device;
+
+import com.tenduke.client.json.JsonDeserializationException;
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.AbstractEndpointRequest;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Request to the device authorization endpoint.
+ *
+ */
+public class DeviceAuthorizationRequest extends AbstractEndpointRequest<DeviceAuthorizationResponse> {
+
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient -
+     * @param json -
+     * @param request -
+     * @param state identifies the request in logs
+     * @param deviceAuthorizationEndpoint -
+     * @param requestTimeout -
+     */
+    public DeviceAuthorizationRequest(
+            final HttpClient httpClient,
+            final JsonDeserializer json,
+            final String request,
+            final String state,
+            final URI deviceAuthorizationEndpoint,
+            final Duration requestTimeout
+    ) {
+        super("Device authorization", httpClient, json, request, state, deviceAuthorizationEndpoint, requestTimeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    protected DeviceAuthorizationResponse deserializeResponse(final byte[] body) throws JsonDeserializationException {
+        return super.deserialize(body, DeviceAuthorizationResponse.class);
+    }
+
+}
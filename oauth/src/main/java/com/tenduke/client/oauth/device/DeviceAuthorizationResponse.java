@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.device;
+
+import com.tenduke.client.json.DynamicBean;
+import java.io.Serializable;
+import javax.annotation.Nullable;
+
+/**
+ * Response from the device authorization endpoint.
+ *
+ * <p>
+ * Show {@link #getUserCode() } and {@link #getVerificationUri() } (or {@link #getVerificationUriComplete() }, e.g.&nbsp;as QR-code) to
+ * the user, then poll for the token with {@link DeviceAuthorizationClient#pollToken(DeviceAuthorizationResponse) }.
+ *
+ */
+public class DeviceAuthorizationResponse extends DynamicBean implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // NOTE: Do not change names of these fields. They are mapped from JSON.
+
+    /** The device verification code. */
+    private final String deviceCode;
+
+    /** The end-user verification code. */
+    private final String userCode;
+
+    /** The end-user verification URI. */
+    private final String verificationUri;
+
+    /** Verification URI, which includes the user code. Optional. */
+    private final @Nullable String verificationUriComplete;
+
+    /** Seconds after which the device code and user code expire. */
+    private final long expiresIn;
+
+    /** Minimum seconds between polling requests, {@code <= 0} if not specified. */
+    private final long interval;
+
+    /**
+     * No-arg constructor. Some JSON-serializers need this.
+     *
+     */
+    protected DeviceAuthorizationResponse() {
+        this(null, null, null, null, -1, -1);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param deviceCode -
+     * @param userCode -
+     * @param verificationUri -
+     * @param verificationUriComplete -
+     * @param expiresIn -
+     * @param interval -
+     */
+    public DeviceAuthorizationResponse(
+            final String deviceCode,
+            final String userCode,
+            final String verificationUri,
+            @Nullable final String verificationUriComplete,
+            final long expiresIn,
+            final long interval
+    ) {
+        this.deviceCode = deviceCode;
+        this.userCode = userCode;
+        this.verificationUri = verificationUri;
+        this.verificationUriComplete = verificationUriComplete;
+        this.expiresIn = expiresIn;
+        this.interval = interval;
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    // CSOFF: JavadocMethod
+
+    public String getDeviceCode() {
+        return deviceCode;
+    }
+
+    public String getUserCode() {
+        return userCode;
+    }
+
+    public String getVerificationUri() {
+        return verificationUri;
+    }
+
+    public @Nullable String getVerificationUriComplete() {
+        return verificationUriComplete;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    // CSON: JavadocMethod
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="toString()">
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public String toString() {
+        return "DeviceAuthorizationResponse{"
+                + "deviceCode=" + deviceCode
+                + ", userCode=" + userCode
+                + ", verificationUri=" + verificationUri
+                + ", verificationUriComplete=" + verificationUriComplete
+                + ", expiresIn=" + expiresIn
+                + ", interval=" + interval
+                + '}';
+    }
+
+    // </editor-fold>
+
+}
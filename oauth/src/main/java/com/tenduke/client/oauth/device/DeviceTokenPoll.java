@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.device;
+
+import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeResponse;
+import com.tenduke.client.oauth.authorizationcode.TokenRequest;
+import com.tenduke.client.oauth.exceptions.OAuthErrorException;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import com.tenduke.client.oauth.exceptions.OAuthNetworkException;
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls the token endpoint for one pending device authorization.
+ *
+ * <p>
+ * Each poll is a task on the shared scheduler, which only starts the asynchronous token request. The response is handled on the
+ * executor of the HTTP-client, which schedules the next poll. Thus no thread is occupied between the polls or while waiting for the
+ * responses.
+ *
+ */
+final class DeviceTokenPoll {
+
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(DeviceTokenPoll.class);
+
+    /** Maximum polling interval after backing off from network errors. */
+    private static final long MAX_INTERVAL_MILLIS = 60_000L;
+
+    /** The token request, executed on each poll. */
+    private final TokenRequest<AuthorizationCodeResponse> request;
+
+    /** Scheduler for the polls. */
+    private final ScheduledExecutorService scheduler;
+
+    /** Clock, used for the expiration of the device code. */
+    private final Clock clock;
+
+    /** Expiration time of the device code, epoch milliseconds. */
+    private final long deadline;
+
+    /** Increment of the interval on {@code slow_down}. */
+    private final long slowDownMillis;
+
+    /** The result, completed when the user has authorized the device or the polling fails. */
+    private final CompletableFuture<AuthorizationCodeResponse> result = new CompletableFuture<>();
+
+    /** Current polling interval. Polls are sequential, volatile only publishes the value between the threads. */
+    private volatile long intervalMillis;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param request -
+     * @param scheduler -
+     * @param clock -
+     * @param deadline expiration time of the device code, epoch milliseconds
+     * @param intervalMillis initial polling interval
+     * @param slowDownMillis increment of the interval on {@code slow_down}
+     */
+    DeviceTokenPoll(
+            final TokenRequest<AuthorizationCodeResponse> request,
+            final ScheduledExecutorService scheduler,
+            final Clock clock,
+            final long deadline,
+            final long intervalMillis,
+            final long slowDownMillis
+    ) {
+        this.request = request;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.deadline = deadline;
+        this.intervalMillis = intervalMillis;
+        this.slowDownMillis = slowDownMillis;
+    }
+
+    /**
+     * Schedules the first poll.
+     *
+     * @return the result. Cancelling it stops the polling.
+     */
+    CompletableFuture<AuthorizationCodeResponse> start() {
+        schedule();
+
+        return result;
+    }
+
+    /**
+     * Schedules the next poll, unless the polling has completed or been cancelled.
+     *
+     */
+    private void schedule() {
+        if (result.isDone()) {
+            return;
+        }
+
+        try {
+            scheduler.schedule(this::poll, intervalMillis, TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Executes one poll.
+     *
+     */
+    private void poll() {
+        if (result.isDone()) {
+            return;
+        }
+        if (clock.millis() >= deadline) {
+            result.completeExceptionally(new OAuthException("Device code has expired"));
+            return;
+        }
+
+        try {
+            request.callAsync().whenComplete(this::handle);
+        } catch (final RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Handles the response of a poll.
+     *
+     * @param response -
+     * @param error -
+     */
+    private void handle(@Nullable final AuthorizationCodeResponse response, @Nullable final Throwable error) {
+        if (error == null) {
+            result.complete(response);
+            return;
+        }
+
+        if (error instanceof OAuthErrorException) {
+            final String code = ((OAuthErrorException) error).getError().getError();
+
+            if ("authorization_pending".equals(code)) {
+                schedule();
+                return;
+            }
+            if ("slow_down".equals(code)) {
+                intervalMillis += slowDownMillis;
+
+                LOG.debug("Server asked to slow down, polling interval now {} ms", intervalMillis);
+
+                schedule();
+                return;
+            }
+        } else if (error instanceof OAuthNetworkException) {
+            // RFC 8628, section 3.5: Back off exponentially on connection timeouts
+            intervalMillis = Math.min(intervalMillis * 2, Math.max(intervalMillis, MAX_INTERVAL_MILLIS));
+
+            LOG.debug("Polling failed with network error, polling interval now {} ms: {}", intervalMillis, error.getMessage());
+
+            schedule();
+            return;
+        }
+
+        result.completeExceptionally(error);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.device;
+
+import com.tenduke.client.json.JsonDeserializationException;
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.OAuthErrorResponse;
+import com.tenduke.client.oauth.authorizationcode.AbstractTokenRequest;
+import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeResponse;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Token request for Device Authorization Grant.
+ *
+ * <p>
+ * The token response has the same form as in Authorization Code flow, so the token can be refreshed e.g.&nbsp;with
+ * {@link com.tenduke.client.oauth.authorizationcode.TokenManager}. The request can be executed repeatedly, which is what polling does.
+ * The executions and the errors expected while polling, {@code authorization_pending} and {@code slow_down}, are logged at DEBUG-level.
+ *
+ */
+public class DeviceTokenRequest extends AbstractTokenRequest<AuthorizationCodeResponse> {
+
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient -
+     * @param json -
+     * @param request -
+     * @param state identifies the request in logs
+     * @param tokenEndpoint -
+     * @param requestTimeout -
+     */
+    public DeviceTokenRequest(
+            final HttpClient httpClient,
+            final JsonDeserializer json,
+            final String request,
+            final String state,
+            final URI tokenEndpoint,
+            final Duration requestTimeout
+    ) {
+        super(httpClient, json, request, state, tokenEndpoint, requestTimeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    protected AuthorizationCodeResponse deserializeTokenResponse(final String body) throws JsonDeserializationException, OAuthException {
+        return super.deserialize(body, AuthorizationCodeResponse.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    protected AuthorizationCodeResponse deserializeTokenResponse(final byte[] body) throws JsonDeserializationException, OAuthException {
+        return super.deserialize(body, AuthorizationCodeResponse.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param error -
+     * @return {@code true} for {@code authorization_pending} and {@code slow_down}
+     */
+    @Override
+    protected boolean isExpectedError(final OAuthErrorResponse error) {
+        return "authorization_pending".equals(error.getError()) || "slow_down".equals(error.getError());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code true}
+     */
+    @Override
+    protected boolean isRepeated() {
+        return true;
+    }
+
+}
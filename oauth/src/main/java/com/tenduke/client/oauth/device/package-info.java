@@ -0,0 +1,4 @@
+/**
+ * Implementation of OAuth 2 Device Authorization Grant (RFC 8628), for devices without browser or with limited input.
+ */
+package com.tenduke.client.oauth.device;
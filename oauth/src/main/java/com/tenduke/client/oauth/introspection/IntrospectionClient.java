@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.introspection;
+
+import com.tenduke.client.json.DefaultJsonDeserializer;
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.jwt.MessageDigestPool;
+import static com.tenduke.client.oauth.FormParameters.append;
+import com.tenduke.client.oauth.Futures;
+import com.tenduke.client.oauth.HttpTransportConfig;
+import com.tenduke.client.oauth.OAuthErrorResponse;
+import static com.tenduke.client.oauth.authorizationcode.AuthorizationCodeClient.DEFAULT_HTTP_CLIENT;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Client for OAuth 2 Token Introspection (RFC 7662), which caches the introspection results.
+ *
+ * <p>
+ * The results are cached by SHA-256 hash of the token, so the introspection traffic scales with the number of distinct tokens, not with
+ * the number of requests:
+ * <ul>
+ * <li>An active token is cached for the configured time-to-live, but never beyond its {@code exp}.</li>
+ * <li>An inactive token is cached for the (shorter) negative time-to-live, so that repeated requests with an invalid token do not reach
+ * the server either.</li>
+ * <li>Concurrent introspections of the same token share a single request.</li>
+ * <li>Failed introspections are not cached.</li>
+ * </ul>
+ * When the cache is full, expired entries are removed, at most once per {@link #SWEEP_INTERVAL}; if the cache is still full, new results
+ * are returned but not cached.
+ *
+ * <p>
+ * The time-to-live bounds how long a revoked token is still accepted: Keep it short, or call {@link #invalidate(java.lang.String) } when
+ * a token is known to be revoked.
+ *
+ * <p>
+ * Usage:
+ * <pre>
+ * final IntrospectionClient client = new IntrospectionClient(config);
+ *
+ * if (!client.introspect(accessToken).isActive()) {
+ *     // reject the request
+ * }
+ * </pre>
+ *
+ * <p>
+ * Instances are thread-safe. Create one client per introspection endpoint and share it.
+ */
+public class IntrospectionClient {
+
+    /** Default maximum number of cached results. */
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    /** Default time-to-live of results for active tokens. */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+
+    /** Default time-to-live of results for inactive tokens. */
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(10);
+
+    /** Minimum interval between removing expired entries from a full cache. */
+    public static final Duration SWEEP_INTERVAL = Duration.ofSeconds(10);
+
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(IntrospectionClient.class);
+
+    /** The cached results, by SHA-256 of the token. */
+    private final ConcurrentHashMap<ByteBuffer, Entry> cache = new ConcurrentHashMap<>();
+
+    /** Introspections in progress, by SHA-256 of the token. */
+    private final ConcurrentHashMap<ByteBuffer, CompletableFuture<IntrospectionResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /** Clock. */
+    private final Clock clock;
+
+    /** Configuration. */
+    private final IntrospectionConfig config;
+
+    /** HTTP-client. */
+    private final HttpClient httpClient;
+
+    /** JSON-deserializer. */
+    private final JsonDeserializer jsonDeserializer;
+
+    /** Maximum number of cached results. */
+    private final int maxSize;
+
+    /** Time-to-live of results for inactive tokens. */
+    private final Duration negativeTtl;
+
+    /** Timeout of the introspection requests. */
+    private final Duration requestTimeout;
+
+    /** Time-to-live of results for active tokens. */
+    private final Duration ttl;
+
+    /** Earliest time of the next removal of expired entries, {@code null} if not done yet. */
+    private @Nullable volatile Instant nextSweepAt;
+
+    /**
+     * Constructs new instance with default components.
+     *
+     * @param config -
+     */
+    public IntrospectionClient(final IntrospectionConfig config) {
+        this(
+                config,
+                DEFAULT_HTTP_CLIENT,
+                DefaultJsonDeserializer.INSTANCE.get(),
+                HttpTransportConfig.DEFAULT_REQUEST_TIMEOUT,
+                DEFAULT_MAX_SIZE,
+                DEFAULT_TTL,
+                DEFAULT_NEGATIVE_TTL,
+                Clock.systemUTC()
+        );
+    }
+
+    /**
+     * Constructs new instance with new HTTP-client, built with given transport configuration.
+     *
+     * @param config -
+     * @param transport -
+     */
+    public IntrospectionClient(final IntrospectionConfig config, final HttpTransportConfig transport) {
+        this(
+                config,
+                transport.newHttpClient(),
+                DefaultJsonDeserializer.INSTANCE.get(),
+                transport.getRequestTimeout(),
+                DEFAULT_MAX_SIZE,
+                DEFAULT_TTL,
+                DEFAULT_NEGATIVE_TTL,
+                Clock.systemUTC()
+        );
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * <p>
+     * This constructor allows configuring the used components.
+     *
+     * @param config -
+     * @param httpClient -
+     * @param jsonDeserializer -
+     * @param requestTimeout timeout of the introspection requests
+     * @param maxSize maximum number of cached results
+     * @param ttl time-to-live of results for active tokens
+     * @param negativeTtl time-to-live of results for inactive tokens, {@link Duration#ZERO} to not cache them
+     * @param clock -
+     * @throws IllegalArgumentException if a time-to-live is negative
+     */
+    public IntrospectionClient(
+            final IntrospectionConfig config,
+            final HttpClient httpClient,
+            final JsonDeserializer jsonDeserializer,
+            final Duration requestTimeout,
+            final int maxSize,
+            final Duration ttl,
+            final Duration negativeTtl,
+            final Clock clock
+    ) throws IllegalArgumentException {
+        if (ttl.isNegative() || negativeTtl.isNegative()) {
+            throw new IllegalArgumentException("Time-to-live must not be negative, got " + ttl + " and " + negativeTtl);
+        }
+
+        this.config = config;
+        this.httpClient = httpClient;
+        this.jsonDeserializer = jsonDeserializer;
+        this.requestTimeout = requestTimeout;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.clock = clock;
+
+        jsonDeserializer.prepare(IntrospectionResponse.class, OAuthErrorResponse.class);
+    }
+
+    /**
+     * Introspects given token, from the cache if possible.
+     *
+     * @param token the token
+     * @return -
+     * @throws InterruptedException -
+     * @throws OAuthException if there is no cached result and the introspection request fails
+     */
+    public IntrospectionResponse introspect(final String token) throws InterruptedException, OAuthException {
+        try {
+            return introspectAsync(token).get();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof OAuthException) {
+                throw (OAuthException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new OAuthException("Introspection request failed", cause);
+        }
+    }
+
+    /**
+     * Introspects given token, from the cache if possible.
+     *
+     * <p>
+     * If there is a cached result, the returned future is already completed. The future completes exceptionally with
+     * {@link OAuthException} if the introspection request fails.
+     *
+     * @param token the token
+     * @return -
+     */
+    public CompletableFuture<IntrospectionResponse> introspectAsync(final String token) {
+        final ByteBuffer cacheKey = ByteBuffer.wrap(sha256(token));
+
+        @Nullable final Entry cached = cache.get(cacheKey);
+
+        if (cached != null) {
+            if (clock.instant().isBefore(cached.expiresAt)) {
+                return CompletableFuture.completedFuture(cached.response);
+            }
+
+            cache.remove(cacheKey, cached);
+        }
+
+        final CompletableFuture<IntrospectionResponse> pending = new CompletableFuture<>();
+        @Nullable final CompletableFuture<IntrospectionResponse> existing = inFlight.putIfAbsent(cacheKey, pending);
+
+        if (existing != null) {
+            // Callers get a copy so that one caller cannot complete or cancel the introspection of the others:
+            return existing.copy();
+        }
+
+        try {
+            request(token).callAsync().whenComplete((response, error) -> {
+                @Nullable final Entry entry = (error == null ? put(cacheKey, response) : null);
+
+                if (error != null) {
+                    LOG.warn("Introspection request failed: {}", error.getMessage());
+                }
+
+                if (!inFlight.remove(cacheKey, pending) && entry != null) {
+                    // The token was invalidated during the introspection, the result may predate the revocation:
+                    cache.remove(cacheKey, entry);
+                }
+
+                if (error == null) {
+                    pending.complete(response);
+                } else {
+                    pending.completeExceptionally(Futures.unwrap(error));
+                }
+            });
+        } catch (final RuntimeException e) {
+            inFlight.remove(cacheKey, pending);
+            pending.completeExceptionally(e);
+        }
+
+        return pending.copy();
+    }
+
+    /**
+     * Drops the cached result of given token, e.g.&nbsp;when the token is known to be revoked. The next call introspects the token.
+     *
+     * <p>
+     * An introspection of the token already in progress still completes, but its result is not cached.
+     *
+     * @param token -
+     */
+    public void invalidate(final String token) {
+        final ByteBuffer cacheKey = ByteBuffer.wrap(sha256(token));
+
+        inFlight.remove(cacheKey);
+        cache.remove(cacheKey);
+    }
+
+    /**
+     * Returns number of cached results.
+     *
+     * @return -
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Removes all cached results.
+     *
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Creates new introspection request for given token. The request bypasses the cache.
+     *
+     * @param token -
+     * @return -
+     */
+    public IntrospectionRequest request(final String token) {
+        return new IntrospectionRequest(
+                httpClient,
+                jsonDeserializer,
+                buildRequestBody(token),
+                "introspection",
+                config.getIntrospectionEndpoint(),
+                requestTimeout
+        );
+    }
+
+    /**
+     * Caches the result, if it is cacheable and there is room.
+     *
+     * @param cacheKey -
+     * @param response -
+     * @return the cached entry, {@code null} if not cached
+     */
+    private @Nullable Entry put(final ByteBuffer cacheKey, final IntrospectionResponse response) {
+        final Instant now = clock.instant();
+        Instant expiresAt = now.plus(response.isActive() ? ttl : negativeTtl);
+
+        @Nullable final Instant exp = response.getExpiresAt();
+
+        if (response.isActive() && exp != null && exp.isBefore(expiresAt)) {
+            expiresAt = exp;
+        }
+
+        if (!now.isBefore(expiresAt)) {
+            return null;
+        }
+
+        if (cache.size() >= maxSize && !sweep(now)) {
+            return null;
+        }
+
+        final Entry entry = new Entry(response, expiresAt);
+
+        cache.put(cacheKey, entry);
+
+        return entry;
+    }
+
+    /**
+     * Removes expired entries, unless done within {@link #SWEEP_INTERVAL}. Limiting the sweeps keeps a cache full of valid entries from
+     * scanning all entries on every miss.
+     *
+     * @param now -
+     * @return {@code true} if there is room in the cache after the sweep
+     */
+    private boolean sweep(final Instant now) {
+        @Nullable final Instant sweepAt = nextSweepAt;
+
+        if (sweepAt != null && now.isBefore(sweepAt)) {
+            return false;
+        }
+
+        nextSweepAt = now.plus(SWEEP_INTERVAL);
+        cache.values().removeIf((entry) -> !now.isBefore(entry.expiresAt));
+
+        return cache.size() < maxSize;
+    }
+
+    /**
+     * Builds the introspection request body.
+     *
+     * @param token -
+     * @return -
+     */
+    private String buildRequestBody(final String token) {
+        final StringBuilder body = new StringBuilder();
+
+        append(body, "token", token);
+        append(body, "token_type_hint", "access_token");
+        append(body, "client_id", config.getClientId());
+        append(body, "client_secret", config.getClientSecret());
+
+        return body.toString();
+    }
+
+    /**
+     * Computes SHA-256 digest of the token.
+     *
+     * @param token -
+     * @return -
+     */
+    private static byte[] sha256(final String token) {
+        return MessageDigestPool.sha256().digest(token.getBytes(UTF_8));
+    }
+
+    /**
+     * A cached result.
+     *
+     */
+    private static final class Entry {
+
+        /** When this entry expires. */
+        private final Instant expiresAt;
+
+        /** The result. */
+        private final IntrospectionResponse response;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param response -
+         * @param expiresAt -
+         */
+        Entry(final IntrospectionResponse response, final Instant expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.introspection;
+
+import java.net.URI;
+
+/**
+ * Configuration for Token Introspection.
+ *
+ * <p>
+ * The introspection endpoint requires the caller (the resource server) to authenticate, here with its client credentials.
+ *
+ * <p>
+ * Instances are immutable.
+ *
+ */
+public class IntrospectionConfig {
+
+    /** Client id of the resource server. */
+    private final String clientId;
+
+    /** Client secret of the resource server. */
+    private final String clientSecret;
+
+    /** Introspection endpoint. */
+    private final URI introspectionEndpoint;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param clientId -
+     * @param clientSecret -
+     * @param introspectionEndpoint -
+     */
+    public IntrospectionConfig(
+            final String clientId,
+            final String clientSecret,
+            final URI introspectionEndpoint
+    ) {
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.introspectionEndpoint = introspectionEndpoint;
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    // CSOFF: JavadocMethod
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getClientSecret() {
+        return clientSecret;
+    }
+
+    public URI getIntrospectionEndpoint() {
+        return introspectionEndpoint;
+    }
+
+    // CSON: JavadocMethod
+    // </editor-fold>
+
+}
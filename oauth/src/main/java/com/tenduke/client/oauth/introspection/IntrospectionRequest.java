@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.introspection;
+
+import com.tenduke.client.json.JsonDeserializationException;
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.AbstractEndpointRequest;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Request to the token introspection endpoint.
+ *
+ */
+public class IntrospectionRequest extends AbstractEndpointRequest<IntrospectionResponse> {
+
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient -
+     * @param json -
+     * @param request -
+     * @param state identifies the request in logs
+     * @param introspectionEndpoint -
+     * @param requestTimeout -
+     */
+    public IntrospectionRequest(
+            final HttpClient httpClient,
+            final JsonDeserializer json,
+            final String request,
+            final String state,
+            final URI introspectionEndpoint,
+            final Duration requestTimeout
+    ) {
+        super("Introspection", httpClient, json, request, state, introspectionEndpoint, requestTimeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    protected IntrospectionResponse deserializeResponse(final byte[] body) throws JsonDeserializationException {
+        return super.deserialize(body, IntrospectionResponse.class);
+    }
+
+}
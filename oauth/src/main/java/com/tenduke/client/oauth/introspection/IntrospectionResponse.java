@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.introspection;
+
+import com.tenduke.client.json.DynamicBean;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.annotation.Nullable;
+
+/**
+ * Response from the token introspection endpoint (RFC 7662, section 2.2).
+ *
+ * <p>
+ * Only {@link #isActive() } is required; for inactive tokens the server usually returns nothing else. Members not mapped to fields,
+ * e.g.&nbsp;{@code aud}, are available as additional properties.
+ *
+ */
+public class IntrospectionResponse extends DynamicBean implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // NOTE: Do not change names of these fields. They are mapped from JSON.
+
+    /** Is the token active. */
+    private final boolean active;
+
+    /** Space-separated scopes of the token. Optional. */
+    private final @Nullable String scope;
+
+    /** Client id of the client, to which the token was issued. Optional. */
+    private final @Nullable String clientId;
+
+    /** Human-readable identifier of the resource owner. Optional. */
+    private final @Nullable String username;
+
+    /** Type of the token. Optional. */
+    private final @Nullable String tokenType;
+
+    /** Expiration time, seconds since epoch. Optional. */
+    private final @Nullable Long exp;
+
+    /** Issuance time, seconds since epoch. Optional. */
+    private final @Nullable Long iat;
+
+    /** Subject of the token. Optional. */
+    private final @Nullable String sub;
+
+    /** Issuer of the token. Optional. */
+    private final @Nullable String iss;
+
+    /**
+     * No-arg constructor. Some JSON-serializers need this.
+     *
+     */
+    protected IntrospectionResponse() {
+        this(false, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param active -
+     * @param scope -
+     * @param clientId -
+     * @param username -
+     * @param tokenType -
+     * @param exp -
+     * @param iat -
+     * @param sub -
+     * @param iss -
+     */
+    public IntrospectionResponse(
+            final boolean active,
+            @Nullable final String scope,
+            @Nullable final String clientId,
+            @Nullable final String username,
+            @Nullable final String tokenType,
+            @Nullable final Long exp,
+            @Nullable final Long iat,
+            @Nullable final String sub,
+            @Nullable final String iss
+    ) {
+        this.active = active;
+        this.scope = scope;
+        this.clientId = clientId;
+        this.username = username;
+        this.tokenType = tokenType;
+        this.exp = exp;
+        this.iat = iat;
+        this.sub = sub;
+        this.iss = iss;
+    }
+
+    /**
+     * Returns the expiration time as {@link Instant}.
+     *
+     * @return the expiration time, {@code null} if not given
+     */
+    public @Nullable Instant getExpiresAt() {
+        return (exp == null ? null : Instant.ofEpochSecond(exp));
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    // CSOFF: JavadocMethod
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public @Nullable String getScope() {
+        return scope;
+    }
+
+    public @Nullable String getClientId() {
+        return clientId;
+    }
+
+    public @Nullable String getUsername() {
+        return username;
+    }
+
+    public @Nullable String getTokenType() {
+        return tokenType;
+    }
+
+    public @Nullable Long getExp() {
+        return exp;
+    }
+
+    public @Nullable Long getIat() {
+        return iat;
+    }
+
+    public @Nullable String getSub() {
+        return sub;
+    }
+
+    public @Nullable String getIss() {
+        return iss;
+    }
+
+    // CSON: JavadocMethod
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="toString()">
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public String toString() {
+        return "IntrospectionResponse{"
+                + "active=" + active
+                + ", scope=" + scope
+                + ", clientId=" + clientId
+                + ", username=" + username
+                + ", tokenType=" + tokenType
+                + ", exp=" + exp
+                + ", iat=" + iat
+                + ", sub=" + sub
+                + ", iss=" + iss
+                + '}';
+    }
+
+    // </editor-fold>
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Implementation of OAuth 2 Token Introspection (RFC 7662), for resource servers validating opaque access tokens.
+ */
+package com.tenduke.client.oauth.introspection;
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.revocation;
+
+import com.tenduke.client.json.DefaultJsonDeserializer;
+import com.tenduke.client.json.JsonDeserializer;
+import static com.tenduke.client.oauth.FormParameters.append;
+import com.tenduke.client.oauth.HttpTransportConfig;
+import com.tenduke.client.oauth.OAuthErrorResponse;
+import static com.tenduke.client.oauth.authorizationcode.AuthorizationCodeClient.DEFAULT_HTTP_CLIENT;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
+
+/**
+ * Client for OAuth 2 Token Revocation (RFC 7009).
+ *
+ * <p>
+ * Revoking a token that is invalid or already revoked succeeds (RFC 7009, section 2.2). For revoking many tokens, e.g.&nbsp;on mass
+ * logout, use {@link RevocationQueue}, which runs the revocations concurrently with a limit and retries.
+ *
+ * <p>
+ * Usage:
+ * <pre>
+ * final RevocationClient client = new RevocationClient(config);
+ *
+ * client.revoke(refreshToken, RevocationClient.REFRESH_TOKEN);
+ * </pre>
+ *
+ * <p>
+ * Instances are thread-safe.
+ */
+public class RevocationClient {
+
+    /** Token type hint for access tokens. */
+    public static final String ACCESS_TOKEN = "access_token";
+
+    /** Token type hint for refresh tokens. */
+    public static final String REFRESH_TOKEN = "refresh_token";
+
+    /** Configuration. */
+    private final RevocationConfig config;
+
+    /** HTTP-client. */
+    private final HttpClient httpClient;
+
+    /** JSON-deserializer. */
+    private final JsonDeserializer jsonDeserializer;
+
+    /** Timeout of the revocation requests. */
+    private final Duration requestTimeout;
+
+    /**
+     * Constructs new instance with default components.
+     *
+     * @param config -
+     */
+    public RevocationClient(final RevocationConfig config) {
+        this(config, DEFAULT_HTTP_CLIENT, DefaultJsonDeserializer.INSTANCE.get(), HttpTransportConfig.DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Constructs new instance with new HTTP-client, built with given transport configuration.
+     *
+     * @param config -
+     * @param transport -
+     */
+    public RevocationClient(final RevocationConfig config, final HttpTransportConfig transport) {
+        this(config, transport.newHttpClient(), DefaultJsonDeserializer.INSTANCE.get(), transport.getRequestTimeout());
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * <p>
+     * This constructor allows configuring the used components.
+     *
+     * @param config -
+     * @param httpClient -
+     * @param jsonDeserializer -
+     * @param requestTimeout timeout of the revocation requests
+     */
+    public RevocationClient(
+            final RevocationConfig config,
+            final HttpClient httpClient,
+            final JsonDeserializer jsonDeserializer,
+            final Duration requestTimeout
+    ) {
+        this.config = config;
+        this.httpClient = httpClient;
+        this.jsonDeserializer = jsonDeserializer;
+        this.requestTimeout = requestTimeout;
+
+        jsonDeserializer.prepare(OAuthErrorResponse.class);
+    }
+
+    /**
+     * Revokes given token.
+     *
+     * @param token the token
+     * @param tokenTypeHint {@link #ACCESS_TOKEN}, {@link #REFRESH_TOKEN} or {@code null} if not known
+     * @throws InterruptedException -
+     * @throws OAuthException if the revocation request fails
+     */
+    public void revoke(final String token, @Nullable final String tokenTypeHint) throws InterruptedException, OAuthException {
+        request(token, tokenTypeHint).call();
+    }
+
+    /**
+     * Revokes given token asynchronously.
+     *
+     * <p>
+     * The returned future completes exceptionally with {@link OAuthException} if the revocation request fails.
+     *
+     * @param token the token
+     * @param tokenTypeHint {@link #ACCESS_TOKEN}, {@link #REFRESH_TOKEN} or {@code null} if not known
+     * @return -
+     */
+    public CompletableFuture<Void> revokeAsync(final String token, @Nullable final String tokenTypeHint) {
+        return request(token, tokenTypeHint).callAsync();
+    }
+
+    /**
+     * Creates new revocation request for given token.
+     *
+     * @param token the token
+     * @param tokenTypeHint {@link #ACCESS_TOKEN}, {@link #REFRESH_TOKEN} or {@code null} if not known
+     * @return -
+     */
+    public RevocationRequest request(final String token, @Nullable final String tokenTypeHint) {
+        return new RevocationRequest(
+                httpClient,
+                jsonDeserializer,
+                buildRequestBody(token, tokenTypeHint),
+                "revocation",
+                config.getRevocationEndpoint(),
+                requestTimeout
+        );
+    }
+
+    /**
+     * Builds the revocation request body.
+     *
+     * @param token -
+     * @param tokenTypeHint -
+     * @return -
+     */
+    private String buildRequestBody(final String token, @Nullable final String tokenTypeHint) {
+        final StringBuilder body = new StringBuilder();
+
+        append(body, "token", token);
+        append(body, "token_type_hint", tokenTypeHint);
+        append(body, "client_id", config.getClientId());
+        append(body, "client_secret", config.getClientSecret());
+
+        return body.toString();
+    }
+
+}
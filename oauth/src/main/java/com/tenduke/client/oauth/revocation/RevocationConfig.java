@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.revocation;
+
+import java.net.URI;
+
+/**
+ * Configuration for Token Revocation.
+ *
+ * <p>
+ * The client authenticates to the revocation endpoint with its client credentials.
+ *
+ * <p>
+ * Instances are immutable.
+ *
+ */
+public class RevocationConfig {
+
+    /** Client id. */
+    private final String clientId;
+
+    /** Client secret. */
+    private final String clientSecret;
+
+    /** Revocation endpoint. */
+    private final URI revocationEndpoint;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param clientId -
+     * @param clientSecret -
+     * @param revocationEndpoint -
+     */
+    public RevocationConfig(
+            final String clientId,
+            final String clientSecret,
+            final URI revocationEndpoint
+    ) {
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.revocationEndpoint = revocationEndpoint;
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    // CSOFF: JavadocMethod
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getClientSecret() {
+        return clientSecret;
+    }
+
+    public URI getRevocationEndpoint() {
+        return revocationEndpoint;
+    }
+
+    // CSON: JavadocMethod
+    // </editor-fold>
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.revocation;
+
+/**
+ * Snapshot of the counters of a {@link RevocationQueue}.
+ *
+ * <p>
+ * The counters are read one by one, not atomically, so a snapshot taken while revocations are running may be slightly inconsistent,
+ * e.g.&nbsp;a revocation may be counted both as queued and as in progress.
+ *
+ * <p>
+ * Instances are immutable.
+ *
+ */
+public class RevocationMetrics {
+
+    /** Number of tokens accepted to the queue. */
+    private final long submitted;
+
+    /** Number of tokens not accepted, because the queue was full or closed. */
+    private final long rejected;
+
+    /** Number of tokens revoked successfully. */
+    private final long succeeded;
+
+    /** Number of tokens, whose revocation failed after all attempts. */
+    private final long failed;
+
+    /** Number of retried attempts. */
+    private final long retried;
+
+    /** Number of tokens waiting in the queue. */
+    private final int queued;
+
+    /** Number of revocations in progress, including the ones waiting for retry. */
+    private final int inProgress;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param submitted -
+     * @param rejected -
+     * @param succeeded -
+     * @param failed -
+     * @param retried -
+     * @param queued -
+     * @param inProgress -
+     */
+    public RevocationMetrics(
+            final long submitted,
+            final long rejected,
+            final long succeeded,
+            final long failed,
+            final long retried,
+            final int queued,
+            final int inProgress
+    ) {
+        this.submitted = submitted;
+        this.rejected = rejected;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.retried = retried;
+        this.queued = queued;
+        this.inProgress = inProgress;
+    }
+
+    /**
+     * Returns number of completed revocations, successful or not.
+     *
+     * @return -
+     */
+    public long getCompleted() {
+        return succeeded + failed;
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    // CSOFF: JavadocMethod
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getRetried() {
+        return retried;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public int getInProgress() {
+        return inProgress;
+    }
+
+    // CSON: JavadocMethod
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="toString()">
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public String toString() {
+        return "RevocationMetrics{"
+                + "submitted=" + submitted
+                + ", rejected=" + rejected
+                + ", succeeded=" + succeeded
+                + ", failed=" + failed
+                + ", retried=" + retried
+                + ", queued=" + queued
+                + ", inProgress=" + inProgress
+                + '}';
+    }
+
+    // </editor-fold>
+
+}
@@ -0,0 +1,490 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.revocation;
+
+import com.tenduke.client.oauth.Failures;
+import com.tenduke.client.oauth.Futures;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded queue, which revokes the submitted tokens in the background, e.g.&nbsp;on mass logout.
+ *
+ * <p>
+ * Submitting a token does not wait for the revocation: {@link #offer(java.lang.String, java.lang.String) } returns immediately and
+ * rejects the token if the queue is full, {@link #put(java.lang.String, java.lang.String) } waits for room, so that a bulk job producing
+ * tokens faster than they can be revoked is slowed down to the rate of the endpoint.
+ *
+ * <p>
+ * The revocations are run asynchronously, at most the configured number concurrently, so no thread is blocked per revocation. Failures
+ * of the network or the server (including the {@code temporarily_unavailable} and {@code server_error} error responses) are retried
+ * with exponential backoff; a retry waiting for its backoff counts against the concurrency, so the queue slows down while the server is
+ * struggling. Other errors, and failures after the last attempt, are logged and counted, not reported to the submitter.
+ *
+ * <p>
+ * Progress is available from {@link #metrics() }, {@link #awaitIdle(java.time.Duration) } waits until all submitted tokens have been
+ * handled.
+ *
+ * <p>
+ * Usage:
+ * <pre>
+ * try (RevocationQueue queue = new RevocationQueue(client, scheduler)) {
+ *     for (final String token : refreshTokens) {
+ *         queue.put(token, RevocationClient.REFRESH_TOKEN);
+ *     }
+ *
+ *     queue.awaitIdle(Duration.ofMinutes(10));
+ * }
+ * </pre>
+ *
+ * <p>
+ * Instances are thread-safe.
+ */
+public class RevocationQueue implements AutoCloseable {
+
+    /** Default maximum number of queued tokens. */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    /** Default maximum number of concurrent revocations. */
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    /** Default maximum number of attempts per token. */
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+    /** Default delay before the first retry. The delay doubles on each retry. */
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+    /** Default maximum delay between retries. */
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(1);
+
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(RevocationQueue.class);
+
+    /** Number of revocations in progress. */
+    private final AtomicInteger active = new AtomicInteger();
+
+    /** The revocation client. */
+    private final RevocationClient client;
+
+    /** Maximum number of concurrent revocations. */
+    private final int concurrency;
+
+    /** Number of pending {@link #dispatch() } calls, non-zero while a thread is draining the queue. */
+    private final AtomicInteger dispatching = new AtomicInteger();
+
+    /** Lock for waiting until idle. */
+    private final Lock idleLock = new ReentrantLock();
+
+    /** Signaled when the queue becomes idle. */
+    private final Condition idleCondition = idleLock.newCondition();
+
+    /** Delay before the first retry, in nanoseconds. */
+    private final long initialBackoffNanos;
+
+    /** Maximum delay between retries, in nanoseconds. */
+    private final long maxBackoffNanos;
+
+    /** Maximum number of attempts per token. */
+    private final int maxAttempts;
+
+    /** The queued tokens. */
+    private final BlockingQueue<Revocation> queue;
+
+    /** Scheduler for the retries. */
+    private final ScheduledExecutorService scheduler;
+
+    /** Counter: tokens accepted. */
+    private final LongAdder submitted = new LongAdder();
+
+    /** Counter: tokens rejected. */
+    private final LongAdder rejected = new LongAdder();
+
+    /** Counter: tokens revoked. */
+    private final LongAdder succeeded = new LongAdder();
+
+    /** Counter: tokens failed. */
+    private final LongAdder failed = new LongAdder();
+
+    /** Counter: retried attempts. */
+    private final LongAdder retried = new LongAdder();
+
+    /** Is the queue closed for new tokens. */
+    private volatile boolean closed;
+
+    /**
+     * Constructs new instance with default limits.
+     *
+     * @param client -
+     * @param scheduler scheduler for the retries, typically shared
+     */
+    public RevocationQueue(final RevocationClient client, final ScheduledExecutorService scheduler) {
+        this(
+                client,
+                scheduler,
+                DEFAULT_CAPACITY,
+                DEFAULT_CONCURRENCY,
+                DEFAULT_MAX_ATTEMPTS,
+                DEFAULT_INITIAL_BACKOFF,
+                DEFAULT_MAX_BACKOFF
+        );
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param client -
+     * @param scheduler scheduler for the retries, typically shared
+     * @param capacity maximum number of queued tokens, not counting the ones in progress
+     * @param concurrency maximum number of concurrent revocations
+     * @param maxAttempts maximum number of attempts per token, {@code 1} to not retry
+     * @param initialBackoff delay before the first retry, doubled on each retry
+     * @param maxBackoff maximum delay between retries
+     * @throws IllegalArgumentException if a limit is not positive or a backoff is negative
+     */
+    public RevocationQueue(
+            final RevocationClient client,
+            final ScheduledExecutorService scheduler,
+            final int capacity,
+            final int concurrency,
+            final int maxAttempts,
+            final Duration initialBackoff,
+            final Duration maxBackoff
+    ) throws IllegalArgumentException {
+        if (capacity <= 0 || concurrency <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException(
+                    "Capacity, concurrency and attempts must be positive, got " + capacity + ", " + concurrency + ", " + maxAttempts
+            );
+        }
+        if (initialBackoff.isNegative() || maxBackoff.isNegative()) {
+            throw new IllegalArgumentException("Backoff must not be negative, got " + initialBackoff + " and " + maxBackoff);
+        }
+
+        this.client = client;
+        this.scheduler = scheduler;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    /**
+     * Submits token for revocation, if there is room in the queue. Does not wait.
+     *
+     * @param token the token
+     * @param tokenTypeHint {@link RevocationClient#ACCESS_TOKEN}, {@link RevocationClient#REFRESH_TOKEN} or {@code null} if not known
+     * @return {@code true} if the token was accepted, {@code false} if the queue is full or closed
+     */
+    public boolean offer(final String token, @Nullable final String tokenTypeHint) {
+        if (closed) {
+            rejected.increment();
+
+            return false;
+        }
+
+        submitted.increment();
+
+        if (!queue.offer(new Revocation(token, tokenTypeHint))) {
+            submitted.decrement();
+            rejected.increment();
+
+            return false;
+        }
+
+        dispatch();
+
+        return true;
+    }
+
+    /**
+     * Submits token for revocation, waiting for room in the queue if needed.
+     *
+     * @param token the token
+     * @param tokenTypeHint {@link RevocationClient#ACCESS_TOKEN}, {@link RevocationClient#REFRESH_TOKEN} or {@code null} if not known
+     * @throws InterruptedException if interrupted while waiting, the token is then not submitted
+     * @throws IllegalStateException if the queue is closed
+     */
+    public void put(final String token, @Nullable final String tokenTypeHint) throws InterruptedException, IllegalStateException {
+        if (closed) {
+            rejected.increment();
+
+            throw new IllegalStateException("Revocation queue is closed");
+        }
+
+        submitted.increment();
+
+        try {
+            queue.put(new Revocation(token, tokenTypeHint));
+        } catch (final InterruptedException e) {
+            submitted.decrement();
+
+            throw e;
+        }
+
+        dispatch();
+    }
+
+    /**
+     * Returns snapshot of the counters.
+     *
+     * @return -
+     */
+    public RevocationMetrics metrics() {
+        return new RevocationMetrics(
+                submitted.sum(),
+                rejected.sum(),
+                succeeded.sum(),
+                failed.sum(),
+                retried.sum(),
+                queue.size(),
+                active.get()
+        );
+    }
+
+    /**
+     * Waits until all submitted tokens have been handled, i.e.&nbsp;the queue is empty and no revocation is in progress.
+     *
+     * @param timeout maximum time to wait
+     * @return {@code true} if idle, {@code false} if the timeout elapsed first
+     * @throws InterruptedException -
+     */
+    public boolean awaitIdle(final Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+
+        idleLock.lock();
+        try {
+            while (!isIdle()) {
+                if (remaining <= 0) {
+                    return false;
+                }
+
+                remaining = idleCondition.awaitNanos(remaining);
+            }
+
+            return true;
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the queue for new tokens. Tokens already submitted are still revoked. Does not shut down the scheduler.
+     *
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * Starts revocations from the queue, while below the concurrency limit.
+     *
+     * <p>
+     * One thread at a time drains the queue: A call made while another thread (or the same thread, from a synchronously completed
+     * revocation) is draining only makes the drainer loop once more. This keeps the stack flat and the drain single-threaded.
+     */
+    private void dispatch() {
+        if (dispatching.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+
+        do {
+            drain();
+            missed = dispatching.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Starts revocations from the queue, while below the concurrency limit. Called only by the draining thread.
+     *
+     */
+    private void drain() {
+        while (active.get() < concurrency) {
+            // Counted as active before polling, so that the queue never looks idle while a revocation is being started:
+            active.incrementAndGet();
+
+            @Nullable final Revocation revocation = queue.poll();
+
+            if (revocation == null) {
+                active.decrementAndGet();
+                signalIfIdle();
+
+                return;
+            }
+
+            attempt(revocation);
+        }
+    }
+
+    /**
+     * Runs one attempt of a revocation.
+     *
+     * @param revocation -
+     */
+    private void attempt(final Revocation revocation) {
+        revocation.attempts++;
+
+        final CompletableFuture<Void> result;
+
+        try {
+            result = client.revokeAsync(revocation.token, revocation.tokenTypeHint);
+        } catch (final RuntimeException e) {
+            fail(revocation, e);
+
+            return;
+        }
+
+        result.whenComplete((ignored, error) -> {
+            if (error == null) {
+                succeeded.increment();
+                release();
+            } else {
+                retryOrFail(revocation, Futures.unwrap(error));
+            }
+        });
+    }
+
+    /**
+     * Schedules retry of a failed revocation, if the failure is retryable and there are attempts left.
+     *
+     * @param revocation -
+     * @param error -
+     */
+    private void retryOrFail(final Revocation revocation, final Throwable error) {
+        if (revocation.attempts >= maxAttempts || !Failures.isRetryable(error)) {
+            fail(revocation, error);
+
+            return;
+        }
+
+        final long delay = backoff(revocation.attempts);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(
+                    "Revocation attempt {} failed, retrying in {} ms: {}",
+                    revocation.attempts,
+                    TimeUnit.NANOSECONDS.toMillis(delay),
+                    error.getMessage()
+            );
+        }
+
+        try {
+            scheduler.schedule(() -> attempt(revocation), delay, TimeUnit.NANOSECONDS);
+            retried.increment();
+        } catch (final RejectedExecutionException e) {
+            fail(revocation, error);
+        }
+    }
+
+    /**
+     * Records failed revocation.
+     *
+     * @param revocation -
+     * @param error -
+     */
+    private void fail(final Revocation revocation, final Throwable error) {
+        LOG.warn("Revocation failed after {} attempt(s): {}", revocation.attempts, error.getMessage());
+
+        failed.increment();
+        release();
+    }
+
+    /**
+     * Releases a concurrency slot and starts the next revocation.
+     *
+     */
+    private void release() {
+        active.decrementAndGet();
+        dispatch();
+        signalIfIdle();
+    }
+
+    /**
+     * Wakes up the threads waiting for idle, if idle.
+     *
+     */
+    private void signalIfIdle() {
+        if (isIdle()) {
+            idleLock.lock();
+            try {
+                idleCondition.signalAll();
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Checks if the queue is empty and no revocation is in progress.
+     *
+     * @return -
+     */
+    private boolean isIdle() {
+        return active.get() == 0 && queue.isEmpty();
+    }
+
+    /**
+     * Computes the delay before the next attempt.
+     *
+     * @param attempts number of attempts made
+     * @return delay in nanoseconds
+     */
+    private long backoff(final int attempts) {
+        long delay = initialBackoffNanos;
+
+        for (int i = 1; i < attempts && delay < maxBackoffNanos; i++) {
+            delay *= 2;
+        }
+
+        return Math.min(delay, maxBackoffNanos);
+    }
+
+    /**
+     * A queued token.
+     *
+     */
+    private static final class Revocation {
+
+        /** The token. */
+        private final String token;
+
+        /** The token type hint, {@code null} if none. */
+        private final @Nullable String tokenTypeHint;
+
+        /** Number of attempts made. Accessed by one thread at a time, hand-over is ordered by the futures and the scheduler. */
+        private int attempts;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param token -
+         * @param tokenTypeHint -
+         */
+        Revocation(final String token, @Nullable final String tokenTypeHint) {
+            this.token = token;
+            this.tokenTypeHint = tokenTypeHint;
+        }
+
+    }
+
+}
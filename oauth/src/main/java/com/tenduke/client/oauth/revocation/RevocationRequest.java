@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.revocation;
+
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.AbstractEndpointRequest;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Request to the token revocation endpoint.
+ *
+ * <p>
+ * The server responds to a successful revocation with HTTP 200 and the body is ignored (RFC 7009, section 2.2), so the request completes
+ * with {@code null}.
+ *
+ */
+public class RevocationRequest extends AbstractEndpointRequest<Void> {
+
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient -
+     * @param json -
+     * @param request -
+     * @param state identifies the request in logs
+     * @param revocationEndpoint -
+     * @param requestTimeout -
+     */
+    public RevocationRequest(
+            final HttpClient httpClient,
+            final JsonDeserializer json,
+            final String request,
+            final String state,
+            final URI revocationEndpoint,
+            final Duration requestTimeout
+    ) {
+        super("Revocation", httpClient, json, request, state, revocationEndpoint, requestTimeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code null}, the response body has no content
+     */
+    @Override
+    protected Void deserializeResponse(final byte[] body) {
+        return null;
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Implementation of OAuth 2 Token Revocation (RFC 7009), including a queue for revoking tokens in bulk.
+ */
+package com.tenduke.client.oauth.revocation;
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth;
+
+import com.tenduke.client.oauth.exceptions.OAuthErrorException;
+import com.tenduke.client.oauth.exceptions.OAuthNetworkException;
+import java.io.IOException;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class FailuresTest {
+
+    @Test
+    public void shouldRecognizeRetryableErrors() {
+        assertThat(Failures.isRetryable(new OAuthNetworkException("failed", new IOException("failed")))).isTrue();
+        assertThat(Failures.isRetryable(
+                new OAuthErrorException("failed", new OAuthErrorResponse("temporarily_unavailable", null, null))
+        )).isTrue();
+        assertThat(Failures.isRetryable(
+                new OAuthErrorException("failed", new OAuthErrorResponse("server_error", null, null))
+        )).isTrue();
+        assertThat(Failures.isRetryable(
+                new OAuthErrorException("failed", new OAuthErrorResponse("invalid_grant", null, null))
+        )).isFalse();
+        assertThat(Failures.isRetryable(new IllegalStateException())).isFalse();
+    }
+
+}
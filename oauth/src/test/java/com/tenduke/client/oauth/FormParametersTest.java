@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class FormParametersTest {
+
+    @Test
+    public void shouldAppendEncodedParameters() {
+        final StringBuilder body = new StringBuilder();
+
+        FormParameters.append(body, "scope", "a b");
+        FormParameters.append(body, "client_id", "ä&=");
+
+        assertThat(body).hasToString("scope=a+b&client_id=%C3%A4%26%3D");
+    }
+
+    @Test
+    public void shouldSkipNullValues() {
+        final StringBuilder body = new StringBuilder();
+
+        FormParameters.append(body, "token", "t0k3n");
+        FormParameters.append(body, "token_type_hint", null);
+
+        assertThat(body).hasToString("token=t0k3n");
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class FuturesTest {
+
+    @Test
+    public void shouldUnwrapCompletionException() {
+        final IOException cause = new IOException();
+
+        assertThat(Futures.unwrap(new CompletionException(cause))).isSameAs(cause);
+    }
+
+    @Test
+    public void shouldNotUnwrapOtherExceptions() {
+        final IllegalStateException error = new IllegalStateException(new IOException());
+        final CompletionException causeless = new CompletionException("failed", null);
+
+        assertThat(Futures.unwrap(error)).isSameAs(error);
+        assertThat(Futures.unwrap(causeless)).isSameAs(causeless);
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import org.junit.Test;
+
+public class HttpTransportConfigTest {
+
+    @Test
+    public void defaultShouldPreferHttp2() {
+        assertThat(HttpTransportConfig.DEFAULT.getVersion()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(HttpTransportConfig.DEFAULT.getConnectTimeout()).isEqualTo(HttpTransportConfig.DEFAULT_CONNECT_TIMEOUT);
+        assertThat(HttpTransportConfig.DEFAULT.getRequestTimeout()).isEqualTo(HttpTransportConfig.DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    @Test
+    public void defaultShouldUseVirtualThreadsIfAvailable() {
+        assertThat(HttpTransportConfig.DEFAULT.getExecutor().isPresent())
+                .isEqualTo(HttpTransportConfig.virtualThreadExecutor().isPresent());
+    }
+
+    @Test
+    public void newHttpClientShouldApplyConfiguration() {
+        final Executor executor = Runnable::run;
+        final HttpTransportConfig config = new HttpTransportConfig(
+                HttpClient.Version.HTTP_1_1,
+                Duration.ofSeconds(3),
+                Duration.ofSeconds(30),
+                executor
+        );
+
+        final HttpClient client = config.newHttpClient();
+
+        assertThat(client.version()).isEqualTo(HttpClient.Version.HTTP_1_1);
+        assertThat(client.connectTimeout()).contains(Duration.ofSeconds(3));
+        assertThat(client.followRedirects()).isEqualTo(HttpClient.Redirect.ALWAYS);
+        assertThat(client.executor()).contains(executor);
+    }
+
+    @Test
+    public void newHttpClientShouldUseDefaultExecutorIfNoneGiven() {
+        final HttpTransportConfig config = new HttpTransportConfig(
+                HttpClient.Version.HTTP_2,
+                Duration.ofSeconds(3),
+                Duration.ofSeconds(30),
+                null
+        );
+
+        assertThat(config.getExecutor()).isEmpty();
+        assertThat(config.newHttpClient().executor()).isEmpty();
+    }
+
+    @Test
+    public void shouldRejectNonPositiveTimeouts() {
+        assertThatIllegalArgumentException().isThrownBy(() -> {
+            new HttpTransportConfig(HttpClient.Version.HTTP_2, Duration.ZERO, Duration.ofSeconds(1), null);
+        });
+        assertThatIllegalArgumentException().isThrownBy(() -> {
+            new HttpTransportConfig(HttpClient.Version.HTTP_2, Duration.ofSeconds(1), Duration.ofSeconds(-1), null);
+        });
+    }
+
+}
@@ -33,6 +33,61 @@ public class QueryParserTest {
         );
     }
 
+    @Test
+    public void splitModeShouldParseValidQueryString() {
+        assertThat(new QueryParser(UTF_8, QueryParser.Mode.SPLIT).from("hello=world&hello=you&empty%20object=%7B%7D&no-val")).containsOnly(
+                entry("empty object", List.of("{}")),
+                entry("hello", List.of("world", "you")),
+                entry("no-val", List.of())
+        );
+    }
+
+    @Test
+    public void splitModeShouldDropTextAfterSecondSeparator() {
+        assertThat(new QueryParser(UTF_8, QueryParser.Mode.SPLIT).from("code=abc==")).containsOnly(entry("code", List.of("abc")));
+    }
+
+    @Test
+    public void shouldKeepFullValueContainingSeparator() {
+        assertThat(parseQuery.from("code=YWJjZA==&state=x=y")).containsOnly(
+                entry("code", List.of("YWJjZA==")),
+                entry("state", List.of("x=y"))
+        );
+    }
+
+    @Test
+    public void shouldDecodePlusAndPercentEscapes() {
+        assertThat(parseQuery.from("error_description=Access+denied%21&a%26b=c%3Dd")).containsOnly(
+                entry("error_description", List.of("Access denied!")),
+                entry("a&b", List.of("c=d"))
+        );
+    }
+
+    @Test
+    public void shouldTreatEmptyValueAsMissingAndSkipEmptyPairs() {
+        assertThat(parseQuery.from("a=&&b&c=1&")).containsOnly(
+                entry("a", List.of()),
+                entry("b", List.of()),
+                entry("c", List.of("1"))
+        );
+        assertThat(parseQuery.from("")).isEmpty();
+    }
+
+    @Test
+    public void shouldNotDecodeValuesWithoutEscapes() {
+        final QueryParser parser = new QueryParser(UTF_8) {
+            @Override
+            protected String decode(final String value) {
+                throw new AssertionError("Should not decode " + value);
+            }
+        };
+
+        assertThat(parser.from("code=SplxlOBeZQQYbYS6WxSbIA&state=abc")).containsOnly(
+                entry("code", List.of("SplxlOBeZQQYbYS6WxSbIA")),
+                entry("state", List.of("abc"))
+        );
+    }
+
     @Test
     public void decodeShouldReturnNullIfProvidedNull() {
         assertThat(parseQuery.decode(null)).isNull();
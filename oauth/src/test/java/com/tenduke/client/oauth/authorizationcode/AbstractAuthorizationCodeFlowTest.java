@@ -17,6 +17,8 @@ import java.net.http.HttpClient;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
 import org.junit.Before;
@@ -88,6 +90,21 @@ public class AbstractAuthorizationCodeFlowTest {
         });
     }
 
+    @Test
+    public void processAsyncShouldReturnNullIfNotRedirectUri() throws Exception {
+        assertThat(flow.processAsync("10duke://callback/?code=open-sesame&state=alaska", Runnable::run).get()).isNull();
+    }
+
+    @Test
+    public void processAsyncShouldCompleteWithOAuthSecurityExceptionIfStateDoesNotMatch() {
+        final CompletableFuture<AuthorizationCodeResponse> result =
+                flow.processAsync("tenduke://callback/?code=open-sesame&state=florida", Runnable::run);
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(result::get)
+                .withCauseInstanceOf(OAuthSecurityException.class);
+    }
+
     // <editor-fold defaultstate="collapsed" desc="Class implementation">
 
     private static class Flow extends AbstractAuthorizationCodeFlow<
@@ -15,10 +15,16 @@ import com.tenduke.client.oauth.exceptions.OAuthException;
 import com.tenduke.client.oauth.exceptions.OAuthNetworkException;
 import com.tenduke.client.oauth.exceptions.OAuthServerException;
 import static com.tenduke.client.testutils.HttpClientTestUtil.stubHttp;
+import static com.tenduke.client.testutils.HttpClientTestUtil.stubHttpAsync;
+import static com.tenduke.client.testutils.HttpClientTestUtil.stubHttpAsyncToFailWithIOException;
 import static com.tenduke.client.testutils.HttpClientTestUtil.stubHttpToThrowIOException;
+import static com.tenduke.client.testutils.JsonDeserializerTestUtil.mockJsonDeserializer;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import org.junit.Before;
@@ -35,7 +41,7 @@ public class AbstractTokenRequestTest {
     @Before
     public void beforeTest() {
         http = mock(HttpClient.class);
-        json = mock(JsonDeserializer.class);
+        json = mockJsonDeserializer();
         request = new Impl(http, json, "rq", "alaska", URI.create("https://example.com/token"));
     }
 
@@ -101,6 +107,54 @@ public class AbstractTokenRequestTest {
                 .withCauseInstanceOf(JsonDeserializationException.class);
     }
 
+    @Test
+    public void shouldExchangeCodeToTokenAsynchronously() throws Exception {
+        final AuthorizationCodeResponse response = new AuthorizationCodeResponse("a-t", "r-t", 42, "t-t");
+
+        stubHttpAsync(http, "POST", "https://example.com/token", 200, "SIMULATED RESPONSE");
+
+        when(json.deserialize("SIMULATED RESPONSE", AuthorizationCodeResponse.class)).thenReturn(response);
+
+        assertThat(request.callAsync().get()).isSameAs(response);
+    }
+
+    @Test
+    public void asynchronousTokenExchangeShouldCompleteWithOAuthNetworkExceptionIfHttpClientFails() throws Exception {
+        stubHttpAsyncToFailWithIOException(http, "POST", "https://example.com/token");
+
+        assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> {
+            request.callAsync().get();
+        })
+                .withCauseInstanceOf(OAuthNetworkException.class)
+                .withRootCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void asynchronousTokenExchangeShouldCompleteWithOAuthErrorExceptionIfHttpStatusCodeIndicatesError() throws Exception {
+        stubHttpAsync(http, "POST", "https://example.com/token", 400, "SIMULATED RESPONSE");
+
+        final OAuthErrorResponse error = new OAuthErrorResponse("simulated failure", null, null);
+
+        when(json.deserialize("SIMULATED RESPONSE", OAuthErrorResponse.class)).thenReturn(error);
+
+        assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> {
+            request.callAsync().get();
+        })
+                .withCauseInstanceOf(OAuthErrorException.class);
+    }
+
+    @Test
+    public void shouldUseDefaultRequestTimeout() {
+        assertThat(request.buildHttpRequest().timeout()).contains(Duration.ofMinutes(2));
+    }
+
+    @Test
+    public void shouldUseConfiguredRequestTimeout() {
+        final Impl timed = new Impl(http, json, "rq", "alaska", URI.create("https://example.com/token"), Duration.ofSeconds(5));
+
+        assertThat(timed.buildHttpRequest().timeout()).contains(Duration.ofSeconds(5));
+    }
+
     @Test
     public void testIsSuccessfulResponse() {
         assertThat(request.isSuccessfulResponse(199)).isFalse();
@@ -117,11 +171,25 @@ public class AbstractTokenRequestTest {
             super(httpClient, json, request, state, tokenEndpoint);
         }
 
+        public Impl(HttpClient httpClient, JsonDeserializer json, String request, String state, URI tokenEndpoint, Duration timeout) {
+            super(httpClient, json, request, state, tokenEndpoint, timeout);
+        }
+
         @Override
         protected AuthorizationCodeResponse deserializeTokenResponse(final String body) throws JsonDeserializationException, OAuthException {
             return super.deserialize(body, AuthorizationCodeResponse.class);
         }
 
+        @Override
+        protected HttpRequest buildHttpRequest() {
+            return super.buildHttpRequest();
+        }
+
+        @Override
+        protected boolean isSuccessfulResponse(final int httpStatusCode) {
+            return super.isSuccessfulResponse(httpStatusCode);
+        }
+
     }
 
 }
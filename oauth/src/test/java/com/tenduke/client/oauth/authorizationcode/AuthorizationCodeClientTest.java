@@ -9,10 +9,12 @@ package com.tenduke.client.oauth.authorizationcode;
 
 import com.tenduke.client.json.JsonDeserializationException;
 import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.OAuthErrorResponse;
 import com.tenduke.client.oauth.QueryParser;
 import com.tenduke.client.oauth.exceptions.OAuthException;
 import com.tenduke.client.testutils.ChecksumUtil;
 import com.tenduke.client.testutils.HttpClientTestUtil;
+import static com.tenduke.client.testutils.JsonDeserializerTestUtil.mockJsonDeserializer;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -23,7 +25,9 @@ import java.nio.charset.StandardCharsets;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 import org.junit.Before;
@@ -42,7 +46,7 @@ public class AuthorizationCodeClientTest {
     private JsonDeserializer json;
     private HttpClient http;
     private ArgumentCaptor<HttpRequest> requestArg;
-    private ArgumentCaptor<HttpResponse.BodyHandler<String>> handlerArg;
+    private ArgumentCaptor<HttpResponse.BodyHandler<byte[]>> handlerArg;
     private Random random;
     private Random randomSpy;
 
@@ -59,7 +63,7 @@ public class AuthorizationCodeClientTest {
         );
 
         http = mock(HttpClient.class);
-        json = mock(JsonDeserializer.class);
+        json = mockJsonDeserializer();
         random = new Random();
         randomSpy = spy(random);
 
@@ -74,6 +78,11 @@ public class AuthorizationCodeClientTest {
         handlerArg = ArgumentCaptor.forClass(HttpResponse.BodyHandler.class);
     }
 
+    @Test
+    public void shouldPrepareJsonDeserializerForTokenResponses() {
+        verify(json).prepare(AuthorizationCodeResponse.class, OAuthErrorResponse.class);
+    }
+
     @Test
     public void shouldUsePKCEIfConfigured() throws InterruptedException, IOException, JsonDeserializationException, OAuthException {
         config = new AuthorizationCodeConfig(
@@ -221,6 +230,38 @@ public class AuthorizationCodeClientTest {
         });
     }
 
+    @Test
+    public void shouldRefreshATokenAsynchronously() throws Exception {
+        HttpClientTestUtil.stubHttpAsync(http, "POST", "http://example.com/token", 200, RESPONSE);
+
+        final AuthorizationCodeResponse expected = new AuthorizationCodeResponse("open-sesame", "water", 42, "Bearer");
+
+        when(json.deserialize(RESPONSE, AuthorizationCodeResponse.class)).thenReturn(expected);
+
+        assertThat(client.refreshAsync("1-2-3-4-5").get()).isSameAs(expected);
+
+        verify(http, times(1)).sendAsync(requestArg.capture(), handlerArg.capture());
+    }
+
+    @Test
+    public void shouldRefreshATokenOnGivenExecutor() throws Exception {
+        HttpClientTestUtil.stubHttp(http, "POST", "http://example.com/token", 200, RESPONSE);
+
+        final AuthorizationCodeResponse expected = new AuthorizationCodeResponse("open-sesame", "water", 42, "Bearer");
+        final AtomicInteger executions = new AtomicInteger();
+        final Executor executor = task -> {
+            executions.incrementAndGet();
+            task.run();
+        };
+
+        when(json.deserialize(RESPONSE, AuthorizationCodeResponse.class)).thenReturn(expected);
+
+        assertThat(client.refreshAsync("1-2-3-4-5", executor).get()).isSameAs(expected);
+        assertThat(executions).hasValue(1);
+
+        verify(http, times(1)).send(requestArg.capture(), handlerArg.capture());
+    }
+
     @Test
     public void shouldConstructWithOnlyConfig() {
         assertThat(new AuthorizationCodeClient(config).request()).isNotNull();
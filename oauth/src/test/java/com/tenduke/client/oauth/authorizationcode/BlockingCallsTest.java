@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.authorizationcode;
+
+import com.tenduke.client.oauth.OAuthResponse;
+import com.tenduke.client.oauth.exceptions.OAuthNetworkException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BlockingCallsTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void beforeTest() {
+        executor = Executors.newSingleThreadExecutor(task -> new Thread(task, "blocking-calls-test"));
+    }
+
+    @After
+    public void afterTest() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shouldRunCallOnExecutor() throws Exception {
+        final CompletableFuture<String> result = BlockingCalls.callAsync(() -> Thread.currentThread().getName(), executor);
+
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("blocking-calls-test");
+    }
+
+    @Test
+    public void shouldCompleteWithTheExceptionThrownByTheCall() {
+        final OAuthNetworkException failure = new OAuthNetworkException("Simulated", new RuntimeException());
+        final CompletableFuture<String> result = BlockingCalls.callAsync(() -> {
+            throw failure;
+        }, executor);
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+                .withCause(failure);
+    }
+
+    @Test
+    public void shouldCompleteWithRejectedExecutionExceptionIfExecutorRejects() {
+        executor.shutdown();
+
+        final CompletableFuture<String> result = BlockingCalls.callAsync(() -> "never", executor);
+
+        assertThat(result).isCompletedExceptionally();
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(result::get)
+                .withCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void tokenRequestShouldDefaultToBlockingCallOnCommonPool() throws Exception {
+        final OAuthResponse response = new OAuthResponse("t0k3n", 3600, "Bearer");
+        final TokenRequest<OAuthResponse> request = () -> response;
+
+        assertThat(request.callAsync().get(1, TimeUnit.SECONDS)).isSameAs(response);
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.authorizationcode;
+
+import com.tenduke.client.oauth.OAuthErrorResponse;
+import com.tenduke.client.oauth.exceptions.OAuthErrorException;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RefreshCoordinatorTest {
+
+    private Function<String, CompletableFuture<AuthorizationCodeResponse>> refresher;
+    private RefreshCoordinator<AuthorizationCodeResponse> coordinator;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void beforeTest() {
+        refresher = mock(Function.class);
+        coordinator = new RefreshCoordinator<>(refresher);
+    }
+
+    @Test
+    public void concurrentRefreshesWithSameTokenShouldShareOneRequest() throws Exception {
+        final CompletableFuture<AuthorizationCodeResponse> pending = new CompletableFuture<>();
+        final AuthorizationCodeResponse response = new AuthorizationCodeResponse("a-t", "r-t", 42, "Bearer");
+
+        when(refresher.apply("r-t")).thenReturn(pending);
+
+        final CompletableFuture<AuthorizationCodeResponse> first = coordinator.refreshAsync("r-t");
+        final CompletableFuture<AuthorizationCodeResponse> second = coordinator.refreshAsync("r-t");
+
+        assertThat(coordinator.inFlightCount()).isEqualTo(1);
+        assertThat(coordinator.isRefreshing("r-t")).isTrue();
+        assertThat(coordinator.isRefreshing("other")).isFalse();
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+
+        pending.complete(response);
+
+        assertThat(first.get()).isSameAs(response);
+        assertThat(second.get()).isSameAs(response);
+        assertThat(coordinator.inFlightCount()).isZero();
+        assertThat(coordinator.isRefreshing("r-t")).isFalse();
+
+        verify(refresher, times(1)).apply("r-t");
+    }
+
+    @Test
+    public void refreshesWithDifferentTokensShouldNotBeCoalesced() {
+        when(refresher.apply("r-t-1")).thenReturn(new CompletableFuture<>());
+        when(refresher.apply("r-t-2")).thenReturn(new CompletableFuture<>());
+
+        coordinator.refreshAsync("r-t-1");
+        coordinator.refreshAsync("r-t-2");
+
+        assertThat(coordinator.inFlightCount()).isEqualTo(2);
+
+        verify(refresher, times(1)).apply("r-t-1");
+        verify(refresher, times(1)).apply("r-t-2");
+    }
+
+    @Test
+    public void shouldStartNewRefreshAfterPreviousCompleted() throws Exception {
+        final AuthorizationCodeResponse response = new AuthorizationCodeResponse("a-t", "r-t", 42, "Bearer");
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.completedFuture(response));
+
+        assertThat(coordinator.refresh("r-t")).isSameAs(response);
+        assertThat(coordinator.refresh("r-t")).isSameAs(response);
+
+        verify(refresher, times(2)).apply("r-t");
+    }
+
+    @Test
+    public void allWaitersShouldReceiveTheSameFailure() {
+        final CompletableFuture<AuthorizationCodeResponse> pending = new CompletableFuture<>();
+        final OAuthErrorException failure = new OAuthErrorException("simulated", new OAuthErrorResponse("invalid_grant", null, null));
+
+        when(refresher.apply("r-t")).thenReturn(pending);
+
+        final CompletableFuture<AuthorizationCodeResponse> first = coordinator.refreshAsync("r-t");
+        final CompletableFuture<AuthorizationCodeResponse> second = coordinator.refreshAsync("r-t");
+
+        pending.completeExceptionally(failure);
+
+        assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> first.get()).withCause(failure);
+        assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> second.get()).withCause(failure);
+        assertThat(coordinator.inFlightCount()).isZero();
+    }
+
+    @Test
+    public void blockingRefreshShouldThrowTheOAuthException() {
+        final OAuthErrorException failure = new OAuthErrorException("simulated", new OAuthErrorResponse("invalid_grant", null, null));
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.failedFuture(failure));
+
+        assertThatExceptionOfType(OAuthErrorException.class).isThrownBy(() -> coordinator.refresh("r-t")).isSameAs(failure);
+    }
+
+    @Test
+    public void blockingRefreshShouldWrapUnexpectedCheckedFailure() {
+        final Exception failure = new Exception("simulated");
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.failedFuture(failure));
+
+        assertThatExceptionOfType(OAuthException.class)
+                .isThrownBy(() -> coordinator.refresh("r-t"))
+                .withMessage("Token refresh failed")
+                .withCause(failure);
+    }
+
+    @Test
+    public void cancellingOneWaiterShouldNotCancelTheRefresh() throws Exception {
+        final CompletableFuture<AuthorizationCodeResponse> pending = new CompletableFuture<>();
+        final AuthorizationCodeResponse response = new AuthorizationCodeResponse("a-t", "r-t", 42, "Bearer");
+
+        when(refresher.apply("r-t")).thenReturn(pending);
+
+        final CompletableFuture<AuthorizationCodeResponse> first = coordinator.refreshAsync("r-t");
+        final CompletableFuture<AuthorizationCodeResponse> second = coordinator.refreshAsync("r-t");
+
+        first.cancel(true);
+        pending.complete(response);
+
+        assertThat(second.get()).isSameAs(response);
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyIfRefresherThrows() {
+        final IllegalStateException failure = new IllegalStateException("simulated");
+
+        when(refresher.apply("r-t")).thenThrow(failure);
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> coordinator.refresh("r-t")).isSameAs(failure);
+        assertThat(coordinator.inFlightCount()).isZero();
+    }
+
+}
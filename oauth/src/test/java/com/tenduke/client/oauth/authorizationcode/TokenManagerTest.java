@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.authorizationcode;
+
+import com.tenduke.client.oauth.OAuthErrorResponse;
+import com.tenduke.client.oauth.exceptions.OAuthErrorException;
+import com.tenduke.client.oauth.exceptions.OAuthNetworkException;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TokenManagerTest {
+
+    private Function<String, CompletableFuture<AuthorizationCodeResponse>> refresher;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> scheduled;
+    private ArgumentCaptor<Runnable> task;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void beforeTest() {
+        refresher = mock(Function.class);
+        scheduler = mock(ScheduledExecutorService.class);
+        scheduled = mock(ScheduledFuture.class);
+        task = ArgumentCaptor.forClass(Runnable.class);
+
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).then(invocation -> scheduled);
+    }
+
+    @Test
+    public void shouldReturnInitialTokenBeforeRefresh() {
+        final AuthorizationCodeResponse initial = new AuthorizationCodeResponse("a-t", "r-t", 100, "Bearer");
+        final TokenManager<AuthorizationCodeResponse> manager = new TokenManager<>(refresher, initial, scheduler);
+
+        assertThat(manager.getToken()).isSameAs(initial);
+        assertThat(manager.getAccessToken()).isEqualTo("a-t");
+    }
+
+    @Test
+    public void shouldScheduleRefreshAtFractionOfLifetimeWithJitter() {
+        final AuthorizationCodeResponse initial = new AuthorizationCodeResponse("a-t", "r-t", 100, "Bearer");
+
+        new TokenManager<>(refresher, initial, scheduler, 0.5, 0.2, Duration.ofSeconds(1), fixedRandom(0.5)).start();
+
+        // 100 s * 0.5 = 50 s, minus jitter of 0.2 * 0.5 = 10 % => 45 s
+        verify(scheduler).schedule(any(Runnable.class), eq(45_000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldReplaceTokenAndKeepRefreshTokenIfResponseDoesNotContainOne() {
+        final AuthorizationCodeResponse initial = new AuthorizationCodeResponse("a-t", "r-t", 100, "Bearer");
+        final AuthorizationCodeResponse refreshed = new AuthorizationCodeResponse("a-t-2", null, 200, "Bearer");
+        final AuthorizationCodeResponse refreshedAgain = new AuthorizationCodeResponse("a-t-3", "r-t-3", 200, "Bearer");
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.completedFuture(refreshed));
+
+        final TokenManager<AuthorizationCodeResponse> manager = new TokenManager<>(
+                refresher, initial, scheduler, 1.0, 0.0, Duration.ofSeconds(1), fixedRandom(0.0)
+        ).start();
+
+        verify(scheduler).schedule(task.capture(), eq(100_000L), eq(TimeUnit.MILLISECONDS));
+
+        task.getValue().run();
+
+        assertThat(manager.getAccessToken()).isEqualTo("a-t-2");
+        verify(scheduler).schedule(any(Runnable.class), eq(200_000L), eq(TimeUnit.MILLISECONDS));
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.completedFuture(refreshedAgain));
+
+        manager.refreshNow().join();
+
+        assertThat(manager.getToken()).isSameAs(refreshedAgain);
+    }
+
+    @Test
+    public void shouldKeepTokenAndRetryIfRefreshFails() {
+        final AuthorizationCodeResponse initial = new AuthorizationCodeResponse("a-t", "r-t", 100, "Bearer");
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.failedFuture(
+                new OAuthNetworkException("simulated", new IOException("simulated"))
+        ));
+
+        final TokenManager<AuthorizationCodeResponse> manager = new TokenManager<>(
+                refresher, initial, scheduler, 1.0, 0.0, Duration.ofSeconds(3), fixedRandom(0.0)
+        ).start();
+
+        verify(scheduler).schedule(task.capture(), eq(100_000L), eq(TimeUnit.MILLISECONDS));
+
+        task.getValue().run();
+
+        assertThat(manager.getToken()).isSameAs(initial);
+        verify(scheduler).schedule(any(Runnable.class), eq(3_000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldBackOffOnConsecutiveFailuresUpToMaximum() {
+        final AuthorizationCodeResponse initial = new AuthorizationCodeResponse("a-t", "r-t", 100, "Bearer");
+        final AuthorizationCodeResponse refreshed = new AuthorizationCodeResponse("a-t-2", "r-t", 100, "Bearer");
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.failedFuture(
+                new OAuthNetworkException("simulated", new IOException("simulated"))
+        ));
+
+        new TokenManager<>(
+                refresher, initial, scheduler, 1.0, 0.0, Duration.ofSeconds(3), Duration.ofSeconds(10), fixedRandom(0.0)
+        ).start();
+
+        verify(scheduler).schedule(task.capture(), eq(100_000L), eq(TimeUnit.MILLISECONDS));
+        task.getValue().run();
+        verify(scheduler).schedule(task.capture(), eq(3_000L), eq(TimeUnit.MILLISECONDS));
+        task.getValue().run();
+        verify(scheduler).schedule(task.capture(), eq(6_000L), eq(TimeUnit.MILLISECONDS));
+        task.getValue().run();
+        verify(scheduler).schedule(task.capture(), eq(10_000L), eq(TimeUnit.MILLISECONDS));
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.completedFuture(refreshed));
+        task.getValue().run();
+
+        verify(scheduler, times(2)).schedule(any(Runnable.class), eq(100_000L), eq(TimeUnit.MILLISECONDS));
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.failedFuture(
+                new OAuthNetworkException("simulated", new IOException("simulated"))
+        ));
+        task.getValue().run();
+
+        // Failure count was reset by the successful refresh
+        verify(scheduler, times(2)).schedule(any(Runnable.class), eq(3_000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldNotRetryPermanentFailureAndFailOnceTokenHasExpired() {
+        final AuthorizationCodeResponse initial = new AuthorizationCodeResponse("a-t", "r-t", 100, "Bearer");
+        final AuthorizationCodeResponse refreshed = new AuthorizationCodeResponse("a-t-2", "r-t-2", 100, "Bearer");
+        final OAuthErrorException rejected = new OAuthErrorException(
+                "Refresh failed", new OAuthErrorResponse("invalid_grant", null, null)
+        );
+        final MutableClock clock = new MutableClock(Instant.parse("2019-11-01T12:00:00Z"));
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.failedFuture(rejected));
+
+        final TokenManager<AuthorizationCodeResponse> manager = new TokenManager<>(
+                refresher, initial, scheduler, 0.5, 0.0, Duration.ofSeconds(3), Duration.ofSeconds(10), fixedRandom(0.0), clock
+        ).start();
+
+        verify(scheduler).schedule(task.capture(), eq(50_000L), eq(TimeUnit.MILLISECONDS));
+
+        clock.now = clock.now.plusSeconds(50);
+        task.getValue().run();
+
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        assertThat(manager.getFailure()).isSameAs(rejected);
+        assertThat(manager.getToken()).isSameAs(initial);
+
+        clock.now = clock.now.plusSeconds(50);
+
+        assertThatIllegalStateException().isThrownBy(() -> manager.getAccessToken()).withCause(rejected);
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.completedFuture(refreshed));
+
+        manager.refreshNow().join();
+
+        assertThat(manager.getFailure()).isNull();
+        assertThat(manager.getAccessToken()).isEqualTo("a-t-2");
+    }
+
+    @Test
+    public void shouldRetryIfRefresherThrows() {
+        final AuthorizationCodeResponse initial = new AuthorizationCodeResponse("a-t", "r-t", 100, "Bearer");
+
+        when(refresher.apply("r-t")).thenThrow(new IllegalStateException("simulated"));
+
+        new TokenManager<>(refresher, initial, scheduler, 1.0, 0.0, Duration.ofSeconds(3), fixedRandom(0.0)).start();
+
+        verify(scheduler).schedule(task.capture(), eq(100_000L), eq(TimeUnit.MILLISECONDS));
+
+        task.getValue().run();
+
+        verify(scheduler).schedule(any(Runnable.class), eq(3_000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void refreshNowShouldReplaceScheduledRefresh() {
+        final AuthorizationCodeResponse initial = new AuthorizationCodeResponse("a-t", "r-t", 100, "Bearer");
+        final AuthorizationCodeResponse refreshed = new AuthorizationCodeResponse("a-t-2", "r-t", 200, "Bearer");
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.completedFuture(refreshed));
+
+        final TokenManager<AuthorizationCodeResponse> manager = new TokenManager<>(
+                refresher, initial, scheduler, 1.0, 0.0, Duration.ofSeconds(1), fixedRandom(0.0)
+        ).start();
+
+        manager.refreshNow().join();
+
+        verify(scheduled).cancel(false);
+        verify(scheduler).schedule(any(Runnable.class), eq(200_000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void concurrentRefreshesShouldShareOneRequest() {
+        final AuthorizationCodeResponse initial = new AuthorizationCodeResponse("a-t", "r-t", 100, "Bearer");
+        final AuthorizationCodeResponse refreshed = new AuthorizationCodeResponse("a-t-2", "r-t", 200, "Bearer");
+        final CompletableFuture<AuthorizationCodeResponse> pending = new CompletableFuture<>();
+
+        when(refresher.apply("r-t")).thenReturn(pending);
+
+        final TokenManager<AuthorizationCodeResponse> manager = new TokenManager<>(
+                refresher, initial, scheduler, 1.0, 0.0, Duration.ofSeconds(1), fixedRandom(0.0)
+        );
+
+        final CompletableFuture<AuthorizationCodeResponse> first = manager.refreshNow();
+        final CompletableFuture<AuthorizationCodeResponse> second = manager.refreshNow();
+
+        pending.complete(refreshed);
+
+        assertThat(first.join()).isSameAs(refreshed);
+        assertThat(second.join()).isSameAs(refreshed);
+        verify(refresher, times(1)).apply("r-t");
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldNotScheduleRefreshWithoutLifetimeOrRefreshToken() {
+        new TokenManager<>(refresher, new AuthorizationCodeResponse("a-t", "r-t", -1, "Bearer"), scheduler).start();
+        new TokenManager<>(refresher, new AuthorizationCodeResponse("a-t", null, 100, "Bearer"), scheduler).start();
+
+        verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void refreshNowShouldFailWithoutRefreshToken() {
+        final TokenManager<AuthorizationCodeResponse> manager = new TokenManager<>(
+                refresher, new AuthorizationCodeResponse("a-t", null, 100, "Bearer"), scheduler
+        );
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> manager.refreshNow());
+    }
+
+    @Test
+    public void closeShouldCancelScheduledRefreshAndStopScheduling() {
+        final AuthorizationCodeResponse initial = new AuthorizationCodeResponse("a-t", "r-t", 100, "Bearer");
+        final AuthorizationCodeResponse refreshed = new AuthorizationCodeResponse("a-t-2", "r-t-2", 100, "Bearer");
+
+        when(refresher.apply("r-t")).thenReturn(CompletableFuture.completedFuture(refreshed));
+
+        final TokenManager<AuthorizationCodeResponse> manager = new TokenManager<>(refresher, initial, scheduler).start();
+
+        manager.close();
+
+        verify(scheduled).cancel(false);
+
+        manager.refreshNow().join();
+
+        assertThat(manager.getToken()).isSameAs(refreshed);
+        verify(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldRejectInvalidFractions() {
+        final AuthorizationCodeResponse initial = new AuthorizationCodeResponse("a-t", "r-t", 100, "Bearer");
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> {
+            new TokenManager<>(refresher, initial, scheduler, 0.0, 0.1, Duration.ofSeconds(1), new Random());
+        });
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> {
+            new TokenManager<>(refresher, initial, scheduler, 0.8, 1.0, Duration.ofSeconds(1), new Random());
+        });
+    }
+
+    private static Random fixedRandom(final double value) {
+        return new Random() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public double nextDouble() {
+                return value;
+            }
+        };
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+    }
+
+}
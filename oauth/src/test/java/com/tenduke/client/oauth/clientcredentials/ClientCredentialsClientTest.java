@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.clientcredentials;
+
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.OAuthErrorResponse;
+import com.tenduke.client.oauth.QueryParser;
+import com.tenduke.client.oauth.exceptions.OAuthErrorException;
+import com.tenduke.client.testutils.HttpClientTestUtil;
+import static com.tenduke.client.testutils.JsonDeserializerTestUtil.mockJsonDeserializer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.entry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClientCredentialsClientTest {
+
+    private static final Instant NOW = Instant.parse("2019-11-01T12:00:00Z");
+
+    private static final String RESPONSE = "{\"access_token\": \"open-sesame\", \"token_type\": \"Bearer\", \"expires_in\": 100}";
+
+    private static final String TOKEN_ENDPOINT = "https://example.com/token";
+
+    private final ClientCredentialsResponse first = new ClientCredentialsResponse("first", 100, "Bearer");
+    private final ClientCredentialsResponse second = new ClientCredentialsResponse("second", 100, "Bearer");
+
+    private MutableClock clock;
+    private HttpClient http;
+    private JsonDeserializer json;
+    private ClientCredentialsClient client;
+
+    @Before
+    public void beforeTest() throws Exception {
+        clock = new MutableClock(NOW);
+        http = mock(HttpClient.class);
+        json = mockJsonDeserializer();
+        client = new ClientCredentialsClient(
+                new ClientCredentialsConfig("service", "s3cret", URI.create(TOKEN_ENDPOINT)),
+                http,
+                json,
+                Duration.ofSeconds(5),
+                0.8,
+                clock
+        );
+
+        when(json.deserialize(RESPONSE, ClientCredentialsResponse.class)).thenReturn(first, second);
+    }
+
+    @Test
+    public void shouldRequestTokenWithClientCredentials() throws Exception {
+        HttpClientTestUtil.stubHttpAsync(http, "POST", TOKEN_ENDPOINT, 200, RESPONSE);
+
+        assertThat(client.getToken(Set.of("b", "a"))).isSameAs(first);
+
+        final ArgumentCaptor<HttpRequest> requestArg = ArgumentCaptor.forClass(HttpRequest.class);
+
+        verify(http, times(1)).sendAsync(requestArg.capture(), any());
+
+        assertThat(requestArg.getValue().timeout()).contains(Duration.ofSeconds(5));
+
+        requestArg.getValue().bodyPublisher().get().subscribe(new TestSubscriber() {
+            @Override
+            public void onNext(final ByteBuffer item) {
+                assertThat(new QueryParser(UTF_8).from(UTF_8.decode(item).toString())).containsOnly(
+                        entry("grant_type", List.of("client_credentials")),
+                        entry("scope", List.of("a b")),
+                        entry("client_id", List.of("service")),
+                        entry("client_secret", List.of("s3cret"))
+                );
+            }
+        });
+    }
+
+    @Test
+    public void shouldServeCachedTokenUntilRefreshIsDue() throws Exception {
+        HttpClientTestUtil.stubHttpAsync(http, "POST", TOKEN_ENDPOINT, 200, RESPONSE);
+
+        assertThat(client.getToken(Set.of("a"))).isSameAs(first);
+
+        clock.now = NOW.plusSeconds(79);
+
+        assertThat(client.getToken(Set.of("a"))).isSameAs(first);
+        assertThat(client.getTokenAsync(Set.of("a")).get()).isSameAs(first);
+
+        verify(http, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void shouldServeCachedTokenAndRefreshInBackgroundWhenRefreshIsDue() throws Exception {
+        HttpClientTestUtil.stubHttpAsync(http, "POST", TOKEN_ENDPOINT, 200, RESPONSE);
+
+        assertThat(client.getToken(Set.of("a"))).isSameAs(first);
+
+        clock.now = NOW.plusSeconds(80);
+
+        // The stubbed HTTP-client completes immediately, so the background refresh has completed when the cached token is returned:
+        assertThat(client.getToken(Set.of("a"))).isSameAs(first);
+        assertThat(client.getToken(Set.of("a"))).isSameAs(second);
+
+        verify(http, times(2)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void shouldRequestNewTokenWhenCachedTokenHasExpired() throws Exception {
+        HttpClientTestUtil.stubHttpAsync(http, "POST", TOKEN_ENDPOINT, 200, RESPONSE);
+
+        assertThat(client.getToken(Set.of("a"))).isSameAs(first);
+
+        clock.now = NOW.plusSeconds(100);
+
+        assertThat(client.getToken(Set.of("a"))).isSameAs(second);
+    }
+
+    @Test
+    public void shouldCacheTokensPerScopeSet() throws Exception {
+        HttpClientTestUtil.stubHttpAsync(http, "POST", TOKEN_ENDPOINT, 200, RESPONSE);
+
+        assertThat(client.getToken(Set.of("a", "b"))).isSameAs(first);
+        assertThat(client.getToken(Set.of("a"))).isSameAs(second);
+        assertThat(client.getToken(Set.of("b", "a"))).isSameAs(first);
+    }
+
+    @Test
+    public void concurrentCallersShouldShareSingleTokenRequest() throws Exception {
+        final CompletableFuture<HttpResponse<Object>> pending = new CompletableFuture<>();
+
+        when(http.sendAsync(any(), any())).thenAnswer(invocation -> pending);
+
+        final CompletableFuture<ClientCredentialsResponse> a = client.getTokenAsync(Set.of("a"));
+        final CompletableFuture<ClientCredentialsResponse> b = client.getTokenAsync(Set.of("a"));
+
+        assertThat(a).isNotDone();
+        assertThat(b).isNotDone();
+
+        pending.complete(response(200, RESPONSE));
+
+        assertThat(a.get()).isSameAs(first);
+        assertThat(b.get()).isSameAs(first);
+
+        verify(http, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void shouldThrowAndRetryIfTokenRequestFails() throws Exception {
+        final OAuthErrorResponse error = new OAuthErrorResponse("invalid_client", null, null);
+
+        when(json.deserialize("ERROR", OAuthErrorResponse.class)).thenReturn(error);
+
+        when(http.sendAsync(any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(401, "ERROR")))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(200, RESPONSE)));
+
+        assertThatExceptionOfType(OAuthErrorException.class).isThrownBy(() -> {
+            client.getToken(Set.of("a"));
+        });
+
+        clock.now = NOW.plusSeconds(5);
+
+        assertThat(client.getToken(Set.of("a"))).isSameAs(first);
+    }
+
+    @Test
+    public void shouldNotRetryFailedTokenRequestWithinBackoff() throws Exception {
+        final OAuthErrorResponse error = new OAuthErrorResponse("invalid_client", null, null);
+
+        when(json.deserialize("ERROR", OAuthErrorResponse.class)).thenReturn(error);
+        when(http.sendAsync(any(), any())).thenAnswer(invocation -> CompletableFuture.completedFuture(response(401, "ERROR")));
+
+        final Throwable failure = catchThrowable(() -> client.getToken(Set.of("a")));
+
+        clock.now = NOW.plusMillis(4999);
+
+        assertThatExceptionOfType(OAuthErrorException.class).isThrownBy(() -> client.getToken(Set.of("a"))).isSameAs(failure);
+        assertThat(client.getTokenAsync(Set.of("a"))).isCompletedExceptionally();
+        verify(http, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void shouldNotRefreshInBackgroundWithinBackoff() throws Exception {
+        when(json.deserialize("ERROR", OAuthErrorResponse.class)).thenReturn(new OAuthErrorResponse("server_error", null, null));
+        when(http.sendAsync(any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(200, RESPONSE)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(500, "ERROR")))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(200, RESPONSE)));
+
+        assertThat(client.getToken(Set.of("a"))).isSameAs(first);
+
+        clock.now = NOW.plusSeconds(80);
+
+        // Background refresh fails, the cached token is served during the backoff without new requests:
+        assertThat(client.getToken(Set.of("a"))).isSameAs(first);
+        assertThat(client.getToken(Set.of("a"))).isSameAs(first);
+        verify(http, times(2)).sendAsync(any(), any());
+
+        clock.now = NOW.plusSeconds(85);
+
+        assertThat(client.getToken(Set.of("a"))).isSameAs(first);
+        assertThat(client.getToken(Set.of("a"))).isSameAs(second);
+    }
+
+    @Test
+    public void shouldRequestNewTokenAfterInvalidate() throws Exception {
+        HttpClientTestUtil.stubHttpAsync(http, "POST", TOKEN_ENDPOINT, 200, RESPONSE);
+
+        assertThat(client.getToken(Set.of("a"))).isSameAs(first);
+
+        client.invalidate(Set.of("a"));
+
+        assertThat(client.getToken(Set.of("a"))).isSameAs(second);
+    }
+
+    @Test
+    public void shouldKeepTokenWithoutLifetimeUntilInvalidated() throws Exception {
+        when(json.deserialize(RESPONSE, ClientCredentialsResponse.class)).thenReturn(new ClientCredentialsResponse("forever", -1, "Bearer"));
+
+        HttpClientTestUtil.stubHttpAsync(http, "POST", TOKEN_ENDPOINT, 200, RESPONSE);
+
+        final ClientCredentialsResponse token = client.getToken(Set.of());
+
+        clock.now = NOW.plus(Duration.ofDays(365));
+
+        assertThat(client.getToken(Set.of())).isSameAs(token);
+
+        verify(http, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void shouldRejectInvalidRefreshFraction() {
+        final ClientCredentialsConfig config = new ClientCredentialsConfig("service", "s3cret", URI.create(TOKEN_ENDPOINT));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> {
+            new ClientCredentialsClient(config, http, json, Duration.ofSeconds(5), 0, clock);
+        });
+        assertThatIllegalArgumentException().isThrownBy(() -> {
+            new ClientCredentialsClient(config, http, json, Duration.ofSeconds(5), 1.1, clock);
+        });
+    }
+
+    private static HttpResponse<Object> response(final int statusCode, final String body) {
+        @SuppressWarnings("unchecked")
+        final HttpResponse<Object> response = mock(HttpResponse.class);
+
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.body()).thenReturn(body.getBytes(UTF_8));
+
+        return response;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+    }
+
+    private abstract static class TestSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            subscription.request(1L);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+    }
+
+}
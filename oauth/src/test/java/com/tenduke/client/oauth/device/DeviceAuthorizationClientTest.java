@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.device;
+
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.OAuthErrorResponse;
+import com.tenduke.client.oauth.QueryParser;
+import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeResponse;
+import com.tenduke.client.oauth.exceptions.OAuthErrorException;
+import com.tenduke.client.oauth.exceptions.OAuthException;
+import com.tenduke.client.testutils.HttpClientTestUtil;
+import static com.tenduke.client.testutils.JsonDeserializerTestUtil.mockJsonDeserializer;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.stubbing.OngoingStubbing;
+
+public class DeviceAuthorizationClientTest {
+
+    private static final String DEVICE_ENDPOINT = "https://example.com/device";
+    private static final String TOKEN_ENDPOINT = "https://example.com/token";
+    private static final Instant NOW = Instant.parse("2019-11-01T12:00:00Z");
+
+    private final AuthorizationCodeResponse token = new AuthorizationCodeResponse("a-t", "r-t", 3600, "Bearer");
+
+    private MutableClock clock;
+    private HttpClient http;
+    private JsonDeserializer json;
+    private ScheduledExecutorService scheduler;
+    private List<Runnable> scheduledTasks;
+    private List<Long> scheduledDelays;
+    private DeviceAuthorizationClient client;
+
+    @Before
+    public void beforeTest() throws Exception {
+        clock = new MutableClock(NOW);
+        http = mock(HttpClient.class);
+        json = mockJsonDeserializer();
+        scheduler = mock(ScheduledExecutorService.class);
+        scheduledTasks = new ArrayList<>();
+        scheduledDelays = new ArrayList<>();
+
+        doAnswer(invocation -> {
+            scheduledTasks.add(invocation.getArgument(0));
+            scheduledDelays.add(invocation.<TimeUnit>getArgument(2).toMillis(invocation.getArgument(1)));
+
+            return mock(ScheduledFuture.class);
+        }).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        client = new DeviceAuthorizationClient(
+                new DeviceAuthorizationConfig("cli", null, URI.create(DEVICE_ENDPOINT), URI.create(TOKEN_ENDPOINT)),
+                http,
+                json,
+                Duration.ofSeconds(5),
+                scheduler,
+                clock
+        );
+
+        when(json.deserialize("TOKEN", AuthorizationCodeResponse.class)).thenReturn(token);
+        when(json.deserialize("PENDING", OAuthErrorResponse.class)).thenReturn(new OAuthErrorResponse("authorization_pending", null, null));
+        when(json.deserialize("SLOW_DOWN", OAuthErrorResponse.class)).thenReturn(new OAuthErrorResponse("slow_down", null, null));
+        when(json.deserialize("DENIED", OAuthErrorResponse.class)).thenReturn(new OAuthErrorResponse("access_denied", null, null));
+    }
+
+    @Test
+    public void shouldRequestDeviceAuthorization() throws Exception {
+        final DeviceAuthorizationResponse expected = new DeviceAuthorizationResponse(
+                "d-c", "ABCD-EFGH", "https://example.com/activate", null, 600, 5
+        );
+
+        HttpClientTestUtil.stubHttp(http, "POST", DEVICE_ENDPOINT, 200, "AUTHORIZATION");
+
+        when(json.deserialize("AUTHORIZATION", DeviceAuthorizationResponse.class)).thenReturn(expected);
+
+        assertThat(client.authorize(Set.of("profile", "email")).call()).isSameAs(expected);
+
+        final ArgumentCaptor<HttpRequest> requestArg = ArgumentCaptor.forClass(HttpRequest.class);
+
+        verify(http).send(requestArg.capture(), any());
+
+        assertThat(parseBody(requestArg.getValue())).containsOnly(
+                entry("client_id", List.of("cli")),
+                entry("scope", List.of("email profile"))
+        );
+    }
+
+    @Test
+    public void shouldPollUntilAuthorizedAtGivenInterval() throws Exception {
+        stubTokenEndpoint("PENDING", "PENDING", "TOKEN");
+
+        final CompletableFuture<AuthorizationCodeResponse> result = client.pollToken(authorization(600, 3));
+
+        runScheduledTasks(3);
+
+        assertThat(result.get()).isSameAs(token);
+        assertThat(scheduledDelays).containsExactly(3000L, 3000L, 3000L);
+
+        final ArgumentCaptor<HttpRequest> requestArg = ArgumentCaptor.forClass(HttpRequest.class);
+
+        verify(http, times(3)).sendAsync(requestArg.capture(), any());
+
+        assertThat(parseBody(requestArg.getValue())).containsOnly(
+                entry("grant_type", List.of("urn:ietf:params:oauth:grant-type:device_code")),
+                entry("device_code", List.of("d-c")),
+                entry("client_id", List.of("cli"))
+        );
+    }
+
+    @Test
+    public void shouldUseDefaultIntervalIfNotSpecified() {
+        client.pollToken(authorization(600, 0));
+
+        assertThat(scheduledDelays).containsExactly(5000L);
+    }
+
+    @Test
+    public void shouldIncreaseIntervalOnSlowDown() throws Exception {
+        stubTokenEndpoint("SLOW_DOWN", "PENDING", "TOKEN");
+
+        final CompletableFuture<AuthorizationCodeResponse> result = client.pollToken(authorization(600, 3));
+
+        runScheduledTasks(3);
+
+        assertThat(result.get()).isSameAs(token);
+        assertThat(scheduledDelays).containsExactly(3000L, 8000L, 8000L);
+    }
+
+    @Test
+    public void shouldBackOffOnNetworkErrors() throws Exception {
+        when(http.sendAsync(any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new IOException("simulated")))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new IOException("simulated")))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(200, "TOKEN")));
+
+        final CompletableFuture<AuthorizationCodeResponse> result = client.pollToken(authorization(600, 3));
+
+        runScheduledTasks(3);
+
+        assertThat(result.get()).isSameAs(token);
+        assertThat(scheduledDelays).containsExactly(3000L, 6000L, 12000L);
+    }
+
+    @Test
+    public void shouldFailIfAuthorizationIsDenied() {
+        stubTokenEndpoint("PENDING", "DENIED");
+
+        final CompletableFuture<AuthorizationCodeResponse> result = client.pollToken(authorization(600, 3));
+
+        runScheduledTasks(2);
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(result::get)
+                .withCauseInstanceOf(OAuthErrorException.class);
+        assertThat(scheduledTasks).hasSize(2);
+    }
+
+    @Test
+    public void shouldFailIfDeviceCodeHasExpired() {
+        final CompletableFuture<AuthorizationCodeResponse> result = client.pollToken(authorization(600, 3));
+
+        clock.now = NOW.plusSeconds(600);
+
+        runScheduledTasks(1);
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(result::get)
+                .withCauseExactlyInstanceOf(OAuthException.class)
+                .withMessageContaining("Device code has expired");
+
+        verify(http, never()).sendAsync(any(), any());
+    }
+
+    @Test
+    public void tokenRequestShouldTreatPollingErrorsAsExpected() {
+        final DeviceTokenRequest request = client.tokenRequest("d-c");
+
+        assertThat(request.isRepeated()).isTrue();
+        assertThat(request.isExpectedError(new OAuthErrorResponse("authorization_pending", null, null))).isTrue();
+        assertThat(request.isExpectedError(new OAuthErrorResponse("slow_down", null, null))).isTrue();
+        assertThat(request.isExpectedError(new OAuthErrorResponse("access_denied", null, null))).isFalse();
+    }
+
+    @Test
+    public void cancellingShouldStopPolling() {
+        final CompletableFuture<AuthorizationCodeResponse> result = client.pollToken(authorization(600, 3));
+
+        result.cancel(false);
+
+        runScheduledTasks(1);
+
+        verify(http, never()).sendAsync(any(), any());
+    }
+
+    private static DeviceAuthorizationResponse authorization(final long expiresIn, final long interval) {
+        return new DeviceAuthorizationResponse("d-c", "ABCD-EFGH", "https://example.com/activate", null, expiresIn, interval);
+    }
+
+    private void stubTokenEndpoint(final String first, final String... rest) {
+        OngoingStubbing<CompletableFuture<HttpResponse<Object>>> stubbing = when(http.sendAsync(any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(statusOf(first), first)));
+
+        for (final String body : rest) {
+            stubbing = stubbing.thenAnswer(invocation -> CompletableFuture.completedFuture(response(statusOf(body), body)));
+        }
+    }
+
+    private static int statusOf(final String body) {
+        return ("TOKEN".equals(body) ? 200 : 400);
+    }
+
+    private void runScheduledTasks(final int count) {
+        for (int i = 0; i < count; i++) {
+            scheduledTasks.get(i).run();
+        }
+    }
+
+    private static HttpResponse<Object> response(final int statusCode, final String body) {
+        @SuppressWarnings("unchecked")
+        final HttpResponse<Object> response = mock(HttpResponse.class);
+
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.body()).thenReturn(body.getBytes(UTF_8));
+
+        return response;
+    }
+
+    private static Map<String, List<String>> parseBody(final HttpRequest request) {
+        final List<Map<String, List<String>>> parsed = new ArrayList<>();
+
+        request.bodyPublisher().get().subscribe(new Flow.Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                subscription.request(1L);
+            }
+
+            @Override
+            public void onNext(final ByteBuffer item) {
+                parsed.add(new QueryParser(UTF_8).from(UTF_8.decode(item).toString()));
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        return parsed.get(0);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+    }
+
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.introspection;
+
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.OAuthErrorResponse;
+import com.tenduke.client.oauth.QueryParser;
+import com.tenduke.client.oauth.exceptions.OAuthErrorException;
+import static com.tenduke.client.testutils.JsonDeserializerTestUtil.mockJsonDeserializer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IntrospectionClientTest {
+
+    private static final Instant NOW = Instant.parse("2019-11-01T12:00:00Z");
+
+    private static final String ACTIVE = "{\"active\": true}";
+
+    private static final String INACTIVE = "{\"active\": false}";
+
+    private static final String ENDPOINT = "https://example.com/introspect";
+
+    private final IntrospectionResponse active = new IntrospectionResponse(
+            true, "read", "client", "user", "Bearer", NOW.plusSeconds(3600).getEpochSecond(), NOW.getEpochSecond(), "sub", "iss"
+    );
+    private final IntrospectionResponse inactive = new IntrospectionResponse(false, null, null, null, null, null, null, null, null);
+
+    private MutableClock clock;
+    private HttpClient http;
+    private JsonDeserializer json;
+    private IntrospectionClient client;
+
+    @Before
+    public void beforeTest() throws Exception {
+        clock = new MutableClock(NOW);
+        http = mock(HttpClient.class);
+        json = mockJsonDeserializer();
+        client = new IntrospectionClient(
+                new IntrospectionConfig("resource", "s3cret", URI.create(ENDPOINT)),
+                http,
+                json,
+                Duration.ofSeconds(5),
+                2,
+                Duration.ofMinutes(1),
+                Duration.ofSeconds(10),
+                clock
+        );
+
+        when(json.deserialize(ACTIVE, IntrospectionResponse.class)).thenReturn(active);
+        when(json.deserialize(INACTIVE, IntrospectionResponse.class)).thenReturn(inactive);
+    }
+
+    @Test
+    public void shouldIntrospectToken() throws Exception {
+        respondWith(ACTIVE);
+
+        assertThat(client.introspect("t0k3n")).isSameAs(active);
+
+        final ArgumentCaptor<HttpRequest> requestArg = ArgumentCaptor.forClass(HttpRequest.class);
+
+        verify(http, times(1)).sendAsync(requestArg.capture(), any());
+
+        assertThat(requestArg.getValue().uri()).isEqualTo(URI.create(ENDPOINT));
+        assertThat(requestArg.getValue().method()).isEqualTo("POST");
+        assertThat(requestArg.getValue().timeout()).contains(Duration.ofSeconds(5));
+
+        requestArg.getValue().bodyPublisher().get().subscribe(new TestSubscriber() {
+            @Override
+            public void onNext(final ByteBuffer item) {
+                assertThat(new QueryParser(UTF_8).from(UTF_8.decode(item).toString())).containsOnly(
+                        entry("token", List.of("t0k3n")),
+                        entry("token_type_hint", List.of("access_token")),
+                        entry("client_id", List.of("resource")),
+                        entry("client_secret", List.of("s3cret"))
+                );
+            }
+        });
+    }
+
+    @Test
+    public void shouldServeCachedResultUntilTtl() throws Exception {
+        respondWith(ACTIVE);
+
+        client.introspect("t0k3n");
+
+        clock.now = NOW.plusSeconds(59);
+
+        assertThat(client.introspect("t0k3n")).isSameAs(active);
+        assertThat(client.introspectAsync("t0k3n").get()).isSameAs(active);
+        verify(http, times(1)).sendAsync(any(), any());
+
+        clock.now = NOW.plusSeconds(60);
+
+        client.introspect("t0k3n");
+        verify(http, times(2)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void shouldNotCacheBeyondExp() throws Exception {
+        final IntrospectionResponse expiring = new IntrospectionResponse(
+                true, null, null, null, null, NOW.plusSeconds(10).getEpochSecond(), null, null, null
+        );
+
+        when(json.deserialize(ACTIVE, IntrospectionResponse.class)).thenReturn(expiring);
+        respondWith(ACTIVE);
+
+        client.introspect("t0k3n");
+
+        clock.now = NOW.plusSeconds(9);
+        client.introspect("t0k3n");
+        verify(http, times(1)).sendAsync(any(), any());
+
+        clock.now = NOW.plusSeconds(10);
+        client.introspect("t0k3n");
+        verify(http, times(2)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void shouldCacheInactiveResultForNegativeTtl() throws Exception {
+        respondWith(INACTIVE);
+
+        assertThat(client.introspect("bogus").isActive()).isFalse();
+
+        clock.now = NOW.plusSeconds(9);
+        assertThat(client.introspect("bogus").isActive()).isFalse();
+        verify(http, times(1)).sendAsync(any(), any());
+
+        clock.now = NOW.plusSeconds(10);
+        client.introspect("bogus");
+        verify(http, times(2)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void shouldCacheResultsPerToken() throws Exception {
+        when(http.sendAsync(any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(200, ACTIVE)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(200, INACTIVE)));
+
+        assertThat(client.introspect("good")).isSameAs(active);
+        assertThat(client.introspect("bad")).isSameAs(inactive);
+        assertThat(client.introspect("good")).isSameAs(active);
+        assertThat(client.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotCacheWhenFull() throws Exception {
+        respondWith(ACTIVE);
+
+        client.introspect("a");
+        client.introspect("b");
+        client.introspect("c");
+
+        assertThat(client.size()).isEqualTo(2);
+
+        client.introspect("c");
+        verify(http, times(4)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void shouldEvictExpiredResultsWhenFull() throws Exception {
+        respondWith(INACTIVE);
+
+        client.introspect("a");
+        client.introspect("b");
+
+        clock.now = NOW.plusSeconds(10);
+
+        client.introspect("c");
+
+        assertThat(client.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldSweepFullCacheAtMostOncePerInterval() throws Exception {
+        when(http.sendAsync(any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(200, ACTIVE)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(200, INACTIVE)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(200, ACTIVE)));
+
+        client.introspect("a");
+        client.introspect("b");
+
+        clock.now = NOW.plusSeconds(5);
+        client.introspect("c");
+
+        clock.now = NOW.plusSeconds(12);
+        client.introspect("d");
+
+        assertThat(client.size()).isEqualTo(2);
+
+        clock.now = NOW.plusSeconds(5).plus(IntrospectionClient.SWEEP_INTERVAL);
+        client.introspect("d");
+        client.introspect("d");
+
+        assertThat(client.size()).isEqualTo(2);
+        verify(http, times(5)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void concurrentCallersShouldShareSingleRequest() throws Exception {
+        final CompletableFuture<HttpResponse<Object>> pending = new CompletableFuture<>();
+
+        when(http.sendAsync(any(), any())).thenAnswer(invocation -> pending);
+
+        final CompletableFuture<IntrospectionResponse> a = client.introspectAsync("t0k3n");
+        final CompletableFuture<IntrospectionResponse> b = client.introspectAsync("t0k3n");
+
+        assertThat(a).isNotDone();
+        assertThat(b).isNotDone();
+
+        pending.complete(response(200, ACTIVE));
+
+        assertThat(a.get()).isSameAs(active);
+        assertThat(b.get()).isSameAs(active);
+
+        verify(http, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void shouldThrowAndNotCacheIfRequestFails() throws Exception {
+        final OAuthErrorResponse error = new OAuthErrorResponse("invalid_client", null, null);
+
+        when(json.deserialize("ERROR", OAuthErrorResponse.class)).thenReturn(error);
+
+        when(http.sendAsync(any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(401, "ERROR")))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(200, ACTIVE)));
+
+        assertThatExceptionOfType(OAuthErrorException.class).isThrownBy(() -> {
+            client.introspect("t0k3n");
+        });
+
+        assertThat(client.introspect("t0k3n")).isSameAs(active);
+    }
+
+    @Test
+    public void shouldIntrospectAgainAfterInvalidate() throws Exception {
+        respondWith(ACTIVE);
+
+        client.introspect("t0k3n");
+        client.invalidate("t0k3n");
+        client.introspect("t0k3n");
+
+        verify(http, times(2)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void shouldNotCacheResultOfIntrospectionInvalidatedInProgress() throws Exception {
+        final CompletableFuture<HttpResponse<Object>> pending = new CompletableFuture<>();
+
+        when(http.sendAsync(any(), any()))
+                .thenAnswer(invocation -> pending)
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(200, INACTIVE)));
+
+        final CompletableFuture<IntrospectionResponse> inProgress = client.introspectAsync("t0k3n");
+
+        client.invalidate("t0k3n");
+        pending.complete(response(200, ACTIVE));
+
+        assertThat(inProgress.get()).isSameAs(active);
+        assertThat(client.size()).isZero();
+        assertThat(client.introspect("t0k3n")).isSameAs(inactive);
+        verify(http, times(2)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void shouldRejectNegativeTtl() {
+        final IntrospectionConfig config = new IntrospectionConfig("resource", "s3cret", URI.create(ENDPOINT));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> {
+            new IntrospectionClient(config, http, json, Duration.ofSeconds(5), 2, Duration.ofSeconds(-1), Duration.ZERO, clock);
+        });
+    }
+
+    private void respondWith(final String body) {
+        when(http.sendAsync(any(), any())).thenAnswer(invocation -> CompletableFuture.completedFuture(response(200, body)));
+    }
+
+    private static HttpResponse<Object> response(final int statusCode, final String body) {
+        @SuppressWarnings("unchecked")
+        final HttpResponse<Object> response = mock(HttpResponse.class);
+
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.body()).thenReturn(body.getBytes(UTF_8));
+
+        return response;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+    }
+
+    private abstract static class TestSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            subscription.request(1L);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+    }
+
+}
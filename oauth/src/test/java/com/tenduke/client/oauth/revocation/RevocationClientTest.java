@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.revocation;
+
+import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.OAuthErrorResponse;
+import com.tenduke.client.oauth.QueryParser;
+import com.tenduke.client.oauth.exceptions.OAuthErrorException;
+import com.tenduke.client.oauth.exceptions.OAuthNetworkException;
+import com.tenduke.client.testutils.HttpClientTestUtil;
+import static com.tenduke.client.testutils.JsonDeserializerTestUtil.mockJsonDeserializer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RevocationClientTest {
+
+    private static final String ENDPOINT = "https://example.com/revoke";
+
+    private HttpClient http;
+    private JsonDeserializer json;
+    private RevocationClient client;
+
+    @Before
+    public void beforeTest() {
+        http = mock(HttpClient.class);
+        json = mockJsonDeserializer();
+        client = new RevocationClient(
+                new RevocationConfig("client", "s3cret", URI.create(ENDPOINT)),
+                http,
+                json,
+                Duration.ofSeconds(5)
+        );
+    }
+
+    @Test
+    public void shouldRevokeToken() throws Exception {
+        HttpClientTestUtil.stubHttp(http, "POST", ENDPOINT, 200, "");
+
+        client.revoke("t0k3n", RevocationClient.REFRESH_TOKEN);
+
+        assertThat(requestBody(captureRequest())).containsOnly(
+                entry("token", List.of("t0k3n")),
+                entry("token_type_hint", List.of("refresh_token")),
+                entry("client_id", List.of("client")),
+                entry("client_secret", List.of("s3cret"))
+        );
+    }
+
+    @Test
+    public void shouldOmitMissingTokenTypeHint() throws Exception {
+        HttpClientTestUtil.stubHttp(http, "POST", ENDPOINT, 200, "");
+
+        client.revoke("t0k3n", null);
+
+        assertThat(requestBody(captureRequest())).doesNotContainKey("token_type_hint");
+    }
+
+    @Test
+    public void shouldRevokeTokenAsynchronously() throws Exception {
+        HttpClientTestUtil.stubHttpAsync(http, "POST", ENDPOINT, 200, "");
+
+        assertThat(client.revokeAsync("t0k3n", RevocationClient.ACCESS_TOKEN).get()).isNull();
+    }
+
+    @Test
+    public void shouldThrowOnErrorResponse() throws Exception {
+        when(json.deserialize("ERROR", OAuthErrorResponse.class)).thenReturn(new OAuthErrorResponse("unsupported_token_type", null, null));
+
+        HttpClientTestUtil.stubHttp(http, "POST", ENDPOINT, 400, "ERROR");
+
+        assertThatExceptionOfType(OAuthErrorException.class)
+                .isThrownBy(() -> client.revoke("t0k3n", null))
+                .satisfies(e -> assertThat(e.getError().getError()).isEqualTo("unsupported_token_type"));
+    }
+
+    @Test
+    public void shouldFailAsynchronouslyOnNetworkError() {
+        HttpClientTestUtil.stubHttpAsyncToFailWithIOException(http, "POST", ENDPOINT);
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(() -> client.revokeAsync("t0k3n", null).get())
+                .withCauseInstanceOf(OAuthNetworkException.class);
+    }
+
+    private HttpRequest captureRequest() throws Exception {
+        final ArgumentCaptor<HttpRequest> requestArg = ArgumentCaptor.forClass(HttpRequest.class);
+
+        verify(http, times(1)).send(requestArg.capture(), any());
+
+        return requestArg.getValue();
+    }
+
+    private static Map<String, List<String>> requestBody(final HttpRequest request) {
+        final StringBuilder body = new StringBuilder();
+
+        request.bodyPublisher().get().subscribe(new Flow.Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final ByteBuffer item) {
+                body.append(UTF_8.decode(item));
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        return new QueryParser(UTF_8).from(body.toString());
+    }
+
+}
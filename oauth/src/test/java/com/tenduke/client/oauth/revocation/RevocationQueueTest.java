@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.oauth.revocation;
+
+import com.tenduke.client.oauth.OAuthErrorResponse;
+import com.tenduke.client.oauth.exceptions.OAuthErrorException;
+import com.tenduke.client.oauth.exceptions.OAuthNetworkException;
+import com.tenduke.client.oauth.exceptions.OAuthServerException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RevocationQueueTest {
+
+    private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final List<Long> delays = new ArrayList<>();
+
+    private RevocationClient client;
+    private ScheduledExecutorService scheduler;
+    private RevocationQueue queue;
+
+    @Before
+    public void beforeTest() {
+        client = mock(RevocationClient.class);
+        scheduler = mock(ScheduledExecutorService.class);
+        queue = new RevocationQueue(client, scheduler, 3, 2, 3, Duration.ofSeconds(1), Duration.ofSeconds(3));
+
+        when(scheduler.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS))).thenAnswer(invocation -> {
+            scheduled.add(invocation.getArgument(0));
+            delays.add(invocation.getArgument(1));
+
+            return mock(ScheduledFuture.class);
+        });
+    }
+
+    @Test
+    public void shouldRevokeSubmittedTokens() throws Exception {
+        when(client.revokeAsync(anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(queue.offer("a", RevocationClient.REFRESH_TOKEN)).isTrue();
+        queue.put("b", null);
+
+        assertThat(queue.awaitIdle(Duration.ZERO)).isTrue();
+        verify(client).revokeAsync("a", RevocationClient.REFRESH_TOKEN);
+        verify(client).revokeAsync("b", null);
+
+        final RevocationMetrics metrics = queue.metrics();
+
+        assertThat(metrics.getSubmitted()).isEqualTo(2);
+        assertThat(metrics.getSucceeded()).isEqualTo(2);
+        assertThat(metrics.getCompleted()).isEqualTo(2);
+        assertThat(metrics.getFailed()).isZero();
+        assertThat(metrics.getQueued()).isZero();
+        assertThat(metrics.getInProgress()).isZero();
+    }
+
+    @Test
+    public void shouldLimitConcurrency() throws Exception {
+        stubPendingRevocations();
+
+        for (final String token : List.of("a", "b", "c", "d", "e")) {
+            assertThat(queue.offer(token, null)).isTrue();
+        }
+
+        verify(client, times(2)).revokeAsync(anyString(), any());
+        assertThat(queue.metrics().getInProgress()).isEqualTo(2);
+        assertThat(queue.metrics().getQueued()).isEqualTo(3);
+        assertThat(queue.awaitIdle(Duration.ofMillis(1))).isFalse();
+
+        pending.get(0).complete(null);
+
+        verify(client, times(3)).revokeAsync(anyString(), any());
+        verify(client).revokeAsync("c", null);
+
+        pending.get(1).complete(null);
+        pending.get(2).complete(null);
+        pending.get(3).complete(null);
+        pending.get(4).complete(null);
+
+        assertThat(queue.awaitIdle(Duration.ZERO)).isTrue();
+        assertThat(queue.metrics().getSucceeded()).isEqualTo(5);
+    }
+
+    @Test
+    public void shouldRejectWhenFull() throws Exception {
+        stubPendingRevocations();
+
+        for (final String token : List.of("a", "b", "c", "d", "e")) {
+            assertThat(queue.offer(token, null)).isTrue();
+        }
+
+        assertThat(queue.offer("f", null)).isFalse();
+        assertThat(queue.metrics().getRejected()).isEqualTo(1);
+        assertThat(queue.metrics().getSubmitted()).isEqualTo(5);
+    }
+
+    @Test
+    public void shouldRetryTemporaryFailuresWithBackoff() throws Exception {
+        when(client.revokeAsync(anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new OAuthNetworkException("Revocation request failed", new IOException())))
+                .thenReturn(CompletableFuture.failedFuture(new OAuthServerException("Error response is not valid Json")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        queue.offer("a", null);
+
+        assertThat(delays).containsExactly(Duration.ofSeconds(1).toNanos());
+        assertThat(queue.metrics().getInProgress()).isEqualTo(1);
+
+        scheduled.get(0).run();
+
+        assertThat(delays).containsExactly(Duration.ofSeconds(1).toNanos(), Duration.ofSeconds(2).toNanos());
+
+        scheduled.get(1).run();
+
+        verify(client, times(3)).revokeAsync("a", null);
+        assertThat(queue.metrics().getSucceeded()).isEqualTo(1);
+        assertThat(queue.metrics().getRetried()).isEqualTo(2);
+        assertThat(queue.awaitIdle(Duration.ZERO)).isTrue();
+    }
+
+    @Test
+    public void shouldGiveUpAfterMaxAttempts() throws Exception {
+        when(client.revokeAsync(anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new OAuthNetworkException("Revocation request failed", new IOException())));
+
+        queue.offer("a", null);
+        scheduled.get(0).run();
+        scheduled.get(1).run();
+
+        verify(client, times(3)).revokeAsync("a", null);
+        assertThat(scheduled).hasSize(2);
+        assertThat(queue.metrics().getFailed()).isEqualTo(1);
+        assertThat(queue.awaitIdle(Duration.ZERO)).isTrue();
+    }
+
+    @Test
+    public void shouldCapBackoff() throws Exception {
+        queue = new RevocationQueue(client, scheduler, 3, 2, 4, Duration.ofSeconds(1), Duration.ofSeconds(3));
+
+        when(client.revokeAsync(anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new OAuthNetworkException("Revocation request failed", new IOException())));
+
+        queue.offer("a", null);
+        scheduled.get(0).run();
+        scheduled.get(1).run();
+
+        assertThat(delays).containsExactly(
+                Duration.ofSeconds(1).toNanos(),
+                Duration.ofSeconds(2).toNanos(),
+                Duration.ofSeconds(3).toNanos()
+        );
+    }
+
+    @Test
+    public void shouldNotRetryPermanentErrors() throws Exception {
+        when(client.revokeAsync(anyString(), any())).thenReturn(CompletableFuture.failedFuture(
+                new OAuthErrorException("Revocation request failed with error", new OAuthErrorResponse("invalid_client", null, null))
+        ));
+
+        queue.offer("a", null);
+
+        assertThat(scheduled).isEmpty();
+        assertThat(queue.metrics().getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRejectAfterClose() {
+        queue.close();
+
+        assertThat(queue.offer("a", null)).isFalse();
+        assertThatIllegalStateException().isThrownBy(() -> queue.put("b", null));
+        assertThat(queue.metrics().getRejected()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldDrainQueuedTokensAfterClose() throws Exception {
+        stubPendingRevocations();
+
+        queue.offer("a", null);
+        queue.offer("b", null);
+        queue.offer("c", null);
+        queue.close();
+
+        pending.get(0).complete(null);
+
+        verify(client).revokeAsync("c", null);
+    }
+
+    @Test
+    public void shouldDrainLargeBacklogWithoutDeepRecursion() throws Exception {
+        final int count = 50_000;
+        final CompletableFuture<Void> first = new CompletableFuture<>();
+
+        queue = new RevocationQueue(client, scheduler, count, 1, 1, Duration.ZERO, Duration.ZERO);
+
+        when(client.revokeAsync(anyString(), any()))
+                .thenReturn(first)
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        for (int i = 0; i <= count; i++) {
+            queue.put("token-" + i, null);
+        }
+
+        first.complete(null);
+
+        assertThat(queue.awaitIdle(Duration.ZERO)).isTrue();
+        assertThat(queue.metrics().getSucceeded()).isEqualTo(count + 1);
+    }
+
+    @Test
+    public void shouldRejectInvalidLimits() {
+        assertThatIllegalArgumentException().isThrownBy(() -> {
+            new RevocationQueue(client, scheduler, 0, 1, 1, Duration.ZERO, Duration.ZERO);
+        });
+        assertThatIllegalArgumentException().isThrownBy(() -> {
+            new RevocationQueue(client, scheduler, 1, 0, 1, Duration.ZERO, Duration.ZERO);
+        });
+        assertThatIllegalArgumentException().isThrownBy(() -> {
+            new RevocationQueue(client, scheduler, 1, 1, 1, Duration.ofSeconds(-1), Duration.ZERO);
+        });
+    }
+
+    private void stubPendingRevocations() {
+        when(client.revokeAsync(anyString(), any())).thenAnswer(invocation -> {
+            final CompletableFuture<Void> result = new CompletableFuture<>();
+
+            pending.add(result);
+
+            return result;
+        });
+    }
+
+}
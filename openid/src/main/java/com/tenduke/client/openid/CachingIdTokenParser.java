@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+import com.tenduke.client.jwt.JwtParser;
+import com.tenduke.client.jwt.MessageDigestPool;
+import java.nio.ByteBuffer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * An {@link IdTokenParser}, which caches the parsed (and signature-verified) ID-tokens.
+ *
+ * <p>
+ * The tokens are cached by SHA-256 hash of the compact token, so parsing the same token again is a hash lookup instead of a signature
+ * verification. An entry is cached for the configured time-to-live, but never beyond the {@code exp} of the token. When the cache is
+ * full, expired entries are removed, at most once per {@link #SWEEP_INTERVAL}; if the cache is still full, new tokens are parsed but not
+ * cached.
+ *
+ * <p>
+ * The cache does not replace validation: {@link IdTokenValidator} must still be run on every token, including the cached ones, e.g.&nbsp;to
+ * check {@code exp} and {@code nonce}. Each call returns its own {@link IdToken} instance, see {@link #copyOf(IdToken) }, so modifying
+ * the additional properties of a returned token does not affect the cached one.
+ *
+ * <p>
+ * Instances are thread-safe.
+ */
+public class CachingIdTokenParser extends IdTokenParser {
+
+    /** Default maximum number of cached tokens. */
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    /** Default time-to-live of cached tokens. */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    /** Minimum interval between removing expired entries from a full cache. */
+    public static final Duration SWEEP_INTERVAL = Duration.ofSeconds(10);
+
+    /** The cached tokens, by SHA-256 of the compact token. */
+    private final ConcurrentHashMap<ByteBuffer, Entry> cache = new ConcurrentHashMap<>();
+
+    /** Clock. */
+    private final Clock clock;
+
+    /** Maximum number of cached tokens. */
+    private final int maxSize;
+
+    /** Time-to-live of cached tokens. */
+    private final Duration ttl;
+
+    /** Earliest time of the next removal of expired entries, {@code null} if not done yet. */
+    private @Nullable volatile Instant nextSweepAt;
+
+    /**
+     * Constructs new instance with default maximum size and time-to-live.
+     *
+     * @param parser -
+     */
+    public CachingIdTokenParser(final JwtParser parser) {
+        this(parser, DEFAULT_MAX_SIZE, DEFAULT_TTL, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param parser -
+     * @param maxSize maximum number of cached tokens
+     * @param ttl time-to-live of cached tokens
+     * @param clock -
+     */
+    public CachingIdTokenParser(final JwtParser parser, final int maxSize, final Duration ttl, final Clock clock) {
+        this(parser, new IdTokenClaimsMapper(), maxSize, ttl, clock);
+    }
+
+    /**
+     * Constructs new instance with custom claims-mapper.
+     *
+     * @param parser -
+     * @param mapper -
+     * @param maxSize maximum number of cached tokens
+     * @param ttl time-to-live of cached tokens
+     * @param clock -
+     */
+    public CachingIdTokenParser(
+            final JwtParser parser,
+            final IdTokenClaimsMapper mapper,
+            final int maxSize,
+            final Duration ttl,
+            final Clock clock
+    ) {
+        super(parser, mapper);
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param idTokenString -
+     * @return -
+     * @throws IdTokenException -
+     */
+    @Override
+    public IdToken from(final String idTokenString) throws IdTokenException {
+        final ByteBuffer cacheKey = ByteBuffer.wrap(sha256(idTokenString));
+        final Instant now = clock.instant();
+
+        @Nullable final Entry cached = cache.get(cacheKey);
+
+        if (cached != null) {
+            if (now.isBefore(cached.expiresAt)) {
+                return copyOf(cached.idToken);
+            }
+
+            cache.remove(cacheKey, cached);
+        }
+
+        final IdToken idToken = super.from(idTokenString);
+
+        put(cacheKey, idToken, now);
+
+        return idToken;
+    }
+
+    /**
+     * Copies a token, so that the cached instance is never handed out.
+     *
+     * <p>
+     * The copy shares the immutable claims and gets a shallow copy of the additional properties. Override this if the
+     * {@link IdTokenClaimsMapper} creates subclasses of {@link IdToken}.
+     *
+     * @param idToken -
+     * @return -
+     */
+    protected IdToken copyOf(final IdToken idToken) {
+        final IdToken copy = new IdToken(
+                idToken.getIss(),
+                idToken.getSub(),
+                idToken.getAud(),
+                idToken.getExp(),
+                idToken.getIat(),
+                idToken.getAuthTime(),
+                idToken.getNonce(),
+                idToken.getAcr(),
+                idToken.getAmr(),
+                idToken.getAzp(),
+                false
+        );
+        final Map<String, Object> additionalProperties = idToken.getAdditionalProperties();
+
+        if (!additionalProperties.isEmpty()) {
+            copy.zetAdditionalProperties(additionalProperties);
+        }
+
+        return copy;
+    }
+
+    /**
+     * Returns number of cached tokens.
+     *
+     * @return -
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Removes all cached tokens.
+     *
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Caches a copy of a parsed token, if it has not expired and there is room.
+     *
+     * @param cacheKey -
+     * @param idToken -
+     * @param now -
+     */
+    private void put(final ByteBuffer cacheKey, final IdToken idToken, final Instant now) {
+        @Nullable final Instant exp = idToken.getExp();
+        Instant expiresAt = now.plus(ttl);
+
+        if (exp != null && exp.isBefore(expiresAt)) {
+            expiresAt = exp;
+        }
+
+        if (!now.isBefore(expiresAt)) {
+            return;
+        }
+
+        if (cache.size() >= maxSize && !sweep(now)) {
+            return;
+        }
+
+        cache.put(cacheKey, new Entry(copyOf(idToken), expiresAt));
+    }
+
+    /**
+     * Removes expired entries, unless done within {@link #SWEEP_INTERVAL}. Limiting the sweeps keeps a cache full of valid entries from
+     * scanning all entries on every miss.
+     *
+     * @param now -
+     * @return {@code true} if there is room in the cache after the sweep
+     */
+    private boolean sweep(final Instant now) {
+        @Nullable final Instant sweepAt = nextSweepAt;
+
+        if (sweepAt != null && now.isBefore(sweepAt)) {
+            return false;
+        }
+
+        nextSweepAt = now.plus(SWEEP_INTERVAL);
+        cache.values().removeIf((entry) -> !now.isBefore(entry.expiresAt));
+
+        return cache.size() < maxSize;
+    }
+
+    /**
+     * Computes SHA-256 digest of the token.
+     *
+     * @param token -
+     * @return -
+     */
+    private static byte[] sha256(final String token) {
+        return MessageDigestPool.sha256().digest(token.getBytes(UTF_8));
+    }
+
+    /**
+     * A cached token.
+     *
+     */
+    private static final class Entry {
+
+        /** When this entry expires. */
+        private final Instant expiresAt;
+
+        /** The parsed token. */
+        private final IdToken idToken;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param idToken -
+         * @param expiresAt -
+         */
+        Entry(final IdToken idToken, final Instant expiresAt) {
+            this.idToken = idToken;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Clock}, which caches the current time and updates it periodically in the background.
+ *
+ * <p>
+ * Reading the clock is a volatile read: {@link #millis() } does not call the system clock, and {@link #instant() } returns a cached
+ * {@link Instant} instead of allocating one. The price is resolution, the time lags behind the source clock by up to the tick interval
+ * (plus scheduling delays). Use this where the time is read at high rate and coarse resolution is acceptable, e.g.&nbsp;with
+ * {@link IdTokenValidator}, which checks times with second-resolution and usually with some leeway.
+ *
+ * <p>
+ * The clock must be closed when no longer needed, to stop the updates. Instances are thread-safe.
+ */
+public final class CoarseClock extends Clock implements AutoCloseable {
+
+    /** Logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(CoarseClock.class);
+
+    /** The shared, updated time. */
+    private final Ticker ticker;
+
+    /** Time-zone of this clock. */
+    private final ZoneId zone;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param ticker -
+     * @param zone -
+     */
+    private CoarseClock(final Ticker ticker, final ZoneId zone) {
+        this.ticker = ticker;
+        this.zone = zone;
+    }
+
+    /**
+     * Starts new UTC-clock, which is updated from the system clock every {@code tickInterval} in its own daemon thread.
+     *
+     * @param tickInterval -
+     * @return -
+     */
+    public static CoarseClock start(final Duration tickInterval) {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "coarse-clock");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        return start(Clock.systemUTC(), scheduler, tickInterval, true);
+    }
+
+    /**
+     * Starts new clock, which is updated from the given source clock every {@code tickInterval} by the given scheduler.
+     *
+     * @param source the source clock
+     * @param scheduler the scheduler, which runs the updates. Closing the clock does not shut down the scheduler.
+     * @param tickInterval -
+     * @return -
+     */
+    public static CoarseClock start(final Clock source, final ScheduledExecutorService scheduler, final Duration tickInterval) {
+        return start(source, scheduler, tickInterval, false);
+    }
+
+    /**
+     * Starts new clock.
+     *
+     * @param source -
+     * @param scheduler -
+     * @param tickInterval -
+     * @param ownScheduler should the scheduler be shut down on {@link #close() }
+     * @return -
+     */
+    private static CoarseClock start(
+            final Clock source,
+            final ScheduledExecutorService scheduler,
+            final Duration tickInterval,
+            final boolean ownScheduler
+    ) {
+        final long intervalNanos = tickInterval.toNanos();
+
+        if (intervalNanos <= 0) {
+            throw new IllegalArgumentException("Tick interval must be positive, got " + tickInterval);
+        }
+
+        final Ticker ticker = new Ticker(source, ownScheduler ? scheduler : null);
+
+        ticker.task = scheduler.scheduleAtFixedRate(ticker::tick, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+
+        return new CoarseClock(ticker, source.getZone());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The returned clock shares the updates with this clock, closing either one stops the updates of both.
+     */
+    @Override
+    public CoarseClock withZone(final ZoneId newZone) {
+        return (zone.equals(newZone) ? this : new CoarseClock(ticker, newZone));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public Instant instant() {
+        return ticker.instant;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public long millis() {
+        return ticker.millis;
+    }
+
+    /**
+     * Stops updating the clock. The clock keeps returning the last time.
+     *
+     */
+    @Override
+    public void close() {
+        ticker.stop();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CoarseClock)) {
+            return false;
+        }
+
+        final CoarseClock that = (CoarseClock) other;
+
+        return ticker == that.ticker && zone.equals(that.zone);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(ticker) ^ zone.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public String toString() {
+        return "CoarseClock[" + zone + "]";
+    }
+
+    /**
+     * Holds and updates the current time.
+     *
+     */
+    private static final class Ticker {
+
+        /** The source clock. */
+        private final Clock source;
+
+        /** Scheduler to shut down on stop, {@code null} if not owned. */
+        private final @Nullable ScheduledExecutorService ownScheduler;
+
+        /** The update task. */
+        private volatile @Nullable ScheduledFuture<?> task;
+
+        /** Current time. */
+        private volatile Instant instant;
+
+        /** Current time, as epoch milliseconds. */
+        private volatile long millis;
+
+        /** Did the previous tick fail? Accessed by the ticking thread only. */
+        private boolean failing;
+
+        /**
+         * Constructs new instance.
+         *
+         * @param source -
+         * @param ownScheduler -
+         */
+        Ticker(final Clock source, @Nullable final ScheduledExecutorService ownScheduler) {
+            this.source = source;
+            this.ownScheduler = ownScheduler;
+            this.instant = source.instant();
+            this.millis = instant.toEpochMilli();
+        }
+
+        /**
+         * Updates the time.
+         *
+         * <p>
+         * If reading the source clock fails, the previous time is kept until the next tick: The failure must not propagate, as the
+         * scheduler would cancel the updates and freeze the clock for good. The first failure of a streak is logged.
+         *
+         */
+        void tick() {
+            final Instant now;
+
+            try {
+                now = source.instant();
+            } catch (final RuntimeException e) {
+                if (!failing) {
+                    failing = true;
+                    LOG.warn("Reading the source clock failed, keeping the previous time until it recovers", e);
+                }
+
+                return;
+            }
+
+            if (failing) {
+                failing = false;
+                LOG.info("Reading the source clock recovered");
+            }
+
+            // Readers may see the two fields from different ticks, which is within the resolution of the clock
+            instant = now;
+            millis = now.toEpochMilli();
+        }
+
+        /**
+         * Stops the updates.
+         *
+         */
+        void stop() {
+            @Nullable final ScheduledFuture<?> updates = task;
+
+            if (updates != null) {
+                updates.cancel(false);
+            }
+            if (ownScheduler != null) {
+                ownScheduler.shutdown();
+            }
+        }
+
+    }
+
+}
@@ -140,19 +140,61 @@ public class IdToken extends DynamicBean implements Serializable {
             @Nullable final String acr,
             @Nullable final Collection<String> amr,
             @Nullable final String azp
+    ) {
+        this(iss, sub, aud, exp, iat, authTime, nonce, acr, amr, azp, true);
+    }
+
+    /**
+     * Constructs new instance, optionally without copying the lists.
+     *
+     * @param iss -
+     * @param sub -
+     * @param aud -
+     * @param exp -
+     * @param iat -
+     * @param authTime -
+     * @param nonce -
+     * @param acr -
+     * @param amr -
+     * @param azp -
+     * @param copyLists if {@code false}, {@code aud} and {@code amr} must be unmodifiable lists, which are used as such
+     */
+    @SuppressFBWarnings("BC_BAD_CAST_TO_ABSTRACT_COLLECTION")
+    IdToken(
+            final String iss,
+            final String sub,
+            final Collection<String> aud,
+            final Instant exp,
+            final Instant iat,
+            @Nullable final Instant authTime,
+            @Nullable final String nonce,
+            @Nullable final String acr,
+            @Nullable final Collection<String> amr,
+            @Nullable final String azp,
+            final boolean copyLists
     ) {
         this.iss = iss;
         this.sub = sub;
-        this.aud = Collections.unmodifiableList(aud == null ? List.of() : new ArrayList<>(aud));
+        this.aud = (copyLists ? unmodifiableCopy(aud) : (List<String>) aud);
         this.exp = exp;
         this.iat = iat;
         this.authTime = authTime;
         this.nonce = nonce;
         this.acr = acr;
-        this.amr = (amr == null ? null : Collections.unmodifiableList(new ArrayList<>(amr)));
+        this.amr = (copyLists && amr != null ? unmodifiableCopy(amr) : (List<String>) amr);
         this.azp = azp;
     }
 
+    /**
+     * Creates unmodifiable copy of given collection.
+     *
+     * @param collection -
+     * @return -
+     */
+    private static List<String> unmodifiableCopy(@Nullable final Collection<String> collection) {
+        return Collections.unmodifiableList(collection == null ? List.of() : new ArrayList<>(collection));
+    }
+
     // <editor-fold defaultstate="collapsed" desc="Getters">
     // CSOFF: JavadocMethod
 
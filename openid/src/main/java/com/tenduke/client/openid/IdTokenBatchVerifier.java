@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
+
+/**
+ * Verifies (parses and validates) ID-tokens in bulk, e.g.&nbsp;when re-verifying persisted sessions after restart.
+ *
+ * <p>
+ * The tokens are split into batches of {@code batchSize} tokens, and the batches are verified in parallel in the given executor. Each
+ * token is parsed with {@link IdTokenParser#from(java.lang.String) } and validated with
+ * {@link IdTokenValidator#validateToResult(com.tenduke.client.openid.IdToken, java.time.Instant, java.lang.String) }. Failures do not
+ * abort the batch, instead they are reported per token in {@link IdTokenVerificationResult}. Rejecting a token in validation allocates no
+ * exception, unless asked for with {@link IdTokenVerificationResult#getError() }.
+ *
+ * <p>
+ * The nonce is not checked, as it is only meaningful when the token is received from the token endpoint.
+ *
+ * <p>
+ * Instances are thread-safe, provided that the parser and the validator are.
+ */
+public class IdTokenBatchVerifier {
+
+    /** Default number of tokens verified in one task. */
+    public static final int DEFAULT_BATCH_SIZE = 32;
+
+    /** The parser. */
+    private final IdTokenParser parser;
+
+    /** The validator. */
+    private final IdTokenValidator validator;
+
+    /** Executor to run the batches in. */
+    private final Executor executor;
+
+    /** Number of tokens verified in one task. */
+    private final int batchSize;
+
+    /**
+     * Constructs new instance, which verifies the tokens in {@link ForkJoinPool#commonPool() }.
+     *
+     * @param parser -
+     * @param validator -
+     */
+    public IdTokenBatchVerifier(final IdTokenParser parser, final IdTokenValidator validator) {
+        this(parser, validator, ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param parser -
+     * @param validator -
+     * @param executor executor to run the verification in
+     * @param batchSize number of tokens verified in one task
+     */
+    public IdTokenBatchVerifier(
+            final IdTokenParser parser,
+            final IdTokenValidator validator,
+            final Executor executor,
+            final int batchSize
+    ) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, got " + batchSize);
+        }
+
+        this.parser = parser;
+        this.validator = validator;
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Verifies the tokens, blocking until all have been verified.
+     *
+     * @param tokens the compact ID-tokens
+     * @param rejectTokensIssuedBeforeThis -
+     * @return the results, in the same order as the tokens
+     */
+    public List<IdTokenVerificationResult> verifyAll(
+            final Collection<String> tokens,
+            @Nullable final Instant rejectTokensIssuedBeforeThis
+    ) {
+        return verifyAllAsync(tokens, rejectTokensIssuedBeforeThis).join();
+    }
+
+    /**
+     * Verifies the tokens asynchronously.
+     *
+     * @param tokens the compact ID-tokens
+     * @param rejectTokensIssuedBeforeThis -
+     * @return future, which completes with the results in the same order as the tokens
+     */
+    public CompletableFuture<List<IdTokenVerificationResult>> verifyAllAsync(
+            final Collection<String> tokens,
+            @Nullable final Instant rejectTokensIssuedBeforeThis
+    ) {
+        final String[] input = tokens.toArray(new String[0]);
+        final IdTokenVerificationResult[] results = new IdTokenVerificationResult[input.length];
+        final List<CompletableFuture<Void>> batches = new ArrayList<>((input.length + batchSize - 1) / batchSize);
+
+        for (int start = 0; start < input.length; start += batchSize) {
+            final int from = start;
+            final int to = Math.min(start + batchSize, input.length);
+
+            batches.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    results[i] = verify(input[i], rejectTokensIssuedBeforeThis);
+                }
+            }, executor));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> Collections.unmodifiableList(Arrays.asList(results)));
+    }
+
+    /**
+     * Verifies one token.
+     *
+     * @param token the compact ID-token
+     * @param rejectTokensIssuedBeforeThis -
+     * @return -
+     */
+    public IdTokenVerificationResult verify(final String token, @Nullable final Instant rejectTokensIssuedBeforeThis) {
+        try {
+            final IdToken idToken = parser.from(token);
+
+            return new IdTokenVerificationResult(token, idToken, validator.validateToResult(idToken, rejectTokensIssuedBeforeThis, null));
+        } catch (final IdTokenException e) {
+            return new IdTokenVerificationResult(token, null, e);
+        } catch (final RuntimeException e) {
+            return new IdTokenVerificationResult(token, null, new IdTokenException("Verifying ID-token failed", e));
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+/**
+ * Checks done by {@link IdTokenValidator}, in the order they are done.
+ *
+ */
+public enum IdTokenCheck {
+
+    /** Claim {@code iss} matches the expected issuer. */
+    ISSUER,
+
+    /** Claim {@code aud} contains the client id. */
+    AUDIENCE,
+
+    /** Claim {@code azp} is present, if there are multiple audiences. */
+    AUTHORIZED_PARTY_PRESENT,
+
+    /** Claim {@code azp}, if present, is the client id. */
+    AUTHORIZED_PARTY,
+
+    /** Claim {@code exp} is present and not in the past, allowing for the clock skew. */
+    EXPIRATION,
+
+    /** Claim {@code nbf}, if present, is not in the future. */
+    NOT_BEFORE,
+
+    /** Claim {@code iat} is not before the given limit, allowing for the clock skew. */
+    ISSUED_AT,
+
+    /** Claim {@code nonce} matches the expected nonce. */
+    NONCE;
+
+    /**
+     * Returns the bit of this check in a bitset of checks.
+     *
+     * @return -
+     */
+    int bit() {
+        return 1 << ordinal();
+    }
+
+}
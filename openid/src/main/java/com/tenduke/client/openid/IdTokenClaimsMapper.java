@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Maps verified claims of an ID-token to {@link IdToken}.
+ *
+ * <p>
+ * The mapping avoids redundant copies: Single-valued {@code aud} becomes an immutable single-element list, lists of strings are used
+ * as such if they are already immutable (and copied once otherwise). The claims are scanned for additional properties only if there
+ * are other claims than the standard ones.
+ *
+ * <p>
+ * To customize the conversion of single claims, override {@link #stringClaim(Object) }, {@link #instantClaim(Object) } or
+ * {@link #listOfStrings(Object) }, and pass the mapper to {@link IdTokenParser#IdTokenParser(com.tenduke.client.jwt.JwtParser,
+ * IdTokenClaimsMapper) } or {@link CachingIdTokenParser}.
+ *
+ * <p>
+ * Instances are thread-safe.
+ */
+public class IdTokenClaimsMapper {
+
+    /** Names of the claims mapped to the fields of {@link IdToken}. */
+    private static final Set<String> STANDARD_CLAIMS = Set.of("acr", "amr", "aud", "auth_time", "azp", "exp", "iat", "iss", "nonce", "sub");
+
+    /**
+     * Maps the claims to ID-token. Claims other than the standard ones are added as additional properties.
+     *
+     * @param claims -
+     * @return -
+     */
+    public IdToken toIdToken(final Map<String, Object> claims) {
+        @Nullable final Object iss = claims.get("iss");
+        @Nullable final Object sub = claims.get("sub");
+        @Nullable final Object aud = claims.get("aud");
+        @Nullable final Object exp = claims.get("exp");
+        @Nullable final Object iat = claims.get("iat");
+        @Nullable final Object authTime = claims.get("auth_time");
+        @Nullable final Object nonce = claims.get("nonce");
+        @Nullable final Object acr = claims.get("acr");
+        @Nullable final Object amr = claims.get("amr");
+        @Nullable final Object azp = claims.get("azp");
+
+        final int standardClaims = present(iss) + present(sub) + present(aud) + present(exp) + present(iat)
+                + present(authTime) + present(nonce) + present(acr) + present(amr) + present(azp);
+
+        final IdToken idToken = new IdToken(
+                stringClaim(iss),
+                stringClaim(sub),
+                listOfStrings(aud),
+                instantClaim(exp),
+                instantClaim(iat),
+                instantClaim(authTime),
+                stringClaim(nonce),
+                stringClaim(acr),
+                listOfStrings(amr),
+                stringClaim(azp),
+                false
+        );
+
+        if (claims.size() > standardClaims) {
+            for (final Map.Entry<String, Object> claim : claims.entrySet()) {
+                if (!STANDARD_CLAIMS.contains(claim.getKey())) {
+                    idToken.zetAdditionalProperty(claim.getKey(), claim.getValue());
+                }
+            }
+        }
+
+        return idToken;
+    }
+
+    /**
+     * Counts claim, if present.
+     *
+     * @param claim -
+     * @return {@code 1} if the claim is present, {@code 0} otherwise
+     */
+    private static int present(@Nullable final Object claim) {
+        return (claim == null ? 0 : 1);
+    }
+
+    /**
+     * Converts claim to string.
+     *
+     * @param claim -
+     * @return -
+     */
+    protected @Nullable String stringClaim(@Nullable final Object claim) {
+        return (claim == null ? null : claim.toString());
+    }
+
+    /**
+     * Converts numeric "epoch-second" claim to {@link Instant}. Non-numeric claims are ignored.
+     *
+     * @param claim -
+     * @return -
+     */
+    protected @Nullable Instant instantClaim(@Nullable final Object claim) {
+        return (claim instanceof Number ? Instant.ofEpochSecond(((Number) claim).longValue()) : null);
+    }
+
+    /**
+     * Converts claim to unmodifiable list of strings.
+     *
+     * @param claim -
+     * @return -
+     */
+    protected List<String> listOfStrings(@Nullable final Object claim) {
+        if (claim == null) {
+            return List.of();
+        }
+        if (!(claim instanceof List)) {
+            return List.of(claim.toString());
+        }
+
+        final List<?> list = (List<?>) claim;
+        boolean allStrings = true;
+
+        for (final Object item : list) {
+            if (!(item instanceof String)) {
+                allStrings = false;
+                break;
+            }
+        }
+
+        if (allStrings) {
+            @SuppressWarnings("unchecked")
+            final List<String> strings = (List<String>) list;
+
+            // Returns the list itself, if already immutable:
+            return List.copyOf(strings);
+        }
+
+        final List<String> strings = new ArrayList<>(list.size());
+
+        for (final Object item : list) {
+            strings.add(item.toString());
+        }
+
+        return Collections.unmodifiableList(strings);
+    }
+
+}
@@ -22,6 +22,9 @@ import javax.annotation.Nullable;
  */
 public class IdTokenParser {
 
+    /** Maps the claims to ID-token. */
+    private final IdTokenClaimsMapper mapper;
+
     /** JWT-parser. */
     private final JwtParser parser;
 
@@ -31,7 +34,18 @@ public class IdTokenParser {
      * @param parser -
      */
     public IdTokenParser(final JwtParser parser) {
+        this(parser, new IdTokenClaimsMapper());
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param parser -
+     * @param mapper -
+     */
+    public IdTokenParser(final JwtParser parser, final IdTokenClaimsMapper mapper) {
         this.parser = parser;
+        this.mapper = mapper;
     }
 
     /**
@@ -50,52 +64,21 @@ public class IdTokenParser {
             throw new IdTokenException("Invalid id token", e);
         }
 
-        @SuppressWarnings("unchecked")
-        final IdToken idToken = new IdToken(
-                stringClaim(claims.get("iss")),
-                stringClaim(claims.get("sub")),
-                parseListOfStrings(claims.get("aud")),
-                toInstant(claims.get("exp")),
-                toInstant(claims.get("iat")),
-                toInstant(claims.get("auth_time")),
-                stringClaim(claims.get("nonce")),
-                stringClaim(claims.get("acr")),
-                parseListOfStrings(claims.get("amr")),
-                stringClaim(claims.get("azp"))
-        );
-
-        // Add additional claims:
-        for (final Map.Entry<String, Object> claim : claims.entrySet()) {
-            switch (claim.getKey()) {
-                // Skip the default claims:
-                case "acr":
-                case "amr":
-                case "aud":
-                case "auth_time":
-                case "azp":
-                case "exp":
-                case "iat":
-                case "iss":
-                case "nonce":
-                case "sub":
-                    break;
-
-                // Add unhandled claim:
-                default:
-                    idToken.zetAdditionalProperty(claim.getKey(), claim.getValue());
-                    break;
-            }
-        }
-
-        return idToken;
+        return mapper.toIdToken(claims);
     }
 
     /**
      * Helper for extracting string-claim.
      *
+     * <p>
+     * NOTE: This method is deprecated: The claims are mapped by {@link IdTokenClaimsMapper}, which does not call this method.
+     * To customize the mapping, override {@link IdTokenClaimsMapper#stringClaim(Object) } and pass the mapper to
+     * {@link #IdTokenParser(JwtParser, IdTokenClaimsMapper)}.
+     *
      * @param claim -
      * @return -
      */
+    @Deprecated
     protected @Nullable String stringClaim(@Nullable final Object claim) {
         return (claim == null ? null : claim.toString());
     }
@@ -103,9 +86,14 @@ public class IdTokenParser {
     /**
      * Helper for extracting list-of-string claim.
      *
+     * <p>
+     * NOTE: This method is deprecated: The claims are mapped by {@link IdTokenClaimsMapper}, which does not call this method.
+     * To customize the mapping, override {@link IdTokenClaimsMapper#listOfStrings(Object) }.
+     *
      * @param value -
      * @return -
      */
+    @Deprecated
     protected List<String> parseListOfStrings(@Nullable final Object value) {
         if (value instanceof List)  {
             final List originalList = (List) value;
@@ -122,9 +110,14 @@ public class IdTokenParser {
     /**
      * Converts "epoch-second" to an {@link Instant}.
      *
+     * <p>
+     * NOTE: This method is deprecated: The claims are mapped by {@link IdTokenClaimsMapper}, which does not call this method.
+     * To customize the mapping, override {@link IdTokenClaimsMapper#instantClaim(Object) }.
+     *
      * @param epochSecond -
      * @return -
      */
+    @Deprecated
     public @Nullable Instant toInstant(@Nullable final Long epochSecond) {
         return (epochSecond == null ? null : Instant.ofEpochSecond(epochSecond));
     }
@@ -135,9 +128,13 @@ public class IdTokenParser {
      * <p>
      * Currently only numbers are supported.
      *
+     * <p>
+     * NOTE: This method is deprecated, see {@link #toInstant(Long)}.
+     *
      * @param object -
      * @return -
      */
+    @Deprecated
     public @Nullable Instant toInstant(@Nullable final Object object) {
         if (object instanceof Number) {
             return toInstant(((Number) object).longValue());
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+import java.util.EnumSet;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Result of {@link IdTokenValidator#validateToResult(com.tenduke.client.openid.IdToken, java.time.Instant, java.lang.String) }.
+ *
+ * <p>
+ * The failed checks are kept as a bitset, and the message describing the failure is built only when asked for. Thus rejecting a token
+ * allocates no exception and formats no strings. Valid tokens share one instance, {@link #VALID}.
+ *
+ */
+public final class IdTokenValidationResult {
+
+    /** Result of a valid token. */
+    public static final IdTokenValidationResult VALID = new IdTokenValidationResult(0, null, null, null);
+
+    /** Bitset of failed checks, see {@link IdTokenCheck#bit() }. */
+    private final int failedChecks;
+
+    /** The validated token, {@code null} if valid. */
+    private final @Nullable IdToken token;
+
+    /** Expected issuer, {@code null} if valid. */
+    private final @Nullable String expectedIssuer;
+
+    /** Client id, {@code null} if valid. */
+    private final @Nullable String clientId;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param failedChecks bitset of failed checks
+     * @param token the validated token
+     * @param expectedIssuer -
+     * @param clientId -
+     */
+    IdTokenValidationResult(
+            final int failedChecks,
+            @Nullable final IdToken token,
+            @Nullable final String expectedIssuer,
+            @Nullable final String clientId
+    ) {
+        this.failedChecks = failedChecks;
+        this.token = token;
+        this.expectedIssuer = expectedIssuer;
+        this.clientId = clientId;
+    }
+
+    /**
+     * Checks if the token is valid, i.e.&nbsp;all checks passed.
+     *
+     * @return -
+     */
+    public boolean isValid() {
+        return failedChecks == 0;
+    }
+
+    /**
+     * Checks if given check failed.
+     *
+     * @param check -
+     * @return -
+     */
+    public boolean hasFailed(final IdTokenCheck check) {
+        return (failedChecks & check.bit()) != 0;
+    }
+
+    /**
+     * Returns the failed checks.
+     *
+     * @return new set of the failed checks, empty if valid
+     */
+    public Set<IdTokenCheck> getFailedChecks() {
+        final EnumSet<IdTokenCheck> result = EnumSet.noneOf(IdTokenCheck.class);
+
+        for (final IdTokenCheck check : IdTokenCheck.values()) {
+            if (hasFailed(check)) {
+                result.add(check);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the first failed check, in the order of {@link IdTokenCheck}.
+     *
+     * @return the check, {@code null} if valid
+     */
+    public @Nullable IdTokenCheck getFirstFailure() {
+        return (failedChecks == 0 ? null : IdTokenCheck.values()[Integer.numberOfTrailingZeros(failedChecks)]);
+    }
+
+    /**
+     * Builds message describing the first failed check.
+     *
+     * @return the message, {@code null} if valid
+     */
+    public @Nullable String getMessage() {
+        @Nullable final IdTokenCheck failure = getFirstFailure();
+
+        if (failure == null) {
+            return null;
+        }
+
+        switch (failure) {
+            case ISSUER:
+                return "Issuer does not match: expected " + expectedIssuer + ", got: " + token.getIss();
+            case AUDIENCE:
+                return "Claim \"aud\" does not contain client id";
+            case AUTHORIZED_PARTY_PRESENT:
+                return "ID token contains multiple audiences, but claim \"azp\" not present";
+            case AUTHORIZED_PARTY:
+                return "Invalid authorized party (\"azp\"): Expected " + clientId + ", got " + token.getAzp();
+            case EXPIRATION:
+                return "Token expired";
+            case NOT_BEFORE:
+                return "Token not valid yet";
+            case ISSUED_AT:
+                return "Token too old";
+            case NONCE:
+                return "Nonce does not match!";
+            default:
+                return "Check " + failure + " failed";
+        }
+    }
+
+    /**
+     * Creates exception describing the first failed check.
+     *
+     * @return the exception, {@code null} if valid
+     */
+    public @Nullable IdTokenException toException() {
+        return (failedChecks == 0 ? null : new IdTokenException(getMessage()));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public String toString() {
+        return "IdTokenValidationResult{" + (isValid() ? "valid" : "failedChecks=" + getFailedChecks()) + '}';
+    }
+
+}
@@ -8,6 +8,7 @@
 package com.tenduke.client.openid;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import javax.annotation.Nullable;
@@ -15,9 +16,16 @@ import javax.annotation.Nullable;
 /**
  * Validates an Id-token.
  *
+ * <p>
+ * The time-based checks ({@code exp}, {@code nbf} and {@code iat}) allow for a configurable clock skew between this host and the
+ * issuer, no skew by default. The current time is read once per validation with {@link Clock#millis() }, so with {@link CoarseClock}
+ * validation reads neither the system clock nor allocates.
  */
 public class IdTokenValidator {
 
+    /** Milliseconds per second. */
+    private static final long MILLIS_PER_SECOND = 1000L;
+
     /** Expected client id. */
     private final String clientId;
 
@@ -27,6 +35,9 @@ public class IdTokenValidator {
     /** Expected issuer. */
     private final String expectedIssuer;
 
+    /** Allowed clock skew, in milliseconds. */
+    private final long allowedClockSkewMillis;
+
     /**
      * Constructs new instance.
      *
@@ -56,13 +67,40 @@ public class IdTokenValidator {
             final String expectedIssuer,
             final Clock clock
     ) {
+        this(clientId, expectedIssuer, clock, Duration.ZERO);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param clientId -
+     * @param expectedIssuer -
+     * @param clock -
+     * @param allowedClockSkew allowed clock skew: Tokens are accepted this long after {@code exp} and before {@code nbf}, and tokens
+     *      issued this long before {@code rejectTokensIssuedBeforeThis} are not rejected
+     */
+    public IdTokenValidator(
+            final String clientId,
+            final String expectedIssuer,
+            final Clock clock,
+            final Duration allowedClockSkew
+    ) {
+        if (allowedClockSkew.isNegative()) {
+            throw new IllegalArgumentException("Allowed clock skew must not be negative, got " + allowedClockSkew);
+        }
+
         this.clientId = clientId;
         this.clock = clock;
         this.expectedIssuer = expectedIssuer;
+        this.allowedClockSkewMillis = allowedClockSkew.toMillis();
     }
 
 
     /** Validates id token as per OpenId Connect spec, section 3.1.3.7: ID Token Validation.
+     *
+     * <p>
+     * This is a wrapper over {@link #validateToResult(com.tenduke.client.openid.IdToken, java.time.Instant, java.lang.String) }, which
+     * throws on the first failed check.
      *
      * @param token -
      * @param rejectTokensIssuedBeforeThis -
@@ -74,6 +112,34 @@ public class IdTokenValidator {
             @Nullable final Instant rejectTokensIssuedBeforeThis,
             @Nullable final String nonce
     ) throws IdTokenException {
+        @Nullable final IdTokenException failure = validateToResult(token, rejectTokensIssuedBeforeThis, nonce).toException();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /** Validates id token as per OpenId Connect spec, section 3.1.3.7: ID Token Validation, without throwing.
+     *
+     * <p>
+     * All checks are done, and the failed ones are returned in the result. No exceptions are created and no messages are formatted, unless
+     * requested from the result. This is meant for paths, where rejecting tokens is frequent and must be cheap.
+     *
+     * <p>
+     * Unlike older versions, missing {@code exp}, or missing {@code iat} when {@code rejectTokensIssuedBeforeThis} is given, fail the
+     * respective check.
+     *
+     * @param token -
+     * @param rejectTokensIssuedBeforeThis -
+     * @param nonce -
+     * @return the result, {@link IdTokenValidationResult#VALID} if all checks pass
+     */
+    public IdTokenValidationResult validateToResult(
+            final IdToken token,
+            @Nullable final Instant rejectTokensIssuedBeforeThis,
+            @Nullable final String nonce
+    ) {
+        int failedChecks = 0;
         // UNSUPPORTED: 1. If the ID Token is encrypted, decrypt it using the keys and algorithms that the Client specified during
         // Registration that the OP was to use to encrypt the ID Token. If encryption was negotiated with the OP at Registration time and
         // the ID Token is not encrypted, the RP SHOULD reject it.
@@ -81,7 +147,7 @@ public class IdTokenValidator {
         // 2. The Issuer Identifier for the OpenID Provider (which is typically obtained during Discovery) MUST exactly match the value of
         // the iss (issuer) Claim.
         if (!expectedIssuer.equals(token.getIss())) {
-            throw new IdTokenException(String.format("Issuer does not match: expected %s, got: %s", expectedIssuer, token.getIss()));
+            failedChecks |= IdTokenCheck.ISSUER.bit();
         }
 
         // 3. The Client MUST validate that the aud (audience) Claim contains its client_id value registered at the Issuer identified by the
@@ -90,19 +156,19 @@ public class IdTokenValidator {
         // Client.
         final List<String> audiences = token.getAud();
         if (!audiences.contains(clientId)) {
-            throw new IdTokenException(String.format("Claim \"aud\" does not contain client id", expectedIssuer, token.getIss()));
+            failedChecks |= IdTokenCheck.AUDIENCE.bit();
         }
 
         // 4. If the ID Token contains multiple audiences, the Client SHOULD verify that an azp Claim is present.
         @Nullable final String authorizedParty = token.getAzp();
 
         if (audiences.size() > 1 && (authorizedParty == null || authorizedParty.isEmpty())) {
-            throw new IdTokenException("ID token contains multiple audiences, but claim \"azp\" not present");
+            failedChecks |= IdTokenCheck.AUTHORIZED_PARTY_PRESENT.bit();
         }
 
         // 5. If an azp (authorized party) Claim is present, the Client SHOULD verify that its client_id is the Claim Value.
         if (authorizedParty != null && !authorizedParty.equals(clientId)) {
-            throw new IdTokenException(String.format("Invalid authorized party (\"azp\"): Expected %s, got %s", clientId, authorizedParty));
+            failedChecks |= IdTokenCheck.AUTHORIZED_PARTY.bit();
         }
 
         // ALREADY DONE: 6. If the ID Token is received via direct communication between the Client and the Token Endpoint (which it is in
@@ -118,24 +184,37 @@ public class IdTokenValidator {
         // validate the signature. For MAC based algorithms, the behavior is unspecified if the aud is multi-valued or if an azp value is
         // present that is different than the aud value.
 
-        // 9. The current time MUST be before the time represented by the exp Claim.
-        final Instant currentTime = clock.instant();
+        // 9. The current time MUST be before the time represented by the exp Claim. (Implementers MAY provide for some small leeway,
+        // usually no more than a few minutes, to account for clock skew.)
+        final long now = clock.millis();
+        @Nullable final Instant expiresAt = token.getExp();
+
+        if (expiresAt == null || now > expiresAt.toEpochMilli() + allowedClockSkewMillis) {
+            failedChecks |= IdTokenCheck.EXPIRATION.bit();
+        }
+
+        // RFC 7519, 4.1.5: The JWT MUST NOT be accepted for processing before the time of the nbf Claim, if present. (Non-numeric nbf is
+        // ignored.)
+        @Nullable final Object notBefore = token.gimmeAdditionalProperty("nbf");
 
-        if (currentTime.isAfter(token.getExp())) {
-            throw new IdTokenException(String.format("Token expired"));
+        if (notBefore instanceof Number && now + allowedClockSkewMillis < ((Number) notBefore).longValue() * MILLIS_PER_SECOND) {
+            failedChecks |= IdTokenCheck.NOT_BEFORE.bit();
         }
 
         // 9. The iat Claim can be used to reject tokens that were issued too far away from the current time, limiting the amount of time
         // that nonces need to be stored to prevent attacks. The acceptable range is Client specific.
-        if (rejectTokensIssuedBeforeThis != null && token.getIat().isBefore(rejectTokensIssuedBeforeThis)) {
-            throw new IdTokenException(String.format("Token too old"));
+        @Nullable final Instant issuedAt = token.getIat();
+
+        if (rejectTokensIssuedBeforeThis != null
+                && (issuedAt == null || issuedAt.toEpochMilli() + allowedClockSkewMillis < rejectTokensIssuedBeforeThis.toEpochMilli())) {
+            failedChecks |= IdTokenCheck.ISSUED_AT.bit();
         }
 
         // 10. If a nonce value was sent in the Authentication Request, a nonce Claim MUST be present and its value checked to verify that
         // it is the same value as the one that was sent in the Authentication Request. The Client SHOULD check the nonce value for replay
         // attacks. The precise method for detecting replay attacks is Client specific.
         if (nonce != null && !nonce.equals(token.getNonce())) {
-            throw new IdTokenException(String.format("Nonce does not match!"));
+            failedChecks |= IdTokenCheck.NONCE.bit();
         }
 
         // CALLER VERIFIES: 11. If the acr Claim was requested, the Client SHOULD check that the asserted Claim Value is appropriate. The
@@ -144,5 +223,11 @@ public class IdTokenValidator {
         // CALLER VERIFIES: 12. If the auth_time Claim was requested, either through a specific request for this Claim or by using the
         // max_age parameter, the Client SHOULD check the auth_time Claim value and request re-authentication if it determines too much time
         // has elapsed since the last End-User authentication.
+
+        if (failedChecks == 0) {
+            return IdTokenValidationResult.VALID;
+        }
+
+        return new IdTokenValidationResult(failedChecks, token, expectedIssuer, clientId);
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+import javax.annotation.Nullable;
+
+/**
+ * Result of verifying one ID-token with {@link IdTokenBatchVerifier}: Either the parsed and validated {@link IdToken}, or the reason
+ * why the token was rejected.
+ *
+ * <p>
+ * If the token was rejected by {@link IdTokenValidator}, the {@link IdTokenException} is built only when asked for with
+ * {@link #getError() }. Use {@link #getValidationResult() } to inspect the failed checks without building the exception.
+ *
+ */
+public class IdTokenVerificationResult {
+
+    /** The compact ID-token. */
+    private final String token;
+
+    /** The parsed token, {@code null} if the token was rejected. */
+    private final @Nullable IdToken idToken;
+
+    /** The reason for rejecting the token, {@code null} if the token is valid or was rejected by the validator. */
+    private final @Nullable IdTokenException error;
+
+    /** Result of the validation, {@code null} if the token could not be parsed. */
+    private final @Nullable IdTokenValidationResult validationResult;
+
+    /**
+     * Constructs new instance. Exactly one of {@code idToken} and {@code error} must be non-{@code null}.
+     *
+     * @param token the compact ID-token
+     * @param idToken the parsed token, {@code null} if rejected
+     * @param error the reason for rejecting the token, {@code null} if valid
+     */
+    public IdTokenVerificationResult(
+            final String token,
+            @Nullable final IdToken idToken,
+            @Nullable final IdTokenException error
+    ) {
+        this(token, idToken, error, (error == null ? IdTokenValidationResult.VALID : null));
+    }
+
+    /**
+     * Constructs new instance for a parsed token.
+     *
+     * @param token the compact ID-token
+     * @param idToken the parsed token
+     * @param validationResult -
+     */
+    IdTokenVerificationResult(
+            final String token,
+            final IdToken idToken,
+            final IdTokenValidationResult validationResult
+    ) {
+        this(token, (validationResult.isValid() ? idToken : null), null, validationResult);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param token -
+     * @param idToken -
+     * @param error -
+     * @param validationResult -
+     */
+    private IdTokenVerificationResult(
+            final String token,
+            @Nullable final IdToken idToken,
+            @Nullable final IdTokenException error,
+            @Nullable final IdTokenValidationResult validationResult
+    ) {
+        this.token = token;
+        this.idToken = idToken;
+        this.error = error;
+        this.validationResult = validationResult;
+    }
+
+    /**
+     * Checks if the token is valid.
+     *
+     * @return {@code true} if the token is valid, i.e.&nbsp;{@link #getIdToken() } returns the parsed token
+     */
+    public boolean isValid() {
+        return error == null && validationResult != null && validationResult.isValid();
+    }
+
+    /**
+     * Returns the reason for rejecting the token.
+     *
+     * <p>
+     * If the token was rejected by the validator, this builds new exception on each call.
+     *
+     * @return the reason, {@code null} if the token is valid
+     */
+    public @Nullable IdTokenException getError() {
+        return (error != null || validationResult == null ? error : validationResult.toException());
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    // CSOFF: JavadocMethod
+
+    public String getToken() {
+        return token;
+    }
+
+    public @Nullable IdToken getIdToken() {
+        return idToken;
+    }
+
+    public @Nullable IdTokenValidationResult getValidationResult() {
+        return validationResult;
+    }
+
+    // CSON: JavadocMethod
+    // </editor-fold>
+
+}
@@ -10,10 +10,17 @@ package com.tenduke.client.openid;
 import com.tenduke.client.json.DefaultJsonDeserializer;
 import com.tenduke.client.json.JsonDeserializer;
 import com.tenduke.client.jwt.DefaultJwtParserFactory;
+import com.tenduke.client.oauth.HttpTransportConfig;
 import com.tenduke.client.oauth.OAuthClient;
 import static com.tenduke.client.oauth.authorizationcode.AuthorizationCodeClient.DEFAULT_HTTP_CLIENT;
 import com.tenduke.client.oauth.exceptions.OAuthException;
 import java.net.http.HttpClient;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
 
 /**
  * Client for OpenId Connect with Authorization Code flow.
@@ -41,17 +48,62 @@ public class OpenIdAuthorizationCodeClient implements OAuthClient {
      * Constructs new instance.
      *
      * @param config -
+     * @throws IllegalArgumentException if the configuration has no signature verification key
      */
-    public OpenIdAuthorizationCodeClient(final OpenIdAuthorizationCodeConfig config) {
+    public OpenIdAuthorizationCodeClient(final OpenIdAuthorizationCodeConfig config) throws IllegalArgumentException {
         this(
                 config,
                 DEFAULT_HTTP_CLIENT,
-                new IdTokenParser(DefaultJwtParserFactory.INSTANCE.create(config.getSignatureVerificationKey())),
+                new IdTokenParser(DefaultJwtParserFactory.INSTANCE.create(signatureVerificationKey(config))),
                 new IdTokenValidator(config.getClientId(), config.getIssuer()),
                 DefaultJsonDeserializer.INSTANCE.get()
         );
     }
 
+    /**
+     * Constructs new instance with new HTTP-client, built with given transport configuration.
+     *
+     * <p>
+     * The HTTP-client holds the connections: Construct the client once and share it.
+     *
+     * @param config -
+     * @param transport -
+     * @throws IllegalArgumentException if the configuration has no signature verification key
+     */
+    public OpenIdAuthorizationCodeClient(
+            final OpenIdAuthorizationCodeConfig config,
+            final HttpTransportConfig transport
+    ) throws IllegalArgumentException {
+        this(config, transport, Duration.ZERO);
+    }
+
+    /**
+     * Constructs new instance with new HTTP-client, built with given transport configuration, allowing for given clock skew between
+     * this host and the issuer when checking the ID-token times.
+     *
+     * <p>
+     * The HTTP-client holds the connections: Construct the client once and share it.
+     *
+     * @param config -
+     * @param transport -
+     * @param allowedClockSkew allowed clock skew, applied both when parsing and when validating the ID-tokens
+     * @throws IllegalArgumentException if the configuration has no signature verification key
+     */
+    public OpenIdAuthorizationCodeClient(
+            final OpenIdAuthorizationCodeConfig config,
+            final HttpTransportConfig transport,
+            final Duration allowedClockSkew
+    ) throws IllegalArgumentException {
+        this(
+                config,
+                transport.newHttpClient(),
+                new IdTokenParser(DefaultJwtParserFactory.INSTANCE.create(signatureVerificationKey(config), allowedClockSkew)),
+                new IdTokenValidator(config.getClientId(), config.getIssuer(), Clock.systemUTC(), allowedClockSkew),
+                DefaultJsonDeserializer.INSTANCE.get(),
+                transport.getRequestTimeout()
+        );
+    }
+
     /**
      * Constructs new instance.
      *
@@ -67,11 +119,38 @@ public class OpenIdAuthorizationCodeClient implements OAuthClient {
             final IdTokenParser idtokenParser,
             final IdTokenValidator idTokenValidator,
             final JsonDeserializer jsonDeserializer
+    ) {
+        this(config, httpClient, idtokenParser, idTokenValidator, jsonDeserializer, HttpTransportConfig.DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param config -
+     * @param httpClient -
+     * @param idtokenParser -
+     * @param idTokenValidator -
+     * @param jsonDeserializer -
+     * @param requestTimeout timeout of the token requests
+     */
+    public OpenIdAuthorizationCodeClient(
+            final OpenIdAuthorizationCodeConfig config,
+            final HttpClient httpClient,
+            final IdTokenParser idtokenParser,
+            final IdTokenValidator idTokenValidator,
+            final JsonDeserializer jsonDeserializer,
+            final Duration requestTimeout
     ) {
         this.config = config;
         this.idTokenValidator = idTokenValidator;
 
-        this.tokenRequestFactory = new OpenIdAuthorizationCodeTokenRequestFactory(config, httpClient, jsonDeserializer, idtokenParser);
+        this.tokenRequestFactory = new OpenIdAuthorizationCodeTokenRequestFactory(
+                config,
+                httpClient,
+                jsonDeserializer,
+                idtokenParser,
+                requestTimeout
+        );
     }
 
     /**
@@ -99,4 +178,56 @@ public class OpenIdAuthorizationCodeClient implements OAuthClient {
         return tokenRequestFactory.refresh(refreshToken, "refresh-" + System.currentTimeMillis()).call();
     }
 
+    /**
+     * Refreshes the access token with refresh token asynchronously.
+     *
+     * <p>
+     * The returned future completes exceptionally with {@link OAuthException} if the refresh fails.
+     *
+     * @param refreshToken -
+     * @return future, which completes with the refreshed token
+     */
+    public CompletableFuture<OpenIdAuthorizationCodeResponse> refreshAsync(final String refreshToken) {
+        return tokenRequestFactory.refresh(refreshToken, "refresh-" + System.currentTimeMillis()).callAsync();
+    }
+
+    /**
+     * Refreshes the access token with refresh token, executing the blocking request on given executor.
+     *
+     * <p>
+     * The returned future completes exceptionally with {@link OAuthException} if the refresh fails.
+     *
+     * @param refreshToken -
+     * @param executor executor, which runs the request, e.g.&nbsp;a virtual-thread executor with Java 21+
+     * @return future, which completes with the refreshed token
+     */
+    public CompletableFuture<OpenIdAuthorizationCodeResponse> refreshAsync(final String refreshToken, final Executor executor) {
+        return tokenRequestFactory.refresh(refreshToken, "refresh-" + System.currentTimeMillis()).callAsync(executor);
+    }
+
+    /**
+     * Returns the signature verification key of the configuration, for the constructors which create the ID-token parser.
+     *
+     * <p>
+     * A configuration from discovery has no key, the keys come from the JSON Web Key Set of the issuer: Such configuration needs an
+     * {@link IdTokenParser} resolving the keys, e.g.&nbsp;{@code OpenIdDiscovery.idTokenParser()}, or a client built with
+     * {@code OpenIdDiscovery.client(...)}.
+     *
+     * @param config -
+     * @return -
+     * @throws IllegalArgumentException if the configuration has no signature verification key
+     */
+    private static Key signatureVerificationKey(final OpenIdAuthorizationCodeConfig config) throws IllegalArgumentException {
+        @Nullable final Key key = config.getSignatureVerificationKey();
+
+        if (key == null) {
+            throw new IllegalArgumentException(
+                    "Configuration has no signature verification key: Use OpenIdDiscovery.client(...), or pass the ID-token parser "
+                    + "from OpenIdDiscovery.idTokenParser() to the constructor"
+            );
+        }
+
+        return key;
+    }
+
 }
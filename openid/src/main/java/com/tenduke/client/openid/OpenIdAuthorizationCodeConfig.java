@@ -21,8 +21,8 @@ public class OpenIdAuthorizationCodeConfig extends AuthorizationCodeConfig {
     /** Issuer. */
     private final String issuer;
 
-    /** Key for verifying the ID-token signature. */
-    private final Key signatureVerificationKey;
+    /** Key for verifying the ID-token signature, {@code null} if the keys are resolved otherwise, e.g.&nbsp;from JWKS. */
+    private final @Nullable Key signatureVerificationKey;
 
     /**
      * Constructs new instance.
@@ -84,6 +84,36 @@ public class OpenIdAuthorizationCodeConfig extends AuthorizationCodeConfig {
         this.signatureVerificationKey = signatureVerificationKey;
     }
 
+    /**
+     * Constructs new instance without signature verification key.
+     *
+     * <p>
+     * Use this when the ID-token signature verification keys are resolved otherwise, e.g.&nbsp;from the JSON Web Key Set of the
+     * issuer. The {@link IdTokenParser} must then be given to the client explicitly.
+     *
+     * @param clientId -
+     * @param authorizationEndpoint -
+     * @param redirectUri -
+     * @param tokenEndpoint -
+     * @param clientSecret -
+     * @param issuer -
+     * @param usePKCE -
+     */
+    public OpenIdAuthorizationCodeConfig(
+            final String clientId,
+            final URI authorizationEndpoint,
+            final URI redirectUri,
+            final URI tokenEndpoint,
+            final @Nullable String clientSecret,
+            final String issuer,
+            final boolean usePKCE
+    ) {
+        super(clientId, authorizationEndpoint, redirectUri, tokenEndpoint, clientSecret, usePKCE);
+
+        this.issuer = issuer;
+        this.signatureVerificationKey = null;
+    }
+
     // <editor-fold defaultstate="collapsed" desc="Getters">
     // CSOFF: JavadocMethod
 
@@ -91,7 +121,7 @@ public class OpenIdAuthorizationCodeConfig extends AuthorizationCodeConfig {
         return issuer;
     }
 
-    public Key getSignatureVerificationKey() {
+    public @Nullable Key getSignatureVerificationKey() {
         return signatureVerificationKey;
     }
 
@@ -10,11 +10,11 @@ package com.tenduke.client.openid;
 import com.tenduke.client.json.JsonDeserializationException;
 import com.tenduke.client.json.JsonDeserializer;
 import com.tenduke.client.oauth.authorizationcode.AbstractTokenRequest;
-import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeResponse;
 import com.tenduke.client.oauth.exceptions.OAuthException;
 import com.tenduke.client.oauth.exceptions.OAuthServerException;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.time.Duration;
 import javax.annotation.Nullable;
 
 /**
@@ -55,12 +55,40 @@ public class OpenIdAuthorizationCodeTokenRequest extends AbstractTokenRequest<Op
         this.requireIdToken = requireIdToken;
     }
 
+    /**
+     * Constructs new instance.
+     *
+     * @param httpClient -
+     * @param json -
+     * @param request -
+     * @param state -
+     * @param tokenEndpoint -
+     * @param idTokenParser -
+     * @param requireIdToken -
+     * @param requestTimeout -
+     */
+    public OpenIdAuthorizationCodeTokenRequest(
+            final HttpClient httpClient,
+            final JsonDeserializer json,
+            final String request,
+            final String state,
+            final URI tokenEndpoint,
+            final IdTokenParser idTokenParser,
+            final boolean requireIdToken,
+            final Duration requestTimeout
+    ) {
+        super(httpClient, json, request, state, tokenEndpoint, requestTimeout);
+
+        this.parseIdToken = idTokenParser;
+        this.requireIdToken = requireIdToken;
+    }
+
     /**
      * De-serializes the token response.
      *
      * <p>
-     * This de-serializes the response as AuthorizationCodeResponse and then transforms that
-     * to OpenIdAuthorizationCodeResponse. This is to avoid custom tweaking the JSON-serializers.
+     * This de-serializes the response as {@link OpenIdTokenEndpointResponse}, where the ID-token is mapped directly to a field, and
+     * then transforms that to OpenIdAuthorizationCodeResponse. This is to avoid custom tweaking the JSON-serializers.
      *
      * @param body -
      * @return -
@@ -72,23 +100,55 @@ public class OpenIdAuthorizationCodeTokenRequest extends AbstractTokenRequest<Op
     protected OpenIdAuthorizationCodeResponse deserializeTokenResponse(final String body)
             throws JsonDeserializationException, OAuthException {
 
-        // De-serialize the response as AuthorizationCodeResponse
-        final AuthorizationCodeResponse response = super.deserialize(body, AuthorizationCodeResponse.class);
+        return toOpenIdResponse(super.deserialize(body, OpenIdTokenEndpointResponse.class));
+    }
 
-        // Extract the id-token:
-        @Nullable final Object idTokenProperty = response.gimmeAdditionalProperty("id_token");
+    /**
+     * De-serializes the token response.
+     *
+     * <p>
+     * This de-serializes the response as {@link OpenIdTokenEndpointResponse}, where the ID-token is mapped directly to a field, and
+     * then transforms that to OpenIdAuthorizationCodeResponse. This is to avoid custom tweaking the JSON-serializers.
+     *
+     * @param body -
+     * @return -
+     * @throws JsonDeserializationException -
+     * @throws OAuthException -
+     *
+     */
+    @Override
+    protected OpenIdAuthorizationCodeResponse deserializeTokenResponse(final byte[] body)
+            throws JsonDeserializationException, OAuthException {
+
+        return toOpenIdResponse(super.deserialize(body, OpenIdTokenEndpointResponse.class));
+    }
+
+    /**
+     * Parses the ID-token of the response.
+     *
+     * <p>
+     * The serialized ID-token is also kept as additional property {@code id_token} of the result, as it was before the ID-token got
+     * its own field in the deserialized response.
+     *
+     * @param response -
+     * @return -
+     * @throws OAuthException -
+     */
+    private OpenIdAuthorizationCodeResponse toOpenIdResponse(final OpenIdTokenEndpointResponse response) throws OAuthException {
+        @Nullable final String serializedIdToken = response.getIdToken();
 
-        if (idTokenProperty == null) {
+        if (serializedIdToken == null) {
             if (requireIdToken) {
                 throw new OAuthServerException("Token response does not contain ID-token");
             }
             return new OpenIdAuthorizationCodeResponse(response, null);
         }
 
-        // Parse the id-token:
-        final IdToken idToken = parseIdToken.from(idTokenProperty.toString());
+        final OpenIdAuthorizationCodeResponse result = new OpenIdAuthorizationCodeResponse(response, parseIdToken.from(serializedIdToken));
+
+        result.zetAdditionalProperty("id_token", serializedIdToken);
 
-        return new OpenIdAuthorizationCodeResponse(response, idToken);
+        return result;
     }
 
 }
@@ -8,10 +8,13 @@
 package com.tenduke.client.openid;
 
 import com.tenduke.client.json.JsonDeserializer;
+import com.tenduke.client.oauth.HttpTransportConfig;
+import com.tenduke.client.oauth.OAuthErrorResponse;
 import com.tenduke.client.oauth.authorizationcode.AbstractTokenRequestFactory;
 import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeConfig;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.time.Duration;
 
 /**
  * Creates token requests.
@@ -33,9 +36,15 @@ public class OpenIdAuthorizationCodeTokenRequestFactory extends AbstractTokenReq
     /** Deserializes JSON. */
     private final JsonDeserializer jsonDeserializer;
 
+    /** Timeout of the token requests. */
+    private final Duration requestTimeout;
+
     /**
      * Constructs new instance.
      *
+     * <p>
+     * The JSON-deserializer is prepared for the token responses, so that the first token request does not pay for the initialization.
+     *
      * @param config -
      * @param httpClient -
      * @param jsonDeserializer -
@@ -46,11 +55,36 @@ public class OpenIdAuthorizationCodeTokenRequestFactory extends AbstractTokenReq
             final HttpClient httpClient,
             final JsonDeserializer jsonDeserializer,
             final IdTokenParser idTokenParser
+    ) {
+        this(config, httpClient, jsonDeserializer, idTokenParser, HttpTransportConfig.DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * <p>
+     * The JSON-deserializer is prepared for the token responses, so that the first token request does not pay for the initialization.
+     *
+     * @param config -
+     * @param httpClient -
+     * @param jsonDeserializer -
+     * @param idTokenParser -
+     * @param requestTimeout timeout of the token requests
+     */
+    public OpenIdAuthorizationCodeTokenRequestFactory(
+            final AuthorizationCodeConfig config,
+            final HttpClient httpClient,
+            final JsonDeserializer jsonDeserializer,
+            final IdTokenParser idTokenParser,
+            final Duration requestTimeout
     ) {
         super(config);
         this.httpClient = httpClient;
         this.idTokenParser = idTokenParser;
         this.jsonDeserializer = jsonDeserializer;
+        this.requestTimeout = requestTimeout;
+
+        jsonDeserializer.prepare(OpenIdTokenEndpointResponse.class, OAuthErrorResponse.class);
     }
 
     /**
@@ -70,7 +104,8 @@ public class OpenIdAuthorizationCodeTokenRequestFactory extends AbstractTokenReq
                 state,
                 tokenEndpoint,
                 idTokenParser,
-                true
+                true,
+                requestTimeout
         );
     }
 
@@ -91,7 +126,8 @@ public class OpenIdAuthorizationCodeTokenRequestFactory extends AbstractTokenReq
                 state,
                 getTokenEndpoint(),
                 idTokenParser,
-                false
+                false,
+                requestTimeout
         );
     }
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeResponse;
+import javax.annotation.Nullable;
+
+/**
+ * Token endpoint response of OpenID Connect, as deserialized from JSON.
+ *
+ * <p>
+ * The ID-token is mapped to its own field in the same pass as the other properties, in its serialized form. It is parsed to
+ * {@link IdToken} when building the {@link OpenIdAuthorizationCodeResponse}.
+ *
+ */
+public class OpenIdTokenEndpointResponse extends AuthorizationCodeResponse {
+
+    private static final long serialVersionUID = 1L;
+
+    // NOTE: Do not change names of these fields. They are mapped from JSON.
+
+    /** The serialized ID-token. */
+    private final @Nullable String idToken;
+
+    /**
+     * No-arg constructor. Some JSON-serializers need this.
+     *
+     */
+    protected OpenIdTokenEndpointResponse() {
+        this(null, null, -1, null, null);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param accessToken -
+     * @param refreshToken -
+     * @param expiresIn -
+     * @param tokenType -
+     * @param idToken the serialized ID-token
+     */
+    public OpenIdTokenEndpointResponse(
+            final String accessToken,
+            final String refreshToken,
+            final long expiresIn,
+            final String tokenType,
+            @Nullable final String idToken
+    ) {
+        super(accessToken, refreshToken, expiresIn, tokenType);
+        this.idToken = idToken;
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    // CSOFF: JavadocMethod
+
+    public @Nullable String getIdToken() {
+        return idToken;
+    }
+
+    // CSON: JavadocMethod
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="toString()">
+
+    /**
+     * {@inheritDoc}
+     *
+     */
+    @Override
+    public String toString() {
+        return "OpenIdTokenEndpointResponse{"
+                + "accessToken=" + getAccessToken()
+                + ", refreshToken=" + getRefreshToken()
+                + ", expiresIn=" + getExpiresIn()
+                + ", tokenType=" + getTokenType()
+                + ", idToken=" + idToken
+                + '}';
+    }
+
+    // </editor-fold>
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+import com.tenduke.client.jwt.JwtException;
+import com.tenduke.client.jwt.JwtParser;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingIdTokenParserTest {
+
+    private static final Instant NOW = Instant.parse("2019-10-01T12:00:00Z");
+
+    private JwtParser jwt;
+
+    @Before
+    public void beforeTest() {
+        jwt = mock(JwtParser.class);
+    }
+
+    @Test
+    public void shouldVerifyRepeatedTokenOnlyOnce() throws Exception {
+        final CachingIdTokenParser parser = parserAt(NOW, 10, Duration.ofMinutes(5));
+        when(jwt.parse("token-1")).thenReturn(claims("a", NOW.plusSeconds(3600)));
+
+        final IdToken first = parser.from("token-1");
+        final IdToken second = parser.from("token-1");
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getSub()).isEqualTo("a");
+        assertThat(second.getAud()).isEqualTo(first.getAud());
+        assertThat(second.getExp()).isEqualTo(first.getExp());
+        assertThat(parser.size()).isEqualTo(1);
+        verify(jwt, times(1)).parse("token-1");
+    }
+
+    @Test
+    public void modifyingReturnedTokenShouldNotAffectCachedToken() throws Exception {
+        final CachingIdTokenParser parser = parserAt(NOW, 10, Duration.ofMinutes(5));
+        final Map<String, Object> claims = new HashMap<>(claims("a", NOW.plusSeconds(3600)));
+
+        claims.put("name", "Alice");
+        when(jwt.parse("token-1")).thenReturn(claims);
+
+        parser.from("token-1").zetAdditionalProperty("name", "Mallory");
+        parser.from("token-1").getAdditionalProperties().put("extra", true);
+
+        final IdToken cached = parser.from("token-1");
+
+        assertThat(cached.gimmeAdditionalProperty("name")).isEqualTo("Alice");
+        assertThat(cached.getAdditionalProperties()).doesNotContainKey("extra");
+    }
+
+    @Test
+    public void shouldNotCacheBeyondTtl() throws Exception {
+        final MutableClock clock = new MutableClock(NOW);
+        final CachingIdTokenParser parser = new CachingIdTokenParser(jwt, 10, Duration.ofMinutes(5), clock);
+        when(jwt.parse("token-1")).thenReturn(claims("a", NOW.plusSeconds(3600)));
+
+        parser.from("token-1");
+        clock.now = NOW.plus(Duration.ofMinutes(4));
+        parser.from("token-1");
+
+        verify(jwt, times(1)).parse("token-1");
+
+        clock.now = NOW.plus(Duration.ofMinutes(5));
+        parser.from("token-1");
+
+        verify(jwt, times(2)).parse("token-1");
+    }
+
+    @Test
+    public void shouldNotCacheBeyondExp() throws Exception {
+        final MutableClock clock = new MutableClock(NOW);
+        final CachingIdTokenParser parser = new CachingIdTokenParser(jwt, 10, Duration.ofMinutes(5), clock);
+        when(jwt.parse("token-1")).thenReturn(claims("a", NOW.plusSeconds(60)));
+
+        parser.from("token-1");
+        clock.now = NOW.plusSeconds(59);
+        parser.from("token-1");
+
+        verify(jwt, times(1)).parse("token-1");
+
+        clock.now = NOW.plusSeconds(60);
+        parser.from("token-1");
+
+        verify(jwt, times(2)).parse("token-1");
+    }
+
+    @Test
+    public void shouldNotCacheExpiredToken() throws Exception {
+        final CachingIdTokenParser parser = parserAt(NOW, 10, Duration.ofMinutes(5));
+        when(jwt.parse("token-1")).thenReturn(claims("a", NOW.minusSeconds(1)));
+
+        parser.from("token-1");
+
+        assertThat(parser.size()).isZero();
+    }
+
+    @Test
+    public void shouldEvictExpiredEntriesWhenFullAndSkipCachingIfStillFull() throws Exception {
+        final MutableClock clock = new MutableClock(NOW);
+        final CachingIdTokenParser parser = new CachingIdTokenParser(jwt, 2, Duration.ofMinutes(5), clock);
+        when(jwt.parse("token-1")).thenReturn(claims("a", NOW.plusSeconds(10)));
+        when(jwt.parse("token-2")).thenReturn(claims("b", NOW.plusSeconds(3600)));
+        when(jwt.parse("token-3")).thenReturn(claims("c", NOW.plusSeconds(3600)));
+        when(jwt.parse("token-4")).thenReturn(claims("d", NOW.plusSeconds(3600)));
+
+        parser.from("token-1");
+        parser.from("token-2");
+        clock.now = NOW.plusSeconds(20);
+        parser.from("token-3");
+
+        assertThat(parser.size()).isEqualTo(2);
+
+        parser.from("token-4");
+        parser.from("token-4");
+
+        assertThat(parser.size()).isEqualTo(2);
+        verify(jwt, times(2)).parse("token-4");
+
+        parser.clear();
+
+        assertThat(parser.size()).isZero();
+    }
+
+    @Test
+    public void shouldRemoveExpiredEntriesAtMostOncePerSweepInterval() throws Exception {
+        final MutableClock clock = new MutableClock(NOW);
+        final CachingIdTokenParser parser = new CachingIdTokenParser(jwt, 2, Duration.ofMinutes(5), clock);
+        when(jwt.parse("token-1")).thenReturn(claims("a", NOW.plusSeconds(2)));
+        when(jwt.parse("token-2")).thenReturn(claims("b", NOW.plusSeconds(3600)));
+        when(jwt.parse("token-3")).thenReturn(claims("c", NOW.plusSeconds(3600)));
+
+        parser.from("token-1");
+        parser.from("token-2");
+
+        clock.now = NOW.plusSeconds(1);
+        parser.from("token-3");
+
+        // token-1 has expired, but the previous sweep was too recent
+        clock.now = NOW.plusSeconds(5);
+        parser.from("token-3");
+
+        verify(jwt, times(2)).parse("token-3");
+
+        clock.now = NOW.plusSeconds(1).plus(CachingIdTokenParser.SWEEP_INTERVAL);
+        parser.from("token-3");
+        parser.from("token-3");
+
+        verify(jwt, times(3)).parse("token-3");
+    }
+
+    @Test
+    public void shouldMapClaimsWithGivenMapper() throws Exception {
+        final IdTokenClaimsMapper mapper = new IdTokenClaimsMapper() {
+            @Override
+            protected String stringClaim(final Object claim) {
+                return (claim == null ? null : "mapped-" + claim);
+            }
+        };
+        final CachingIdTokenParser parser = new CachingIdTokenParser(
+                jwt, mapper, 10, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC)
+        );
+        when(jwt.parse("token-1")).thenReturn(claims("a", NOW.plusSeconds(3600)));
+
+        assertThat(parser.from("token-1").getSub()).isEqualTo("mapped-a");
+        assertThat(parser.from("token-1").getSub()).isEqualTo("mapped-a");
+        verify(jwt, times(1)).parse("token-1");
+    }
+
+    @Test
+    public void shouldNotShareCacheEntryBetweenDifferentNonAsciiTokens() throws Exception {
+        final CachingIdTokenParser parser = parserAt(NOW, 10, Duration.ofMinutes(5));
+        when(jwt.parse("token-\u00e4")).thenReturn(claims("a", NOW.plusSeconds(3600)));
+        when(jwt.parse("token-\u00f6")).thenReturn(claims("b", NOW.plusSeconds(3600)));
+
+        assertThat(parser.from("token-\u00e4").getSub()).isEqualTo("a");
+        assertThat(parser.from("token-\u00f6").getSub()).isEqualTo("b");
+        assertThat(parser.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotCacheFailures() throws Exception {
+        final CachingIdTokenParser parser = parserAt(NOW, 10, Duration.ofMinutes(5));
+        when(jwt.parse("token-1")).thenThrow(new JwtException("simulated"));
+
+        assertThatExceptionOfType(IdTokenException.class).isThrownBy(() -> parser.from("token-1"));
+        assertThatExceptionOfType(IdTokenException.class).isThrownBy(() -> parser.from("token-1"));
+
+        verify(jwt, times(2)).parse("token-1");
+    }
+
+    private CachingIdTokenParser parserAt(final Instant now, final int maxSize, final Duration ttl) {
+        return new CachingIdTokenParser(jwt, maxSize, ttl, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static Map<String, Object> claims(final String subject, final Instant exp) {
+        return Map.ofEntries(
+                entry("iss", "issuer"),
+                entry("sub", subject),
+                entry("aud", "client"),
+                entry("exp", exp.getEpochSecond()),
+                entry("iat", NOW.getEpochSecond())
+        );
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+    }
+
+}
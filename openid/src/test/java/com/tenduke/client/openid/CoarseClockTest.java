@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class CoarseClockTest {
+
+    private static final Instant T0 = Instant.parse("2019-10-01T12:00:00Z");
+
+    private MutableClock source;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> task;
+
+    @Before
+    public void beforeTest() {
+        source = new MutableClock(T0);
+        scheduler = mock(ScheduledExecutorService.class);
+        task = mock(ScheduledFuture.class);
+        doReturn(task).when(scheduler).scheduleAtFixedRate(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldReturnCachedTimeUntilTick() {
+        final CoarseClock clock = CoarseClock.start(source, scheduler, Duration.ofMillis(5));
+        final ArgumentCaptor<Runnable> tick = ArgumentCaptor.forClass(Runnable.class);
+
+        verify(scheduler).scheduleAtFixedRate(tick.capture(), eq(5_000_000L), eq(5_000_000L), eq(TimeUnit.NANOSECONDS));
+
+        source.now = T0.plusMillis(3);
+        assertThat(clock.instant()).isEqualTo(T0);
+        assertThat(clock.millis()).isEqualTo(T0.toEpochMilli());
+        assertThat(clock.instant()).isSameAs(clock.instant());
+
+        tick.getValue().run();
+        assertThat(clock.instant()).isEqualTo(T0.plusMillis(3));
+        assertThat(clock.millis()).isEqualTo(T0.plusMillis(3).toEpochMilli());
+    }
+
+    @Test
+    public void shouldKeepTickingAfterSourceFails() {
+        final CoarseClock clock = CoarseClock.start(source, scheduler, Duration.ofMillis(5));
+        final ArgumentCaptor<Runnable> tick = ArgumentCaptor.forClass(Runnable.class);
+
+        verify(scheduler).scheduleAtFixedRate(tick.capture(), anyLong(), anyLong(), any(TimeUnit.class));
+
+        source.failure = new IllegalStateException("simulated");
+        tick.getValue().run();
+        assertThat(clock.instant()).isEqualTo(T0);
+
+        source.failure = null;
+        source.now = T0.plusMillis(10);
+        tick.getValue().run();
+        assertThat(clock.millis()).isEqualTo(T0.plusMillis(10).toEpochMilli());
+    }
+
+    @Test
+    public void closeShouldCancelUpdatesButNotShutDownGivenScheduler() {
+        final CoarseClock clock = CoarseClock.start(source, scheduler, Duration.ofMillis(5));
+
+        clock.close();
+
+        verify(task).cancel(false);
+        verify(scheduler, never()).shutdown();
+    }
+
+    @Test
+    public void withZoneShouldShareTime() {
+        final CoarseClock clock = CoarseClock.start(source, scheduler, Duration.ofMillis(5));
+        final ZoneId helsinki = ZoneId.of("Europe/Helsinki");
+
+        assertThat(clock.withZone(ZoneOffset.UTC)).isSameAs(clock);
+        assertThat(clock.withZone(helsinki).getZone()).isEqualTo(helsinki);
+        assertThat(clock.withZone(helsinki).instant()).isEqualTo(clock.instant());
+        assertThat(clock.withZone(helsinki)).isEqualTo(clock.withZone(helsinki)).isNotEqualTo(clock);
+        assertThat(clock.withZone(helsinki).hashCode()).isEqualTo(clock.withZone(helsinki).hashCode());
+    }
+
+    @Test
+    public void shouldTickWithOwnThread() throws InterruptedException {
+        try (CoarseClock clock = CoarseClock.start(Duration.ofMillis(1))) {
+            final long start = clock.millis();
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+            while (clock.millis() == start && System.nanoTime() < deadline) {
+                Thread.sleep(2);
+            }
+
+            assertThat(clock.millis()).isGreaterThan(start);
+            assertThat(clock.getZone()).isEqualTo(ZoneOffset.UTC);
+        }
+    }
+
+    @Test
+    public void shouldRejectNonPositiveInterval() {
+        assertThatIllegalArgumentException().isThrownBy(() -> CoarseClock.start(source, scheduler, Duration.ZERO));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+        private RuntimeException failure;
+
+        MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            if (failure != null) {
+                throw failure;
+            }
+
+            return now;
+        }
+
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+import com.tenduke.client.jwt.JwtException;
+import com.tenduke.client.jwt.JwtParser;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IdTokenBatchVerifierTest {
+
+    private static final Instant NOW = Instant.parse("2019-10-01T12:00:00Z");
+
+    private ExecutorService executor;
+    private Set<String> threads;
+    private IdTokenBatchVerifier verifier;
+
+    @Before
+    public void beforeTest() {
+        executor = Executors.newFixedThreadPool(4);
+        threads = ConcurrentHashMap.newKeySet();
+        verifier = new IdTokenBatchVerifier(
+                new IdTokenParser(new FakeJwtParser()),
+                new IdTokenValidator("client", "issuer", Clock.fixed(NOW, ZoneOffset.UTC)),
+                executor,
+                3
+        );
+    }
+
+    @After
+    public void afterTest() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shouldReturnResultsInOrderWithoutThrowing() {
+        final List<String> tokens = List.of("valid-1", "expired", "invalid", "valid-2", "boom", "valid-3", "valid-4");
+
+        final List<IdTokenVerificationResult> results = verifier.verifyAll(tokens, null);
+
+        assertThat(results).extracting(IdTokenVerificationResult::getToken).containsExactlyElementsOf(tokens);
+        assertThat(results).extracting(IdTokenVerificationResult::isValid).containsExactly(true, false, false, true, false, true, true);
+        assertThat(results.get(0).getIdToken().getSub()).isEqualTo("valid-1");
+        assertThat(results.get(0).getError()).isNull();
+        assertThat(results.get(1).getIdToken()).isNull();
+        assertThat(results.get(1).getError()).hasMessage("Token expired");
+        assertThat(results.get(2).getError()).hasMessage("Invalid id token").hasCauseInstanceOf(JwtException.class);
+        assertThat(results.get(4).getError()).hasMessage("Verifying ID-token failed").hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldVerifyBatchesInExecutor() {
+        final List<String> tokens = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            tokens.add("valid-" + i);
+        }
+
+        assertThat(verifier.verifyAll(tokens, null)).allMatch(IdTokenVerificationResult::isValid).hasSize(100);
+        assertThat(threads).isNotEmpty().noneMatch(name -> name.equals(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void shouldRejectTokensIssuedBeforeGivenTime() {
+        final List<IdTokenVerificationResult> results = verifier.verifyAll(List.of("valid-1"), NOW.plusSeconds(1));
+
+        assertThat(results.get(0).getError()).hasMessage("Token too old");
+        assertThat(results.get(0).getValidationResult().getFailedChecks()).containsExactly(IdTokenCheck.ISSUED_AT);
+    }
+
+    @Test
+    public void shouldReportValidationResultWithoutException() {
+        final List<IdTokenVerificationResult> results = verifier.verifyAll(List.of("valid-1", "expired", "invalid"), null);
+
+        assertThat(results.get(0).getValidationResult()).isSameAs(IdTokenValidationResult.VALID);
+        assertThat(results.get(1).getValidationResult().getFirstFailure()).isEqualTo(IdTokenCheck.EXPIRATION);
+        assertThat(results.get(2).getValidationResult()).isNull();
+    }
+
+    @Test
+    public void shouldCompleteImmediatelyWithNoTokens() {
+        assertThat(verifier.verifyAllAsync(List.of(), null).join()).isEmpty();
+    }
+
+    @Test
+    public void shouldVerifySingleToken() {
+        assertThat(verifier.verify("valid-1", null).isValid()).isTrue();
+        assertThat(verifier.verify("invalid", null).isValid()).isFalse();
+    }
+
+    @Test
+    public void shouldRejectNonPositiveBatchSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new IdTokenBatchVerifier(
+                new IdTokenParser(new FakeJwtParser()),
+                new IdTokenValidator("client", "issuer"),
+                executor,
+                0
+        ));
+    }
+
+    private class FakeJwtParser implements JwtParser {
+
+        @Override
+        public Map<String, Object> parse(final String token) throws JwtException {
+            threads.add(Thread.currentThread().getName());
+
+            if (token.equals("invalid")) {
+                throw new JwtException("JWT signature validation failed");
+            }
+            if (token.equals("boom")) {
+                throw new IllegalStateException("boom");
+            }
+
+            final Instant exp = (token.equals("expired") ? NOW.minusSeconds(1) : NOW.plusSeconds(3600));
+
+            return Map.ofEntries(
+                    entry("iss", "issuer"),
+                    entry("sub", token),
+                    entry("aud", "client"),
+                    entry("exp", exp.getEpochSecond()),
+                    entry("iat", NOW.getEpochSecond())
+            );
+        }
+
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+import org.junit.Test;
+
+public class IdTokenClaimsMapperTest {
+
+    private final IdTokenClaimsMapper mapper = new IdTokenClaimsMapper();
+
+    @Test
+    public void shouldMapStandardAndAdditionalClaims() {
+        final IdToken actual = mapper.toIdToken(Map.ofEntries(
+                entry("iss", "is-sue-r"),
+                entry("sub", "sub-ject"),
+                entry("aud", "OOOO-ence"),
+                entry("exp", 44),
+                entry("iat", 43L),
+                entry("auth_time", 42D),
+                entry("nonce", "non-sense"),
+                entry("acr", "a-c-r"),
+                entry("amr", List.of("a", "b")),
+                entry("azp", "a-z-p"),
+                entry("hello", "world")
+        ));
+
+        assertThat(actual.getIss()).isEqualTo("is-sue-r");
+        assertThat(actual.getSub()).isEqualTo("sub-ject");
+        assertThat(actual.getAud()).containsExactly("OOOO-ence");
+        assertThat(actual.getExp()).isEqualTo(Instant.parse("1970-01-01T00:00:44Z"));
+        assertThat(actual.getIat()).isEqualTo(Instant.parse("1970-01-01T00:00:43Z"));
+        assertThat(actual.getAuthTime()).isEqualTo(Instant.parse("1970-01-01T00:00:42Z"));
+        assertThat(actual.getNonce()).isEqualTo("non-sense");
+        assertThat(actual.getAcr()).isEqualTo("a-c-r");
+        assertThat(actual.getAmr()).containsExactly("a", "b");
+        assertThat(actual.getAzp()).isEqualTo("a-z-p");
+        assertThat(actual.getAdditionalProperties()).containsOnly(entry("hello", "world"));
+    }
+
+    @Test
+    public void shouldMapLikeTheCopyingConstructor() {
+        final Map<String, Object> claims = Map.of(
+                "iss", "is-sue-r",
+                "sub", "sub-ject",
+                "aud", List.of("a", "b"),
+                "exp", 44,
+                "iat", 43
+        );
+
+        assertThat(mapper.toIdToken(claims)).usingRecursiveComparison().isEqualTo(
+                new IdToken("is-sue-r", "sub-ject", List.of("a", "b"), Instant.ofEpochSecond(44), Instant.ofEpochSecond(43),
+                        null, null, null, List.of(), null)
+        );
+    }
+
+    @Test
+    public void shouldUseImmutableListsAsSuch() {
+        final List<String> aud = List.of("a", "b");
+
+        assertThat(mapper.toIdToken(Map.of("aud", aud)).getAud()).isSameAs(aud);
+    }
+
+    @Test
+    public void shouldCopyMutableListsAndConvertItemsToStrings() {
+        final List<Object> aud = new ArrayList<>(List.of("a", 42));
+        final IdToken actual = mapper.toIdToken(Map.of("aud", aud));
+
+        aud.add("b");
+
+        assertThat(actual.getAud()).containsExactly("a", "42");
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> actual.getAud().add("c"));
+    }
+
+    @Test
+    public void shouldMapMissingClaims() {
+        final IdToken actual = mapper.toIdToken(Map.of());
+
+        assertThat(actual.getIss()).isNull();
+        assertThat(actual.getAud()).isEmpty();
+        assertThat(actual.getAmr()).isEmpty();
+        assertThat(actual.getExp()).isNull();
+        assertThat(actual.getAdditionalProperties()).isEmpty();
+    }
+
+    @Test
+    public void shouldIgnoreNonNumericDatesAndKeepClaimsWithNullValue() {
+        final Map<String, Object> claims = new HashMap<>();
+
+        claims.put("exp", "tomorrow");
+        claims.put("iss", null);
+        claims.put("extra", null);
+
+        final IdToken actual = mapper.toIdToken(claims);
+
+        assertThat(actual.getExp()).isNull();
+        assertThat(actual.getAdditionalProperties()).containsOnlyKeys("extra");
+    }
+
+    @Test
+    public void shouldUseOverriddenClaimConversions() {
+        final IdTokenClaimsMapper custom = new IdTokenClaimsMapper() {
+            @Override
+            protected String stringClaim(final Object claim) {
+                return (claim == null ? null : claim.toString().toUpperCase(Locale.ROOT));
+            }
+
+            @Override
+            protected Instant instantClaim(final Object claim) {
+                return (claim instanceof String ? Instant.parse((String) claim) : super.instantClaim(claim));
+            }
+
+            @Override
+            protected List<String> listOfStrings(final Object claim) {
+                return (claim instanceof String ? List.of(((String) claim).split(" ")) : super.listOfStrings(claim));
+            }
+        };
+
+        final IdToken actual = custom.toIdToken(Map.of(
+                "iss", "is-sue-r",
+                "exp", "1970-01-01T00:00:44Z",
+                "amr", "pwd otp"
+        ));
+
+        assertThat(actual.getIss()).isEqualTo("IS-SUE-R");
+        assertThat(actual.getExp()).isEqualTo(Instant.parse("1970-01-01T00:00:44Z"));
+        assertThat(actual.getAmr()).containsExactly("pwd", "otp");
+    }
+
+}
@@ -77,51 +77,61 @@ public class IdTokenParserTest {
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void stringClaimShouldReturnClaimAsString() {
         assertThat(parseIdToken.stringClaim("a")).isEqualTo("a");
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void stringClaimShouldReturnNullIfPassedNull() {
         assertThat(parseIdToken.stringClaim(null)).isNull();
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void parseListOfStringShouldParseListClaimToListOfStrings() {
         assertThat(parseIdToken.parseListOfStrings(List.of("a", "b"))).isEqualTo(List.of("a", "b"));
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void parseListOfStringShouldParseNonListClaimToToListOfOneStringClaim() {
         assertThat(parseIdToken.parseListOfStrings("a")).isEqualTo(List.of("a"));
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void parseListOfStringShouldReturnEmptyListIfClaimNull() {
         assertThat(parseIdToken.parseListOfStrings(null)).isEmpty();
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void toInstantShouldConvertLongToInstant() {
         assertThat(parseIdToken.toInstant(42L)).isEqualTo(Instant.parse("1970-01-01T00:00:42Z"));
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void toInstantShouldReturnNullWhenPassedNullLong() {
         assertThat(parseIdToken.toInstant((Long)null)).isNull();
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void toInstantShouldConvertNumericValueToInstant() {
         assertThat(parseIdToken.toInstant(42D)).isEqualTo(Instant.parse("1970-01-01T00:00:42Z"));
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void toInstantShouldReturnNullIfClaimIsNotNumeric() {
         assertThat(parseIdToken.toInstant("non-numeric")).isNull();
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void toInstantShouldReturnNullIfNullObjectClaim() {
         assertThat(parseIdToken.toInstant((String)null)).isNull();
     }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.openid;
+
+import java.time.Instant;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class IdTokenValidationResultTest {
+
+    private static final IdToken TOKEN = new IdToken(
+            "is-sue-r", "sub-ject", List.of("a", "b"), Instant.EPOCH, Instant.EPOCH, null, "nonce", null, List.of(), "other-client"
+    );
+
+    @Test
+    public void validResultShouldHaveNoFailures() {
+        assertThat(IdTokenValidationResult.VALID.isValid()).isTrue();
+        assertThat(IdTokenValidationResult.VALID.getFailedChecks()).isEmpty();
+        assertThat(IdTokenValidationResult.VALID.getFirstFailure()).isNull();
+        assertThat(IdTokenValidationResult.VALID.getMessage()).isNull();
+        assertThat(IdTokenValidationResult.VALID.toException()).isNull();
+        assertThat(IdTokenValidationResult.VALID.toString()).isEqualTo("IdTokenValidationResult{valid}");
+    }
+
+    @Test
+    public void shouldBuildMessageOfFirstFailure() {
+        assertThat(messageOf(IdTokenCheck.ISSUER)).isEqualTo("Issuer does not match: expected expected-issuer, got: is-sue-r");
+        assertThat(messageOf(IdTokenCheck.AUDIENCE)).isEqualTo("Claim \"aud\" does not contain client id");
+        assertThat(messageOf(IdTokenCheck.AUTHORIZED_PARTY_PRESENT))
+                .isEqualTo("ID token contains multiple audiences, but claim \"azp\" not present");
+        assertThat(messageOf(IdTokenCheck.AUTHORIZED_PARTY)).isEqualTo("Invalid authorized party (\"azp\"): Expected client, got other-client");
+        assertThat(messageOf(IdTokenCheck.EXPIRATION)).isEqualTo("Token expired");
+        assertThat(messageOf(IdTokenCheck.NOT_BEFORE)).isEqualTo("Token not valid yet");
+        assertThat(messageOf(IdTokenCheck.ISSUED_AT)).isEqualTo("Token too old");
+        assertThat(messageOf(IdTokenCheck.NONCE)).isEqualTo("Nonce does not match!");
+    }
+
+    @Test
+    public void shouldReportFailedChecks() {
+        final IdTokenValidationResult result = new IdTokenValidationResult(
+                IdTokenCheck.NONCE.bit() | IdTokenCheck.AUDIENCE.bit(), TOKEN, "expected-issuer", "client"
+        );
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.hasFailed(IdTokenCheck.AUDIENCE)).isTrue();
+        assertThat(result.hasFailed(IdTokenCheck.ISSUER)).isFalse();
+        assertThat(result.getFirstFailure()).isEqualTo(IdTokenCheck.AUDIENCE);
+        assertThat(result.toException()).hasMessage("Claim \"aud\" does not contain client id");
+        assertThat(result.toString()).isEqualTo("IdTokenValidationResult{failedChecks=[AUDIENCE, NONCE]}");
+    }
+
+    private static String messageOf(final IdTokenCheck check) {
+        return new IdTokenValidationResult(check.bit() | IdTokenCheck.NONCE.bit(), TOKEN, "expected-issuer", "client").getMessage();
+    }
+
+}
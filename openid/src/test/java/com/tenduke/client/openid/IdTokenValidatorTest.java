@@ -7,9 +7,14 @@
  */
 package com.tenduke.client.openid;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import org.assertj.core.api.AssertionsForClassTypes;
 import org.junit.Before;
 import org.junit.Test;
@@ -139,6 +144,95 @@ public class IdTokenValidatorTest {
         }).withMessageStartingWith("Nonce does not match");
     }
 
+    @Test
+    public void validateToResultShouldReturnSharedValidResult() {
+        assertThat(validator.validateToResult(createToken(), Instant.now().minusSeconds(7200), "non-sense"))
+                .isSameAs(IdTokenValidationResult.VALID);
+    }
+
+    @Test
+    public void validateToResultShouldReportAllFailedChecks() {
+        iss = "Is-sue-r";
+        exp = Instant.now().minusSeconds(1);
+        nonce = "sneaky attack";
+
+        final IdTokenValidationResult result = validator.validateToResult(createToken(), Instant.now().minusSeconds(7200), "non-sense");
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getFailedChecks()).containsExactly(IdTokenCheck.ISSUER, IdTokenCheck.EXPIRATION, IdTokenCheck.NONCE);
+        assertThat(result.getFirstFailure()).isEqualTo(IdTokenCheck.ISSUER);
+        assertThat(result.getMessage()).isEqualTo("Issuer does not match: expected is-sue-r, got: Is-sue-r");
+    }
+
+    @Test
+    public void validateToResultShouldFailIfExpirationMissing() {
+        exp = null;
+
+        assertThat(validator.validateToResult(createToken(), null, null).getFailedChecks()).containsExactly(IdTokenCheck.EXPIRATION);
+    }
+
+    @Test
+    public void validateToResultShouldFailIfIssuedAtMissingAndRequired() {
+        iat = null;
+
+        assertThat(validator.validateToResult(createToken(), null, null).isValid()).isTrue();
+        assertThat(validator.validateToResult(createToken(), Instant.now(), null).getFailedChecks())
+                .containsExactly(IdTokenCheck.ISSUED_AT);
+    }
+
+    @Test
+    public void shouldAllowClockSkewForExpiration() {
+        final Instant now = Instant.parse("2019-10-01T12:00:00Z");
+        exp = now.minusSeconds(30);
+
+        assertThat(validatorAt(now, Duration.ofSeconds(30)).validateToResult(createToken(), null, null).isValid()).isTrue();
+        assertThat(validatorAt(now, Duration.ofSeconds(29)).validateToResult(createToken(), null, null).getFailedChecks())
+                .containsExactly(IdTokenCheck.EXPIRATION);
+    }
+
+    @Test
+    public void shouldAllowClockSkewForIssuedAt() {
+        final Instant now = Instant.parse("2019-10-01T12:00:00Z");
+        iat = now.minusSeconds(60);
+
+        assertThat(validatorAt(now, Duration.ofSeconds(10)).validateToResult(createToken(), iat.plusSeconds(10), null).isValid()).isTrue();
+        assertThat(validatorAt(now, Duration.ofSeconds(10)).validateToResult(createToken(), iat.plusSeconds(11), null).getFailedChecks())
+                .containsExactly(IdTokenCheck.ISSUED_AT);
+    }
+
+    @Test
+    public void shouldCheckNotBeforeWithClockSkew() {
+        final Instant now = Instant.parse("2019-10-01T12:00:00Z");
+        exp = now.plusSeconds(3600);
+
+        final IdToken token = createToken();
+        token.zetAdditionalProperty("nbf", now.plusSeconds(5).getEpochSecond());
+
+        assertThat(validatorAt(now, Duration.ofSeconds(5)).validateToResult(token, null, null).isValid()).isTrue();
+        assertThat(validatorAt(now, Duration.ZERO).validateToResult(token, null, null).getMessage()).isEqualTo("Token not valid yet");
+
+        AssertionsForClassTypes.assertThatExceptionOfType(IdTokenException.class).isThrownBy(() -> {
+            validatorAt(now, Duration.ZERO).validate(token, null, null);
+        }).withMessage("Token not valid yet");
+    }
+
+    @Test
+    public void shouldIgnoreNonNumericNotBefore() {
+        final IdToken token = createToken();
+        token.zetAdditionalProperty("nbf", "tomorrow");
+
+        assertThat(validator.validateToResult(token, null, null).isValid()).isTrue();
+    }
+
+    @Test
+    public void shouldRejectNegativeClockSkew() {
+        assertThatIllegalArgumentException().isThrownBy(() -> validatorAt(Instant.now(), Duration.ofSeconds(-1)));
+    }
+
+    private IdTokenValidator validatorAt(final Instant now, final Duration allowedClockSkew) {
+        return new IdTokenValidator("unit-test", "is-sue-r", Clock.fixed(now, ZoneOffset.UTC), allowedClockSkew);
+    }
+
     protected IdToken createToken() {
         return new IdToken(iss, sub, aud, exp, iat, authTime, nonce, acr, amr, azp);
     }
@@ -10,13 +10,15 @@ package com.tenduke.client.openid;
 import com.tenduke.client.json.JsonDeserializationException;
 import com.tenduke.client.json.JsonDeserializer;
 import com.tenduke.client.jwt.JwtParser;
-import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeResponse;
+import com.tenduke.client.oauth.OAuthErrorResponse;
 import com.tenduke.client.oauth.exceptions.OAuthException;
 import com.tenduke.client.testutils.ChecksumUtil;
 import com.tenduke.client.testutils.HttpClientTestUtil;
+import static com.tenduke.client.testutils.JsonDeserializerTestUtil.mockJsonDeserializer;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.security.KeyPairGenerator;
 import java.security.NoSuchAlgorithmException;
 import java.time.Clock;
 import java.time.Instant;
@@ -25,10 +27,12 @@ import static java.time.ZoneOffset.UTC;
 import java.util.List;
 import java.util.Map;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.entry;
 import org.junit.Before;
 import org.junit.Test;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class OpenIdAuthorizationCodeClientTest {
@@ -55,7 +59,7 @@ public class OpenIdAuthorizationCodeClientTest {
         );
 
         http = mock(HttpClient.class);
-        json = mock(JsonDeserializer.class);
+        json = mockJsonDeserializer();
         jwt = mock(JwtParser.class);
 
         yesterday = LocalDate.now().minusDays(1);
@@ -72,6 +76,11 @@ public class OpenIdAuthorizationCodeClientTest {
         );
     }
 
+    @Test
+    public void shouldPrepareJsonDeserializerForTokenResponses() {
+        verify(json).prepare(OpenIdTokenEndpointResponse.class, OAuthErrorResponse.class);
+    }
+
     @Test
     public void shouldProcessFlowInSuccessCase() throws Exception {
         config = new OpenIdAuthorizationCodeConfig(
@@ -112,10 +121,9 @@ public class OpenIdAuthorizationCodeClientTest {
 
         HttpClientTestUtil.stubHttp(http, "POST", "http://example.com/token", 200, RESPONSE);
 
-        final AuthorizationCodeResponse resp = new AuthorizationCodeResponse("open-sesame", "water", 42, "Bearer");
-        resp.withAdditionalProperty("id_token", "id-to-ken");
+        final OpenIdTokenEndpointResponse resp = new OpenIdTokenEndpointResponse("open-sesame", "water", 42, "Bearer", "id-to-ken");
 
-        when(json.deserialize(RESPONSE, AuthorizationCodeResponse.class)).thenReturn(resp);
+        when(json.deserialize(RESPONSE, OpenIdTokenEndpointResponse.class)).thenReturn(resp);
 
         final Map<String, Object> claims = Map.ofEntries(
                 entry("iss", "is-sue-r"),
@@ -208,10 +216,9 @@ public class OpenIdAuthorizationCodeClientTest {
 
         HttpClientTestUtil.stubHttp(http, "POST", "http://example.com/token", 200, RESPONSE);
 
-        final AuthorizationCodeResponse resp = new AuthorizationCodeResponse("open-sesame", "water", 42, "Bearer");
-        resp.withAdditionalProperty("id_token", "id-to-ken");
+        final OpenIdTokenEndpointResponse resp = new OpenIdTokenEndpointResponse("open-sesame", "water", 42, "Bearer", "id-to-ken");
 
-        when(json.deserialize(RESPONSE, AuthorizationCodeResponse.class)).thenReturn(resp);
+        when(json.deserialize(RESPONSE, OpenIdTokenEndpointResponse.class)).thenReturn(resp);
 
         final Map<String, Object> claims = Map.ofEntries(
                 entry("iss", "is-sue-r"),
@@ -256,16 +263,44 @@ public class OpenIdAuthorizationCodeClientTest {
 
         final OpenIdAuthorizationCodeResponse expected = new OpenIdAuthorizationCodeResponse("open-sesame", "water", 42, "Bearer", null);
 
-        when(json.deserialize(RESPONSE_REFRESH, AuthorizationCodeResponse.class)).thenReturn(expected);
+        when(json.deserialize(RESPONSE_REFRESH, OpenIdTokenEndpointResponse.class))
+                .thenReturn(new OpenIdTokenEndpointResponse("open-sesame", "water", 42, "Bearer", null));
 
         assertThat(client.refresh("1-2-3-4-5")).usingRecursiveComparison().isEqualTo(expected);
     }
 
     @Test
-    public void shouldConstructWithDefaults() {
+    public void shouldRefreshATokenAsynchronously() throws Exception {
+        HttpClientTestUtil.stubHttpAsync(http, "POST", "http://example.com/token", 200, RESPONSE_REFRESH);
+
+        final OpenIdAuthorizationCodeResponse expected = new OpenIdAuthorizationCodeResponse("open-sesame", "water", 42, "Bearer", null);
+
+        when(json.deserialize(RESPONSE_REFRESH, OpenIdTokenEndpointResponse.class))
+                .thenReturn(new OpenIdTokenEndpointResponse("open-sesame", "water", 42, "Bearer", null));
+
+        assertThat(client.refreshAsync("1-2-3-4-5").get()).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    public void shouldConstructWithDefaults() throws Exception {
+        config = new OpenIdAuthorizationCodeConfig(
+                "unit-test",
+                URI.create("http://example.com/oauth"),
+                URI.create("tenduke://callback"),
+                URI.create("http://example.com/token"),
+                "igotthesecret",
+                "iss-sue-r",
+                KeyPairGenerator.getInstance("RSA").generateKeyPair().getPublic()
+        );
+
         assertThat(new OpenIdAuthorizationCodeClient(config).request()).isNotNull();
     }
 
+    @Test
+    public void shouldRejectConfigWithoutKeyInDefaultConstructor() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new OpenIdAuthorizationCodeClient(config));
+    }
+
     private static final String RESPONSE = ""
             + "{ \n"
             + "    \"access_token\": \"open-sesame\" \n"
@@ -8,9 +8,9 @@
 package com.tenduke.client.openid;
 
 import com.tenduke.client.json.JsonDeserializer;
-import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeResponse;
 import com.tenduke.client.oauth.exceptions.OAuthServerException;
 import com.tenduke.client.testutils.HttpClientTestUtil;
+import static com.tenduke.client.testutils.JsonDeserializerTestUtil.mockJsonDeserializer;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.util.LinkedHashSet;
@@ -48,7 +48,7 @@ public class OpenIdAuthorizationCodeFlowTest {
         );
 
         http = mock(HttpClient.class);
-        json = mock(JsonDeserializer.class);
+        json = mockJsonDeserializer();
         request = new OpenIdAuthorizationCodeRequest(
                 config,
                 Map.of("nonce", "non-sense", "hello", "world"),
@@ -67,11 +67,9 @@ public class OpenIdAuthorizationCodeFlowTest {
 
         when(parseIdToken.from("simulates-id-token")).thenReturn(idToken);
 
-        final AuthorizationCodeResponse response = new AuthorizationCodeResponse("a", "r", 42, "t");
+        final OpenIdTokenEndpointResponse response = new OpenIdTokenEndpointResponse("a", "r", 42, "t", "simulates-id-token");
 
-        response.zetAdditionalProperty("id_token", "simulates-id-token");
-
-        when(json.deserialize("SIMULATED RESPONSE", AuthorizationCodeResponse.class)).thenReturn(response);
+        when(json.deserialize("SIMULATED RESPONSE", OpenIdTokenEndpointResponse.class)).thenReturn(response);
     }
 
     @Test
@@ -90,7 +88,8 @@ public class OpenIdAuthorizationCodeFlowTest {
 
     @Test
     public void shouldThrowOAuthServerExceptionIfResponseDoesNotContainIdToken() throws Exception {
-        when(json.deserialize("SIMULATED RESPONSE", AuthorizationCodeResponse.class)).thenReturn(new AuthorizationCodeResponse("a", "r", 42, "t"));
+        when(json.deserialize("SIMULATED RESPONSE", OpenIdTokenEndpointResponse.class))
+                .thenReturn(new OpenIdTokenEndpointResponse("a", "r", 42, "t", null));
 
         assertThatExceptionOfType(OAuthServerException.class).isThrownBy(() -> {
             flow.exchangeCodeToToken("open-sesame");
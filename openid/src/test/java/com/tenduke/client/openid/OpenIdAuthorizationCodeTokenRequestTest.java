@@ -8,8 +8,9 @@
 package com.tenduke.client.openid;
 
 import com.tenduke.client.json.JsonDeserializer;
-import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeResponse;
 import com.tenduke.client.oauth.exceptions.OAuthServerException;
+import static com.tenduke.client.testutils.JsonDeserializerTestUtil.mockJsonDeserializer;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import org.junit.Before;
@@ -20,32 +21,47 @@ import static org.mockito.Mockito.when;
 public class OpenIdAuthorizationCodeTokenRequestTest {
 
     private JsonDeserializer json;
-    private AuthorizationCodeResponse response;
+    private OpenIdTokenEndpointResponse response;
+    private OpenIdTokenEndpointResponse responseWithIdToken;
     private IdTokenParser idTokenParser;
 
     @Before
     public void beforeTest() throws Exception {
-        json = mock(JsonDeserializer.class);
-        response = new AuthorizationCodeResponse("a", "r", 42, "t");
+        json = mockJsonDeserializer();
+        response = new OpenIdTokenEndpointResponse("a", "r", 42, "t", null);
+        responseWithIdToken = new OpenIdTokenEndpointResponse("a", "r", 42, "t", "SIMULATED ID-TOKEN");
         idTokenParser = mock(IdTokenParser.class);
 
-        when(json.deserialize("SIMULATED BODY", AuthorizationCodeResponse.class)).thenReturn(response);
+        when(json.deserialize("SIMULATED BODY", OpenIdTokenEndpointResponse.class)).thenReturn(response);
+        when(json.deserialize("SIMULATED BODY WITH ID-TOKEN", OpenIdTokenEndpointResponse.class)).thenReturn(responseWithIdToken);
     }
 
 
     @Test
     public void shouldDeserializeTheResponseWithIdToken() throws Exception {
         final IdToken idToken = new IdToken(null, null, null, null, null, null, null, null, null, null);
-        response.zetAdditionalProperty("id_token", "SIMULATED ID-TOKEN");
 
         when(idTokenParser.from("SIMULATED ID-TOKEN")).thenReturn(new IdToken(null, null, null, null, null, null, null, null, null, null));
 
-        assertThat(new OpenIdAuthorizationCodeTokenRequest(null, json, "request", "state", null, idTokenParser, true).deserializeTokenResponse("SIMULATED BODY"))
+        assertThat(new OpenIdAuthorizationCodeTokenRequest(null, json, "request", "state", null, idTokenParser, true)
+                .deserializeTokenResponse("SIMULATED BODY WITH ID-TOKEN"))
                 .usingRecursiveComparison()
-                .isEqualTo(new OpenIdAuthorizationCodeResponse(response, idToken));
+                .isEqualTo(new OpenIdAuthorizationCodeResponse(response, idToken).withAdditionalProperty("id_token", "SIMULATED ID-TOKEN"));
 
     }
 
+    @Test
+    public void shouldDeserializeTheResponseBodyWithIdToken() throws Exception {
+        final IdToken idToken = new IdToken(null, null, null, null, null, null, null, null, null, null);
+
+        when(idTokenParser.from("SIMULATED ID-TOKEN")).thenReturn(idToken);
+
+        assertThat(new OpenIdAuthorizationCodeTokenRequest(null, json, "request", "state", null, idTokenParser, true)
+                .deserializeTokenResponse("SIMULATED BODY WITH ID-TOKEN".getBytes(UTF_8)))
+                .usingRecursiveComparison()
+                .isEqualTo(new OpenIdAuthorizationCodeResponse(response, idToken).withAdditionalProperty("id_token", "SIMULATED ID-TOKEN"));
+    }
+
     @Test
     public void shouldDeserializeTheResponseWithOutIdTokenIfAllowed() throws Exception {
         assertThat(new OpenIdAuthorizationCodeTokenRequest(null, json, "request", "state", null, idTokenParser, false).deserializeTokenResponse("SIMULATED BODY"))
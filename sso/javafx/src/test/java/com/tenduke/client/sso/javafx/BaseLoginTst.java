@@ -12,12 +12,13 @@ import com.tenduke.client.json.JsonDeserializer;
 import com.tenduke.client.jwt.JwtException;
 import com.tenduke.client.jwt.JwtParser;
 import static com.tenduke.client.oauth.authorizationcode.AuthorizationCodeClient.DEFAULT_HTTP_CLIENT;
-import com.tenduke.client.oauth.authorizationcode.AuthorizationCodeResponse;
 import com.tenduke.client.openid.IdTokenParser;
 import com.tenduke.client.openid.IdTokenValidator;
 import com.tenduke.client.openid.OpenIdAuthorizationCodeClient;
 import com.tenduke.client.openid.OpenIdAuthorizationCodeConfig;
+import com.tenduke.client.openid.OpenIdTokenEndpointResponse;
 import com.tenduke.client.sso.LoginRequest;
+import static com.tenduke.client.testutils.JsonDeserializerTestUtil.mockJsonDeserializer;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -52,13 +53,11 @@ public class BaseLoginTst extends ApplicationTest {
         semaphore = new Semaphore(1);
         semaphore.acquire();
 
-        jsonDeserializer = mock(JsonDeserializer.class);
+        jsonDeserializer = mockJsonDeserializer();
 
-        final AuthorizationCodeResponse response = new AuthorizationCodeResponse("a", "r", 42, "t");
+        final OpenIdTokenEndpointResponse response = new OpenIdTokenEndpointResponse("a", "r", 42, "t", "SIMULATED ID TOKEN");
 
-        response.zetAdditionalProperty("id_token", "SIMULATED ID TOKEN");
-
-        when(jsonDeserializer.deserialize("SIMULATED TOKEN RESPONSE", AuthorizationCodeResponse.class)).thenReturn(response);
+        when(jsonDeserializer.deserialize("SIMULATED TOKEN RESPONSE", OpenIdTokenEndpointResponse.class)).thenReturn(response);
 
         jwtParser = mock(JwtParser.class);
 
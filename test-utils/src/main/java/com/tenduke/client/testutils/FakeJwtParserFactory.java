@@ -15,7 +15,9 @@ public class FakeJwtParserFactory implements JwtParserFactory {
 
     @Override
     public JwtParser create(final Key validationKey) {
-        return null;
+        return (token) -> {
+            throw new UnsupportedOperationException("Fake parser");
+        };
     }
 
 }
@@ -10,7 +10,15 @@ package com.tenduke.client.testutils;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -24,16 +32,10 @@ public class HttpClientTestUtil {
             final int respondedStatusCode,
             final String responseBody
     ) throws InterruptedException, IOException {
-        @SuppressWarnings("unchecked")
-        final HttpResponse<String> response = mock(HttpResponse.class);
-
         when(http.send(
                 argThat(new HttpRequestMatcher(expectedMethod, URI.create(expectedUri))),
-                argThat(new BodyHandlerMatcher<String>()))
-        ).thenReturn(response);
-
-        when(response.statusCode()).thenReturn(respondedStatusCode);
-        when(response.body()).thenReturn(responseBody);
+                argThat(new BodyHandlerMatcher<Object>()))
+        ).thenAnswer(invocation -> respond(invocation.getArgument(1), respondedStatusCode, responseBody));
     }
 
     public static void stubHttpToThrowIOException(
@@ -47,4 +49,80 @@ public class HttpClientTestUtil {
         ).thenThrow(new IOException("simulated exception"));
     }
 
+    public static void stubHttpAsync(
+            final HttpClient http,
+            final String expectedMethod,
+            final String expectedUri,
+            final int respondedStatusCode,
+            final String responseBody
+    ) {
+        when(http.sendAsync(
+                argThat(new HttpRequestMatcher(expectedMethod, URI.create(expectedUri))),
+                argThat(new BodyHandlerMatcher<Object>()))
+        ).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                respond(invocation.getArgument(1), respondedStatusCode, responseBody)
+        ));
+    }
+
+    public static void stubHttpAsyncToFailWithIOException(
+            final HttpClient http,
+            final String expectedMethod,
+            final String expectedUri
+    ) {
+        when(http.sendAsync(
+                argThat(new HttpRequestMatcher(expectedMethod, URI.create(expectedUri))),
+                argThat(new BodyHandlerMatcher<String>()))
+        ).thenReturn(CompletableFuture.failedFuture(new IOException("simulated exception")));
+    }
+
+    /**
+     * Builds the response by feeding the body through the actual body handler, so that the stubs work for any body type.
+     *
+     */
+    private static <T> HttpResponse<T> respond(
+            final HttpResponse.BodyHandler<T> handler,
+            final int statusCode,
+            final String body
+    ) {
+        final HttpResponse.BodySubscriber<T> subscriber = handler.apply(new HttpResponse.ResponseInfo() {
+            @Override
+            public int statusCode() {
+                return statusCode;
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return HttpHeaders.of(Map.of(), (name, value) -> true);
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        });
+
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        subscriber.onNext(List.of(ByteBuffer.wrap(body.getBytes(UTF_8))));
+        subscriber.onComplete();
+
+        final T decoded = subscriber.getBody().toCompletableFuture().join();
+
+        @SuppressWarnings("unchecked")
+        final HttpResponse<T> response = mock(HttpResponse.class);
+
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.body()).thenReturn(decoded);
+        when(response.request()).thenReturn(mock(HttpRequest.class));
+
+        return response;
+    }
+
 }
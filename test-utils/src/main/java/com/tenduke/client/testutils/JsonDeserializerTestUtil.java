@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2019 10Duke. All rights reserved.
+ *
+ * This work is licensed under the terms of the MIT license.
+ * https://opensource.org/licenses/MIT
+ *
+ */
+package com.tenduke.client.testutils;
+
+import com.tenduke.client.json.JsonDeserializer;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+
+public class JsonDeserializerTestUtil {
+
+    /**
+     * Creates a mock, which executes the default methods of {@link JsonDeserializer}. The binary variants thus end up in
+     * {@link JsonDeserializer#deserialize(java.lang.String, java.lang.Class) }, which can be stubbed as usual.
+     *
+     * @return -
+     */
+    public static JsonDeserializer mockJsonDeserializer() {
+        return mock(JsonDeserializer.class, invocation -> (
+                invocation.getMethod().isDefault()
+                ? invocation.callRealMethod()
+                : RETURNS_DEFAULTS.answer(invocation)
+        ));
+    }
+
+}